@@ -0,0 +1,100 @@
+package benchmarks;
+
+import database.DatabaseManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tools.DataGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A synthetic database in a temporary file, seeded once per trial by {@link DataGenerator}.
+ * DatabaseManager is a singleton, so every parameter combination needs its own fork;
+ * the benchmarks are annotated with @Fork and must not be run with -f 0.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+    public static final String PASSWORD = DataGenerator.PASSWORD;
+    static final LocalDate FIRST_NIGHT = LocalDate.of(2025, 1, 1);
+    static final int SEASON_DAYS = 730;
+
+    @Param({ "1000" })
+    public int users;
+
+    @Param({ "20000" })
+    public int bookings;
+
+    @Param({ "20" })
+    public int resorts;
+
+    private Path directory;
+    private DataGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("resort-bench");
+        System.setProperty("resort.db.path", directory.resolve("resort_bench.db").toString());
+
+        generator = new DataGenerator(42);
+        generator.setUsers(users);
+        generator.setResorts(resorts);
+        generator.setBookings(bookings);
+        generator.setUntil(FIRST_NIGHT);
+        // Enough units that the confirm benchmark never sells out
+        generator.setUnits(100_000, 100_000);
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            generator.generate(conn);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        DatabaseManager.getInstance().closeConnection();
+        File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    public int randomUserId() {
+        return generator.getFirstUserId() + ThreadLocalRandom.current().nextInt(users);
+    }
+
+    public String randomUsername() {
+        return DataGenerator.username(randomUserId());
+    }
+
+    public int randomResortIndex() {
+        return ThreadLocalRandom.current().nextInt(resorts);
+    }
+
+    public int resortId(int resortIndex) {
+        return generator.getResortIds()[resortIndex];
+    }
+
+    public int randomRoomIndex(int resortIndex) {
+        return ThreadLocalRandom.current().nextInt(generator.getRoomIds()[resortIndex].length);
+    }
+
+    public int roomId(int resortIndex, int roomIndex) {
+        return generator.getRoomIds()[resortIndex][roomIndex];
+    }
+
+    public double roomPrice(int resortIndex, int roomIndex) {
+        return generator.getRoomPrices()[resortIndex][roomIndex];
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import models.Booking;
+import models.Invoice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.BookingResult;
+import services.BookingService;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full confirm path: inventory hold, booking row and invoice in one transaction.
+ * Rooms are seeded with enough units that a run never sells out; a result other than
+ * CONFIRMED fails the benchmark so errors cannot pass for fast operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+    private final BookingService bookingService = BookingService.getInstance();
+
+    @Benchmark
+    public BookingResult confirmBooking(BenchmarkDatabase db) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int resortIndex = db.randomResortIndex();
+        int roomIndex = db.randomRoomIndex(resortIndex);
+        int userId = db.randomUserId();
+        int nights = 1 + random.nextInt(7);
+        LocalDate checkIn = BenchmarkDatabase.FIRST_NIGHT.plusDays(random.nextInt(BenchmarkDatabase.SEASON_DAYS));
+
+        Booking booking = new Booking();
+        booking.setUserId(userId);
+        booking.setResortId(db.resortId(resortIndex));
+        booking.setRoomId(db.roomId(resortIndex, roomIndex));
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkIn.plusDays(nights));
+        booking.setNumGuests(2);
+        booking.setStatus("confirmed");
+
+        double roomCharges = db.roomPrice(resortIndex, roomIndex) * nights;
+        Invoice invoice = new Invoice();
+        invoice.setUserId(userId);
+        invoice.setInvoiceNumber(Invoice.generateInvoiceNumber());
+        invoice.setRoomCharges(roomCharges);
+        invoice.setTaxes(roomCharges * 0.10);
+        invoice.setTotalAmount(roomCharges * 1.10);
+
+        BookingResult result = bookingService.confirm(booking, invoice);
+        if (result.getStatus() != BookingResult.Status.CONFIRMED) {
+            throw new IllegalStateException("Booking not confirmed: " + result.getStatus() + " " + result.getMessage());
+        }
+        return result;
+    }
+}
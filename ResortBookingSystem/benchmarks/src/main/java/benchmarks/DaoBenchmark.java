@@ -0,0 +1,56 @@
+package benchmarks;
+
+import dao.BookingDAO;
+import dao.InvoiceDAO;
+import dao.RoomDAO;
+import models.Booking;
+import models.Invoice;
+import models.Room;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths hit by the customer screens and the admin tables.
+ * Throughput is reported in ops/ms; sample mode adds p50/p90/p99 latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+    private final BookingDAO bookingDAO = new BookingDAO();
+    private final RoomDAO roomDAO = new RoomDAO();
+    private final InvoiceDAO invoiceDAO = new InvoiceDAO();
+
+    @Benchmark
+    public List<Booking> bookingFindByUser(BenchmarkDatabase db) {
+        return bookingDAO.findByUser(db.randomUserId());
+    }
+
+    @Benchmark
+    public List<Booking> bookingGetAll(BenchmarkDatabase db) {
+        return bookingDAO.getAll();
+    }
+
+    @Benchmark
+    public List<Room> roomGetAvailable(BenchmarkDatabase db) {
+        return roomDAO.getAvailable(db.resortId(db.randomResortIndex()));
+    }
+
+    @Benchmark
+    public List<Invoice> invoiceFindByUser(BenchmarkDatabase db) {
+        return invoiceDAO.findByUser(db.randomUserId());
+    }
+}
@@ -0,0 +1,82 @@
+package benchmarks;
+
+import dao.UserDAO;
+import models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.PasswordUtils;
+import utils.Pbkdf2PasswordHasher;
+import utils.ScryptPasswordHasher;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password verification on its own, per hashing scheme, and as part of a login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordBenchmark {
+    private final UserDAO userDAO = new UserDAO();
+
+    /**
+     * A stored hash of the benchmark password in one scheme, at its default cost.
+     */
+    @State(Scope.Benchmark)
+    public static class StoredHash {
+        @Param({ "pbkdf2", "scrypt", "legacy" })
+        public String scheme;
+
+        String hash;
+
+        @Setup
+        public void setUp() throws NoSuchAlgorithmException {
+            switch (scheme) {
+                case "pbkdf2":
+                    hash = new Pbkdf2PasswordHasher(Pbkdf2PasswordHasher.DEFAULT_ITERATIONS)
+                            .hash(BenchmarkDatabase.PASSWORD);
+                    break;
+                case "scrypt":
+                    hash = new ScryptPasswordHasher(ScryptPasswordHasher.DEFAULT_LOG_N, ScryptPasswordHasher.DEFAULT_R,
+                            ScryptPasswordHasher.DEFAULT_P).hash(BenchmarkDatabase.PASSWORD);
+                    break;
+                case "legacy":
+                    hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                            .digest(BenchmarkDatabase.PASSWORD.getBytes(StandardCharsets.UTF_8)));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown scheme " + scheme);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean verifyPassword(StoredHash stored) {
+        return PasswordUtils.verifyPassword(BenchmarkDatabase.PASSWORD, stored.hash);
+    }
+
+    @Benchmark
+    public User authenticate(BenchmarkDatabase db) {
+        User user = userDAO.authenticate(db.randomUsername(), BenchmarkDatabase.PASSWORD);
+        if (user == null) {
+            throw new IllegalStateException("Seeded user failed to authenticate");
+        }
+        return user;
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.AvailabilitySearch;
+import services.SearchResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A search across every resort for a random stay in the next few months, from the in-memory
+ * snapshot. The snapshot is loaded during warmup. Run with {@code -p resorts=2000} for a catalog
+ * of the size the search is meant for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    private final AvailabilitySearch search = AvailabilitySearch.getInstance();
+
+    @Benchmark
+    public List<SearchResult> searchAllResorts(BenchmarkDatabase db) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(120));
+        return search.search(checkIn, checkIn.plusDays(1 + random.nextInt(7)), 1 + random.nextInt(4), 0, 0, 50);
+    }
+}
@@ -1,15 +1,24 @@
 import database.DatabaseManager;
+import services.BlockIdGenerator;
+import utils.FontManager;
+import utils.StartupTimeline;
 import utils.UITheme;
 import views.LoginFrame;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main entry point for the Resort Reservation System.
  */
 public class ResortReservationApp {
     public static void main(String[] args) {
+        StartupTimeline.mark("main started");
+
+        // Font files load in the background while the look and feel and database are set up
+        FontManager.getInstance();
+
         // Apply global theme first
         UITheme.applyGlobalTheme();
 
@@ -31,7 +40,7 @@ public class ResortReservationApp {
             UIManager.put("Label.font", regularFont);
             UIManager.put("TextField.font", regularFont);
             UIManager.put("PasswordField.font", regularFont);
-            UIManager.put("TextArea.font", new Font(regularFont.getFamily(), Font.PLAIN, 13));
+            UIManager.put("TextArea.font", UITheme.getFont(Font.PLAIN, 13));
             UIManager.put("ComboBox.font", regularFont);
             UIManager.put("Table.font", regularFont);
             UIManager.put("TableHeader.font", boldFont);
@@ -50,12 +59,19 @@ public class ResortReservationApp {
                 // Ignore
             }
         }
+        StartupTimeline.mark("look and feel installed");
 
         // Initialize database
         System.out.println("Initializing database...");
         DatabaseManager.getInstance();
         System.out.println("Database initialized successfully!");
 
+        BlockIdGenerator.configureInvoiceNumbers();
+        StartupTimeline.mark("database initialized");
+
+        // Open the login window in its final font if the files are nearly loaded; otherwise it switches over later
+        FontManager.getInstance().awaitLoaded(200, TimeUnit.MILLISECONDS);
+
         // Launch the login frame on EDT
         SwingUtilities.invokeLater(() -> {
             LoginFrame loginFrame = new LoginFrame();
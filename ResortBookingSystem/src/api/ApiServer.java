@@ -0,0 +1,605 @@
+package api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dao.BookingDAO;
+import dao.InvoiceDAO;
+import dao.ResortDAO;
+import database.DatabaseManager;
+import models.Booking;
+import models.FoodOption;
+import models.Invoice;
+import models.Resort;
+import models.Room;
+import models.RoomAvailability;
+import models.User;
+import models.WaitlistEntry;
+import services.AuthenticationService;
+import services.AvailabilitySearch;
+import services.BlockIdGenerator;
+import services.BookingResult;
+import services.BookingService;
+import services.CatalogCache;
+import services.InventoryService;
+import services.Quote;
+import services.SearchResult;
+import services.WaitlistService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded HTTP/JSON API over the booking services, so kiosks and the web front-end
+ * book through the same code as the desktop app.
+ *
+ * <pre>
+ * GET  /api/resorts                every resort, or the best matches for ?q=words (prefixes of words in
+ *                                   the name, location or description)
+ * GET  /api/resorts/{id}/availability?checkIn=2026-07-01&amp;checkOut=2026-07-05
+ * GET  /api/search?checkIn=...&amp;checkOut=...&amp;guests=2&amp;minBeds=1&amp;maxPrice=300&amp;limit=20
+ *                                   every resort, cheapest nightly rate first
+ * GET  /api/food-options
+ * POST /api/quotes                  {"roomId":1, "foodOptionId":2, "checkIn":"...", "checkOut":"...", "guests":2}
+ * POST /api/bookings                same body; HTTP Basic auth
+ * GET  /api/bookings                the caller's bookings
+ * GET  /api/bookings/{id}
+ * POST /api/bookings/{id}/cancel
+ * GET  /api/bookings/{id}/invoice
+ * GET  /api/waitlist                the caller's waitlist entries
+ * POST /api/waitlist                same body as a booking; booked automatically when a unit frees up
+ * POST /api/waitlist/{id}/withdraw
+ * </pre>
+ *
+ * Each request runs on its own virtual thread when the JVM has them (Java 21+), otherwise on a
+ * bounded pool of -Dresort.api.threads platform threads. Either way the database pools bound how
+ * many requests touch SQLite at once; the rest wait for a connection.
+ */
+public class ApiServer {
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int MAX_NIGHTS = 30;
+    private static final int MAX_GUESTS = 10;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AuthenticationService authenticationService = AuthenticationService.getInstance();
+    private final CredentialCache credentialCache = new CredentialCache(
+            Integer.getInteger("resort.api.authCacheSize", 10_000),
+            TimeUnit.SECONDS.toMillis(Integer.getInteger("resort.api.authCacheSeconds", 60)));
+    private final BookingDAO bookingDAO = new BookingDAO();
+    private final InvoiceDAO invoiceDAO = new InvoiceDAO();
+    private final ResortDAO resortDAO = new ResortDAO();
+    private final CatalogCache catalog = CatalogCache.getInstance();
+    private final InventoryService inventoryService = InventoryService.getInstance();
+    private final BookingService bookingService = BookingService.getInstance();
+    private final WaitlistService waitlistService = WaitlistService.getInstance();
+    private final AvailabilitySearch availabilitySearch = AvailabilitySearch.getInstance();
+
+    public ApiServer(int port) throws IOException {
+        // Headers and body go out as separate writes; with Nagle on, every keep-alive response
+        // waits out the client's delayed ACK (~40 ms)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = newRequestExecutor();
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stop accepting requests and wait up to {@code delaySeconds} for those in flight.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Virtual threads are looked up reflectively so the code still builds and runs on Java 17.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(Integer.getInteger("resort.api.threads", 64), r -> {
+                Thread t = new Thread(r, "api-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status;
+        Object body;
+        try {
+            Response response = route(exchange);
+            status = response.status;
+            body = response.body;
+        } catch (ApiException e) {
+            status = e.getStatus();
+            body = error(e.getMessage());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            // Sign-ins are queued to their limit
+            status = 503;
+            body = error(e.getMessage());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            status = 500;
+            body = error("Internal error");
+        }
+        try {
+            if (status == 401) {
+                exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"resort\"");
+            } else if (status == 503) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+            }
+            byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().replaceAll("/+$", "").split("/");
+        // path[0] is empty and path[1] is "api"
+        String resource = path.length > 2 ? path[2] : "";
+        int segments = path.length - 2;
+
+        if (resource.equals("resorts") && method.equals("GET")) {
+            if (segments == 1) {
+                String text = query(exchange).get("q");
+                List<Resort> resorts = text == null || text.isBlank() ? catalog.getResorts() : resortDAO.search(text, MAX_SEARCH_RESULTS);
+                return ok(resorts.stream().map(ApiServer::resortJson).collect(Collectors.toList()));
+            }
+            if (segments == 3 && path[4].equals("availability")) {
+                return availability(parseId(path[3]), query(exchange));
+            }
+        } else if (resource.equals("search") && method.equals("GET") && segments == 1) {
+            return search(query(exchange));
+        } else if (resource.equals("food-options") && method.equals("GET") && segments == 1) {
+            return ok(catalog.getFoodOptions().stream().map(ApiServer::foodJson).collect(Collectors.toList()));
+        } else if (resource.equals("quotes") && method.equals("POST") && segments == 1) {
+            Quote quote = parseStay(readBody(exchange));
+            Map<String, Object> json = quoteJson(quote);
+            json.put("freeUnits", inventoryService.getFreeUnits(quote.getRoom(), quote.getCheckIn(), quote.getCheckOut()));
+            return ok(json);
+        } else if (resource.equals("bookings")) {
+            User user = authenticate(exchange);
+            if (segments == 1 && method.equals("GET")) {
+                return ok(bookingDAO.findByUser(user.getId()).stream()
+                        .map(ApiServer::bookingJson).collect(Collectors.toList()));
+            }
+            if (segments == 1 && method.equals("POST")) {
+                return book(user, parseStay(readBody(exchange)));
+            }
+            if (segments >= 2) {
+                Booking booking = findOwnBooking(user, parseId(path[3]));
+                if (segments == 2 && method.equals("GET")) {
+                    return ok(bookingJson(booking));
+                }
+                if (segments == 3 && path[4].equals("cancel") && method.equals("POST")) {
+                    return cancel(booking);
+                }
+                if (segments == 3 && path[4].equals("invoice") && method.equals("GET")) {
+                    Invoice invoice = invoiceDAO.findByBooking(booking.getId());
+                    if (invoice == null) {
+                        throw ApiException.notFound("No invoice for booking " + booking.getId());
+                    }
+                    return ok(invoiceJson(invoice));
+                }
+            }
+        } else if (resource.equals("waitlist")) {
+            User user = authenticate(exchange);
+            if (segments == 1 && method.equals("GET")) {
+                return ok(waitlistService.getEntries(user.getId()).stream()
+                        .map(ApiServer::waitlistJson).collect(Collectors.toList()));
+            }
+            if (segments == 1 && method.equals("POST")) {
+                WaitlistEntry entry = waitlistService.join(user.getId(), parseStay(readBody(exchange)), 0);
+                if (entry == null) {
+                    throw new ApiException(500, "Could not join the waitlist");
+                }
+                return new Response(201, waitlistJson(entry));
+            }
+            if (segments == 3 && path[4].equals("withdraw") && method.equals("POST")) {
+                int entryId = parseId(path[3]);
+                if (!waitlistService.withdraw(entryId, user.getId())) {
+                    throw ApiException.notFound("No waiting entry " + entryId);
+                }
+                return ok(Map.of("id", entryId, "status", WaitlistEntry.WITHDRAWN));
+            }
+        }
+        throw ApiException.notFound("No such endpoint: " + method + " " + exchange.getRequestURI().getPath());
+    }
+
+    private Response availability(int resortId, Map<String, String> query) {
+        LocalDate checkIn = LocalDate.parse(required(query.get("checkIn"), "checkIn"));
+        LocalDate checkOut = LocalDate.parse(required(query.get("checkOut"), "checkOut"));
+        validateDates(checkIn, checkOut);
+        List<Map<String, Object>> rooms = inventoryService.findAvailable(resortId, checkIn, checkOut).stream()
+                .map(availability -> {
+                    Map<String, Object> json = roomJson(availability.getRoom());
+                    json.put("freeUnits", availability.getFreeUnits());
+                    return json;
+                })
+                .collect(Collectors.toList());
+        return ok(rooms);
+    }
+
+    private Response search(Map<String, String> query) {
+        LocalDate checkIn = LocalDate.parse(required(query.get("checkIn"), "checkIn"));
+        LocalDate checkOut = LocalDate.parse(required(query.get("checkOut"), "checkOut"));
+        validateDates(checkIn, checkOut);
+        int guests = Integer.parseInt(query.getOrDefault("guests", "1"));
+        if (guests < 1 || guests > MAX_GUESTS) {
+            throw ApiException.badRequest("guests must be between 1 and " + MAX_GUESTS);
+        }
+        int minBeds = Integer.parseInt(query.getOrDefault("minBeds", "0"));
+        double maxPrice = Double.parseDouble(query.getOrDefault("maxPrice", "0"));
+        int limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(MAX_SEARCH_RESULTS)));
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw ApiException.badRequest("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        return ok(availabilitySearch.search(checkIn, checkOut, guests, minBeds, maxPrice, limit).stream()
+                .map(ApiServer::searchResultJson)
+                .collect(Collectors.toList()));
+    }
+
+    private Response book(User user, Quote quote) {
+        BookingResult result = bookingService.book(user.getId(), quote);
+        switch (result.getStatus()) {
+            case CONFIRMED:
+                Map<String, Object> json = new LinkedHashMap<>();
+                // Re-read so the response carries the joined names and the stored timestamp
+                Booking stored = bookingDAO.findById(result.getBooking().getId());
+                json.put("booking", bookingJson(stored != null ? stored : result.getBooking()));
+                json.put("invoice", invoiceJson(result.getInvoice()));
+                return new Response(201, json);
+            case SOLD_OUT:
+            case CONFLICT:
+                Map<String, Object> conflict = error(result.getMessage());
+                conflict.put("status", result.getStatus().name());
+                return new Response(409, conflict);
+            default:
+                throw new ApiException(500, "Booking failed: " + result.getMessage());
+        }
+    }
+
+    private Response cancel(Booking booking) {
+        // Customers may only withdraw a live booking before the stay begins
+        if (!"confirmed".equals(booking.getStatus())) {
+            throw new ApiException(409, "Booking " + booking.getId() + " is " + booking.getStatus()
+                    + " and cannot be cancelled");
+        }
+        if (booking.getCheckInDate().isBefore(LocalDate.now())) {
+            throw new ApiException(409, "Booking " + booking.getId() + " has already started");
+        }
+        BookingResult result = bookingService.changeStatus(booking, "cancelled");
+        switch (result.getStatus()) {
+            case CONFIRMED:
+                return ok(bookingJson(booking));
+            case UNCHANGED:
+                throw new ApiException(409, "Booking " + booking.getId() + " is already cancelled");
+            case CONFLICT:
+                throw new ApiException(409, "Booking " + booking.getId() + " could not be cancelled: " + result.getMessage());
+            default:
+                throw new ApiException(500, "Cancellation failed: " + result.getMessage());
+        }
+    }
+
+    private Booking findOwnBooking(User user, int bookingId) {
+        Booking booking = bookingDAO.findById(bookingId);
+        // Someone else's booking is reported as missing so IDs cannot be probed
+        if (booking == null || (booking.getUserId() != user.getId() && !user.isAdmin())) {
+            throw ApiException.notFound("No booking " + bookingId);
+        }
+        return booking;
+    }
+
+    private Quote parseStay(Object body) {
+        if (!(body instanceof Map)) {
+            throw ApiException.badRequest("Expected a JSON object");
+        }
+        Map<?, ?> json = (Map<?, ?>) body;
+        Room room = catalog.getRoom(requiredInt(json, "roomId"));
+        if (room == null) {
+            throw ApiException.notFound("No room " + json.get("roomId"));
+        }
+        FoodOption food = null;
+        if (json.get("foodOptionId") != null) {
+            int foodOptionId = requiredInt(json, "foodOptionId");
+            food = catalog.getFoodOptions().stream()
+                    .filter(option -> option.getId() == foodOptionId)
+                    .findFirst()
+                    .orElseThrow(() -> ApiException.notFound("No food option " + foodOptionId));
+        }
+        LocalDate checkIn = LocalDate.parse(required(json.get("checkIn"), "checkIn").toString());
+        LocalDate checkOut = LocalDate.parse(required(json.get("checkOut"), "checkOut").toString());
+        validateDates(checkIn, checkOut);
+        int guests = json.get("guests") != null ? requiredInt(json, "guests") : 1;
+        if (guests < 1 || guests > MAX_GUESTS) {
+            throw ApiException.badRequest("guests must be between 1 and " + MAX_GUESTS);
+        }
+        return bookingService.quote(room, food, checkIn, checkOut, guests);
+    }
+
+    private static void validateDates(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw ApiException.badRequest("checkIn is in the past");
+        }
+        long nights = checkOut.toEpochDay() - checkIn.toEpochDay();
+        if (nights < 1 || nights > MAX_NIGHTS) {
+            throw ApiException.badRequest("A stay must be between 1 and " + MAX_NIGHTS + " nights");
+        }
+    }
+
+    private User authenticate(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header != null && header.regionMatches(true, 0, "Basic ", 0, 6)) {
+            String credentials;
+            try {
+                credentials = new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                credentials = "";
+            }
+            int colon = credentials.indexOf(':');
+            if (colon > 0) {
+                String username = credentials.substring(0, colon);
+                String password = credentials.substring(colon + 1);
+                User user = credentialCache.get(username, password);
+                if (user == null) {
+                    user = authenticationService.authenticate(username, password);
+                    if (user != null) {
+                        credentialCache.put(username, password, user);
+                    }
+                }
+                if (user != null) {
+                    return user;
+                }
+            }
+        }
+        throw new ApiException(401, "Authentication required");
+    }
+
+    private static Object readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] chunk = new byte[8192];
+            int n;
+            while ((n = in.read(chunk)) > 0) {
+                if (buffer.size() + n > MAX_BODY_BYTES) {
+                    throw new ApiException(413, "Request body too large");
+                }
+                buffer.write(chunk, 0, n);
+            }
+        }
+        return Json.parse(buffer.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static int parseId(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            throw ApiException.notFound("No such ID: " + segment);
+        }
+    }
+
+    private static <T> T required(T value, String name) {
+        if (value == null) {
+            throw ApiException.badRequest(name + " is required");
+        }
+        return value;
+    }
+
+    private static int requiredInt(Map<?, ?> json, String name) {
+        Object value = required(json.get(name), name);
+        if (!(value instanceof Long)) {
+            throw ApiException.badRequest(name + " must be an integer");
+        }
+        long n = (Long) value;
+        if (n < Integer.MIN_VALUE || n > Integer.MAX_VALUE) {
+            throw ApiException.badRequest(name + " is out of range");
+        }
+        return (int) n;
+    }
+
+    private static Response ok(Object body) {
+        return new Response(200, body);
+    }
+
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("error", message);
+        return json;
+    }
+
+    private static Map<String, Object> resortJson(Resort resort) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", resort.getId());
+        json.put("name", resort.getName());
+        json.put("location", resort.getLocation());
+        json.put("description", resort.getDescription());
+        return json;
+    }
+
+    private static Map<String, Object> roomJson(Room room) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", room.getId());
+        json.put("resortId", room.getResortId());
+        json.put("resortName", room.getResortName());
+        json.put("roomType", room.getRoomType());
+        json.put("beds", room.getBeds());
+        json.put("pricePerNight", room.getPricePerNight());
+        return json;
+    }
+
+    private static Map<String, Object> foodJson(FoodOption food) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", food.getId());
+        json.put("cuisineType", food.getCuisineType());
+        json.put("mealPlan", food.getMealPlan());
+        json.put("pricePerDay", food.getPricePerDay());
+        return json;
+    }
+
+    private static Map<String, Object> quoteJson(Quote quote) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("room", roomJson(quote.getRoom()));
+        json.put("foodOption", quote.getFoodOption() != null ? foodJson(quote.getFoodOption()) : null);
+        json.put("checkIn", quote.getCheckIn());
+        json.put("checkOut", quote.getCheckOut());
+        json.put("guests", quote.getGuests());
+        json.put("nights", quote.getNights());
+        json.put("roomCharges", quote.getRoomCharges());
+        json.put("foodCharges", quote.getFoodCharges());
+        json.put("discount", quote.getDiscount());
+        json.put("taxRate", quote.getTaxRate());
+        json.put("taxes", quote.getTaxes());
+        json.put("total", quote.getTotal());
+        return json;
+    }
+
+    private static Map<String, Object> searchResultJson(SearchResult result) {
+        Map<String, Object> json = roomJson(result.getRoom());
+        json.put("freeUnits", result.getFreeUnits());
+        json.put("nights", result.getNights());
+        json.put("nightlyRate", Math.round(result.getNightlyRate() * 100) / 100.0);
+        json.put("roomCharges", result.getRoomCharges());
+        json.put("taxRate", result.getTaxRate());
+        json.put("taxes", result.getTaxes());
+        json.put("total", result.getTotal());
+        return json;
+    }
+
+    private static Map<String, Object> waitlistJson(WaitlistEntry entry) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", entry.getId());
+        json.put("resortId", entry.getResortId());
+        json.put("roomId", entry.getRoomId());
+        json.put("foodOptionId", entry.getFoodOptionId());
+        json.put("checkIn", entry.getCheckInDate());
+        json.put("checkOut", entry.getCheckOutDate());
+        json.put("guests", entry.getNumGuests());
+        json.put("status", entry.getStatus());
+        json.put("bookingId", entry.getBookingId());
+        json.put("createdAt", entry.getCreatedAt());
+        return json;
+    }
+
+    private static Map<String, Object> bookingJson(Booking booking) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", booking.getId());
+        json.put("userId", booking.getUserId());
+        json.put("resortId", booking.getResortId());
+        json.put("resortName", booking.getResortName());
+        json.put("roomId", booking.getRoomId());
+        json.put("roomType", booking.getRoomType());
+        json.put("foodOptionId", booking.getFoodOptionId());
+        json.put("checkIn", booking.getCheckInDate());
+        json.put("checkOut", booking.getCheckOutDate());
+        json.put("guests", booking.getNumGuests());
+        json.put("status", booking.getStatus());
+        json.put("createdAt", booking.getCreatedAt());
+        return json;
+    }
+
+    private static Map<String, Object> invoiceJson(Invoice invoice) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", invoice.getId());
+        json.put("bookingId", invoice.getBookingId());
+        json.put("invoiceNumber", invoice.getInvoiceNumber());
+        json.put("roomCharges", invoice.getRoomCharges());
+        json.put("foodCharges", invoice.getFoodCharges());
+        json.put("taxes", invoice.getTaxes());
+        json.put("totalAmount", invoice.getTotalAmount());
+        json.put("createdAt", invoice.getCreatedAt());
+        return json;
+    }
+
+    private static final class Response {
+        final int status;
+        final Object body;
+
+        Response(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Starts the API on -Dresort.api.port (default 8080) against the same database as the desktop app.
+     */
+    public static void main(String[] args) throws IOException {
+        DatabaseManager.getInstance();
+        BlockIdGenerator.configureInvoiceNumbers();
+
+        ApiServer api = new ApiServer(Integer.getInteger("resort.api.port", 8080));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            api.stop(5);
+            DatabaseManager.getInstance().closeConnection();
+        }, "api-shutdown"));
+        api.start();
+        System.out.println("Resort API listening on port " + api.getPort());
+    }
+}
@@ -0,0 +1,82 @@
+package api;
+
+import models.User;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers recently verified Basic credentials for a short time, so clients that send them with
+ * every request pay for one slow password check rather than one per request. Only an HMAC of the
+ * credentials under a per-process random key is kept, so the cache holds nothing worth cracking.
+ */
+class CredentialCache {
+    private final Mac mac;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    CredentialCache(int maxEntries, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        try {
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            this.mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /**
+     * The user these exact credentials were verified for, or null if they have to be checked.
+     */
+    User get(String username, String password) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(username);
+        }
+        if (entry == null || entry.expiresAt < System.currentTimeMillis()
+                || !MessageDigest.isEqual(entry.digest, digest(username, password))) {
+            return null;
+        }
+        return entry.user;
+    }
+
+    void put(String username, String password, User user) {
+        Entry entry = new Entry(digest(username, password), user, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(username, entry);
+        }
+    }
+
+    private byte[] digest(String username, String password) {
+        byte[] input = (username + '\0' + password).getBytes(StandardCharsets.UTF_8);
+        synchronized (mac) {
+            return mac.doFinal(input);
+        }
+    }
+
+    private static final class Entry {
+        final byte[] digest;
+        final User user;
+        final long expiresAt;
+
+        Entry(byte[] digest, User user, long expiresAt) {
+            this.digest = digest;
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
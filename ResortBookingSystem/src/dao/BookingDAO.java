@@ -13,16 +13,48 @@ import java.util.List;
  * Data Access Object for Booking operations.
  */
 public class BookingDAO {
-    private Connection getConnection() {
+    // Constant, so the SQL built from it is identical text on every call and hits the statement cache
+    private static final String SELECT_BOOKINGS = """
+                SELECT b.*, res.name as resort_name, r.room_type, r.beds, f.cuisine_type, f.meal_plan, u.username
+                FROM bookings b
+                JOIN resorts res ON b.resort_id = res.id
+                JOIN rooms r ON b.room_id = r.id
+                LEFT JOIN food_options f ON b.food_option_id = f.id
+                JOIN users u ON b.user_id = u.id
+            """;
+
+    private final DailyStatsDAO statsDAO = new DailyStatsDAO();
+
+    private Connection getConnection() throws SQLException {
         return DatabaseManager.getInstance().getConnection();
     }
 
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
     /**
      * Create a new booking.
      */
     public boolean create(Booking booking) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            if (create(conn, booking)) {
+                conn.commit();
+                return true;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Create a new booking inside the caller's transaction, counting it in the daily statistics.
+     */
+    public boolean create(Connection conn, Booking booking) throws SQLException {
         String sql = "INSERT INTO bookings (user_id, resort_id, room_id, food_option_id, check_in_date, check_out_date, num_guests, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setInt(1, booking.getUserId());
             ps.setInt(2, booking.getResortId());
             ps.setInt(3, booking.getRoomId());
@@ -42,10 +74,11 @@ public class BookingDAO {
                 if (rs.next()) {
                     booking.setId(rs.getInt(1));
                 }
+                if (DailyStatsDAO.counts(booking.getStatus())) {
+                    statsDAO.applyBooking(conn, booking.getId(), 1);
+                }
                 return true;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return false;
     }
@@ -55,17 +88,9 @@ public class BookingDAO {
      */
     public List<Booking> findByUser(int userId) {
         List<Booking> bookings = new ArrayList<>();
-        String sql = """
-                    SELECT b.*, res.name as resort_name, r.room_type, r.beds, f.cuisine_type, f.meal_plan, u.username
-                    FROM bookings b
-                    JOIN resorts res ON b.resort_id = res.id
-                    JOIN rooms r ON b.room_id = r.id
-                    LEFT JOIN food_options f ON b.food_option_id = f.id
-                    JOIN users u ON b.user_id = u.id
-                    WHERE b.user_id = ?
-                    ORDER BY b.created_at DESC
-                """;
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        String sql = SELECT_BOOKINGS + "WHERE b.user_id = ? ORDER BY b.created_at DESC";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, userId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
@@ -82,17 +107,10 @@ public class BookingDAO {
      */
     public List<Booking> getAll() {
         List<Booking> bookings = new ArrayList<>();
-        String sql = """
-                    SELECT b.*, res.name as resort_name, r.room_type, r.beds, f.cuisine_type, f.meal_plan, u.username
-                    FROM bookings b
-                    JOIN resorts res ON b.resort_id = res.id
-                    JOIN rooms r ON b.room_id = r.id
-                    LEFT JOIN food_options f ON b.food_option_id = f.id
-                    JOIN users u ON b.user_id = u.id
-                    ORDER BY b.created_at DESC
-                """;
-        try (Statement stmt = getConnection().createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        String sql = SELECT_BOOKINGS + "ORDER BY b.created_at DESC";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 bookings.add(mapResultSetToBooking(rs));
             }
@@ -103,19 +121,117 @@ public class BookingDAO {
     }
 
     /**
-     * Find booking by ID.
+     * Find one page of bookings matching a query, in the query's sort order.
+     * Pages after a cursor are positioned by keyset, so every page costs the same no matter
+     * how far the caller has scrolled; the offset is only used when there is no cursor.
      */
-    public Booking findById(int id) {
-        String sql = """
-                    SELECT b.*, res.name as resort_name, r.room_type, r.beds, f.cuisine_type, f.meal_plan, u.username
+    public BookingPage findPage(BookingQuery query) {
+        StringBuilder sql = new StringBuilder(SELECT_BOOKINGS).append("WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        appendFilters(query, sql, params);
+
+        BookingQuery.Sort sort = query.getSort();
+        String cmp = sort.ascending ? ">" : "<";
+        String dir = sort.ascending ? "ASC" : "DESC";
+        BookingQuery.Cursor after = query.getAfter();
+        if (after != null) {
+            // Row-value comparison lets SQLite seek straight to the cursor in the index
+            sql.append(" AND (").append(sort.column).append(", b.id) ").append(cmp).append(" (?, ?)");
+            params.add(after.getSortValue());
+            params.add(after.getId());
+        }
+        sql.append(" ORDER BY ").append(sort.column).append(' ').append(dir)
+                .append(", b.id ").append(dir).append(" LIMIT ?");
+        // One extra row tells us whether another page follows
+        params.add(query.getPageSize() + 1);
+        if (after == null && query.getOffset() > 0) {
+            sql.append(" OFFSET ?");
+            params.add(query.getOffset());
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        BookingQuery.Cursor next = null;
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = ps.executeQuery();
+            String lastSortValue = null;
+            while (rs.next()) {
+                if (bookings.size() == query.getPageSize()) {
+                    Booking last = bookings.get(bookings.size() - 1);
+                    next = new BookingQuery.Cursor(lastSortValue, last.getId());
+                    break;
+                }
+                lastSortValue = rs.getString(sort.resultColumn);
+                bookings.add(mapResultSetToBooking(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new BookingPage(bookings, next);
+    }
+
+    /**
+     * Count the bookings matching a query's filters.
+     */
+    public int count(BookingQuery query) {
+        StringBuilder sql = new StringBuilder("""
+                    SELECT COUNT(*)
                     FROM bookings b
                     JOIN resorts res ON b.resort_id = res.id
                     JOIN rooms r ON b.room_id = r.id
-                    LEFT JOIN food_options f ON b.food_option_id = f.id
                     JOIN users u ON b.user_id = u.id
-                    WHERE b.id = ?
-                """;
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+                    WHERE 1 = 1
+                """);
+        List<Object> params = new ArrayList<>();
+        appendFilters(query, sql, params);
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = ps.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    private void appendFilters(BookingQuery query, StringBuilder sql, List<Object> params) {
+        if (query.getStatus() != null) {
+            sql.append(" AND b.status = ?");
+            params.add(query.getStatus());
+        }
+        if (query.getResortId() != null) {
+            sql.append(" AND b.resort_id = ?");
+            params.add(query.getResortId());
+        }
+        if (query.getUserId() != null) {
+            sql.append(" AND b.user_id = ?");
+            params.add(query.getUserId());
+        }
+        if (query.getFrom() != null) {
+            sql.append(" AND b.check_out_date > ?");
+            params.add(query.getFrom().toString());
+        }
+        if (query.getTo() != null) {
+            sql.append(" AND b.check_in_date <= ?");
+            params.add(query.getTo().toString());
+        }
+    }
+
+    /**
+     * Find booking by ID.
+     */
+    public Booking findById(int id) {
+        String sql = SELECT_BOOKINGS + "WHERE b.id = ?";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -128,20 +244,57 @@ public class BookingDAO {
     }
 
     /**
-     * Update booking status.
+     * Update booking status. Inventory is left alone; status changes that take or free a room
+     * go through {@code BookingService.changeStatus}.
      */
     public boolean updateStatus(int bookingId, String status) {
-        String sql = "UPDATE bookings SET status = ? WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-            ps.setString(1, status);
-            ps.setInt(2, bookingId);
-            return ps.executeUpdate() > 0;
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            String current = findStatus(conn, bookingId);
+            if (current != null && updateStatus(conn, bookingId, current, status)) {
+                conn.commit();
+                return true;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return false;
     }
 
+    /**
+     * Current status of a booking inside the caller's transaction, or null if it does not exist.
+     */
+    public String findStatus(Connection conn, int bookingId) throws SQLException {
+        String sql = "SELECT status FROM bookings WHERE id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, bookingId);
+            ResultSet rs = ps.executeQuery();
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    /**
+     * Change a booking's status inside the caller's transaction, if it still has the expected one.
+     * Cancelling a booking takes it out of the daily statistics and reinstating it puts it back.
+     * @return false if the status was changed by someone else meanwhile
+     */
+    public boolean updateStatus(Connection conn, int bookingId, String expected, String status) throws SQLException {
+        String sql = "UPDATE bookings SET status = ? WHERE id = ? AND status = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, status);
+            ps.setInt(2, bookingId);
+            ps.setString(3, expected);
+            if (ps.executeUpdate() == 0) {
+                return false;
+            }
+        }
+        boolean counted = DailyStatsDAO.counts(expected);
+        if (counted != DailyStatsDAO.counts(status)) {
+            statsDAO.applyBooking(conn, bookingId, counted ? -1 : 1);
+        }
+        return true;
+    }
+
     private Booking mapResultSetToBooking(ResultSet rs) throws SQLException {
         Booking booking = new Booking();
         booking.setId(rs.getInt("id"));
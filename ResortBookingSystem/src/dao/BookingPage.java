@@ -0,0 +1,33 @@
+package dao;
+
+import models.Booking;
+
+import java.util.List;
+
+/**
+ * One page of bookings and the cursor to request the next one.
+ */
+public class BookingPage {
+    private final List<Booking> bookings;
+    private final BookingQuery.Cursor nextCursor;
+
+    public BookingPage(List<Booking> bookings, BookingQuery.Cursor nextCursor) {
+        this.bookings = bookings;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Booking> getBookings() {
+        return bookings;
+    }
+
+    /**
+     * Cursor for the following page, or null if this is the last one.
+     */
+    public BookingQuery.Cursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,169 @@
+package dao;
+
+import java.time.LocalDate;
+
+/**
+ * Filter, sort order and page position for {@link BookingDAO#findPage}.
+ * Unset filters match every booking.
+ */
+public class BookingQuery {
+
+    /**
+     * Sort orders. Each one breaks ties on the booking ID so the order is total
+     * and a cursor identifies exactly one position.
+     */
+    public enum Sort {
+        NEWEST("b.created_at", "created_at", false),
+        OLDEST("b.created_at", "created_at", true),
+        CHECK_IN_SOONEST("b.check_in_date", "check_in_date", true),
+        CHECK_IN_LATEST("b.check_in_date", "check_in_date", false);
+
+        final String column;
+        final String resultColumn;
+        final boolean ascending;
+
+        Sort(String column, String resultColumn, boolean ascending) {
+            this.column = column;
+            this.resultColumn = resultColumn;
+            this.ascending = ascending;
+        }
+    }
+
+    /**
+     * Position after the last row of a page: its sort key and ID.
+     */
+    public static final class Cursor {
+        private final String sortValue;
+        private final int id;
+
+        public Cursor(String sortValue, int id) {
+            this.sortValue = sortValue;
+            this.id = id;
+        }
+
+        public String getSortValue() {
+            return sortValue;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    private String status;
+    private Integer resortId;
+    private Integer userId;
+    private LocalDate from;
+    private LocalDate to;
+    private Sort sort = Sort.NEWEST;
+    private int pageSize = 50;
+    private Cursor after;
+    private int offset;
+
+    public BookingQuery() {
+    }
+
+    /**
+     * The same filter and sort positioned after {@code cursor}.
+     */
+    public BookingQuery next(Cursor cursor) {
+        BookingQuery query = new BookingQuery();
+        query.status = status;
+        query.resortId = resortId;
+        query.userId = userId;
+        query.from = from;
+        query.to = to;
+        query.sort = sort;
+        query.pageSize = pageSize;
+        query.after = cursor;
+        return query;
+    }
+
+    /**
+     * The same filter and sort starting {@code offset} rows in, for random access without a cursor.
+     */
+    public BookingQuery at(int offset) {
+        BookingQuery query = next(null);
+        query.offset = Math.max(0, offset);
+        return query;
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getResortId() {
+        return resortId;
+    }
+
+    public void setResortId(Integer resortId) {
+        this.resortId = resortId;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Only bookings whose stay includes a night on or after this date.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    /**
+     * Only bookings checking in on or before this date.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public void setSort(Sort sort) {
+        this.sort = sort != null ? sort : Sort.NEWEST;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    public Cursor getAfter() {
+        return after;
+    }
+
+    public void setAfter(Cursor after) {
+        this.after = after;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public void setOffset(int offset) {
+        this.offset = Math.max(0, offset);
+    }
+}
@@ -0,0 +1,210 @@
+package dao;
+
+import database.DatabaseManager;
+import models.DailyStats;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for the daily_resort_stats table: rooms sold, guests and revenue per resort,
+ * room type and night. Booking and invoice writes update it inside their own transaction, so reports
+ * read O(nights x room types) rows and never touch bookings or invoices. A booking counts unless it
+ * is cancelled; the charges of its invoices are spread evenly over its nights.
+ */
+public class DailyStatsDAO {
+    // Spreads one booking over its nights and adds the given multiples of it to each night's row.
+    // The charges are summed into a single row, so a booking with several invoices is counted once
+    // and the night recursion, which joins the stay, does not multiply.
+    private static final String APPLY_BOOKING = """
+                WITH RECURSIVE stay AS (
+                    SELECT b.resort_id, b.room_id, date(b.check_in_date) AS first_night,
+                           date(b.check_out_date) AS check_out, b.num_guests,
+                           COALESCE(i.room_charges, 0) / (julianday(b.check_out_date) - julianday(b.check_in_date)) AS room_per_night,
+                           COALESCE(i.food_charges, 0) / (julianday(b.check_out_date) - julianday(b.check_in_date)) AS food_per_night
+                    FROM bookings b, (
+                        SELECT SUM(room_charges) AS room_charges, SUM(food_charges) AS food_charges
+                        FROM invoices WHERE booking_id = ? AND (? = 0 OR id = ?)
+                    ) i
+                    WHERE b.id = ? AND b.check_out_date > b.check_in_date AND (? = 0 OR b.status != 'cancelled')
+                ),
+                nights(night) AS (
+                    SELECT first_night FROM stay
+                    UNION ALL
+                    SELECT date(night, '+1 day') FROM nights, stay WHERE date(night, '+1 day') < stay.check_out
+                )
+                INSERT INTO daily_resort_stats (resort_id, room_id, night, rooms_sold, guests, room_revenue, food_revenue)
+                SELECT resort_id, room_id, night, ?, ? * num_guests, ? * room_per_night, ? * food_per_night
+                FROM stay, nights WHERE true
+                ON CONFLICT (resort_id, room_id, night) DO UPDATE SET
+                    rooms_sold = rooms_sold + excluded.rooms_sold,
+                    guests = guests + excluded.guests,
+                    room_revenue = room_revenue + excluded.room_revenue,
+                    food_revenue = food_revenue + excluded.food_revenue
+            """;
+
+    // Every counted booking over its nights, with the charges of all its invoices
+    private static final String REBUILD = """
+                WITH RECURSIVE stays(resort_id, room_id, night, check_out_date, guests, room_per_night, food_per_night) AS (
+                    SELECT b.resort_id, b.room_id, date(b.check_in_date), date(b.check_out_date), b.num_guests,
+                           COALESCE(i.room_charges, 0) / (julianday(b.check_out_date) - julianday(b.check_in_date)),
+                           COALESCE(i.food_charges, 0) / (julianday(b.check_out_date) - julianday(b.check_in_date))
+                    FROM bookings b LEFT JOIN (
+                        SELECT booking_id, SUM(room_charges) AS room_charges, SUM(food_charges) AS food_charges
+                        FROM invoices GROUP BY booking_id
+                    ) i ON i.booking_id = b.id
+                    WHERE b.status != 'cancelled' AND b.check_out_date > b.check_in_date
+                    UNION ALL
+                    SELECT resort_id, room_id, date(night, '+1 day'), check_out_date, guests, room_per_night, food_per_night
+                    FROM stays WHERE date(night, '+1 day') < check_out_date
+                )
+                INSERT INTO daily_resort_stats (resort_id, room_id, night, rooms_sold, guests, room_revenue, food_revenue)
+                SELECT resort_id, room_id, night, COUNT(*), SUM(guests), SUM(room_per_night), SUM(food_per_night)
+                FROM stays GROUP BY resort_id, room_id, night
+            """;
+
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
+    /**
+     * Whether a booking with this status counts towards the figures.
+     */
+    public static boolean counts(String status) {
+        return !"cancelled".equals(status);
+    }
+
+    /**
+     * Add ({@code sign} 1) or remove ({@code sign} -1) a booking, with the charges of all its invoices,
+     * inside the caller's transaction.
+     */
+    public void applyBooking(Connection conn, int bookingId, int sign) throws SQLException {
+        apply(conn, bookingId, 0, false, sign, sign);
+    }
+
+    /**
+     * Add the charges of one newly created invoice inside the caller's transaction,
+     * unless its booking is cancelled.
+     */
+    public void applyInvoice(Connection conn, int bookingId, int invoiceId) throws SQLException {
+        if (invoiceId <= 0) {
+            throw new SQLException("Invoice of booking " + bookingId + " has no ID");
+        }
+        apply(conn, bookingId, invoiceId, true, 0, 1);
+    }
+
+    // invoiceId 0 takes the charges of every invoice of the booking
+    private void apply(Connection conn, int bookingId, int invoiceId, boolean activeOnly, int roomsSign,
+            int revenueSign) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(APPLY_BOOKING)) {
+            ps.setInt(1, bookingId);
+            ps.setInt(2, invoiceId);
+            ps.setInt(3, invoiceId);
+            ps.setInt(4, bookingId);
+            ps.setInt(5, activeOnly ? 1 : 0);
+            ps.setInt(6, roomsSign);
+            ps.setInt(7, roomsSign);
+            ps.setInt(8, revenueSign);
+            ps.setInt(9, revenueSign);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Recompute the whole table from bookings and invoices, inside the caller's transaction.
+     * Used after bulk loads that insert bookings without going through the DAOs.
+     */
+    public void rebuild(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM daily_resort_stats");
+            stmt.executeUpdate(REBUILD);
+        }
+    }
+
+    /**
+     * Figures for every night in [from, to), one row per night, for one resort or all of them.
+     * Nights with nothing sold are included, so the rows can be charted as they are.
+     * @param resortId the resort, or 0 for all
+     */
+    public List<DailyStats> findByNight(int resortId, LocalDate from, LocalDate to) {
+        List<DailyStats> result = new ArrayList<>();
+        String sql = "SELECT night, SUM(rooms_sold), SUM(guests), SUM(room_revenue), SUM(food_revenue) "
+                + "FROM daily_resort_stats WHERE night >= ? AND night < ?"
+                + (resortId > 0 ? " AND resort_id = ?" : "") + " GROUP BY night ORDER BY night";
+        try (Connection conn = getReadConnection()) {
+            long units = countUnits(conn, resortId);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, from.toString());
+                ps.setString(2, to.toString());
+                if (resortId > 0) {
+                    ps.setInt(3, resortId);
+                }
+                ResultSet rs = ps.executeQuery();
+                LocalDate night = from;
+                while (rs.next()) {
+                    LocalDate sold = LocalDate.parse(rs.getString(1));
+                    for (; night.isBefore(sold); night = night.plusDays(1)) {
+                        result.add(new DailyStats(night.toString(), 0, 0, 0, 0, units));
+                    }
+                    result.add(new DailyStats(sold.toString(), rs.getLong(2), rs.getLong(3), rs.getDouble(4),
+                            rs.getDouble(5), units));
+                    night = sold.plusDays(1);
+                }
+                for (; night.isBefore(to); night = night.plusDays(1)) {
+                    result.add(new DailyStats(night.toString(), 0, 0, 0, 0, units));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return result;
+    }
+
+    /**
+     * Figures for the nights in [from, to), one row per room type, for one resort or all of them.
+     * @param resortId the resort, or 0 for all
+     */
+    public List<DailyStats> findByRoomType(int resortId, LocalDate from, LocalDate to) {
+        List<DailyStats> result = new ArrayList<>();
+        long nights = to.toEpochDay() - from.toEpochDay();
+        String sql = """
+                    SELECT res.name, r.room_type, r.available_count, COALESCE(SUM(s.rooms_sold), 0),
+                           COALESCE(SUM(s.guests), 0), COALESCE(SUM(s.room_revenue), 0), COALESCE(SUM(s.food_revenue), 0)
+                    FROM rooms r
+                    JOIN resorts res ON r.resort_id = res.id
+                    LEFT JOIN daily_resort_stats s ON s.resort_id = r.resort_id AND s.room_id = r.id
+                        AND s.night >= ? AND s.night < ?
+                """ + (resortId > 0 ? "WHERE r.resort_id = ? " : "")
+                + "GROUP BY r.id ORDER BY res.name, r.room_type";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, from.toString());
+            ps.setString(2, to.toString());
+            if (resortId > 0) {
+                ps.setInt(3, resortId);
+            }
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                String label = resortId > 0 ? rs.getString(2) : rs.getString(1) + " - " + rs.getString(2);
+                result.add(new DailyStats(label, rs.getLong(4), rs.getLong(5), rs.getDouble(6), rs.getDouble(7),
+                        rs.getLong(3) * nights));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return result;
+    }
+
+    private long countUnits(Connection conn, int resortId) throws SQLException {
+        String sql = "SELECT COALESCE(SUM(available_count), 0) FROM rooms" + (resortId > 0 ? " WHERE resort_id = ?" : "");
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (resortId > 0) {
+                ps.setInt(1, resortId);
+            }
+            ResultSet rs = ps.executeQuery();
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
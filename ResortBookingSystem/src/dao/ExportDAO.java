@@ -0,0 +1,150 @@
+package dao;
+
+import database.DatabaseManager;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams whole tables row by row for exports.
+ * Each export is one forward-only, read-only query on a connection of its own, so it sees a single
+ * consistent snapshot and holds no pooled connection however long it runs. Rows are handed over
+ * one at a time in ID order and never collected, so memory does not grow with the table.
+ */
+public class ExportDAO {
+
+    // Rows the driver may buffer per round trip; sqlite-jdbc steps one row at a time whatever the hint
+    static final int FETCH_SIZE = 1000;
+
+    /**
+     * Receives an export as it is read. Throwing stops the export.
+     */
+    public interface RowHandler {
+        void columns(String[] names) throws IOException;
+
+        /**
+         * @param values one per column, as stored: null, Long or Integer, Double, or String.
+         *               The array is reused for the next row.
+         */
+        void row(Object[] values) throws IOException;
+    }
+
+    /**
+     * Stream every row matching the query to the handler.
+     * @return the number of rows exported
+     */
+    public long export(ExportQuery query, RowHandler handler) throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        String sql = buildSql(query, params);
+        try (Connection conn = DatabaseManager.getInstance().openDedicatedReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                String[] names = new String[meta.getColumnCount()];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = meta.getColumnLabel(i + 1);
+                }
+                handler.columns(names);
+
+                Object[] values = new Object[names.length];
+                long rows = 0;
+                while (rs.next()) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = rs.getObject(i + 1);
+                    }
+                    handler.row(values);
+                    rows++;
+                }
+                return rows;
+            }
+        }
+    }
+
+    private String buildSql(ExportQuery query, List<Object> params) {
+        StringBuilder sql = new StringBuilder();
+        List<String> where = new ArrayList<>();
+        switch (query.getDataset()) {
+            case BOOKINGS:
+                sql.append("SELECT b.id, b.user_id, u.username, b.resort_id, r.name AS resort_name, b.room_id, ")
+                        .append("rm.room_type, b.food_option_id, b.check_in_date, b.check_out_date, b.num_guests, ")
+                        .append("b.status, b.created_at FROM bookings b ")
+                        .append("LEFT JOIN users u ON u.id = b.user_id ")
+                        .append("LEFT JOIN resorts r ON r.id = b.resort_id ")
+                        .append("LEFT JOIN rooms rm ON rm.id = b.room_id");
+                addBookingFilters(query, where, params);
+                if (query.getFrom() != null) {
+                    where.add("b.check_in_date >= ?");
+                    params.add(query.getFrom().toString());
+                }
+                if (query.getTo() != null) {
+                    where.add("b.check_in_date <= ?");
+                    params.add(query.getTo().toString());
+                }
+                return finish(sql, where, "b.id");
+            case INVOICES:
+                sql.append("SELECT i.id, i.invoice_number, i.booking_id, i.user_id, u.username, b.resort_id, ")
+                        .append("b.status AS booking_status, i.room_charges, i.food_charges, i.taxes, ")
+                        .append("i.total_amount, i.created_at FROM invoices i ")
+                        .append("LEFT JOIN bookings b ON b.id = i.booking_id ")
+                        .append("LEFT JOIN users u ON u.id = i.user_id");
+                addBookingFilters(query, where, params);
+                addCreatedFilters("i", query, where, params);
+                return finish(sql, where, "i.id");
+            case USERS:
+            default:
+                // Never the password hash
+                sql.append("SELECT u.id, u.username, u.email, u.phone, u.role, u.created_at FROM users u");
+                if (query.getRole() != null) {
+                    where.add("u.role = ?");
+                    params.add(query.getRole());
+                }
+                addCreatedFilters("u", query, where, params);
+                return finish(sql, where, "u.id");
+        }
+    }
+
+    private static void addBookingFilters(ExportQuery query, List<String> where, List<Object> params) {
+        if (query.getStatus() != null) {
+            where.add("b.status = ?");
+            params.add(query.getStatus());
+        }
+        if (query.getResortId() != null) {
+            where.add("b.resort_id = ?");
+            params.add(query.getResortId());
+        }
+        if (query.getUserId() != null) {
+            where.add("b.user_id = ?");
+            params.add(query.getUserId());
+        }
+    }
+
+    // created_at is stored as 'yyyy-MM-dd HH:mm:ss', so whole days compare as text
+    private static void addCreatedFilters(String alias, ExportQuery query, List<String> where, List<Object> params) {
+        if (query.getFrom() != null) {
+            where.add(alias + ".created_at >= ?");
+            params.add(query.getFrom().toString());
+        }
+        if (query.getTo() != null) {
+            where.add(alias + ".created_at < ?");
+            params.add(query.getTo().plusDays(1).toString());
+        }
+    }
+
+    private static String finish(StringBuilder sql, List<String> where, String orderBy) {
+        if (!where.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+        return sql.append(" ORDER BY ").append(orderBy).toString();
+    }
+}
@@ -0,0 +1,104 @@
+package dao;
+
+import java.time.LocalDate;
+
+/**
+ * What {@link ExportDAO#export} streams: one table and the rows of it to include.
+ * Unset filters match every row; filters that do not apply to the dataset are ignored.
+ */
+public class ExportQuery {
+
+    public enum Dataset {
+        BOOKINGS, INVOICES, USERS
+    }
+
+    private Dataset dataset = Dataset.BOOKINGS;
+    private LocalDate from;
+    private LocalDate to;
+    private String status;
+    private Integer resortId;
+    private Integer userId;
+    private String role;
+
+    public ExportQuery() {
+    }
+
+    public ExportQuery(Dataset dataset) {
+        setDataset(dataset);
+    }
+
+    // Getters and Setters
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    public void setDataset(Dataset dataset) {
+        this.dataset = dataset != null ? dataset : Dataset.BOOKINGS;
+    }
+
+    /**
+     * First day included: check-in date for bookings, creation date for invoices and users.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    /**
+     * Last day included, on the same date as {@link #getFrom()}.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    /**
+     * Booking status; for invoices, the status of the invoiced booking.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Bookings and invoices only.
+     */
+    public Integer getResortId() {
+        return resortId;
+    }
+
+    public void setResortId(Integer resortId) {
+        this.resortId = resortId;
+    }
+
+    /**
+     * Bookings and invoices only.
+     */
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Users only.
+     */
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+}
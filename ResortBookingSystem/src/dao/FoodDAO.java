@@ -11,16 +11,21 @@ import java.util.List;
  * Data Access Object for FoodOption operations.
  */
 public class FoodDAO {
-    private Connection getConnection() {
+    private Connection getConnection() throws SQLException {
         return DatabaseManager.getInstance().getConnection();
     }
 
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
     /**
      * Create a new food option.
      */
     public boolean create(FoodOption food) {
         String sql = "INSERT INTO food_options (cuisine_type, meal_plan, price_per_day) VALUES (?, ?, ?)";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, food.getCuisineType());
             ps.setString(2, food.getMealPlan());
             ps.setDouble(3, food.getPricePerDay());
@@ -44,7 +49,8 @@ public class FoodDAO {
      */
     public boolean update(FoodOption food) {
         String sql = "UPDATE food_options SET cuisine_type = ?, meal_plan = ?, price_per_day = ? WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, food.getCuisineType());
             ps.setString(2, food.getMealPlan());
             ps.setDouble(3, food.getPricePerDay());
@@ -61,7 +67,8 @@ public class FoodDAO {
      */
     public boolean delete(int id) {
         String sql = "DELETE FROM food_options WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, id);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -75,7 +82,8 @@ public class FoodDAO {
      */
     public FoodOption findById(int id) {
         String sql = "SELECT * FROM food_options WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -93,8 +101,9 @@ public class FoodDAO {
     public List<FoodOption> getAll() {
         List<FoodOption> options = new ArrayList<>();
         String sql = "SELECT * FROM food_options ORDER BY cuisine_type, meal_plan";
-        try (Statement stmt = getConnection().createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 options.add(mapResultSetToFoodOption(rs));
             }
@@ -104,6 +113,43 @@ public class FoodDAO {
         return options;
     }
 
+    /**
+     * Count all food options.
+     */
+    public int count() {
+        String sql = "SELECT COUNT(*) FROM food_options";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Get food options in the same order as the full listing, starting at {@code offset}.
+     */
+    public List<FoodOption> findRange(int offset, int limit) {
+        List<FoodOption> result = new ArrayList<>();
+        String sql = "SELECT * FROM food_options ORDER BY cuisine_type, meal_plan, id LIMIT ? OFFSET ?";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, limit);
+            ps.setInt(2, offset);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                result.add(mapResultSetToFoodOption(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return result;
+    }
+
     private FoodOption mapResultSetToFoodOption(ResultSet rs) throws SQLException {
         FoodOption food = new FoodOption();
         food.setId(rs.getInt("id"));
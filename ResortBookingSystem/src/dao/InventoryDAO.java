@@ -0,0 +1,172 @@
+package dao;
+
+import database.DatabaseManager;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Data Access Object for the per-night room inventory ledger.
+ * Each row counts the units of one room type booked for one night;
+ * the room's available_count is the number of units it has.
+ */
+public class InventoryDAO {
+    private Connection getConnection() throws SQLException {
+        return DatabaseManager.getInstance().getConnection();
+    }
+
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
+    /**
+     * Load booked unit counts for every night in [from, to).
+     * @return array indexed by night offset from {@code from}; nights without a row are 0.
+     *         Null if the ledger could not be read, so callers never take a failed read for free nights.
+     */
+    public int[] findBooked(int roomId, LocalDate from, LocalDate to) {
+        int[] booked = new int[(int) (to.toEpochDay() - from.toEpochDay())];
+        String sql = "SELECT night, booked FROM room_inventory WHERE room_id = ? AND night >= ? AND night < ?";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, roomId);
+            ps.setString(2, from.toString());
+            ps.setString(3, to.toString());
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                long offset = LocalDate.parse(rs.getString("night")).toEpochDay() - from.toEpochDay();
+                booked[(int) offset] = rs.getInt("booked");
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return booked;
+    }
+
+    /**
+     * Load booked unit counts of every room type for the nights in [from, to) in one query.
+     * @return arrays indexed by night offset from {@code from}, keyed by room ID; room types
+     *         with nothing booked in the range are absent; null if the ledger could not be read
+     */
+    public Map<Integer, int[]> findBookedByRoom(LocalDate from, LocalDate to) {
+        int nights = (int) (to.toEpochDay() - from.toEpochDay());
+        Map<Integer, int[]> booked = new HashMap<>();
+        // The night offset is worked out by SQLite; parsing millions of date strings would dominate the load
+        String sql = """
+                    SELECT room_id, CAST(julianday(night) - julianday(?) AS INTEGER), booked FROM room_inventory
+                    WHERE night >= ? AND night < ? AND booked > 0
+                """;
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, from.toString());
+            ps.setString(2, from.toString());
+            ps.setString(3, to.toString());
+            ResultSet rs = ps.executeQuery();
+            int[] last = null;
+            int lastRoomId = -1;
+            while (rs.next()) {
+                int roomId = rs.getInt(1);
+                if (roomId != lastRoomId) {
+                    last = booked.computeIfAbsent(roomId, id -> new int[nights]);
+                    lastRoomId = roomId;
+                }
+                last[rs.getInt(2)] = rs.getInt(3);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return booked;
+    }
+
+    /**
+     * Take one unit for every night in [checkIn, checkOut), in a transaction of its own.
+     * @return false if any night is already full, in which case nothing is reserved
+     */
+    public boolean reserve(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            if (reserve(conn, roomId, checkIn, checkOut)) {
+                conn.commit();
+                return true;
+            }
+            conn.rollback();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Take one unit for every night in [checkIn, checkOut) inside the caller's transaction.
+     * The capacity check and the increment are one statement per night, so concurrent
+     * reservations cannot oversell. When this returns false the caller must roll back.
+     */
+    public boolean reserve(Connection conn, int roomId, LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        String insertSql = "INSERT OR IGNORE INTO room_inventory (room_id, night, booked) VALUES (?, ?, 0)";
+        String updateSql = """
+                    UPDATE room_inventory SET booked = booked + 1
+                    WHERE room_id = ? AND night = ?
+                      AND booked < (SELECT available_count FROM rooms WHERE id = ?)
+                """;
+        try (PreparedStatement insert = conn.prepareStatement(insertSql);
+                PreparedStatement update = conn.prepareStatement(updateSql)) {
+            for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+                insert.setInt(1, roomId);
+                insert.setString(2, night.toString());
+                insert.addBatch();
+                update.setInt(1, roomId);
+                update.setString(2, night.toString());
+                update.setInt(3, roomId);
+                update.addBatch();
+            }
+            insert.executeBatch();
+            for (int count : update.executeBatch()) {
+                if (count == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Give back one unit for every night in [checkIn, checkOut) inside the caller's transaction.
+     */
+    public void release(Connection conn, int roomId, LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        String sql = "UPDATE room_inventory SET booked = booked - 1 WHERE room_id = ? AND night = ? AND booked > 0";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+                ps.setInt(1, roomId);
+                ps.setString(2, night.toString());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Recompute the whole ledger from the bookings that are not cancelled, inside the caller's transaction.
+     * Used after bulk loads that insert bookings without going through {@link #reserve}.
+     */
+    public void rebuild(Connection conn) throws SQLException {
+        String sql = """
+                    WITH RECURSIVE nights(room_id, night, check_out_date) AS (
+                        SELECT room_id, date(check_in_date), date(check_out_date) FROM bookings
+                        WHERE status != 'cancelled' AND check_out_date > check_in_date
+                        UNION ALL
+                        SELECT room_id, date(night, '+1 day'), check_out_date FROM nights
+                        WHERE date(night, '+1 day') < check_out_date
+                    )
+                    INSERT INTO room_inventory (room_id, night, booked)
+                    SELECT room_id, night, COUNT(*) FROM nights GROUP BY room_id, night
+                """;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM room_inventory");
+            stmt.executeUpdate(sql);
+        }
+    }
+}
@@ -12,16 +12,38 @@ import java.util.List;
  * Data Access Object for Invoice operations.
  */
 public class InvoiceDAO {
-    private Connection getConnection() {
+    private final DailyStatsDAO statsDAO = new DailyStatsDAO();
+
+    private Connection getConnection() throws SQLException {
         return DatabaseManager.getInstance().getConnection();
     }
 
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
     /**
      * Create a new invoice.
      */
     public boolean create(Invoice invoice) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            if (create(conn, invoice)) {
+                conn.commit();
+                return true;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Create a new invoice inside the caller's transaction, adding its charges to the daily statistics.
+     */
+    public boolean create(Connection conn, Invoice invoice) throws SQLException {
         String sql = "INSERT INTO invoices (booking_id, user_id, invoice_number, room_charges, food_charges, taxes, total_amount) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setInt(1, invoice.getBookingId());
             ps.setInt(2, invoice.getUserId());
             ps.setString(3, invoice.getInvoiceNumber());
@@ -36,10 +58,9 @@ public class InvoiceDAO {
                 if (rs.next()) {
                     invoice.setId(rs.getInt(1));
                 }
+                statsDAO.applyInvoice(conn, invoice.getBookingId(), invoice.getId());
                 return true;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return false;
     }
@@ -58,7 +79,8 @@ public class InvoiceDAO {
                     WHERE i.user_id = ?
                     ORDER BY i.created_at DESC
                 """;
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, userId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
@@ -82,7 +104,8 @@ public class InvoiceDAO {
                     JOIN resorts res ON b.resort_id = res.id
                     WHERE i.booking_id = ?
                 """;
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, bookingId);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -107,8 +130,9 @@ public class InvoiceDAO {
                     JOIN resorts res ON b.resort_id = res.id
                     ORDER BY i.created_at DESC
                 """;
-        try (Statement stmt = getConnection().createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 invoices.add(mapResultSetToInvoice(rs));
             }
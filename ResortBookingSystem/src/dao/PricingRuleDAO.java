@@ -0,0 +1,118 @@
+package dao;
+
+import database.DatabaseManager;
+import models.PricingRule;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for PricingRule operations.
+ */
+public class PricingRuleDAO {
+    private Connection getConnection() throws SQLException {
+        return DatabaseManager.getInstance().getConnection();
+    }
+
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
+    /**
+     * Create a new pricing rule.
+     */
+    public boolean create(PricingRule rule) {
+        String sql = "INSERT INTO pricing_rules (resort_id, room_type, rule_type, season_start, season_end, "
+                + "day_of_week, threshold, value) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setInt(1, rule.getResortId());
+            ps.setString(2, rule.getRoomType());
+            ps.setString(3, rule.getRuleType());
+            ps.setString(4, rule.getSeasonStart());
+            ps.setString(5, rule.getSeasonEnd());
+            ps.setInt(6, rule.getDayOfWeek());
+            ps.setDouble(7, rule.getThreshold());
+            ps.setDouble(8, rule.getValue());
+
+            int rows = ps.executeUpdate();
+            if (rows > 0) {
+                ResultSet rs = ps.getGeneratedKeys();
+                if (rs.next()) {
+                    rule.setId(rs.getInt(1));
+                }
+                return true;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Delete a pricing rule by ID.
+     */
+    public boolean delete(int id) {
+        String sql = "DELETE FROM pricing_rules WHERE id = ?";
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Get every rule of a resort, oldest first.
+     */
+    public List<PricingRule> findByResort(int resortId) {
+        List<PricingRule> rules = new ArrayList<>();
+        String sql = "SELECT * FROM pricing_rules WHERE resort_id = ? ORDER BY id";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, resortId);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                rules.add(mapResultSetToRule(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return rules;
+    }
+
+    /**
+     * Get every rule of every resort, grouped by resort and oldest first within each.
+     */
+    public List<PricingRule> findAll() {
+        List<PricingRule> rules = new ArrayList<>();
+        String sql = "SELECT * FROM pricing_rules ORDER BY resort_id, id";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rules.add(mapResultSetToRule(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return rules;
+    }
+
+    private PricingRule mapResultSetToRule(ResultSet rs) throws SQLException {
+        PricingRule rule = new PricingRule();
+        rule.setId(rs.getInt("id"));
+        rule.setResortId(rs.getInt("resort_id"));
+        rule.setRoomType(rs.getString("room_type"));
+        rule.setRuleType(rs.getString("rule_type"));
+        rule.setSeasonStart(rs.getString("season_start"));
+        rule.setSeasonEnd(rs.getString("season_end"));
+        rule.setDayOfWeek(rs.getInt("day_of_week"));
+        rule.setThreshold(rs.getDouble("threshold"));
+        rule.setValue(rs.getDouble("value"));
+        return rule;
+    }
+}
@@ -9,30 +9,42 @@ import java.util.List;
 
 /**
  * Data Access Object for Resort operations.
+ * Every write also updates the resorts_fts full-text index, in the same transaction.
  */
 public class ResortDAO {
-    private Connection getConnection() {
+    // Column weights for ranking matches: a hit in the name counts most, one in the description least
+    private static final String RANK = "bm25(resorts_fts, 10.0, 5.0, 1.0)";
+
+    private Connection getConnection() throws SQLException {
         return DatabaseManager.getInstance().getConnection();
     }
 
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
     /**
      * Create a new resort.
      */
     public boolean create(Resort resort) {
         String sql = "INSERT INTO resorts (name, location, description, image_path) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, resort.getName());
-            ps.setString(2, resort.getLocation());
-            ps.setString(3, resort.getDescription());
-            ps.setString(4, resort.getImagePath());
-
-            int rows = ps.executeUpdate();
-            if (rows > 0) {
-                ResultSet rs = ps.getGeneratedKeys();
-                if (rs.next()) {
-                    resort.setId(rs.getInt(1));
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setString(1, resort.getName());
+                ps.setString(2, resort.getLocation());
+                ps.setString(3, resort.getDescription());
+                ps.setString(4, resort.getImagePath());
+
+                if (ps.executeUpdate() > 0) {
+                    ResultSet rs = ps.getGeneratedKeys();
+                    if (rs.next()) {
+                        resort.setId(rs.getInt(1));
+                    }
+                    indexResort(conn, resort.getId());
+                    conn.commit();
+                    return true;
                 }
-                return true;
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -45,13 +57,21 @@ public class ResortDAO {
      */
     public boolean update(Resort resort) {
         String sql = "UPDATE resorts SET name = ?, location = ?, description = ?, image_path = ? WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-            ps.setString(1, resort.getName());
-            ps.setString(2, resort.getLocation());
-            ps.setString(3, resort.getDescription());
-            ps.setString(4, resort.getImagePath());
-            ps.setInt(5, resort.getId());
-            return ps.executeUpdate() > 0;
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            unindexResort(conn, resort.getId());
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setString(1, resort.getName());
+                ps.setString(2, resort.getLocation());
+                ps.setString(3, resort.getDescription());
+                ps.setString(4, resort.getImagePath());
+                ps.setInt(5, resort.getId());
+                if (ps.executeUpdate() > 0) {
+                    indexResort(conn, resort.getId());
+                    conn.commit();
+                    return true;
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -63,9 +83,16 @@ public class ResortDAO {
      */
     public boolean delete(int id) {
         String sql = "DELETE FROM resorts WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
-            ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            unindexResort(conn, id);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, id);
+                if (ps.executeUpdate() > 0) {
+                    conn.commit();
+                    return true;
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -77,7 +104,8 @@ public class ResortDAO {
      */
     public Resort findById(int id) {
         String sql = "SELECT * FROM resorts WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -95,8 +123,9 @@ public class ResortDAO {
     public List<Resort> getAll() {
         List<Resort> resorts = new ArrayList<>();
         String sql = "SELECT * FROM resorts ORDER BY name";
-        try (Statement stmt = getConnection().createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 resorts.add(mapResultSetToResort(rs));
             }
@@ -106,6 +135,78 @@ public class ResortDAO {
         return resorts;
     }
 
+    /**
+     * Resorts whose name, location or description contain every word of {@code text}, each word
+     * matched as a prefix so results follow the user while typing. Best matches come first.
+     * Blank text returns every resort.
+     */
+    public List<Resort> search(String text, int limit) {
+        String match = toMatchQuery(text);
+        if (match.isEmpty()) {
+            return getAll();
+        }
+        List<Resort> resorts = new ArrayList<>();
+        String sql = "SELECT r.* FROM resorts_fts JOIN resorts r ON r.id = resorts_fts.rowid "
+                + "WHERE resorts_fts MATCH ? ORDER BY " + RANK + ", r.name LIMIT ?";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, match);
+            ps.setInt(2, limit);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                resorts.add(mapResultSetToResort(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return resorts;
+    }
+
+    /**
+     * Re-index every resort inside the caller's transaction.
+     * Used after bulk loads that insert resorts without going through this DAO.
+     */
+    public void rebuildSearchIndex(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO resorts_fts(resorts_fts) VALUES ('rebuild')");
+        }
+    }
+
+    // Words become quoted prefix terms, so FTS5 operators and punctuation typed by users match literally
+    private static String toMatchQuery(String text) {
+        StringBuilder match = new StringBuilder();
+        if (text != null) {
+            for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    if (match.length() > 0) {
+                        match.append(' ');
+                    }
+                    match.append('"').append(word).append("\"*");
+                }
+            }
+        }
+        return match.toString();
+    }
+
+    // External-content FTS5 tables are told the old text to remove, so this runs before the row changes
+    private void unindexResort(Connection conn, int id) throws SQLException {
+        String sql = "INSERT INTO resorts_fts(resorts_fts, rowid, name, location, description) "
+                + "SELECT 'delete', id, name, location, description FROM resorts WHERE id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            ps.executeUpdate();
+        }
+    }
+
+    private void indexResort(Connection conn, int id) throws SQLException {
+        String sql = "INSERT INTO resorts_fts(rowid, name, location, description) "
+                + "SELECT id, name, location, description FROM resorts WHERE id = ?";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            ps.executeUpdate();
+        }
+    }
+
     private Resort mapResultSetToResort(ResultSet rs) throws SQLException {
         Resort resort = new Resort();
         resort.setId(rs.getInt("id"));
@@ -11,16 +11,21 @@ import java.util.List;
  * Data Access Object for Room operations.
  */
 public class RoomDAO {
-    private Connection getConnection() {
+    private Connection getConnection() throws SQLException {
         return DatabaseManager.getInstance().getConnection();
     }
 
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
     /**
      * Create a new room.
      */
     public boolean create(Room room) {
         String sql = "INSERT INTO rooms (resort_id, room_type, beds, price_per_night, available_count) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setInt(1, room.getResortId());
             ps.setString(2, room.getRoomType());
             ps.setInt(3, room.getBeds());
@@ -46,7 +51,8 @@ public class RoomDAO {
      */
     public boolean update(Room room) {
         String sql = "UPDATE rooms SET resort_id = ?, room_type = ?, beds = ?, price_per_night = ?, available_count = ? WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, room.getResortId());
             ps.setString(2, room.getRoomType());
             ps.setInt(3, room.getBeds());
@@ -65,7 +71,8 @@ public class RoomDAO {
      */
     public boolean delete(int id) {
         String sql = "DELETE FROM rooms WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, id);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -79,7 +86,8 @@ public class RoomDAO {
      */
     public Room findById(int id) {
         String sql = "SELECT r.*, res.name as resort_name FROM rooms r JOIN resorts res ON r.resort_id = res.id WHERE r.id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -97,7 +105,8 @@ public class RoomDAO {
     public List<Room> findByResort(int resortId) {
         List<Room> rooms = new ArrayList<>();
         String sql = "SELECT r.*, res.name as resort_name FROM rooms r JOIN resorts res ON r.resort_id = res.id WHERE r.resort_id = ? ORDER BY r.room_type";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, resortId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
@@ -115,7 +124,8 @@ public class RoomDAO {
     public List<Room> getAvailable(int resortId) {
         List<Room> rooms = new ArrayList<>();
         String sql = "SELECT r.*, res.name as resort_name FROM rooms r JOIN resorts res ON r.resort_id = res.id WHERE r.resort_id = ? AND r.available_count > 0 ORDER BY r.price_per_night";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, resortId);
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
@@ -133,8 +143,9 @@ public class RoomDAO {
     public List<Room> getAll() {
         List<Room> rooms = new ArrayList<>();
         String sql = "SELECT r.*, res.name as resort_name FROM rooms r JOIN resorts res ON r.resort_id = res.id ORDER BY res.name, r.room_type";
-        try (Statement stmt = getConnection().createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 rooms.add(mapResultSetToRoom(rs));
             }
@@ -144,12 +155,50 @@ public class RoomDAO {
         return rooms;
     }
 
+    /**
+     * Count all rooms.
+     */
+    public int count() {
+        String sql = "SELECT COUNT(*) FROM rooms r JOIN resorts res ON r.resort_id = res.id";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Get rooms in the same order as the full listing, starting at {@code offset}.
+     */
+    public List<Room> findRange(int offset, int limit) {
+        List<Room> result = new ArrayList<>();
+        String sql = "SELECT r.*, res.name as resort_name FROM rooms r JOIN resorts res ON r.resort_id = res.id ORDER BY res.name, r.room_type, r.id LIMIT ? OFFSET ?";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, limit);
+            ps.setInt(2, offset);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                result.add(mapResultSetToRoom(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return result;
+    }
+
     /**
      * Update room availability.
      */
     public boolean updateAvailability(int roomId, int delta) {
         String sql = "UPDATE rooms SET available_count = available_count + ? WHERE id = ? AND available_count + ? >= 0";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, delta);
             ps.setInt(2, roomId);
             ps.setInt(3, delta);
@@ -0,0 +1,52 @@
+package dao;
+
+import database.DatabaseManager;
+
+import java.sql.*;
+
+/**
+ * Data Access Object for named ID sequences.
+ */
+public class SequenceDAO {
+    private Connection getConnection() throws SQLException {
+        return DatabaseManager.getInstance().getConnection();
+    }
+
+    /**
+     * Reserve the next {@code size} values of a sequence, creating it if needed.
+     * The update and read share one transaction, so concurrent callers in this or another
+     * process always get disjoint ranges.
+     * @return the first reserved value, or -1 on failure
+     */
+    public long allocate(String name, int size) {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement(
+                    "INSERT OR IGNORE INTO id_sequences (name, next_value) VALUES (?, 1)");
+                    PreparedStatement update = conn.prepareStatement(
+                            "UPDATE id_sequences SET next_value = next_value + ? WHERE name = ?");
+                    PreparedStatement select = conn.prepareStatement(
+                            "SELECT next_value FROM id_sequences WHERE name = ?")) {
+                insert.setString(1, name);
+                insert.executeUpdate();
+                update.setInt(1, size);
+                update.setString(2, name);
+                update.executeUpdate();
+                select.setString(1, name);
+                ResultSet rs = select.executeQuery();
+                if (rs.next()) {
+                    long end = rs.getLong(1);
+                    conn.commit();
+                    return end - size;
+                }
+                conn.rollback();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+}
@@ -12,16 +12,21 @@ import java.util.List;
  * Data Access Object for User operations.
  */
 public class UserDAO {
-    private Connection getConnection() {
+    private Connection getConnection() throws SQLException {
         return DatabaseManager.getInstance().getConnection();
     }
 
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
     /**
      * Create a new user.
      */
     public boolean create(User user) {
         String sql = "INSERT INTO users (username, password_hash, email, phone, role) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             ps.setString(1, user.getUsername());
             ps.setString(2, user.getPasswordHash());
             ps.setString(3, user.getEmail());
@@ -47,7 +52,8 @@ public class UserDAO {
      */
     public User findByUsername(String username) {
         String sql = "SELECT * FROM users WHERE username = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, username);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -64,7 +70,8 @@ public class UserDAO {
      */
     public User findById(int id) {
         String sql = "SELECT * FROM users WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
             if (rs.next()) {
@@ -78,13 +85,43 @@ public class UserDAO {
 
     /**
      * Authenticate user with username and password.
+     * A hash made with an older scheme or weaker settings is replaced while the password is at hand.
+     * An unknown username costs one password check too, so timing does not show which users exist.
      */
     public User authenticate(String username, String password) {
         User user = findByUsername(username);
-        if (user != null && PasswordUtils.verifyPassword(password, user.getPasswordHash())) {
-            return user;
+        if (user == null) {
+            // Take as long as a wrong password would, so unknown usernames cannot be told apart
+            PasswordUtils.verifyNoUser(password);
+            return null;
         }
-        return null;
+        if (!PasswordUtils.verifyPassword(password, user.getPasswordHash())) {
+            return null;
+        }
+        if (PasswordUtils.needsRehash(user.getPasswordHash())) {
+            String rehashed = PasswordUtils.hashPassword(password);
+            if (updatePasswordHash(user.getId(), user.getPasswordHash(), rehashed)) {
+                user.setPasswordHash(rehashed);
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Replace a user's password hash, unless it was changed since {@code expected} was read.
+     */
+    public boolean updatePasswordHash(int id, String expected, String passwordHash) {
+        String sql = "UPDATE users SET password_hash = ? WHERE id = ? AND password_hash = ?";
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, passwordHash);
+            ps.setInt(2, id);
+            ps.setString(3, expected);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
     }
 
     /**
@@ -93,8 +130,9 @@ public class UserDAO {
     public List<User> getAllUsers() {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM users ORDER BY username";
-        try (Statement stmt = getConnection().createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
                 users.add(mapResultSetToUser(rs));
             }
@@ -104,12 +142,50 @@ public class UserDAO {
         return users;
     }
 
+    /**
+     * Count all users.
+     */
+    public int count() {
+        String sql = "SELECT COUNT(*) FROM users";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /**
+     * Get users in the same order as the full listing, starting at {@code offset}.
+     */
+    public List<User> findRange(int offset, int limit) {
+        List<User> result = new ArrayList<>();
+        String sql = "SELECT * FROM users ORDER BY username, id LIMIT ? OFFSET ?";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, limit);
+            ps.setInt(2, offset);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                result.add(mapResultSetToUser(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return result;
+    }
+
     /**
      * Delete a user by ID.
      */
     public boolean delete(int id) {
         String sql = "DELETE FROM users WHERE id = ?";
-        try (PreparedStatement ps = getConnection().prepareStatement(sql)) {
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, id);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -0,0 +1,183 @@
+package dao;
+
+import database.DatabaseManager;
+import models.WaitlistEntry;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for WaitlistEntry operations.
+ */
+public class WaitlistDAO {
+    private Connection getConnection() throws SQLException {
+        return DatabaseManager.getInstance().getConnection();
+    }
+
+    private Connection getReadConnection() throws SQLException {
+        return DatabaseManager.getInstance().getReadConnection();
+    }
+
+    /**
+     * Add an entry to the waitlist.
+     */
+    public boolean create(WaitlistEntry entry) {
+        String sql = "INSERT INTO waitlist (user_id, resort_id, room_id, food_option_id, check_in_date, check_out_date, num_guests, priority, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setInt(1, entry.getUserId());
+            ps.setInt(2, entry.getResortId());
+            ps.setInt(3, entry.getRoomId());
+            if (entry.getFoodOptionId() != null) {
+                ps.setInt(4, entry.getFoodOptionId());
+            } else {
+                ps.setNull(4, Types.INTEGER);
+            }
+            ps.setString(5, entry.getCheckInDate().toString());
+            ps.setString(6, entry.getCheckOutDate().toString());
+            ps.setInt(7, entry.getNumGuests());
+            ps.setInt(8, entry.getPriority());
+            ps.setString(9, WaitlistEntry.WAITING);
+
+            int rows = ps.executeUpdate();
+            if (rows > 0) {
+                ResultSet rs = ps.getGeneratedKeys();
+                if (rs.next()) {
+                    entry.setId(rs.getInt(1));
+                }
+                entry.setStatus(WaitlistEntry.WAITING);
+                return true;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Waiting entries for a room type whose stay starts on or after {@code earliestCheckIn} and
+     * includes at least one night in [from, to), highest priority then oldest first.
+     * Reads only the waiting entries of that room type through idx_waitlist_waiting.
+     */
+    public List<WaitlistEntry> findCandidates(int roomId, LocalDate from, LocalDate to, LocalDate earliestCheckIn,
+            int limit) {
+        List<WaitlistEntry> entries = new ArrayList<>();
+        String sql = """
+                    SELECT * FROM waitlist
+                    WHERE room_id = ? AND status = 'waiting'
+                      AND check_in_date < ? AND check_out_date > ? AND check_in_date >= ?
+                    ORDER BY priority DESC, id
+                    LIMIT ?
+                """;
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, roomId);
+            ps.setString(2, to.toString());
+            ps.setString(3, from.toString());
+            ps.setString(4, earliestCheckIn.toString());
+            ps.setInt(5, limit);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                entries.add(mapResultSetToEntry(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return entries;
+    }
+
+    /**
+     * Get a user's entries, newest first.
+     */
+    public List<WaitlistEntry> findByUser(int userId) {
+        List<WaitlistEntry> entries = new ArrayList<>();
+        String sql = "SELECT * FROM waitlist WHERE user_id = ? ORDER BY id DESC";
+        try (Connection conn = getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, userId);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                entries.add(mapResultSetToEntry(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return entries;
+    }
+
+    /**
+     * Record that a waiting entry became a booking, inside the booking's transaction.
+     * @return false if the entry is no longer waiting, in which case the caller must roll back
+     */
+    public boolean markPromoted(Connection conn, int entryId, int bookingId) throws SQLException {
+        String sql = "UPDATE waitlist SET status = 'promoted', booking_id = ? WHERE id = ? AND status = 'waiting'";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, bookingId);
+            ps.setInt(2, entryId);
+            return ps.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Stop offering freed rooms to an entry that can no longer be booked as the guest asked.
+     * @return false if it is no longer waiting
+     */
+    public boolean markUnavailable(int entryId) {
+        String sql = "UPDATE waitlist SET status = 'unavailable' WHERE id = ? AND status = 'waiting'";
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, entryId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Take a user's entry off the waitlist.
+     * @return false if it is not theirs or no longer waiting
+     */
+    public boolean withdraw(int entryId, int userId) {
+        String sql = "UPDATE waitlist SET status = 'withdrawn' WHERE id = ? AND user_id = ? AND status = 'waiting'";
+        try (Connection conn = getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, entryId);
+            ps.setInt(2, userId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    private WaitlistEntry mapResultSetToEntry(ResultSet rs) throws SQLException {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(rs.getInt("id"));
+        entry.setUserId(rs.getInt("user_id"));
+        entry.setResortId(rs.getInt("resort_id"));
+        entry.setRoomId(rs.getInt("room_id"));
+        int foodOptionId = rs.getInt("food_option_id");
+        if (!rs.wasNull()) {
+            entry.setFoodOptionId(foodOptionId);
+        }
+        entry.setCheckInDate(LocalDate.parse(rs.getString("check_in_date")));
+        entry.setCheckOutDate(LocalDate.parse(rs.getString("check_out_date")));
+        entry.setNumGuests(rs.getInt("num_guests"));
+        entry.setPriority(rs.getInt("priority"));
+        entry.setStatus(rs.getString("status"));
+        int bookingId = rs.getInt("booking_id");
+        if (!rs.wasNull()) {
+            entry.setBookingId(bookingId);
+        }
+
+        String createdAt = rs.getString("created_at");
+        if (createdAt != null) {
+            entry.setCreatedAt(LocalDateTime.parse(createdAt.replace(" ", "T")));
+        }
+        return entry;
+    }
+}
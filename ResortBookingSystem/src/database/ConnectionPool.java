@@ -0,0 +1,321 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of JDBC connections.
+ * Callers borrow with {@link #borrow()} and return the connection by closing it,
+ * which is why every DAO opens its connection in a try-with-resources block.
+ * Each physical connection keeps a {@link StatementCache}, so {@code prepareStatement}
+ * on a borrowed connection reuses the statement prepared by an earlier borrower.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /**
+     * Opens a new physical connection for the pool.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final String name;
+    private final PoolConfig config;
+    private final ConnectionFactory factory;
+    private final Semaphore permits;
+    private final BlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Map<Lease, Connection> leases = new ConcurrentHashMap<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    public ConnectionPool(String name, PoolConfig config, ConnectionFactory factory) {
+        this.name = name;
+        this.config = config;
+        this.factory = factory;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        int prefill = Math.min(config.getMinIdle(), config.getMaxSize());
+        for (int i = 0; i < prefill; i++) {
+            try {
+                idle.offerLast(openPhysical());
+            } catch (SQLException e) {
+                System.err.println("[" + name + "] Could not pre-open connection: " + e.getMessage());
+                break;
+            }
+        }
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, name + "-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = config.getLeakDetectionThresholdMillis() > 0
+                ? Math.max(1000, config.getLeakDetectionThresholdMillis() / 2)
+                : 30000;
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a validated connection, waiting up to the configured acquire timeout.
+     * Closing the returned connection hands it back to the pool.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool '" + name + "' is closed");
+        }
+        try {
+            if (!permits.tryAcquire(config.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + config.getAcquireTimeoutMillis()
+                        + "ms waiting for a connection from '" + name + "' (active=" + getActiveCount()
+                        + ", max=" + config.getMaxSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            Connection physical = takeValidConnection();
+            Lease lease = new Lease(Thread.currentThread().getName(),
+                    config.getLeakDetectionThresholdMillis() > 0 ? new Throwable("Connection borrowed here") : null);
+            leases.put(lease, physical);
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new PooledConnectionHandler(physical, statementCaches.get(physical), lease));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection takeValidConnection() throws SQLException {
+        Connection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            if (isUsable(physical)) {
+                return physical;
+            }
+            discard(physical);
+        }
+        return openPhysical();
+    }
+
+    private boolean isUsable(Connection physical) {
+        try {
+            if (physical.isClosed()) {
+                return false;
+            }
+            return config.getValidationTimeoutSeconds() <= 0
+                    || physical.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection physical = factory.create();
+        totalConnections.incrementAndGet();
+        if (config.getStatementCacheSize() > 0) {
+            statementCaches.put(physical, new StatementCache(physical, config.getStatementCacheSize(),
+                    statementCacheHits, statementCacheMisses));
+        }
+        return physical;
+    }
+
+    private void discard(Connection physical) {
+        totalConnections.decrementAndGet();
+        StatementCache statements = statementCaches.remove(physical);
+        if (statements != null) {
+            statements.close();
+        }
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            // already broken
+        }
+    }
+
+    private void release(Connection physical, Lease lease) {
+        if (leases.remove(lease) == null) {
+            return;
+        }
+        try {
+            StatementCache statements = statementCaches.get(physical);
+            if (statements != null) {
+                statements.checkInAll();
+            }
+            boolean reusable = !closed && !physical.isClosed();
+            if (reusable && !physical.getAutoCommit()) {
+                // Never hand out a connection with a half-finished transaction
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                idle.offerFirst(physical);
+            } else {
+                discard(physical);
+            }
+        } catch (SQLException e) {
+            discard(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        long threshold = config.getLeakDetectionThresholdMillis();
+        if (threshold <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Lease lease : leases.keySet()) {
+            long held = now - lease.borrowedAt;
+            if (held > threshold && !lease.reported) {
+                lease.reported = true;
+                System.err.println("[" + name + "] Possible connection leak: borrowed by thread '"
+                        + lease.threadName + "' " + held + "ms ago and not returned");
+                if (lease.borrowSite != null) {
+                    lease.borrowSite.printStackTrace();
+                }
+            }
+        }
+    }
+
+    public int getActiveCount() {
+        return leases.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getTotalCount() {
+        return totalConnections.get();
+    }
+
+    public long getStatementCacheHitCount() {
+        return statementCacheHits.get();
+    }
+
+    public long getStatementCacheMissCount() {
+        return statementCacheMisses.get();
+    }
+
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Close all idle connections and stop handing out new ones.
+     * Connections still borrowed are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        Connection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            discard(physical);
+        }
+    }
+
+    private static final class Lease {
+        final String threadName;
+        final Throwable borrowSite;
+        final long borrowedAt = System.currentTimeMillis();
+        volatile boolean reported;
+
+        Lease(String threadName, Throwable borrowSite) {
+            this.threadName = threadName;
+            this.borrowSite = borrowSite;
+        }
+    }
+
+    /**
+     * Routes calls to the physical connection until the borrower closes it.
+     */
+    private final class PooledConnectionHandler implements InvocationHandler {
+        private final Connection physical;
+        private final StatementCache statements;
+        private final Lease lease;
+        private volatile boolean returned;
+
+        PooledConnectionHandler(Connection physical, StatementCache statements, Lease lease) {
+            this.physical = physical;
+            this.statements = statements;
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(physical, lease);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + name + "]" + physical;
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (statements != null && method.getName().equals("prepareStatement")) {
+                PreparedStatement cached = prepareCached(args);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Serve prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) from the cache.
+         * @return null for the other overloads, which go straight to the driver
+         */
+        private PreparedStatement prepareCached(Object[] args) throws SQLException {
+            if (args.length == 1) {
+                return statements.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+            }
+            if (args.length == 2 && args[1] instanceof Integer) {
+                return statements.prepare((String) args[0], (Integer) args[1]);
+            }
+            return null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package database;
 
+import utils.PasswordUtils;
+
 import java.sql.*;
 import java.io.File;
 
@@ -9,10 +11,30 @@ import java.io.File;
  */
 public class DatabaseManager {
     private static DatabaseManager instance;
-    private Connection connection;
-    private static final String DB_PATH = "data/resort_system.db";
+    private final StorageProfile profile;
+    private final ConnectionPool writerPool;
+    private final ConnectionPool readerPool;
+    private final String url;
+    // -Dresort.db.path points the application, or a benchmark, at another database file
+    private static final String DB_PATH = System.getProperty("resort.db.path", "data/resort_system.db");
     
     private DatabaseManager() {
+        // Ensure data directory exists
+        File parent = new File(DB_PATH).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        url = "jdbc:sqlite:" + DB_PATH;
+        profile = StorageProfile.fromSystemProperties();
+
+        // SQLite allows one writer at a time, so writes queue on a single connection
+        // while WAL lets any number of readers run alongside it.
+        PoolConfig writerConfig = PoolConfig.fromSystemProperties();
+        writerConfig.setMinIdle(1);
+        writerConfig.setMaxSize(1);
+        writerPool = new ConnectionPool("resort-db-writer", writerConfig, () -> open(url, false));
+        readerPool = new ConnectionPool("resort-db-reader", PoolConfig.fromSystemProperties(), () -> open(url, true));
+        System.out.println("Storage profile: " + profile);
         initializeDatabase();
     }
     
@@ -22,108 +44,57 @@ public class DatabaseManager {
         }
         return instance;
     }
-    
-    public Connection getConnection() {
+
+    private Connection open(String url, boolean readOnly) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
         try {
-            if (connection == null || connection.isClosed()) {
-                // Ensure data directory exists
-                new File("data").mkdirs();
-                String url = "jdbc:sqlite:" + DB_PATH;
-                connection = DriverManager.getConnection(url);
-            }
+            profile.apply(conn, readOnly);
         } catch (SQLException e) {
-            e.printStackTrace();
+            conn.close();
+            throw e;
         }
-        return connection;
+        return conn;
+    }
+    
+    /**
+     * Borrow the writer connection. Callers must close it to return it.
+     */
+    public Connection getConnection() throws SQLException {
+        return writerPool.borrow();
+    }
+
+    /**
+     * Borrow a query-only reader connection. Callers must close it to return it.
+     */
+    public Connection getReadConnection() throws SQLException {
+        return readerPool.borrow();
+    }
+
+    /**
+     * Open a query-only connection outside the pools, for scans such as exports that run for minutes:
+     * holding a pooled one that long would starve other readers and be reported as a leak.
+     * The caller must close it.
+     */
+    public Connection openDedicatedReadConnection() throws SQLException {
+        return open(url, true);
+    }
+
+    public StorageProfile getStorageProfile() {
+        return profile;
+    }
+
+    public ConnectionPool getWriterPool() {
+        return writerPool;
+    }
+
+    public ConnectionPool getReaderPool() {
+        return readerPool;
     }
     
     private void initializeDatabase() {
-        Connection conn = getConnection();
-        try (Statement stmt = conn.createStatement()) {
-            // Users table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS users (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    username TEXT UNIQUE NOT NULL,
-                    password_hash TEXT NOT NULL,
-                    email TEXT,
-                    phone TEXT,
-                    role TEXT DEFAULT 'customer',
-                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
-                )
-            """);
-            
-            // Resorts table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS resorts (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    name TEXT NOT NULL,
-                    location TEXT NOT NULL,
-                    description TEXT,
-                    image_path TEXT
-                )
-            """);
-            
-            // Rooms table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS rooms (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    resort_id INTEGER NOT NULL,
-                    room_type TEXT NOT NULL,
-                    beds INTEGER NOT NULL,
-                    price_per_night REAL NOT NULL,
-                    available_count INTEGER NOT NULL,
-                    FOREIGN KEY (resort_id) REFERENCES resorts(id)
-                )
-            """);
-            
-            // Food options table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS food_options (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    cuisine_type TEXT NOT NULL,
-                    meal_plan TEXT NOT NULL,
-                    price_per_day REAL NOT NULL
-                )
-            """);
-            
-            // Bookings table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS bookings (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    user_id INTEGER NOT NULL,
-                    resort_id INTEGER NOT NULL,
-                    room_id INTEGER NOT NULL,
-                    food_option_id INTEGER,
-                    check_in_date DATE NOT NULL,
-                    check_out_date DATE NOT NULL,
-                    num_guests INTEGER DEFAULT 1,
-                    status TEXT DEFAULT 'confirmed',
-                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (user_id) REFERENCES users(id),
-                    FOREIGN KEY (resort_id) REFERENCES resorts(id),
-                    FOREIGN KEY (room_id) REFERENCES rooms(id),
-                    FOREIGN KEY (food_option_id) REFERENCES food_options(id)
-                )
-            """);
-            
-            // Invoices table
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS invoices (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    booking_id INTEGER NOT NULL,
-                    user_id INTEGER NOT NULL,
-                    invoice_number TEXT UNIQUE NOT NULL,
-                    room_charges REAL NOT NULL,
-                    food_charges REAL DEFAULT 0,
-                    taxes REAL DEFAULT 0,
-                    total_amount REAL NOT NULL,
-                    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (booking_id) REFERENCES bookings(id),
-                    FOREIGN KEY (user_id) REFERENCES users(id)
-                )
-            """);
-            
+        try (Connection conn = getConnection()) {
+            new MigrationRunner(Migrations.all()).migrate(conn);
+
             // Insert sample data if tables are empty
             insertSampleData(conn);
             
@@ -134,33 +105,41 @@ public class DatabaseManager {
     
     private void insertSampleData(Connection conn) throws SQLException {
         // Check if users table is empty
-        ResultSet rs = conn.createStatement().executeQuery("SELECT COUNT(*) FROM users");
-        if (rs.next() && rs.getInt(1) == 0) {
+        int userCount;
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM users")) {
+            userCount = rs.next() ? rs.getInt(1) : 0;
+        }
+        if (userCount == 0) {
             PreparedStatement ps;
             
             // Insert admin user (password: admin123)
             ps = conn.prepareStatement("INSERT INTO users (username, password_hash, email, role) VALUES (?, ?, ?, ?)");
             ps.setString(1, "admin");
-            ps.setString(2, "240be518fabd2724ddb6f04eeb1da5967448d7e831c08c8fa822809f74c720a9"); // SHA-256 of "admin123"
+            ps.setString(2, PasswordUtils.hashPassword("admin123"));
             ps.setString(3, "admin@resort.com");
             ps.setString(4, "admin");
             ps.executeUpdate();
             
             // Insert sample resorts
             String[] resortData = {
-                "Paradise Beach Resort|Maldives|A luxurious beachfront resort with crystal clear waters",
-                "Mountain View Lodge|Switzerland|Alpine retreat with breathtaking mountain views",
-                "Tropical Oasis Spa|Bali|Serene spa resort surrounded by lush tropical gardens"
+                "Paradise Beach Resort|Maldives|A luxurious beachfront resort with crystal clear waters|media/paradisebeachresort.jpg",
+                "Mountain View Lodge|Switzerland|Alpine retreat with breathtaking mountain views|media/Lodge-Champery.jpg",
+                "Tropical Oasis Spa|Bali|Serene spa resort surrounded by lush tropical gardens|media/oasisbeachspa.jpg"
             };
             
-            ps = conn.prepareStatement("INSERT INTO resorts (name, location, description) VALUES (?, ?, ?)");
+            ps = conn.prepareStatement("INSERT INTO resorts (name, location, description, image_path) VALUES (?, ?, ?, ?)");
             for (String data : resortData) {
                 String[] parts = data.split("\\|");
                 ps.setString(1, parts[0]);
                 ps.setString(2, parts[1]);
                 ps.setString(3, parts[2]);
+                ps.setString(4, parts[3]);
                 ps.executeUpdate();
             }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("INSERT INTO resorts_fts(resorts_fts) VALUES ('rebuild')");
+            }
             
             // Insert sample rooms for each resort
             String[][] roomData = {
@@ -205,16 +184,40 @@ public class DatabaseManager {
                 ps.setDouble(3, Double.parseDouble(food[2]));
                 ps.executeUpdate();
             }
+
+            // Insert sample pricing rules: resort|room type|rule type|season start|season end|day of week|threshold|value
+            String[] ruleData = {
+                "1||season|12-20|01-05|0|0|1.30",
+                "1||weekday|||5|0|1.15",
+                "1||weekday|||6|0|1.15",
+                "1||length_of_stay|||0|7|0.10",
+                "1||occupancy|||0|0.8|1.20",
+                "2||season|12-15|03-31|0|0|1.40",
+                "2|Business|season|12-15|03-31|0|0|1.60",
+                "2||tax|||0|0|0.077",
+                "3||length_of_stay|||0|5|0.05",
+                "3||length_of_stay|||0|10|0.12",
+                "3||occupancy|||0|0.9|1.25"
+            };
+
+            ps = conn.prepareStatement("INSERT INTO pricing_rules (resort_id, room_type, rule_type, season_start, season_end, day_of_week, threshold, value) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+            for (String data : ruleData) {
+                String[] parts = data.split("\\|", -1);
+                ps.setInt(1, Integer.parseInt(parts[0]));
+                ps.setString(2, parts[1].isEmpty() ? null : parts[1]);
+                ps.setString(3, parts[2]);
+                ps.setString(4, parts[3].isEmpty() ? null : parts[3]);
+                ps.setString(5, parts[4].isEmpty() ? null : parts[4]);
+                ps.setInt(6, Integer.parseInt(parts[5]));
+                ps.setDouble(7, Double.parseDouble(parts[6]));
+                ps.setDouble(8, Double.parseDouble(parts[7]));
+                ps.executeUpdate();
+            }
         }
     }
     
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        readerPool.close();
+        writerPool.close();
     }
 }
@@ -0,0 +1,64 @@
+package database;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * One versioned step of the database schema.
+ * Once released a migration must never be edited; add a new version instead.
+ */
+public class Migration {
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+
+    public Migration(int version, String description, String... statements) {
+        this.version = version;
+        this.description = description;
+        this.statements = List.of(statements);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    /**
+     * CRC32 of the statements with whitespace collapsed, so reformatting is not a change.
+     */
+    public String getChecksum() {
+        CRC32 crc = new CRC32();
+        for (String sql : statements) {
+            crc.update(sql.trim().replaceAll("\\s+", " ").getBytes(StandardCharsets.UTF_8));
+            crc.update(';');
+        }
+        return Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Execute the statements on the given connection. The runner owns the transaction.
+     */
+    public void apply(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+}
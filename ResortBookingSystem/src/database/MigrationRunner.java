@@ -0,0 +1,83 @@
+package database;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies pending {@link Migration}s in version order and records them in schema_version.
+ * Each migration runs in its own transaction, so a failure leaves the schema at the last good version.
+ */
+public class MigrationRunner {
+    private final List<Migration> migrations;
+
+    public MigrationRunner(List<Migration> migrations) {
+        this.migrations = migrations.stream()
+                .sorted((a, b) -> Integer.compare(a.getVersion(), b.getVersion()))
+                .toList();
+    }
+
+    /**
+     * Bring the schema up to date.
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails or an applied migration was changed after release
+     */
+    public int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    checksum TEXT NOT NULL,
+                    applied_at DATETIME DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+        }
+
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+
+        int count = 0;
+        for (Migration migration : migrations) {
+            String checksum = applied.get(migration.getVersion());
+            if (checksum != null) {
+                if (!checksum.equals(migration.getChecksum())) {
+                    throw new SQLException("Migration " + migration + " was modified after it was applied "
+                            + "(database checksum " + checksum + ", code checksum " + migration.getChecksum() + ")");
+                }
+                continue;
+            }
+            apply(conn, migration);
+            count++;
+        }
+        return count;
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            migration.apply(conn);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)")) {
+                ps.setInt(1, migration.getVersion());
+                ps.setString(2, migration.getDescription());
+                ps.setString(3, migration.getChecksum());
+                ps.executeUpdate();
+            }
+            conn.commit();
+            System.out.println("Applied migration " + migration);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration " + migration + " failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+}
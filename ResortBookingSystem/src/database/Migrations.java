@@ -0,0 +1,279 @@
+package database;
+
+import java.util.List;
+
+/**
+ * Ordered list of schema migrations. Append new versions at the end; never edit a released one.
+ */
+public final class Migrations {
+    private Migrations() {
+    }
+
+    public static List<Migration> all() {
+        return List.of(
+                new Migration(1, "Create base tables",
+                        """
+                        CREATE TABLE IF NOT EXISTS users (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            username TEXT UNIQUE NOT NULL,
+                            password_hash TEXT NOT NULL,
+                            email TEXT,
+                            phone TEXT,
+                            role TEXT DEFAULT 'customer',
+                            created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+                        )
+                        """,
+                        """
+                        CREATE TABLE IF NOT EXISTS resorts (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            name TEXT NOT NULL,
+                            location TEXT NOT NULL,
+                            description TEXT,
+                            image_path TEXT
+                        )
+                        """,
+                        """
+                        CREATE TABLE IF NOT EXISTS rooms (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            resort_id INTEGER NOT NULL,
+                            room_type TEXT NOT NULL,
+                            beds INTEGER NOT NULL,
+                            price_per_night REAL NOT NULL,
+                            available_count INTEGER NOT NULL,
+                            FOREIGN KEY (resort_id) REFERENCES resorts(id)
+                        )
+                        """,
+                        """
+                        CREATE TABLE IF NOT EXISTS food_options (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            cuisine_type TEXT NOT NULL,
+                            meal_plan TEXT NOT NULL,
+                            price_per_day REAL NOT NULL
+                        )
+                        """,
+                        """
+                        CREATE TABLE IF NOT EXISTS bookings (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            user_id INTEGER NOT NULL,
+                            resort_id INTEGER NOT NULL,
+                            room_id INTEGER NOT NULL,
+                            food_option_id INTEGER,
+                            check_in_date DATE NOT NULL,
+                            check_out_date DATE NOT NULL,
+                            num_guests INTEGER DEFAULT 1,
+                            status TEXT DEFAULT 'confirmed',
+                            created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                            FOREIGN KEY (user_id) REFERENCES users(id),
+                            FOREIGN KEY (resort_id) REFERENCES resorts(id),
+                            FOREIGN KEY (room_id) REFERENCES rooms(id),
+                            FOREIGN KEY (food_option_id) REFERENCES food_options(id)
+                        )
+                        """,
+                        """
+                        CREATE TABLE IF NOT EXISTS invoices (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            booking_id INTEGER NOT NULL,
+                            user_id INTEGER NOT NULL,
+                            invoice_number TEXT UNIQUE NOT NULL,
+                            room_charges REAL NOT NULL,
+                            food_charges REAL DEFAULT 0,
+                            taxes REAL DEFAULT 0,
+                            total_amount REAL NOT NULL,
+                            created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                            FOREIGN KEY (booking_id) REFERENCES bookings(id),
+                            FOREIGN KEY (user_id) REFERENCES users(id)
+                        )
+                        """),
+                new Migration(2, "Add lookup indexes",
+                        "CREATE INDEX IF NOT EXISTS idx_bookings_user_created ON bookings(user_id, created_at)",
+                        "CREATE INDEX IF NOT EXISTS idx_bookings_room_dates ON bookings(room_id, check_in_date, check_out_date)",
+                        "CREATE INDEX IF NOT EXISTS idx_invoices_booking ON invoices(booking_id)",
+                        "CREATE INDEX IF NOT EXISTS idx_invoices_user_created ON invoices(user_id, created_at)",
+                        "CREATE INDEX IF NOT EXISTS idx_rooms_resort_available_price ON rooms(resort_id, available_count, price_per_night)",
+                        "ANALYZE"),
+                // available_count becomes the number of units of a room type. It used to be
+                // decremented once per booking and never restored, so those units are given back
+                // and the per-night ledger is rebuilt from the bookings that are still active.
+                // This assumes every booking did decrement it: one taken while the count was already
+                // 0, or a count an admin set by hand afterwards, is given back too and overstates the
+                // units. Check room counts after upgrading a database that was edited that way.
+                new Migration(3, "Add per-night room inventory ledger",
+                        """
+                        CREATE TABLE IF NOT EXISTS room_inventory (
+                            room_id INTEGER NOT NULL,
+                            night DATE NOT NULL,
+                            booked INTEGER NOT NULL DEFAULT 0,
+                            PRIMARY KEY (room_id, night),
+                            FOREIGN KEY (room_id) REFERENCES rooms(id)
+                        ) WITHOUT ROWID
+                        """,
+                        """
+                        WITH RECURSIVE nights(room_id, night, check_out_date) AS (
+                            SELECT room_id, date(check_in_date), date(check_out_date) FROM bookings
+                            WHERE status != 'cancelled' AND check_out_date > check_in_date
+                            UNION ALL
+                            SELECT room_id, date(night, '+1 day'), check_out_date FROM nights
+                            WHERE date(night, '+1 day') < check_out_date
+                        )
+                        INSERT INTO room_inventory (room_id, night, booked)
+                        SELECT room_id, night, COUNT(*) FROM nights GROUP BY room_id, night
+                        """,
+                        """
+                        UPDATE rooms SET available_count = available_count
+                            + (SELECT COUNT(*) FROM bookings b WHERE b.room_id = rooms.id)
+                        """),
+
+                // Named counters that ID generators reserve ranges from
+                new Migration(4, "Add ID sequences",
+                        """
+                        CREATE TABLE IF NOT EXISTS id_sequences (
+                            name TEXT PRIMARY KEY,
+                            next_value INTEGER NOT NULL
+                        )
+                        """,
+                        """
+                        INSERT OR IGNORE INTO id_sequences (name, next_value) VALUES ('invoice', 1)
+                        """),
+
+                // Keyset paging of the admin bookings table, one index per sort order and filter
+                new Migration(5, "Add booking paging indexes",
+                        "CREATE INDEX IF NOT EXISTS idx_bookings_created ON bookings(created_at, id)",
+                        "CREATE INDEX IF NOT EXISTS idx_bookings_status_created ON bookings(status, created_at, id)",
+                        "CREATE INDEX IF NOT EXISTS idx_bookings_check_in ON bookings(check_in_date, id)",
+                        "CREATE INDEX IF NOT EXISTS idx_bookings_resort_created ON bookings(resort_id, created_at, id)",
+                        "ANALYZE"),
+
+                // Resort images used to be picked by matching words in the resort name;
+                // store those choices so the column is the only source
+                new Migration(6, "Backfill resort image paths",
+                        """
+                        UPDATE resorts SET image_path = CASE
+                            WHEN name LIKE '%Mountain View%' OR name LIKE '%Lodge%' THEN 'media/Lodge-Champery.jpg'
+                            WHEN name LIKE '%Tropical%' OR name LIKE '%Oasis%' THEN 'media/oasisbeachspa.jpg'
+                            WHEN name LIKE '%Paradise%' OR name LIKE '%Beach%' THEN 'media/paradisebeachresort.jpg'
+                        END
+                        WHERE image_path IS NULL OR image_path = ''
+                        """),
+
+                new Migration(7, "Add pricing rules",
+                        """
+                        CREATE TABLE IF NOT EXISTS pricing_rules (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            resort_id INTEGER NOT NULL,
+                            room_type TEXT,
+                            rule_type TEXT NOT NULL CHECK (rule_type IN
+                                ('season', 'weekday', 'length_of_stay', 'occupancy', 'tax')),
+                            season_start TEXT,
+                            season_end TEXT,
+                            day_of_week INTEGER DEFAULT 0,
+                            threshold REAL DEFAULT 0,
+                            value REAL NOT NULL,
+                            FOREIGN KEY (resort_id) REFERENCES resorts(id)
+                        )
+                        """,
+                        "CREATE INDEX IF NOT EXISTS idx_pricing_rules_resort ON pricing_rules(resort_id)"),
+
+                // Only waiting entries are indexed, in the order they are offered freed rooms
+                new Migration(8, "Add waitlist",
+                        """
+                        CREATE TABLE IF NOT EXISTS waitlist (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            user_id INTEGER NOT NULL,
+                            resort_id INTEGER NOT NULL,
+                            room_id INTEGER NOT NULL,
+                            food_option_id INTEGER,
+                            check_in_date DATE NOT NULL,
+                            check_out_date DATE NOT NULL,
+                            num_guests INTEGER DEFAULT 1,
+                            priority INTEGER NOT NULL DEFAULT 0,
+                            status TEXT NOT NULL DEFAULT 'waiting',
+                            booking_id INTEGER,
+                            created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+                            FOREIGN KEY (user_id) REFERENCES users(id),
+                            FOREIGN KEY (resort_id) REFERENCES resorts(id),
+                            FOREIGN KEY (room_id) REFERENCES rooms(id),
+                            FOREIGN KEY (food_option_id) REFERENCES food_options(id),
+                            FOREIGN KEY (booking_id) REFERENCES bookings(id)
+                        )
+                        """,
+                        """
+                        CREATE INDEX IF NOT EXISTS idx_waitlist_waiting ON waitlist(room_id, priority DESC, id)
+                            WHERE status = 'waiting'
+                        """,
+                        "CREATE INDEX IF NOT EXISTS idx_waitlist_user ON waitlist(user_id, id)"),
+
+                // External-content index: the text lives only in resorts, and ResortDAO updates
+                // the index in the same transaction as every resort write
+                new Migration(9, "Add resort full-text index",
+                        """
+                        CREATE VIRTUAL TABLE IF NOT EXISTS resorts_fts USING fts5(
+                            name, location, description,
+                            content = 'resorts', content_rowid = 'id',
+                            tokenize = 'unicode61 remove_diacritics 2',
+                            prefix = '2 3'
+                        )
+                        """,
+                        "INSERT INTO resorts_fts(resorts_fts) VALUES ('rebuild')"),
+
+                // One row per resort, room type and night; DailyStatsDAO keeps it in step with
+                // bookings and invoices, so reports never scan them. The backfill counts a booking once
+                // per invoice; V11 recounts it.
+                new Migration(10, "Add daily resort statistics",
+                        """
+                        CREATE TABLE IF NOT EXISTS daily_resort_stats (
+                            resort_id INTEGER NOT NULL,
+                            room_id INTEGER NOT NULL,
+                            night DATE NOT NULL,
+                            rooms_sold INTEGER NOT NULL DEFAULT 0,
+                            guests INTEGER NOT NULL DEFAULT 0,
+                            room_revenue REAL NOT NULL DEFAULT 0,
+                            food_revenue REAL NOT NULL DEFAULT 0,
+                            PRIMARY KEY (resort_id, room_id, night),
+                            FOREIGN KEY (resort_id) REFERENCES resorts(id),
+                            FOREIGN KEY (room_id) REFERENCES rooms(id)
+                        ) WITHOUT ROWID
+                        """,
+                        // Covers the all-resort report, which then never reads the table itself
+                        """
+                        CREATE INDEX IF NOT EXISTS idx_daily_resort_stats_night
+                            ON daily_resort_stats(night, rooms_sold, guests, room_revenue, food_revenue)
+                        """,
+                        """
+                        WITH RECURSIVE stays(resort_id, room_id, night, check_out_date, guests, room_per_night, food_per_night) AS (
+                            SELECT b.resort_id, b.room_id, date(b.check_in_date), date(b.check_out_date), b.num_guests,
+                                   COALESCE(i.room_charges, 0) / (julianday(b.check_out_date) - julianday(b.check_in_date)),
+                                   COALESCE(i.food_charges, 0) / (julianday(b.check_out_date) - julianday(b.check_in_date))
+                            FROM bookings b LEFT JOIN invoices i ON i.booking_id = b.id
+                            WHERE b.status != 'cancelled' AND b.check_out_date > b.check_in_date
+                            UNION ALL
+                            SELECT resort_id, room_id, date(night, '+1 day'), check_out_date, guests, room_per_night, food_per_night
+                            FROM stays WHERE date(night, '+1 day') < check_out_date
+                        )
+                        INSERT INTO daily_resort_stats (resort_id, room_id, night, rooms_sold, guests, room_revenue, food_revenue)
+                        SELECT resort_id, room_id, night, COUNT(*), SUM(guests), SUM(room_per_night), SUM(food_per_night)
+                        FROM stays GROUP BY resort_id, room_id, night
+                        """),
+
+                // A booking with several invoices was counted once per invoice; sum them per booking
+                new Migration(11, "Recount daily statistics once per booking",
+                        "DELETE FROM daily_resort_stats",
+                        """
+                        WITH RECURSIVE stays(resort_id, room_id, night, check_out_date, guests, room_per_night, food_per_night) AS (
+                            SELECT b.resort_id, b.room_id, date(b.check_in_date), date(b.check_out_date), b.num_guests,
+                                   COALESCE(i.room_charges, 0) / (julianday(b.check_out_date) - julianday(b.check_in_date)),
+                                   COALESCE(i.food_charges, 0) / (julianday(b.check_out_date) - julianday(b.check_in_date))
+                            FROM bookings b LEFT JOIN (
+                                SELECT booking_id, SUM(room_charges) AS room_charges, SUM(food_charges) AS food_charges
+                                FROM invoices GROUP BY booking_id
+                            ) i ON i.booking_id = b.id
+                            WHERE b.status != 'cancelled' AND b.check_out_date > b.check_in_date
+                            UNION ALL
+                            SELECT resort_id, room_id, date(night, '+1 day'), check_out_date, guests, room_per_night, food_per_night
+                            FROM stays WHERE date(night, '+1 day') < check_out_date
+                        )
+                        INSERT INTO daily_resort_stats (resort_id, room_id, night, rooms_sold, guests, room_revenue, food_revenue)
+                        SELECT resort_id, room_id, night, COUNT(*), SUM(guests), SUM(room_per_night), SUM(food_per_night)
+                        FROM stays GROUP BY resort_id, room_id, night
+                        """));
+    }
+}
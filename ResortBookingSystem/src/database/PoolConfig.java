@@ -0,0 +1,95 @@
+package database;
+
+/**
+ * Sizing and timeout settings for a {@link ConnectionPool}.
+ * Defaults can be overridden with -Dresort.db.pool.* system properties.
+ */
+public class PoolConfig {
+    private static final String PREFIX = "resort.db.pool.";
+
+    private int minIdle = 1;
+    private int maxSize = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private long acquireTimeoutMillis = 5000;
+    private int validationTimeoutSeconds = 2;
+    private long leakDetectionThresholdMillis = 30000; // 0 disables leak detection
+    private int statementCacheSize = 64; // per connection, 0 disables statement caching
+
+    public PoolConfig() {
+    }
+
+    /**
+     * Builds a config from the defaults, overridden by any resort.db.pool.* system properties
+     * (minIdle, maxSize, acquireTimeoutMillis, validationTimeoutSeconds, leakDetectionThresholdMillis,
+     * statementCacheSize).
+     */
+    public static PoolConfig fromSystemProperties() {
+        PoolConfig config = new PoolConfig();
+        config.setMinIdle(Integer.getInteger(PREFIX + "minIdle", config.getMinIdle()));
+        config.setMaxSize(Integer.getInteger(PREFIX + "maxSize", config.getMaxSize()));
+        config.setAcquireTimeoutMillis(Long.getLong(PREFIX + "acquireTimeoutMillis", config.getAcquireTimeoutMillis()));
+        config.setValidationTimeoutSeconds(
+                Integer.getInteger(PREFIX + "validationTimeoutSeconds", config.getValidationTimeoutSeconds()));
+        config.setLeakDetectionThresholdMillis(
+                Long.getLong(PREFIX + "leakDetectionThresholdMillis", config.getLeakDetectionThresholdMillis()));
+        config.setStatementCacheSize(Integer.getInteger(PREFIX + "statementCacheSize", config.getStatementCacheSize()));
+        return config;
+    }
+
+    // Getters and Setters
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = Math.max(0, minIdle);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = Math.max(0, acquireTimeoutMillis);
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = Math.max(0, validationTimeoutSeconds);
+    }
+
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = Math.max(0, leakDetectionThresholdMillis);
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+    }
+
+    @Override
+    public String toString() {
+        return "PoolConfig{minIdle=" + minIdle + ", maxSize=" + maxSize
+                + ", acquireTimeoutMillis=" + acquireTimeoutMillis
+                + ", validationTimeoutSeconds=" + validationTimeoutSeconds
+                + ", leakDetectionThresholdMillis=" + leakDetectionThresholdMillis
+                + ", statementCacheSize=" + statementCacheSize + "}";
+    }
+}
@@ -0,0 +1,239 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prepared statements of one physical connection, kept across borrows so SQLite parses and
+ * plans each query once per connection instead of once per DAO call.
+ * Statements are keyed by SQL text and generated-keys mode and evicted least recently used first.
+ * Closing a statement handed out by {@link #prepare} only returns it to the cache: its open
+ * result sets are closed and its parameters cleared. Only the borrower of the connection
+ * uses it, so it needs no locking.
+ */
+final class StatementCache {
+    private final Connection physical;
+    private final Map<Key, CachedStatement> statements;
+    // Evicted while the borrower still had them open; closed by checkInAll if the borrower does not
+    private final List<CachedStatement> evictedInUse = new ArrayList<>();
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    StatementCache(Connection physical, int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+                if (size() > maxSize) {
+                    CachedStatement cached = eldest.getValue();
+                    cached.evict();
+                    if (cached.checkedOut != null) {
+                        evictedInUse.add(cached);
+                    }
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        CachedStatement cached = statements.get(key);
+        if (cached != null && cached.checkedOut == null) {
+            hits.incrementAndGet();
+            return cached.checkOut();
+        }
+        misses.incrementAndGet();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            // The same SQL is already open in this borrow (nested use): hand out a plain statement
+            return statement;
+        }
+        cached = new CachedStatement(statement);
+        statements.put(key, cached);
+        return cached.checkOut();
+    }
+
+    /**
+     * Take back every statement the borrower did not close. Called when the connection is returned.
+     */
+    void checkInAll() {
+        for (CachedStatement cached : evictedInUse) {
+            if (cached.checkedOut != null) {
+                cached.checkedOut.close();
+            }
+        }
+        evictedInUse.clear();
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (it.hasNext()) {
+            CachedStatement cached = it.next();
+            if (cached.checkedOut != null && !cached.checkedOut.close()) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Physically close every cached statement. Called before the connection itself is closed.
+     */
+    void close() {
+        for (CachedStatement cached : statements.values()) {
+            cached.evict();
+        }
+        for (CachedStatement cached : evictedInUse) {
+            cached.closeQuietly();
+        }
+        statements.clear();
+        evictedInUse.clear();
+    }
+
+    private static final class Key {
+        final String sql;
+        final int autoGeneratedKeys;
+
+        Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return sql.hashCode() * 31 + autoGeneratedKeys;
+        }
+    }
+
+    private static final class CachedStatement {
+        final PreparedStatement statement;
+        Checkout checkedOut;
+        boolean evicted;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement checkOut() {
+            checkedOut = new Checkout(this);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    StatementCache.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    checkedOut);
+        }
+
+        /**
+         * Close now if idle, otherwise when the borrower closes it.
+         */
+        void evict() {
+            evicted = true;
+            if (checkedOut == null) {
+                closeQuietly();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // the connection is going away or already broken
+            }
+        }
+    }
+
+    /**
+     * One borrower's handle on a cached statement. It stops working once closed,
+     * even though the statement underneath lives on for the next borrower.
+     */
+    private static final class Checkout implements InvocationHandler {
+        private final CachedStatement cached;
+        private final List<ResultSet> results = new ArrayList<>();
+        private boolean closed;
+
+        Checkout(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        /**
+         * Reset the statement and hand it back to the cache.
+         * @return false if it could not be reset and was closed instead
+         */
+        boolean close() {
+            if (closed) {
+                return true;
+            }
+            closed = true;
+            cached.checkedOut = null;
+            boolean reusable = !cached.evicted;
+            try {
+                for (ResultSet rs : results) {
+                    rs.close();
+                }
+                if (reusable) {
+                    cached.statement.clearParameters();
+                    cached.statement.clearBatch();
+                }
+            } catch (SQLException e) {
+                reusable = false;
+            }
+            results.clear();
+            if (!reusable) {
+                cached.evicted = true;
+                cached.closeQuietly();
+            }
+            return reusable;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || cached.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + cached.statement + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                Object result = method.invoke(cached.statement, args);
+                if (result instanceof ResultSet) {
+                    results.add((ResultSet) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
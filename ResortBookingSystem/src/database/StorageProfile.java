@@ -0,0 +1,83 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * SQLite storage tuning applied to every connection when it is opened.
+ * Select one with -Dresort.db.profile=durable|balanced|fast (default: balanced).
+ */
+public enum StorageProfile {
+    /** WAL with a full fsync on every commit. Survives power loss without losing commits. */
+    DURABLE("FULL", 0L, -16000, "DEFAULT", 10000),
+    /** WAL with fsync at checkpoints only. Can lose the last commits on power loss, never corrupts. */
+    BALANCED("NORMAL", 256L * 1024 * 1024, -65536, "MEMORY", 5000),
+    /** No fsync at all. Only for benchmarks and bulk loads that can be redone. */
+    FAST("OFF", 1024L * 1024 * 1024, -262144, "MEMORY", 5000);
+
+    private final String synchronous;
+    private final long mmapSizeBytes;
+    private final int cacheSize; // negative values are KiB, as in PRAGMA cache_size
+    private final String tempStore;
+    private final int busyTimeoutMillis;
+
+    StorageProfile(String synchronous, long mmapSizeBytes, int cacheSize, String tempStore, int busyTimeoutMillis) {
+        this.synchronous = synchronous;
+        this.mmapSizeBytes = mmapSizeBytes;
+        this.cacheSize = cacheSize;
+        this.tempStore = tempStore;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    public static StorageProfile fromSystemProperties() {
+        String value = System.getProperty("resort.db.profile", BALANCED.name());
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown storage profile '" + value + "', using " + BALANCED);
+            return BALANCED;
+        }
+    }
+
+    /**
+     * Apply the pragmas to a freshly opened connection.
+     * The writer also switches the database to WAL; readers are made query-only.
+     */
+    public void apply(Connection conn, boolean readOnly) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // busy_timeout first so the remaining pragmas wait out a concurrent writer
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+            if (!readOnly) {
+                stmt.execute("PRAGMA journal_mode = WAL");
+            }
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA mmap_size = " + mmapSizeBytes);
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA temp_store = " + tempStore);
+            if (readOnly) {
+                stmt.execute("PRAGMA query_only = ON");
+            }
+        }
+    }
+
+    public String getSynchronous() {
+        return synchronous;
+    }
+
+    public long getMmapSizeBytes() {
+        return mmapSizeBytes;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public String getTempStore() {
+        return tempStore;
+    }
+
+    public int getBusyTimeoutMillis() {
+        return busyTimeoutMillis;
+    }
+}
@@ -31,6 +31,28 @@ public class Booking {
         this.numGuests = 1;
     }
 
+    /**
+     * A copy that can be handed to a background thread while the original is on screen.
+     */
+    public Booking(Booking other) {
+        this.id = other.id;
+        this.userId = other.userId;
+        this.resortId = other.resortId;
+        this.roomId = other.roomId;
+        this.foodOptionId = other.foodOptionId;
+        this.checkInDate = other.checkInDate;
+        this.checkOutDate = other.checkOutDate;
+        this.numGuests = other.numGuests;
+        this.status = other.status;
+        this.createdAt = other.createdAt;
+        this.resortName = other.resortName;
+        this.roomType = other.roomType;
+        this.cuisineType = other.cuisineType;
+        this.mealPlan = other.mealPlan;
+        this.beds = other.beds;
+        this.username = other.username;
+    }
+
     // Getters and Setters
     public int getId() {
         return id;
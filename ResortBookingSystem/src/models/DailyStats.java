@@ -0,0 +1,70 @@
+package models;
+
+/**
+ * Rooms sold, guests and revenue summed over a group of nights, e.g. one night or one room type.
+ */
+public class DailyStats {
+    private final String label;
+    private final long roomsSold;
+    private final long guests;
+    private final double roomRevenue;
+    private final double foodRevenue;
+    private final long roomNights;
+
+    public DailyStats(String label, long roomsSold, long guests, double roomRevenue, double foodRevenue,
+            long roomNights) {
+        this.label = label;
+        this.roomsSold = roomsSold;
+        this.guests = guests;
+        this.roomRevenue = roomRevenue;
+        this.foodRevenue = foodRevenue;
+        this.roomNights = roomNights;
+    }
+
+    /**
+     * The night (yyyy-MM-dd) or room type the figures belong to.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Room-nights sold.
+     */
+    public long getRoomsSold() {
+        return roomsSold;
+    }
+
+    /**
+     * Guest-nights.
+     */
+    public long getGuests() {
+        return guests;
+    }
+
+    public double getRoomRevenue() {
+        return roomRevenue;
+    }
+
+    public double getFoodRevenue() {
+        return foodRevenue;
+    }
+
+    public double getTotalRevenue() {
+        return roomRevenue + foodRevenue;
+    }
+
+    /**
+     * Room-nights that could have been sold, from the units each room type has today.
+     */
+    public long getRoomNights() {
+        return roomNights;
+    }
+
+    /**
+     * Fraction of room-nights sold, 0 when there was nothing to sell.
+     */
+    public double getOccupancy() {
+        return roomNights > 0 ? (double) roomsSold / roomNights : 0;
+    }
+}
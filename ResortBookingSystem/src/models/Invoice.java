@@ -1,11 +1,16 @@
 package models;
 
+import utils.IdGenerator;
+import utils.SnowflakeIdGenerator;
+
 import java.time.LocalDateTime;
 
 /**
  * Invoice model representing a booking invoice.
  */
 public class Invoice {
+    private static volatile IdGenerator numberGenerator = SnowflakeIdGenerator.fromSystemProperties();
+
     private int id;
     private int bookingId;
     private int userId;
@@ -113,6 +118,13 @@ public class Invoice {
     }
 
     public static String generateInvoiceNumber() {
-        return "INV-" + System.currentTimeMillis();
+        return "INV-" + numberGenerator.nextId();
+    }
+
+    /**
+     * Replace the generator behind {@link #generateInvoiceNumber()}.
+     */
+    public static void setNumberGenerator(IdGenerator generator) {
+        numberGenerator = generator;
     }
 }
@@ -0,0 +1,130 @@
+package models;
+
+/**
+ * PricingRule model: one adjustment to how a resort's stays are priced.
+ * Which fields apply depends on the rule type; see {@link services.PricingEngine}.
+ */
+public class PricingRule {
+    public static final String SEASON = "season";
+    public static final String WEEKDAY = "weekday";
+    public static final String LENGTH_OF_STAY = "length_of_stay";
+    public static final String OCCUPANCY = "occupancy";
+    public static final String TAX = "tax";
+
+    private int id;
+    private int resortId;
+    private String roomType;
+    private String ruleType;
+    private String seasonStart;
+    private String seasonEnd;
+    private int dayOfWeek;
+    private double threshold;
+    private double value;
+
+    public PricingRule() {
+    }
+
+    public PricingRule(int resortId, String roomType, String ruleType, double value) {
+        this.resortId = resortId;
+        this.roomType = roomType;
+        this.ruleType = ruleType;
+        this.value = value;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getResortId() {
+        return resortId;
+    }
+
+    public void setResortId(int resortId) {
+        this.resortId = resortId;
+    }
+
+    /**
+     * The room type the rule is limited to, or null if it applies to every room type of the resort.
+     */
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public String getRuleType() {
+        return ruleType;
+    }
+
+    public void setRuleType(String ruleType) {
+        this.ruleType = ruleType;
+    }
+
+    /**
+     * First night of a season, as MM-DD.
+     */
+    public String getSeasonStart() {
+        return seasonStart;
+    }
+
+    public void setSeasonStart(String seasonStart) {
+        this.seasonStart = seasonStart;
+    }
+
+    /**
+     * Last night of a season, as MM-DD. Earlier than the start for seasons that span the new year.
+     */
+    public String getSeasonEnd() {
+        return seasonEnd;
+    }
+
+    public void setSeasonEnd(String seasonEnd) {
+        this.seasonEnd = seasonEnd;
+    }
+
+    /**
+     * Night a weekday rule applies to, 1 = Monday to 7 = Sunday.
+     */
+    public int getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(int dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    /**
+     * Minimum nights for a length-of-stay rule, or minimum booked fraction (0-1) for an occupancy rule.
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Rate multiplier for season, weekday and occupancy rules, discount fraction for
+     * length-of-stay rules, tax rate for tax rules.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    public void setValue(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return ruleType + " rule " + id + " (resort " + resortId + (roomType != null ? ", " + roomType : "") + ")";
+    }
+}
@@ -0,0 +1,40 @@
+package models;
+
+import java.time.LocalDate;
+
+/**
+ * A room type together with how many units are free for every night of a stay.
+ */
+public class RoomAvailability {
+    private final Room room;
+    private final LocalDate checkInDate;
+    private final LocalDate checkOutDate;
+    private final int freeUnits;
+
+    public RoomAvailability(Room room, LocalDate checkInDate, LocalDate checkOutDate, int freeUnits) {
+        this.room = room;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.freeUnits = freeUnits;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public int getFreeUnits() {
+        return freeUnits;
+    }
+
+    public boolean isAvailable() {
+        return freeUnits > 0;
+    }
+}
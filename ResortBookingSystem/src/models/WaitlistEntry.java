@@ -0,0 +1,134 @@
+package models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * WaitlistEntry model: a request to book a sold-out stay as soon as a unit frees up.
+ */
+public class WaitlistEntry {
+    public static final String WAITING = "waiting";
+    public static final String PROMOTED = "promoted";
+    public static final String WITHDRAWN = "withdrawn";
+    // The stay can no longer be booked as asked, e.g. its meal plan was removed
+    public static final String UNAVAILABLE = "unavailable";
+
+    private int id;
+    private int userId;
+    private int resortId;
+    private int roomId;
+    private Integer foodOptionId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private int numGuests;
+    private int priority;
+    private String status;
+    private Integer bookingId;
+    private LocalDateTime createdAt;
+
+    public WaitlistEntry() {
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public int getResortId() {
+        return resortId;
+    }
+
+    public void setResortId(int resortId) {
+        this.resortId = resortId;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(int roomId) {
+        this.roomId = roomId;
+    }
+
+    public Integer getFoodOptionId() {
+        return foodOptionId;
+    }
+
+    public void setFoodOptionId(Integer foodOptionId) {
+        this.foodOptionId = foodOptionId;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public void setCheckInDate(LocalDate checkInDate) {
+        this.checkInDate = checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public void setCheckOutDate(LocalDate checkOutDate) {
+        this.checkOutDate = checkOutDate;
+    }
+
+    public int getNumGuests() {
+        return numGuests;
+    }
+
+    public void setNumGuests(int numGuests) {
+        this.numGuests = numGuests;
+    }
+
+    /**
+     * Higher priorities are offered freed rooms first; equal priorities go oldest first.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * The booking made when the entry was promoted, or null while it waits.
+     */
+    public Integer getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Integer bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
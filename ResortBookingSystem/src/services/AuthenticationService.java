@@ -0,0 +1,80 @@
+package services;
+
+import dao.UserDAO;
+import models.User;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks passwords on a small dedicated pool with a bounded queue.
+ * Password hashes are slow on purpose, so a burst of logins running on the callers' threads would
+ * take every CPU and worker from bookings and searches; here at most -Dresort.auth.threads checks
+ * run at once and attempts beyond the queue are refused.
+ */
+public class AuthenticationService {
+    private static AuthenticationService instance;
+
+    private final UserDAO userDAO;
+    private final ThreadPoolExecutor executor;
+
+    private AuthenticationService() {
+        this.userDAO = new UserDAO();
+        int threads = Integer.getInteger("resort.auth.threads",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        int queue = Integer.getInteger("resort.auth.queue", 64);
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue), r -> {
+                    Thread t = new Thread(r, "auth-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public static synchronized AuthenticationService getInstance() {
+        if (instance == null) {
+            instance = new AuthenticationService();
+        }
+        return instance;
+    }
+
+    /**
+     * Check a username and password, upgrading the stored hash if it is outdated.
+     * Blocks until the check has run.
+     * @return the user, or null if the credentials are wrong
+     * @throws RejectedExecutionException if too many checks are already waiting
+     */
+    public User authenticate(String username, String password) {
+        Future<User> result;
+        try {
+            result = executor.submit(() -> userDAO.authenticate(username, password));
+        } catch (RejectedExecutionException e) {
+            throw new RejectedExecutionException("Too many sign-ins in progress. Please try again shortly.", e);
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Checks waiting for a free verification thread.
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+}
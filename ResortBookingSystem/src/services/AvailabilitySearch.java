@@ -0,0 +1,316 @@
+package services;
+
+import dao.InventoryDAO;
+import dao.PricingRuleDAO;
+import dao.RoomDAO;
+import models.PricingRule;
+import models.Room;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Searches every room type at every resort for a stay in one pass.
+ * Works from an in-memory snapshot of the catalog: room types as parallel arrays, booked units
+ * per night over the next -Dresort.search.horizonDays, and each room type's compiled rate plan.
+ * The snapshot is loaded with three queries, kept current from committed bookings and
+ * cancellations, and reloaded in the background after -Dresort.search.snapshotSeconds. A search splits the room
+ * types across the common fork/join pool, so it never touches the database.
+ */
+public class AvailabilitySearch {
+    private static AvailabilitySearch instance;
+
+    // Room types per fork/join leaf; smaller slices cost more to schedule than they save
+    private static final int SLICE = 512;
+
+    private static final Comparator<SearchResult> RANKING = Comparator
+            .comparingDouble(SearchResult::getNightlyRate)
+            .thenComparing(Comparator.comparingInt(SearchResult::getFreeUnits).reversed())
+            .thenComparingInt(result -> result.getRoom().getId());
+
+    private final RoomDAO roomDAO;
+    private final InventoryDAO inventoryDAO;
+    private final PricingRuleDAO ruleDAO;
+    private final int horizonDays;
+    private final long snapshotTtlMillis;
+    private volatile Snapshot snapshot;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    private AvailabilitySearch() {
+        this.roomDAO = new RoomDAO();
+        this.inventoryDAO = new InventoryDAO();
+        this.ruleDAO = new PricingRuleDAO();
+        this.horizonDays = Integer.getInteger("resort.search.horizonDays", 365);
+        this.snapshotTtlMillis = Long.getLong("resort.search.snapshotSeconds", 60) * 1000;
+        InventoryService.getInstance().addListener(this::apply);
+    }
+
+    public static synchronized AvailabilitySearch getInstance() {
+        if (instance == null) {
+            instance = new AvailabilitySearch();
+        }
+        return instance;
+    }
+
+    /**
+     * Room types with at least one unit free for the whole stay, cheapest nightly rate first and,
+     * at the same rate, the most free units first.
+     * @param guests not compared with beds, as booking does not limit guests per room either
+     * @param minBeds 0 for any
+     * @param maxNightlyRate highest average room charge per night, 0 for any
+     * @param limit most results to return, 0 for all
+     * @throws IllegalArgumentException if there are no guests, or the stay is empty, starts in the past or ends beyond the horizon
+     */
+    public List<SearchResult> search(LocalDate checkIn, LocalDate checkOut, int guests, int minBeds,
+            double maxNightlyRate, int limit) {
+        int nights = (int) (checkOut.toEpochDay() - checkIn.toEpochDay());
+        if (nights < 1) {
+            throw new IllegalArgumentException("Check-out must be after check-in");
+        }
+        if (guests < 1) {
+            throw new IllegalArgumentException("At least one guest is required");
+        }
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Check-in is in the past");
+        }
+        Snapshot current = snapshot();
+        int offset = (int) (checkIn.toEpochDay() - current.firstDay);
+        if (offset + nights > current.days) {
+            throw new IllegalArgumentException("Stays can be searched up to " + horizonDays + " days ahead");
+        }
+
+        Criteria criteria = new Criteria(checkIn, checkOut, nights, offset, minBeds, maxNightlyRate);
+        List<SearchResult> results = ForkJoinPool.commonPool()
+                .invoke(new SliceSearch(current, criteria, 0, current.rooms.length));
+        results.sort(RANKING);
+        return limit > 0 && results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    /**
+     * Size and load time of the current snapshot, for diagnostics.
+     */
+    public String getSnapshotStats() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return "search snapshot: not loaded";
+        }
+        return String.format("search snapshot: room types=%d, nights=%d, load=%d ms, age=%d s",
+                current.rooms.length, current.days, current.loadMillis,
+                (System.currentTimeMillis() - current.loadedAt) / 1000);
+    }
+
+    /**
+     * Drop the snapshot so the next search reloads rooms, bookings and pricing rules.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    // Only the first search waits for a load; later ones keep using the old snapshot while it is replaced
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        } else if (current.isStale(snapshotTtlMillis) && reloading.compareAndSet(false, true)) {
+            Thread reloader = new Thread(() -> {
+                try {
+                    Snapshot loaded = load();
+                    synchronized (this) {
+                        snapshot = loaded;
+                    }
+                } finally {
+                    reloading.set(false);
+                }
+            }, "search-snapshot");
+            reloader.setDaemon(true);
+            reloader.start();
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        long start = System.nanoTime();
+        LocalDate firstDay = LocalDate.now();
+        List<Room> rooms = new ArrayList<>();
+        for (Room room : roomDAO.getAll()) {
+            if (room.getAvailableCount() > 0) {
+                rooms.add(room);
+            }
+        }
+        Map<Integer, List<PricingRule>> rulesByResort = new HashMap<>();
+        for (PricingRule rule : ruleDAO.findAll()) {
+            rulesByResort.computeIfAbsent(rule.getResortId(), id -> new ArrayList<>()).add(rule);
+        }
+        Map<Integer, int[]> booked = inventoryDAO.findBookedByRoom(firstDay, firstDay.plusDays(horizonDays));
+        if (booked == null) {
+            // Searching as if nothing were booked would offer full rooms; keep the old snapshot, if any
+            throw new IllegalStateException("Could not read the inventory ledger");
+        }
+
+        Snapshot loaded = new Snapshot(firstDay.toEpochDay(), horizonDays, rooms.size());
+        Map<String, RatePlan> plans = new HashMap<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            loaded.rooms[i] = room;
+            loaded.beds[i] = room.getBeds();
+            loaded.units[i] = room.getAvailableCount();
+            loaded.prices[i] = room.getPricePerNight();
+            loaded.plans[i] = plans.computeIfAbsent(room.getResortId() + "|" + room.getRoomType().toLowerCase(),
+                    key -> RatePlan.compile(rulesByResort.getOrDefault(room.getResortId(), List.of()),
+                            room.getRoomType(), PricingEngine.DEFAULT_TAX_RATE));
+            loaded.booked[i] = booked.getOrDefault(room.getId(), loaded.nothingBooked);
+            loaded.indexById.put(room.getId(), i);
+        }
+        loaded.loadMillis = (System.nanoTime() - start) / 1_000_000;
+        return loaded;
+    }
+
+    /**
+     * Keep the snapshot in step with a committed booking or cancellation.
+     */
+    private void apply(int roomId, LocalDate checkIn, LocalDate checkOut, int delta) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Integer index = current.indexById.get(roomId);
+        if (index == null) {
+            return;
+        }
+        int from = (int) Math.max(0, checkIn.toEpochDay() - current.firstDay);
+        int to = (int) Math.min(current.days, checkOut.toEpochDay() - current.firstDay);
+        // Searches read without locking; one racing this sees the stay partly applied, which
+        // booking corrects by checking the ledger
+        synchronized (current) {
+            int[] booked = current.booked[index];
+            if (booked == current.nothingBooked) {
+                booked = new int[current.days];
+                current.booked[index] = booked;
+            }
+            for (int night = from; night < to; night++) {
+                booked[night] = Math.max(0, booked[night] + delta);
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        final long firstDay;
+        final int days;
+        final long loadedAt = System.currentTimeMillis();
+        long loadMillis;
+        final Room[] rooms;
+        final int[] beds;
+        final int[] units;
+        final double[] prices;
+        final RatePlan[] plans;
+        final int[][] booked;
+        // Shared by every room type with nothing booked in the horizon; replaced before it is written
+        final int[] nothingBooked;
+        final Map<Integer, Integer> indexById = new HashMap<>();
+
+        Snapshot(long firstDay, int days, int size) {
+            this.firstDay = firstDay;
+            this.days = days;
+            this.rooms = new Room[size];
+            this.beds = new int[size];
+            this.units = new int[size];
+            this.prices = new double[size];
+            this.plans = new RatePlan[size];
+            this.booked = new int[size][];
+            this.nothingBooked = new int[days];
+        }
+
+        boolean isStale(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis
+                    || LocalDate.now().toEpochDay() != firstDay;
+        }
+    }
+
+    private static final class Criteria {
+        final LocalDate checkIn;
+        final LocalDate checkOut;
+        final int nights;
+        final int offset;
+        final int minBeds;
+        final double maxNightlyRate;
+
+        Criteria(LocalDate checkIn, LocalDate checkOut, int nights, int offset, int minBeds, double maxNightlyRate) {
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.nights = nights;
+            this.offset = offset;
+            this.minBeds = minBeds;
+            this.maxNightlyRate = maxNightlyRate;
+        }
+    }
+
+    private static final class SliceSearch extends RecursiveTask<List<SearchResult>> {
+        private final Snapshot snapshot;
+        private final Criteria criteria;
+        private final int from;
+        private final int to;
+
+        SliceSearch(Snapshot snapshot, Criteria criteria, int from, int to) {
+            this.snapshot = snapshot;
+            this.criteria = criteria;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<SearchResult> compute() {
+            if (to - from <= SLICE) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            SliceSearch left = new SliceSearch(snapshot, criteria, from, middle);
+            left.fork();
+            List<SearchResult> results = new SliceSearch(snapshot, criteria, middle, to).compute();
+            results.addAll(left.join());
+            return results;
+        }
+
+        private List<SearchResult> scan() {
+            List<SearchResult> results = new ArrayList<>();
+            int nights = criteria.nights;
+            int offset = criteria.offset;
+            for (int i = from; i < to; i++) {
+                if (snapshot.beds[i] < criteria.minBeds) {
+                    continue;
+                }
+                int units = snapshot.units[i];
+                int[] booked = snapshot.booked[i];
+                int free = units;
+                for (int night = offset; night < offset + nights && free > 0; night++) {
+                    free = Math.min(free, units - booked[night]);
+                }
+                if (free <= 0) {
+                    continue;
+                }
+
+                RatePlan plan = snapshot.plans[i];
+                double charges = plan.roomCharges(criteria.checkIn, nights, snapshot.prices[i], booked, offset, units);
+                double roomCharges = PricingEngine.round(charges * (1 - plan.stayDiscount(nights)));
+                if (criteria.maxNightlyRate > 0 && roomCharges / nights > criteria.maxNightlyRate) {
+                    continue;
+                }
+                results.add(new SearchResult(snapshot.rooms[i], criteria.checkIn, criteria.checkOut, free,
+                        roomCharges, plan.getTaxRate(), PricingEngine.round(roomCharges * plan.getTaxRate())));
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package services;
+
+import dao.SequenceDAO;
+import models.Invoice;
+import utils.IdGenerator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out IDs from ranges reserved in the id_sequences table.
+ * IDs within a block come from a single atomic counter; the database is only touched
+ * once per block, so instances sharing a database never collide. IDs left in a block
+ * when the app exits are skipped, so numbers can have gaps.
+ */
+public class BlockIdGenerator implements IdGenerator {
+    private final String sequenceName;
+    private final int blockSize;
+    private final SequenceDAO sequenceDAO;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+
+    public BlockIdGenerator(String sequenceName, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+        this.sequenceDAO = new SequenceDAO();
+    }
+
+    /**
+     * Number invoices from database-reserved blocks unless -Dresort.invoice.ids=snowflake.
+     * Call once at startup, after the database is initialized.
+     */
+    public static void configureInvoiceNumbers() {
+        if (!"snowflake".equalsIgnoreCase(System.getProperty("resort.invoice.ids"))) {
+            Invoice.setNumberGenerator(
+                    new BlockIdGenerator("invoice", Integer.getInteger("resort.invoice.blockSize", 1000)));
+        }
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            refill(block);
+        }
+    }
+
+    // Only the thread that finds a block exhausted first reserves the next one
+    private synchronized void refill(Block exhausted) {
+        if (current.get() != exhausted) {
+            return;
+        }
+        long start = sequenceDAO.allocate(sequenceName, blockSize);
+        if (start < 0) {
+            throw new IllegalStateException("Could not reserve IDs from sequence '" + sequenceName + "'");
+        }
+        current.set(new Block(start, start + blockSize));
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package services;
+
+import models.Booking;
+import models.Invoice;
+
+/**
+ * Outcome of {@link BookingService#confirm} and {@link BookingService#changeStatus}.
+ */
+public class BookingResult {
+
+    public enum Status {
+        /** Booking, inventory and invoice (or the status change and inventory) were committed together. */
+        CONFIRMED,
+        /** At least one night of the stay has no free unit left. Nothing was written. */
+        SOLD_OUT,
+        /** Another writer held the database or a constraint failed. Nothing was written; retrying may succeed. */
+        CONFLICT,
+        /** The booking already had the requested status. Nothing was written. */
+        UNCHANGED,
+        /** Any other failure. Nothing was written. */
+        ERROR
+    }
+
+    private final Status status;
+    private final Booking booking;
+    private final Invoice invoice;
+    private final String message;
+
+    private BookingResult(Status status, Booking booking, Invoice invoice, String message) {
+        this.status = status;
+        this.booking = booking;
+        this.invoice = invoice;
+        this.message = message;
+    }
+
+    static BookingResult confirmed(Booking booking, Invoice invoice) {
+        return new BookingResult(Status.CONFIRMED, booking, invoice, null);
+    }
+
+    static BookingResult failed(Status status, String message) {
+        return new BookingResult(status, null, null, message);
+    }
+
+    public boolean isConfirmed() {
+        return status == Status.CONFIRMED;
+    }
+
+    // Getters
+    public Status getStatus() {
+        return status;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public Invoice getInvoice() {
+        return invoice;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingResult{" + status + (message != null ? ", " + message : "") + "}";
+    }
+}
@@ -0,0 +1,226 @@
+package services;
+
+import dao.BookingDAO;
+import dao.InvoiceDAO;
+import database.DatabaseManager;
+import models.Booking;
+import models.FoodOption;
+import models.Invoice;
+import models.Room;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.LocalDate;
+
+/**
+ * Books a stay as a single transaction: the inventory hold, the booking row and its invoice
+ * are committed together or not at all.
+ */
+public class BookingService {
+    private static BookingService instance;
+
+    // SQLite result codes (primary code is the low byte of the extended code)
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    static final String CANCELLED = "cancelled";
+
+    private final BookingDAO bookingDAO;
+    private final InvoiceDAO invoiceDAO;
+    private final InventoryService inventoryService;
+    private final PricingEngine pricingEngine;
+
+    private BookingService() {
+        this.bookingDAO = new BookingDAO();
+        this.invoiceDAO = new InvoiceDAO();
+        this.inventoryService = InventoryService.getInstance();
+        this.pricingEngine = PricingEngine.getInstance();
+    }
+
+    public static synchronized BookingService getInstance() {
+        if (instance == null) {
+            instance = new BookingService();
+        }
+        return instance;
+    }
+
+    /**
+     * Reserve inventory, create the booking and create its invoice in one transaction.
+     * The invoice's booking ID is filled in from the new booking.
+     */
+    public BookingResult confirm(Booking booking, Invoice invoice) {
+        return confirm(booking, invoice, null);
+    }
+
+    /**
+     * Like {@link #confirm(Booking, Invoice)}, running {@code step} in the same transaction once
+     * the booking and invoice exist.
+     */
+    BookingResult confirm(Booking booking, Invoice invoice, TransactionStep step) {
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (!inventoryService.reserve(conn, booking.getRoomId(), booking.getCheckInDate(),
+                        booking.getCheckOutDate())) {
+                    conn.rollback();
+                    return BookingResult.failed(BookingResult.Status.SOLD_OUT,
+                            "This room is no longer available for the selected dates.");
+                }
+                if (!bookingDAO.create(conn, booking)) {
+                    throw new SQLException("Failed to create booking");
+                }
+                invoice.setBookingId(booking.getId());
+                if (!invoiceDAO.create(conn, invoice)) {
+                    throw new SQLException("Failed to create invoice");
+                }
+                if (step != null) {
+                    step.run(conn, booking);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                booking.setId(0);
+                invoice.setId(0);
+                throw e;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return BookingResult.failed(isConflict(e) ? BookingResult.Status.CONFLICT : BookingResult.Status.ERROR,
+                    e.getMessage());
+        }
+
+        // Only update the in-memory calendar once the hold is durable
+        inventoryService.onReserved(booking.getRoomId(), booking.getCheckInDate(), booking.getCheckOutDate());
+        return BookingResult.confirmed(booking, invoice);
+    }
+
+    /**
+     * Price a stay with the resort's pricing rules. Meals are charged per night, like the room.
+     * May read rules and inventory from the database, so call it off the EDT.
+     * @param foodOption the meal plan, or null for room only
+     */
+    public Quote quote(Room room, FoodOption foodOption, LocalDate checkIn, LocalDate checkOut, int guests) {
+        return pricingEngine.quote(room, foodOption, checkIn, checkOut, guests);
+    }
+
+    /**
+     * Book a quoted stay for a user at the quoted price. Draws the invoice number, which may
+     * reserve a block of numbers from the database, so call it off the EDT.
+     */
+    public BookingResult book(int userId, Quote quote) {
+        return book(userId, quote, null);
+    }
+
+    BookingResult book(int userId, Quote quote, TransactionStep step) {
+        Booking booking = new Booking();
+        booking.setUserId(userId);
+        booking.setResortId(quote.getRoom().getResortId());
+        booking.setRoomId(quote.getRoom().getId());
+        if (quote.getFoodOption() != null) {
+            booking.setFoodOptionId(quote.getFoodOption().getId());
+        }
+        booking.setCheckInDate(quote.getCheckIn());
+        booking.setCheckOutDate(quote.getCheckOut());
+        booking.setNumGuests(quote.getGuests());
+        booking.setStatus("confirmed");
+
+        Invoice invoice = new Invoice();
+        invoice.setUserId(userId);
+        invoice.setInvoiceNumber(Invoice.generateInvoiceNumber());
+        invoice.setRoomCharges(quote.getRoomCharges());
+        invoice.setFoodCharges(quote.getFoodCharges());
+        invoice.setTaxes(quote.getTaxes());
+        invoice.setTotalAmount(quote.getTotal());
+        return confirm(booking, invoice, step);
+    }
+
+    /**
+     * Cancel a booking and give its nights back to inventory in one transaction.
+     * @return false if it was already cancelled or the transaction failed
+     */
+    public boolean cancel(Booking booking) {
+        return changeStatus(booking, CANCELLED).isConfirmed();
+    }
+
+    /**
+     * Move a booking to another status. Cancelling releases its nights and reactivating a cancelled
+     * booking takes them again, in the same transaction as the status change. Nights freed by a
+     * cancellation are then offered to the waitlist in the background.
+     * On success the booking's status is updated in place.
+     */
+    public BookingResult changeStatus(Booking booking, String newStatus) {
+        boolean released;
+        boolean reserved;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // The caller's copy may be stale; the transition is decided on the stored status
+                String current = bookingDAO.findStatus(conn, booking.getId());
+                if (current == null) {
+                    conn.rollback();
+                    return BookingResult.failed(BookingResult.Status.ERROR, "Booking " + booking.getId() + " does not exist");
+                }
+                if (current.equals(newStatus)) {
+                    conn.rollback();
+                    return BookingResult.failed(BookingResult.Status.UNCHANGED, "Booking is already " + newStatus);
+                }
+                released = holdsInventory(current) && !holdsInventory(newStatus);
+                reserved = !holdsInventory(current) && holdsInventory(newStatus);
+                if (reserved && !inventoryService.reserve(conn, booking.getRoomId(), booking.getCheckInDate(),
+                        booking.getCheckOutDate())) {
+                    conn.rollback();
+                    return BookingResult.failed(BookingResult.Status.SOLD_OUT,
+                            "The room is no longer available for these dates.");
+                }
+                if (!bookingDAO.updateStatus(conn, booking.getId(), current, newStatus)) {
+                    conn.rollback();
+                    return BookingResult.failed(BookingResult.Status.CONFLICT, "The booking was changed meanwhile.");
+                }
+                if (released) {
+                    inventoryService.release(conn, booking.getRoomId(), booking.getCheckInDate(),
+                            booking.getCheckOutDate());
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return BookingResult.failed(isConflict(e) ? BookingResult.Status.CONFLICT : BookingResult.Status.ERROR,
+                    e.getMessage());
+        }
+
+        booking.setStatus(newStatus);
+        if (reserved) {
+            inventoryService.onReserved(booking.getRoomId(), booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+        if (released) {
+            inventoryService.onReleased(booking.getRoomId(), booking.getCheckInDate(), booking.getCheckOutDate());
+            WaitlistService.getInstance().onCapacityFreed(booking.getRoomId(), booking.getCheckInDate(),
+                    booking.getCheckOutDate());
+        }
+        return BookingResult.confirmed(booking, null);
+    }
+
+    // Confirmed and completed stays keep their nights; only cancelled ones give them back
+    private static boolean holdsInventory(String status) {
+        return !CANCELLED.equals(status);
+    }
+
+    private static boolean isConflict(SQLException e) {
+        int code = e.getErrorCode() & 0xFF;
+        return code == SQLITE_BUSY || code == SQLITE_LOCKED || code == SQLITE_CONSTRAINT
+                || e instanceof SQLTimeoutException;
+    }
+
+    /**
+     * Extra work that must commit or roll back with a booking.
+     */
+    @FunctionalInterface
+    interface TransactionStep {
+        void run(Connection conn, Booking booking) throws SQLException;
+    }
+}
@@ -0,0 +1,242 @@
+package services;
+
+import dao.FoodDAO;
+import dao.ResortDAO;
+import dao.RoomDAO;
+import models.FoodOption;
+import models.Resort;
+import models.Room;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for the catalog the booking wizard reads on every screen:
+ * resorts, room types and food options. They only change from the admin panels,
+ * which call the matching invalidate method after a save or delete. Entries also
+ * expire after a TTL so changes made by another instance show up eventually
+ * (-Dresort.catalog.ttlSeconds, default 300).
+ * Returned lists are read-only and shared; callers must not modify the entities in them.
+ */
+public class CatalogCache {
+    private static CatalogCache instance;
+
+    private static final String ALL = "all";
+
+    private final ResortDAO resortDAO;
+    private final RoomDAO roomDAO;
+    private final FoodDAO foodDAO;
+
+    private final Region<String, List<Resort>> resorts;
+    private final Region<Integer, List<Room>> availableRooms;
+    private final Region<Integer, Room> rooms;
+    private final Region<String, List<FoodOption>> foodOptions;
+
+    private CatalogCache() {
+        this.resortDAO = new ResortDAO();
+        this.roomDAO = new RoomDAO();
+        this.foodDAO = new FoodDAO();
+        long ttlMillis = Long.getLong("resort.catalog.ttlSeconds", 300) * 1000;
+        this.resorts = new Region<>("resorts", 1, ttlMillis);
+        this.availableRooms = new Region<>("availableRooms", 256, ttlMillis);
+        this.rooms = new Region<>("rooms", 1024, ttlMillis);
+        this.foodOptions = new Region<>("foodOptions", 1, ttlMillis);
+    }
+
+    public static synchronized CatalogCache getInstance() {
+        if (instance == null) {
+            instance = new CatalogCache();
+        }
+        return instance;
+    }
+
+    public List<Resort> getResorts() {
+        return resorts.get(ALL, key -> Collections.unmodifiableList(resortDAO.getAll()));
+    }
+
+    /**
+     * Room types of a resort that have at least one unit, cheapest first.
+     */
+    public List<Room> getAvailableRooms(int resortId) {
+        return availableRooms.get(resortId, id -> Collections.unmodifiableList(roomDAO.getAvailable(id)));
+    }
+
+    public Room getRoom(int roomId) {
+        return rooms.get(roomId, roomDAO::findById);
+    }
+
+    public List<FoodOption> getFoodOptions() {
+        return foodOptions.get(ALL, key -> Collections.unmodifiableList(foodDAO.getAll()));
+    }
+
+    /**
+     * Call after a resort is saved or deleted. Room entries carry the resort name, so they go too.
+     */
+    public void invalidateResorts() {
+        resorts.invalidate();
+        invalidateRooms();
+    }
+
+    /**
+     * Call after a room type is saved or deleted.
+     */
+    public void invalidateRooms() {
+        availableRooms.invalidate();
+        rooms.invalidate();
+    }
+
+    /**
+     * Call after a food option is saved or deleted.
+     */
+    public void invalidateFoodOptions() {
+        foodOptions.invalidate();
+    }
+
+    public void invalidateAll() {
+        invalidateResorts();
+        invalidateFoodOptions();
+    }
+
+    /**
+     * Counters for every cached region, for diagnostics.
+     */
+    public List<Stats> getStats() {
+        List<Stats> stats = new ArrayList<>();
+        stats.add(resorts.stats());
+        stats.add(availableRooms.stats());
+        stats.add(rooms.stats());
+        stats.add(foodOptions.stats());
+        return stats;
+    }
+
+    /**
+     * Snapshot of one region's counters.
+     */
+    public static final class Stats {
+        private final String name;
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        Stats(String name, int size, long hits, long misses, long evictions) {
+            this.name = name;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Entries dropped because the region was full or the entry expired.
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: size=%d, hits=%d, misses=%d, evictions=%d, hit rate=%.1f%%",
+                    name, size, hits, misses, evictions, getHitRate() * 100);
+        }
+    }
+
+    /**
+     * LRU map with a TTL. Loads run outside the lock; a load that started before an
+     * invalidation is returned to its caller but not stored.
+     */
+    private static final class Region<K, V> {
+        private final String name;
+        private final long ttlMillis;
+        private final Map<K, Entry<V>> entries;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+        private long version;
+
+        Region(String name, int maxEntries, long ttlMillis) {
+            this.name = name;
+            this.ttlMillis = ttlMillis;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > maxEntries) {
+                        evictions.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        V get(K key, Function<K, V> loader) {
+            long loadVersion;
+            synchronized (this) {
+                Entry<V> entry = entries.get(key);
+                if (entry != null) {
+                    if (System.currentTimeMillis() - entry.loadedAt < ttlMillis) {
+                        hits.incrementAndGet();
+                        return entry.value;
+                    }
+                    entries.remove(key);
+                    evictions.incrementAndGet();
+                }
+                loadVersion = version;
+            }
+            misses.incrementAndGet();
+            V value = loader.apply(key);
+            if (value != null) {
+                synchronized (this) {
+                    if (version == loadVersion) {
+                        entries.put(key, new Entry<>(value));
+                    }
+                }
+            }
+            return value;
+        }
+
+        synchronized void invalidate() {
+            version++;
+            entries.clear();
+        }
+
+        synchronized Stats stats() {
+            return new Stats(name, entries.size(), hits.get(), misses.get(), evictions.get());
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt = System.currentTimeMillis();
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+}
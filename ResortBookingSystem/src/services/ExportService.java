@@ -0,0 +1,323 @@
+package services;
+
+import dao.ExportDAO;
+import dao.ExportQuery;
+import utils.ChannelWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports bookings, invoices and users as CSV or JSON lines, optionally gzipped.
+ * Rows go straight from the database cursor through a fixed-size buffer to the file, so an export
+ * of any size runs in constant memory. A file export is written next to its target and moved into
+ * place only once complete, so a failed export never leaves a truncated file behind.
+ */
+public class ExportService {
+    private static ExportService instance;
+
+    // Deflater input buffer; larger than the default 512 bytes so each write compresses a full block
+    private static final int GZIP_BUFFER = 64 * 1024;
+
+    public enum Format {
+        CSV("csv"), JSONL("jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * What one export wrote.
+     */
+    public static final class Result {
+        private final long rows;
+        private final long bytes;
+        private final long millis;
+
+        Result(long rows, long bytes, long millis) {
+            this.rows = rows;
+            this.bytes = bytes;
+            this.millis = millis;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Bytes written, after compression.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    private final ExportDAO exportDAO;
+
+    private ExportService() {
+        this.exportDAO = new ExportDAO();
+    }
+
+    public static synchronized ExportService getInstance() {
+        if (instance == null) {
+            instance = new ExportService();
+        }
+        return instance;
+    }
+
+    /**
+     * Export to a file, replacing it if it exists.
+     * @param spreadsheetSafe for CSV, prefix text a spreadsheet would run as a formula with {@code '};
+     *                        this changes values such as phone numbers starting with {@code +}
+     */
+    public Result export(ExportQuery query, Format format, boolean gzip, boolean spreadsheetSafe, Path target)
+            throws SQLException, IOException {
+        long start = System.nanoTime();
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        boolean done = false;
+        try {
+            long rows;
+            try (FileChannel file = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                    ChannelWriter writer = new ChannelWriter(gzip ? gzipped(file) : file)) {
+                rows = write(query, format, spreadsheetSafe, writer);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            done = true;
+            return new Result(rows, Files.size(target), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(partial);
+            }
+        }
+    }
+
+    /**
+     * Export to an open channel, e.g. standard output or an HTTP response, and close it.
+     * @param spreadsheetSafe as for {@link #export(ExportQuery, Format, boolean, boolean, Path)}
+     */
+    public Result export(ExportQuery query, Format format, boolean gzip, boolean spreadsheetSafe,
+            WritableByteChannel channel) throws SQLException, IOException {
+        long start = System.nanoTime();
+        CountingChannel counted = new CountingChannel(channel);
+        long rows;
+        try (ChannelWriter writer = new ChannelWriter(gzip ? gzipped(counted) : counted)) {
+            rows = write(query, format, spreadsheetSafe, writer);
+        }
+        return new Result(rows, counted.count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long write(ExportQuery query, Format format, boolean spreadsheetSafe, Writer out)
+            throws SQLException, IOException {
+        return exportDAO.export(query,
+                format == Format.CSV ? new CsvHandler(out, spreadsheetSafe) : new JsonLinesHandler(out));
+    }
+
+    private static WritableByteChannel gzipped(WritableByteChannel channel) throws IOException {
+        OutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), GZIP_BUFFER);
+        return Channels.newChannel(gzip);
+    }
+
+    // Whole numbers as written, fractions without exponents
+    private static String number(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            return Double.isFinite(d) ? BigDecimal.valueOf(d).toPlainString() : null;
+        }
+        return value.toString();
+    }
+
+    /**
+     * RFC 4180: a header line, CRLF line ends, fields quoted when they contain a comma, quote or line break.
+     * Values are written as stored unless {@code guardFormulas} is set.
+     */
+    private static final class CsvHandler implements ExportDAO.RowHandler {
+        private final Writer out;
+        private final boolean guardFormulas;
+
+        CsvHandler(Writer out, boolean guardFormulas) {
+            this.out = out;
+            this.guardFormulas = guardFormulas;
+        }
+
+        @Override
+        public void columns(String[] names) throws IOException {
+            row(names);
+        }
+
+        @Override
+        public void row(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                Object value = values[i];
+                if (value instanceof Number) {
+                    String text = number(value);
+                    if (text != null) {
+                        out.write(text);
+                    }
+                } else if (value != null) {
+                    writeText(value.toString());
+                }
+            }
+            out.write("\r\n");
+        }
+
+        private void writeText(String text) throws IOException {
+            // Spreadsheets run text starting with these as a formula; a leading quote keeps it text
+            boolean formula = guardFormulas && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0;
+            boolean quote = formula;
+            for (int i = 0; i < text.length() && !quote; i++) {
+                char c = text.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(text);
+                return;
+            }
+            out.write('"');
+            if (formula) {
+                out.write('\'');
+            }
+            int start = 0;
+            for (int i = text.indexOf('"'); i >= 0; i = text.indexOf('"', start)) {
+                out.write(text, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+            out.write(text, start, text.length() - start);
+            out.write('"');
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by column name; SQL NULL becomes null.
+     */
+    private static final class JsonLinesHandler implements ExportDAO.RowHandler {
+        private final Writer out;
+        private String[] keys;
+
+        JsonLinesHandler(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void columns(String[] names) throws IOException {
+            keys = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                StringBuilder key = new StringBuilder(i == 0 ? "{" : ",");
+                appendString(key, names[i]);
+                keys[i] = key.append(':').toString();
+            }
+        }
+
+        @Override
+        public void row(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                out.write(keys[i]);
+                Object value = values[i];
+                String text = value instanceof Number ? number(value) : null;
+                if (text != null) {
+                    out.write(text);
+                } else if (value == null || value instanceof Number) {
+                    out.write("null");
+                } else {
+                    writeString(value.toString());
+                }
+            }
+            out.write(values.length == 0 ? "{}\n" : "}\n");
+        }
+
+        private void writeString(String text) throws IOException {
+            out.write('"');
+            int start = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    continue;
+                }
+                out.write(text, start, i - start);
+                start = i + 1;
+                out.write(escape(c));
+            }
+            out.write(text, start, text.length() - start);
+            out.write('"');
+        }
+
+        private static void appendString(StringBuilder sb, String text) {
+            sb.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                sb.append(c >= 0x20 && c != '"' && c != '\\' ? String.valueOf(c) : escape(c));
+            }
+            sb.append('"');
+        }
+
+        private static String escape(char c) {
+            switch (c) {
+                case '"':
+                    return "\\\"";
+                case '\\':
+                    return "\\\\";
+                case '\n':
+                    return "\\n";
+                case '\r':
+                    return "\\r";
+                case '\t':
+                    return "\\t";
+                default:
+                    return String.format("\\u%04x", (int) c);
+            }
+        }
+    }
+
+    private static final class CountingChannel implements WritableByteChannel {
+        private final WritableByteChannel channel;
+        long count;
+
+        CountingChannel(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int n = channel.write(src);
+            count += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
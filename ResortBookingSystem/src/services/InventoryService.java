@@ -0,0 +1,162 @@
+package services;
+
+import dao.InventoryDAO;
+import models.Room;
+import models.RoomAvailability;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Date-aware room availability.
+ * The room_inventory ledger is the source of truth; a {@link RoomCalendar} per room type
+ * keeps recently used nights in memory so availability checks never scan bookings.
+ */
+public class InventoryService {
+    private static InventoryService instance;
+
+    // Other terminals write to the same database, so cached nights are re-read after this long
+    private static final long CALENDAR_TTL_MILLIS = 30_000;
+
+    private final InventoryDAO inventoryDAO;
+    private final Map<Integer, RoomCalendar> calendars = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Told about every committed change to booked counts that goes through this service.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onBookedChanged(int roomId, LocalDate checkIn, LocalDate checkOut, int delta);
+    }
+
+    private InventoryService() {
+        this.inventoryDAO = new InventoryDAO();
+    }
+
+    public static synchronized InventoryService getInstance() {
+        if (instance == null) {
+            instance = new InventoryService();
+        }
+        return instance;
+    }
+
+    private RoomCalendar calendar(int roomId) {
+        return calendars.computeIfAbsent(roomId,
+                id -> new RoomCalendar(id, inventoryDAO::findBooked, CALENDAR_TTL_MILLIS));
+    }
+
+    /**
+     * Free units of a room type for every night in [checkIn, checkOut).
+     */
+    public int[] getFreeUnitsPerNight(Room room, LocalDate checkIn, LocalDate checkOut) {
+        int[] free = calendar(room.getId()).booked(checkIn, checkOut);
+        for (int i = 0; i < free.length; i++) {
+            free[i] = Math.max(0, room.getAvailableCount() - free[i]);
+        }
+        return free;
+    }
+
+    /**
+     * Booked units of a room type for every night in [checkIn, checkOut).
+     */
+    public int[] getBookedUnitsPerNight(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return calendar(room.getId()).booked(checkIn, checkOut);
+    }
+
+    /**
+     * Changes whenever the booked counts held for a room type may have changed.
+     */
+    public long getVersion(int roomId) {
+        return calendar(roomId).getVersion();
+    }
+
+    /**
+     * Units of a room type that are free on every night in [checkIn, checkOut).
+     */
+    public int getFreeUnits(Room room, LocalDate checkIn, LocalDate checkOut) {
+        int min = room.getAvailableCount();
+        for (int booked : calendar(room.getId()).booked(checkIn, checkOut)) {
+            min = Math.min(min, room.getAvailableCount() - booked);
+        }
+        return Math.max(0, min);
+    }
+
+    /**
+     * Room types at a resort with at least one unit free for the whole stay, cheapest first.
+     */
+    public List<RoomAvailability> findAvailable(int resortId, LocalDate checkIn, LocalDate checkOut) {
+        List<RoomAvailability> result = new ArrayList<>();
+        for (Room room : CatalogCache.getInstance().getAvailableRooms(resortId)) {
+            int free = getFreeUnits(room, checkIn, checkOut);
+            if (free > 0) {
+                result.add(new RoomAvailability(room, checkIn, checkOut, free));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reserve one unit for the stay in a transaction of its own.
+     * @return false if any night is full
+     */
+    public boolean reserve(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        if (inventoryDAO.reserve(roomId, checkIn, checkOut)) {
+            onReserved(roomId, checkIn, checkOut);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reserve one unit inside the caller's transaction.
+     * Call {@link #onReserved} once the transaction has committed.
+     */
+    public boolean reserve(Connection conn, int roomId, LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        return inventoryDAO.reserve(conn, roomId, checkIn, checkOut);
+    }
+
+    /**
+     * Release one unit inside the caller's transaction.
+     * Call {@link #onReleased} once the transaction has committed.
+     */
+    public void release(Connection conn, int roomId, LocalDate checkIn, LocalDate checkOut) throws SQLException {
+        inventoryDAO.release(conn, roomId, checkIn, checkOut);
+    }
+
+    public void onReserved(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        calendar(roomId).apply(checkIn, checkOut, 1);
+        notifyListeners(roomId, checkIn, checkOut, 1);
+    }
+
+    public void onReleased(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        calendar(roomId).apply(checkIn, checkOut, -1);
+        notifyListeners(roomId, checkIn, checkOut, -1);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    private void notifyListeners(int roomId, LocalDate checkIn, LocalDate checkOut, int delta) {
+        for (Listener listener : listeners) {
+            listener.onBookedChanged(roomId, checkIn, checkOut, delta);
+        }
+    }
+
+    /**
+     * Drop cached nights for a room type, e.g. after it is deleted.
+     */
+    public void invalidate(int roomId) {
+        RoomCalendar calendar = calendars.remove(roomId);
+        if (calendar != null) {
+            calendar.invalidate();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package services;
+
+import dao.PricingRuleDAO;
+import models.FoodOption;
+import models.PricingRule;
+import models.Room;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prices stays from each resort's pricing_rules:
+ * <ul>
+ * <li>season: multiplies the nightly rate on nights from season_start to season_end (MM-DD)</li>
+ * <li>weekday: multiplies the nightly rate on one day_of_week (1 = Monday)</li>
+ * <li>occupancy: multiplies the nightly rate on nights whose booked fraction is at least threshold</li>
+ * <li>length_of_stay: takes value off the room charges of stays of at least threshold nights</li>
+ * <li>tax: the resort's tax rate (10% when it has none)</li>
+ * </ul>
+ * Rules are compiled per room type and kept for the catalog TTL. Quotes are cached by room, dates,
+ * meal plan and guests, and dropped as soon as the room's inventory changes, since surges depend on it.
+ * Meals are charged per night at the plan's price and are not adjusted by rules.
+ */
+public class PricingEngine {
+    private static PricingEngine instance;
+
+    static final double DEFAULT_TAX_RATE = 0.10;
+
+    private final PricingRuleDAO ruleDAO;
+    private final InventoryService inventoryService;
+    private final long rulesTtlMillis;
+    private final long quoteTtlMillis;
+    private final Map<Integer, ResortRules> rules = new ConcurrentHashMap<>();
+    private final Map<QuoteKey, CachedQuote> quotes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private PricingEngine() {
+        this.ruleDAO = new PricingRuleDAO();
+        this.inventoryService = InventoryService.getInstance();
+        this.rulesTtlMillis = Long.getLong("resort.catalog.ttlSeconds", 300) * 1000;
+        this.quoteTtlMillis = Long.getLong("resort.pricing.quoteTtlSeconds", 60) * 1000;
+        int maxQuotes = Integer.getInteger("resort.pricing.quoteCacheSize", 4096);
+        this.quotes = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QuoteKey, CachedQuote> eldest) {
+                if (size() > maxQuotes) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static synchronized PricingEngine getInstance() {
+        if (instance == null) {
+            instance = new PricingEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Price a stay. Amounts are rounded to cents, so the invoice stores exactly what was shown.
+     * @param foodOption the meal plan, or null for room only
+     */
+    public Quote quote(Room room, FoodOption foodOption, LocalDate checkIn, LocalDate checkOut, int guests) {
+        QuoteKey key = new QuoteKey(room, foodOption, checkIn, checkOut, guests);
+        long inventoryVersion = inventoryService.getVersion(room.getId());
+        synchronized (quotes) {
+            CachedQuote cached = quotes.get(key);
+            if (cached != null) {
+                if (cached.isValid(inventoryVersion, quoteTtlMillis)) {
+                    hits.incrementAndGet();
+                    return cached.quote;
+                }
+                quotes.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+
+        RatePlan plan = planFor(room);
+        int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+        int[] booked = plan.usesOccupancy() ? inventoryService.getBookedUnitsPerNight(room, checkIn, checkOut) : null;
+        if (booked != null && Arrays.stream(booked).anyMatch(units -> units == RoomCalendar.UNREADABLE)) {
+            throw new IllegalStateException("Could not read the inventory ledger to price the stay");
+        }
+        double nightly = plan.roomCharges(checkIn, nights, room.getPricePerNight(), booked, room.getAvailableCount());
+        double beforeDiscount = round(nightly);
+        double roomCharges = round(nightly * (1 - plan.stayDiscount(nights)));
+        double foodCharges = foodOption != null ? round(foodOption.getPricePerDay() * nights) : 0;
+        double taxes = round((roomCharges + foodCharges) * plan.getTaxRate());
+        Quote quote = new Quote(room, foodOption, checkIn, checkOut, guests, nights, roomCharges, foodCharges,
+                beforeDiscount - roomCharges, plan.getTaxRate(), taxes);
+
+        synchronized (quotes) {
+            quotes.put(key, new CachedQuote(quote, plan.usesOccupancy() ? inventoryVersion : -1));
+        }
+        return quote;
+    }
+
+    /**
+     * Forget compiled rules and cached quotes, e.g. after pricing rules were edited.
+     */
+    public void invalidate() {
+        rules.clear();
+        synchronized (quotes) {
+            quotes.clear();
+        }
+    }
+
+    /**
+     * Counters for the quote cache, in the same form as the catalog cache's.
+     */
+    public CatalogCache.Stats getQuoteStats() {
+        synchronized (quotes) {
+            return new CatalogCache.Stats("quotes", quotes.size(), hits.get(), misses.get(), evictions.get());
+        }
+    }
+
+    private RatePlan planFor(Room room) {
+        ResortRules resortRules = rules.get(room.getResortId());
+        if (resortRules == null || System.currentTimeMillis() - resortRules.loadedAt > rulesTtlMillis) {
+            resortRules = new ResortRules(ruleDAO.findByResort(room.getResortId()));
+            rules.put(room.getResortId(), resortRules);
+        }
+        return resortRules.planFor(room.getRoomType());
+    }
+
+    static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+
+    private static final class ResortRules {
+        final List<PricingRule> rules;
+        final Map<String, RatePlan> plans = new ConcurrentHashMap<>();
+        final long loadedAt = System.currentTimeMillis();
+
+        ResortRules(List<PricingRule> rules) {
+            this.rules = rules;
+        }
+
+        RatePlan planFor(String roomType) {
+            return plans.computeIfAbsent(roomType, type -> RatePlan.compile(rules, type, DEFAULT_TAX_RATE));
+        }
+    }
+
+    // Prices are part of the key, so editing a room or meal plan never serves the old amount
+    private static final class QuoteKey {
+        final int roomId;
+        final double pricePerNight;
+        final int units;
+        final int foodOptionId;
+        final double pricePerDay;
+        final long checkIn;
+        final long checkOut;
+        final int guests;
+
+        QuoteKey(Room room, FoodOption foodOption, LocalDate checkIn, LocalDate checkOut, int guests) {
+            this.roomId = room.getId();
+            this.pricePerNight = room.getPricePerNight();
+            this.units = room.getAvailableCount();
+            this.foodOptionId = foodOption != null ? foodOption.getId() : 0;
+            this.pricePerDay = foodOption != null ? foodOption.getPricePerDay() : 0;
+            this.checkIn = checkIn.toEpochDay();
+            this.checkOut = checkOut.toEpochDay();
+            this.guests = guests;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof QuoteKey)) {
+                return false;
+            }
+            QuoteKey other = (QuoteKey) o;
+            return roomId == other.roomId && pricePerNight == other.pricePerNight && units == other.units
+                    && foodOptionId == other.foodOptionId && pricePerDay == other.pricePerDay
+                    && checkIn == other.checkIn && checkOut == other.checkOut && guests == other.guests;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(roomId, pricePerNight, units, foodOptionId, pricePerDay, checkIn, checkOut, guests);
+        }
+    }
+
+    private static final class CachedQuote {
+        final Quote quote;
+        final long inventoryVersion;
+        final long createdAt = System.currentTimeMillis();
+
+        // An inventory version of -1 means the price does not depend on occupancy
+        CachedQuote(Quote quote, long inventoryVersion) {
+            this.quote = quote;
+            this.inventoryVersion = inventoryVersion;
+        }
+
+        boolean isValid(long currentInventoryVersion, long ttlMillis) {
+            return System.currentTimeMillis() - createdAt < ttlMillis
+                    && (inventoryVersion < 0 || inventoryVersion == currentInventoryVersion);
+        }
+    }
+}
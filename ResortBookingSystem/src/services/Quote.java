@@ -0,0 +1,100 @@
+package services;
+
+import models.FoodOption;
+import models.Room;
+
+import java.time.LocalDate;
+
+/**
+ * Price of a stay before it is booked. Built by {@link PricingEngine#quote};
+ * {@link BookingService#book} charges exactly these amounts.
+ */
+public class Quote {
+    private final Room room;
+    private final FoodOption foodOption;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+    private final int guests;
+    private final long nights;
+    private final double roomCharges;
+    private final double foodCharges;
+    private final double discount;
+    private final double taxRate;
+    private final double taxes;
+
+    Quote(Room room, FoodOption foodOption, LocalDate checkIn, LocalDate checkOut, int guests,
+            long nights, double roomCharges, double foodCharges, double discount, double taxRate, double taxes) {
+        this.room = room;
+        this.foodOption = foodOption;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.guests = guests;
+        this.nights = nights;
+        this.roomCharges = roomCharges;
+        this.foodCharges = foodCharges;
+        this.discount = discount;
+        this.taxRate = taxRate;
+        this.taxes = taxes;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    /**
+     * The meal plan, or null when the stay is room only.
+     */
+    public FoodOption getFoodOption() {
+        return foodOption;
+    }
+
+    public LocalDate getCheckIn() {
+        return checkIn;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    public int getGuests() {
+        return guests;
+    }
+
+    public long getNights() {
+        return nights;
+    }
+
+    /**
+     * Room charges for every night at its seasonal, weekday and occupancy rate, less any length-of-stay discount.
+     */
+    public double getRoomCharges() {
+        return roomCharges;
+    }
+
+    /**
+     * Length-of-stay discount already taken off the room charges.
+     */
+    public double getDiscount() {
+        return discount;
+    }
+
+    public double getFoodCharges() {
+        return foodCharges;
+    }
+
+    public double getSubtotal() {
+        return roomCharges + foodCharges;
+    }
+
+    public double getTaxRate() {
+        return taxRate;
+    }
+
+    public double getTaxes() {
+        return taxes;
+    }
+
+    public double getTotal() {
+        return getSubtotal() + taxes;
+    }
+}
@@ -0,0 +1,179 @@
+package services;
+
+import models.PricingRule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The pricing rules for one room type at one resort, compiled into lookup tables so a stay is
+ * priced in a single pass over its nights: a multiplier per day of the year for seasons, one per
+ * weekday, and sorted tiers for occupancy surges and length-of-stay discounts.
+ */
+final class RatePlan {
+    // Day-of-year tables are laid out for a leap year; other years skip February 29
+    private static final int DAYS = 366;
+    private static final int FEB_29 = 59;
+
+    private final double[] seasonByDay = new double[DAYS];
+    private final double[] weekday = new double[7];
+    private final double[] surgeThresholds;
+    private final double[] surgeMultipliers;
+    private final double[] stayThresholds;
+    private final double[] stayDiscounts;
+    private final double taxRate;
+
+    private RatePlan(List<PricingRule> surges, List<PricingRule> stays, double taxRate) {
+        surges.sort((a, b) -> Double.compare(a.getThreshold(), b.getThreshold()));
+        stays.sort((a, b) -> Double.compare(a.getThreshold(), b.getThreshold()));
+        this.surgeThresholds = surges.stream().mapToDouble(PricingRule::getThreshold).toArray();
+        this.surgeMultipliers = surges.stream().mapToDouble(PricingRule::getValue).toArray();
+        this.stayThresholds = stays.stream().mapToDouble(PricingRule::getThreshold).toArray();
+        this.stayDiscounts = stays.stream().mapToDouble(PricingRule::getValue).toArray();
+        this.taxRate = taxRate;
+    }
+
+    /**
+     * Compile the rules that apply to a room type. Season and weekday rules for the room type
+     * override resort-wide ones on the nights they cover; its occupancy and length-of-stay tiers
+     * replace the resort-wide tiers entirely. The last tax rule wins.
+     */
+    static RatePlan compile(List<PricingRule> resortRules, String roomType, double defaultTaxRate) {
+        List<PricingRule> general = new ArrayList<>();
+        List<PricingRule> specific = new ArrayList<>();
+        double taxRate = defaultTaxRate;
+        for (PricingRule rule : resortRules) {
+            if (PricingRule.TAX.equals(rule.getRuleType())) {
+                taxRate = rule.getValue();
+            } else if (rule.getRoomType() == null) {
+                general.add(rule);
+            } else if (rule.getRoomType().equalsIgnoreCase(roomType)) {
+                specific.add(rule);
+            }
+        }
+
+        List<PricingRule> surges = ofType(specific, PricingRule.OCCUPANCY);
+        if (surges.isEmpty()) {
+            surges = ofType(general, PricingRule.OCCUPANCY);
+        }
+        List<PricingRule> stays = ofType(specific, PricingRule.LENGTH_OF_STAY);
+        if (stays.isEmpty()) {
+            stays = ofType(general, PricingRule.LENGTH_OF_STAY);
+        }
+        RatePlan plan = new RatePlan(surges, stays, taxRate);
+        Arrays.fill(plan.seasonByDay, 1.0);
+        Arrays.fill(plan.weekday, 1.0);
+        plan.applyCalendarRules(general);
+        plan.applyCalendarRules(specific);
+        return plan;
+    }
+
+    private static List<PricingRule> ofType(List<PricingRule> rules, String type) {
+        List<PricingRule> result = new ArrayList<>();
+        for (PricingRule rule : rules) {
+            if (type.equals(rule.getRuleType())) {
+                result.add(rule);
+            }
+        }
+        return result;
+    }
+
+    private void applyCalendarRules(List<PricingRule> rules) {
+        for (PricingRule rule : rules) {
+            try {
+                if (PricingRule.SEASON.equals(rule.getRuleType())) {
+                    int start = dayIndex(rule.getSeasonStart());
+                    int end = dayIndex(rule.getSeasonEnd());
+                    for (int day = start; day != end; day = (day + 1) % DAYS) {
+                        seasonByDay[day] = rule.getValue();
+                    }
+                    seasonByDay[end] = rule.getValue();
+                } else if (PricingRule.WEEKDAY.equals(rule.getRuleType())) {
+                    weekday[rule.getDayOfWeek() - 1] = rule.getValue();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Ignoring invalid " + rule + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Index of an MM-DD date in a leap year
+    private static int dayIndex(String monthDay) {
+        String[] parts = monthDay.trim().split("-");
+        return LocalDate.of(2000, Integer.parseInt(parts[0]), Integer.parseInt(parts[1])).getDayOfYear() - 1;
+    }
+
+    boolean usesOccupancy() {
+        return surgeThresholds.length > 0;
+    }
+
+    double getTaxRate() {
+        return taxRate;
+    }
+
+    /**
+     * Room charges for the nights starting at {@code checkIn}, before any length-of-stay discount.
+     * @param booked booked units per night, only read when the plan has occupancy tiers
+     */
+    double roomCharges(LocalDate checkIn, int nights, double pricePerNight, int[] booked, int units) {
+        return roomCharges(checkIn, nights, pricePerNight, booked, 0, units);
+    }
+
+    /**
+     * Like {@link #roomCharges(LocalDate, int, double, int[], int)}, with the first night of the stay
+     * at {@code bookedOffset} in {@code booked}, so a longer calendar can be priced without copying it.
+     */
+    double roomCharges(LocalDate checkIn, int nights, double pricePerNight, int[] booked, int bookedOffset, int units) {
+        long epochDay = checkIn.toEpochDay();
+        int dayOfWeek = (int) Math.floorMod(epochDay + 3, 7L); // 1970-01-01 was a Thursday; Monday is 0
+        int year = checkIn.getYear();
+        boolean leap = checkIn.isLeapYear();
+        int day = checkIn.getDayOfYear() - 1;
+        if (!leap && day >= FEB_29) {
+            day++;
+        }
+
+        double total = 0;
+        for (int i = 0; i < nights; i++) {
+            double rate = pricePerNight * seasonByDay[day] * weekday[dayOfWeek];
+            if (booked != null && units > 0) {
+                rate *= surge((double) booked[bookedOffset + i] / units);
+            }
+            total += rate;
+
+            dayOfWeek = dayOfWeek == 6 ? 0 : dayOfWeek + 1;
+            day++;
+            if (day == FEB_29 && !leap) {
+                day++;
+            } else if (day == DAYS) {
+                day = 0;
+                year++;
+                leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            }
+        }
+        return total;
+    }
+
+    private double surge(double occupancy) {
+        for (int i = surgeThresholds.length - 1; i >= 0; i--) {
+            if (occupancy >= surgeThresholds[i]) {
+                return surgeMultipliers[i];
+            }
+        }
+        return 1.0;
+    }
+
+    /**
+     * Fraction taken off the room charges for a stay of this many nights.
+     */
+    double stayDiscount(int nights) {
+        for (int i = stayThresholds.length - 1; i >= 0; i--) {
+            if (nights >= stayThresholds[i]) {
+                return stayDiscounts[i];
+            }
+        }
+        return 0;
+    }
+}
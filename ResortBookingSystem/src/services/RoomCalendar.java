@@ -0,0 +1,123 @@
+package services;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory booked-unit counts for one room type, indexed by night.
+ * Nights are stored in fixed 64-night chunks of ints that are loaded from the ledger on
+ * first touch and reloaded once they are older than the time-to-live, so a lookup over
+ * a stay costs O(nights) plus at most one query per chunk. A chunk that fails to load is not kept;
+ * its nights read as {@link #UNREADABLE}, so the room shows as full until the ledger can be read.
+ */
+public class RoomCalendar {
+    static final int CHUNK_BITS = 6;
+    static final int CHUNK_NIGHTS = 1 << CHUNK_BITS;
+
+    /**
+     * Booked count of a night whose ledger row could not be read; more units than any room has.
+     */
+    public static final int UNREADABLE = Integer.MAX_VALUE;
+
+    // Drawn from one counter so a calendar rebuilt after invalidate never repeats an old version
+    private static final AtomicLong NEXT_VERSION = new AtomicLong();
+
+    /**
+     * Loads booked counts for the nights in [from, to) from the ledger, or returns null if it cannot.
+     */
+    @FunctionalInterface
+    public interface ChunkLoader {
+        int[] load(int roomId, LocalDate from, LocalDate to);
+    }
+
+    private final int roomId;
+    private final ChunkLoader loader;
+    private final long ttlMillis;
+    private final Map<Long, Chunk> chunks = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong(NEXT_VERSION.incrementAndGet());
+
+    public RoomCalendar(int roomId, ChunkLoader loader, long ttlMillis) {
+        this.roomId = roomId;
+        this.loader = loader;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    /**
+     * Changes whenever counts held in memory may have changed, so values derived from them can be checked for staleness.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Booked units for every night in [from, to), indexed by offset from {@code from}.
+     */
+    public int[] booked(LocalDate from, LocalDate to) {
+        long start = from.toEpochDay();
+        int nights = (int) (to.toEpochDay() - start);
+        int[] result = new int[Math.max(0, nights)];
+        Chunk chunk = null;
+        for (int i = 0; i < result.length; i++) {
+            long day = start + i;
+            if (chunk == null || (day & (CHUNK_NIGHTS - 1)) == 0) {
+                chunk = chunkFor(day >> CHUNK_BITS);
+            }
+            result[i] = chunk.booked.get((int) (day & (CHUNK_NIGHTS - 1)));
+        }
+        return result;
+    }
+
+    /**
+     * Apply a committed reservation (+1) or release (-1) to the chunks already in memory.
+     * Chunks not loaded yet will read the new value from the ledger.
+     */
+    public void apply(LocalDate from, LocalDate to, int delta) {
+        version.set(NEXT_VERSION.incrementAndGet());
+        for (long day = from.toEpochDay(); day < to.toEpochDay(); day++) {
+            Chunk chunk = chunks.get(day >> CHUNK_BITS);
+            if (chunk != null) {
+                chunk.booked.addAndGet((int) (day & (CHUNK_NIGHTS - 1)), delta);
+            }
+        }
+    }
+
+    public void invalidate() {
+        version.set(NEXT_VERSION.incrementAndGet());
+        chunks.clear();
+    }
+
+    private Chunk chunkFor(long chunkIndex) {
+        Chunk chunk = chunks.get(chunkIndex);
+        if (chunk == null || System.currentTimeMillis() - chunk.loadedAt > ttlMillis) {
+            LocalDate from = LocalDate.ofEpochDay(chunkIndex << CHUNK_BITS);
+            int[] booked = loader.load(roomId, from, from.plusDays(CHUNK_NIGHTS));
+            version.set(NEXT_VERSION.incrementAndGet());
+            if (booked == null) {
+                // Tried again on the next read; the new version keeps nothing derived from it cached
+                int[] full = new int[CHUNK_NIGHTS];
+                Arrays.fill(full, UNREADABLE);
+                return new Chunk(full);
+            }
+            chunk = new Chunk(booked);
+            chunks.put(chunkIndex, chunk);
+        }
+        return chunk;
+    }
+
+    private static final class Chunk {
+        final AtomicIntegerArray booked;
+        final long loadedAt = System.currentTimeMillis();
+
+        Chunk(int[] booked) {
+            this.booked = new AtomicIntegerArray(booked);
+        }
+    }
+}
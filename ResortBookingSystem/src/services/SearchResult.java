@@ -0,0 +1,80 @@
+package services;
+
+import models.Room;
+
+import java.time.LocalDate;
+
+/**
+ * One room type that fits a search, with its room-only price for the stay.
+ * Built by {@link AvailabilitySearch}; amounts match what {@link PricingEngine#quote} charges
+ * for the same stay without a meal plan.
+ */
+public class SearchResult {
+    private final Room room;
+    private final LocalDate checkIn;
+    private final LocalDate checkOut;
+    private final int freeUnits;
+    private final double roomCharges;
+    private final double taxRate;
+    private final double taxes;
+
+    SearchResult(Room room, LocalDate checkIn, LocalDate checkOut, int freeUnits,
+            double roomCharges, double taxRate, double taxes) {
+        this.room = room;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.freeUnits = freeUnits;
+        this.roomCharges = roomCharges;
+        this.taxRate = taxRate;
+        this.taxes = taxes;
+    }
+
+    public Room getRoom() {
+        return room;
+    }
+
+    public LocalDate getCheckIn() {
+        return checkIn;
+    }
+
+    public LocalDate getCheckOut() {
+        return checkOut;
+    }
+
+    public long getNights() {
+        return checkOut.toEpochDay() - checkIn.toEpochDay();
+    }
+
+    /**
+     * Units free on every night of the stay.
+     */
+    public int getFreeUnits() {
+        return freeUnits;
+    }
+
+    /**
+     * Room charges for the stay, after any length-of-stay discount.
+     */
+    public double getRoomCharges() {
+        return roomCharges;
+    }
+
+    /**
+     * Average room charge per night, the figure results are ranked and filtered by.
+     */
+    public double getNightlyRate() {
+        return roomCharges / getNights();
+    }
+
+    public double getTaxRate() {
+        return taxRate;
+    }
+
+    public double getTaxes() {
+        return taxes;
+    }
+
+    public double getTotal() {
+        return roomCharges + taxes;
+    }
+}
@@ -0,0 +1,136 @@
+package services;
+
+import dao.WaitlistDAO;
+import models.FoodOption;
+import models.Room;
+import models.WaitlistEntry;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sold-out stays that guests asked to be booked into when a unit frees up.
+ * When a cancellation frees nights, the waiting entries for that room type that overlap them are
+ * read in priority order through an index and booked, at the current price, as far as the freed
+ * units go. Promotions run one at a time on a background thread, right after the cancelling
+ * transaction commits. An entry whose meal plan has since been removed is marked unavailable
+ * instead of being booked without it.
+ */
+public class WaitlistService {
+    private static WaitlistService instance;
+
+    // Entries looked at per freed stay; one unit rarely fits more than a handful of them
+    private static final int MAX_CANDIDATES = 50;
+
+    private final WaitlistDAO waitlistDAO;
+    private final InventoryService inventoryService;
+    private final ExecutorService promoter;
+
+    private WaitlistService() {
+        this.waitlistDAO = new WaitlistDAO();
+        this.inventoryService = InventoryService.getInstance();
+        this.promoter = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "waitlist-promoter");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static synchronized WaitlistService getInstance() {
+        if (instance == null) {
+            instance = new WaitlistService();
+        }
+        return instance;
+    }
+
+    /**
+     * Put a quoted stay on the waitlist for a user.
+     * @return the new entry, or null if it could not be stored
+     */
+    public WaitlistEntry join(int userId, Quote quote, int priority) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setUserId(userId);
+        entry.setResortId(quote.getRoom().getResortId());
+        entry.setRoomId(quote.getRoom().getId());
+        if (quote.getFoodOption() != null) {
+            entry.setFoodOptionId(quote.getFoodOption().getId());
+        }
+        entry.setCheckInDate(quote.getCheckIn());
+        entry.setCheckOutDate(quote.getCheckOut());
+        entry.setNumGuests(quote.getGuests());
+        entry.setPriority(priority);
+        if (!waitlistDAO.create(entry)) {
+            return null;
+        }
+        // A unit may have freed up since the guest saw the stay sold out
+        onCapacityFreed(entry.getRoomId(), entry.getCheckInDate(), entry.getCheckOutDate());
+        return entry;
+    }
+
+    public List<WaitlistEntry> getEntries(int userId) {
+        return waitlistDAO.findByUser(userId);
+    }
+
+    public boolean withdraw(int entryId, int userId) {
+        return waitlistDAO.withdraw(entryId, userId);
+    }
+
+    /**
+     * Called after a committed transaction gave back one unit of a room type for [checkIn, checkOut).
+     */
+    void onCapacityFreed(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        LocalDate from = checkIn.isBefore(LocalDate.now()) ? LocalDate.now() : checkIn;
+        if (!from.isBefore(checkOut)) {
+            return;
+        }
+        promoter.execute(() -> {
+            try {
+                promote(roomId, from, checkOut);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    private void promote(int roomId, LocalDate from, LocalDate to) {
+        Room room = CatalogCache.getInstance().getRoom(roomId);
+        if (room == null) {
+            return;
+        }
+        BookingService bookingService = BookingService.getInstance();
+        for (WaitlistEntry entry : waitlistDAO.findCandidates(roomId, from, to, LocalDate.now(), MAX_CANDIDATES)) {
+            FoodOption food = findFoodOption(entry.getFoodOptionId());
+            if (entry.getFoodOptionId() != null && food == null) {
+                // The meal plan was removed; booking the room alone is not what the guest asked for
+                waitlistDAO.markUnavailable(entry.getId());
+                continue;
+            }
+            // Skip stays the freed unit does not cover without touching the database
+            if (inventoryService.getFreeUnits(room, entry.getCheckInDate(), entry.getCheckOutDate()) == 0) {
+                continue;
+            }
+            Quote quote = bookingService.quote(room, food, entry.getCheckInDate(), entry.getCheckOutDate(),
+                    entry.getNumGuests());
+            bookingService.book(entry.getUserId(), quote, (conn, booking) -> {
+                if (!waitlistDAO.markPromoted(conn, entry.getId(), booking.getId())) {
+                    throw new SQLException("Waitlist entry " + entry.getId() + " is no longer waiting");
+                }
+            });
+        }
+    }
+
+    private static FoodOption findFoodOption(Integer foodOptionId) {
+        if (foodOptionId == null) {
+            return null;
+        }
+        for (FoodOption option : CatalogCache.getInstance().getFoodOptions()) {
+            if (option.getId() == foodOptionId) {
+                return option;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,473 @@
+package tools;
+
+import dao.DailyStatsDAO;
+import dao.InventoryDAO;
+import dao.ResortDAO;
+import database.DatabaseManager;
+import utils.PasswordUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Bulk-loads a large synthetic dataset for scale and load testing.
+ * The same seed, sizes and end date always produce the same rows. Customers and resorts
+ * are skewed so a few of them account for most bookings, stays start up to a year after
+ * they are booked, and bookings that have already ended are mostly completed.
+ *
+ * <pre>
+ * java -Dresort.db.path=data/scale.db -Dresort.db.profile=fast -cp ... tools.DataGenerator \
+ *     --users=1000000 --resorts=2000 --bookings=10000000 --seed=42 --until=2026-06-30
+ * </pre>
+ */
+public class DataGenerator {
+    /** Password of every generated user. */
+    public static final String PASSWORD = "guest123";
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final int ROWS_PER_TRANSACTION = 500_000;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] RESORT_WORDS = { "Azure", "Coral", "Palm", "Sunset", "Lagoon", "Emerald",
+            "Golden", "Tide", "Horizon", "Mango", "Orchid", "Reef", "Sapphire", "Breeze", "Cove", "Driftwood" };
+    private static final String[] RESORT_KINDS = { "Resort", "Retreat", "Beach Club", "Spa & Resort", "Villas",
+            "Lodge" };
+    private static final String[] LOCATIONS = { "Maldives", "Bali, Indonesia", "Phuket, Thailand",
+            "Goa, India", "Seychelles", "Mauritius", "Fiji", "Zanzibar, Tanzania", "Cancun, Mexico",
+            "Santorini, Greece", "Langkawi, Malaysia", "Boracay, Philippines" };
+    private static final String[] ROOM_TYPES = { "Standard Room", "Deluxe Room", "Garden Villa", "Ocean View Suite",
+            "Beach Villa", "Family Suite", "Overwater Bungalow", "Presidential Suite" };
+    private static final int[] ROOM_BEDS = { 1, 2, 2, 2, 3, 4, 2, 4 };
+    private static final double[] ROOM_BASE_PRICES = { 90, 140, 220, 300, 380, 420, 550, 1200 };
+
+    private final long seed;
+    private int users = 10_000;
+    private int resorts = 100;
+    private int bookings = 100_000;
+    private LocalDate until = LocalDate.now();
+    private int historyDays = 3 * 365;
+    private int minUnits = 5;
+    private int maxUnits = 40;
+
+    // What was generated, for callers that drive load against it
+    private int firstUserId;
+    private int firstRoomId;
+    private int[] resortIds;
+    private int[][] roomIds;
+    private double[][] roomPrices;
+
+    public DataGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Insert the configured volumes on top of whatever the database already holds,
+     * then rebuild the inventory ledger, resort search index and daily statistics and refresh
+     * the planner statistics.
+     * Rows are committed every {@value #ROWS_PER_TRANSACTION} rows, so a failure keeps what was loaded so far.
+     */
+    public void generate(Connection conn) throws SQLException {
+        Random random = new Random(seed);
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        // Maintaining secondary indexes row by row is most of the cost of a bulk load,
+        // so they are dropped and built once at the end
+        Map<String, String> indexes = dropIndexes(conn, "bookings", "invoices");
+        try {
+            long start = System.nanoTime();
+            insertUsers(conn, random);
+            insertResortsAndRooms(conn, random);
+            insertBookingsAndInvoices(conn, random, loadFoodOptions(conn));
+            log("Building indexes, inventory ledger and statistics...");
+            recreateIndexes(conn, indexes);
+            new InventoryDAO().rebuild(conn);
+            new ResortDAO().rebuildSearchIndex(conn);
+            new DailyStatsDAO().rebuild(conn);
+            growRoomsToLedger(conn);
+            conn.commit();
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE");
+            }
+            conn.commit();
+            log(String.format("Done in %.1f s", (System.nanoTime() - start) / 1e9));
+        } catch (SQLException e) {
+            conn.rollback();
+            recreateIndexes(conn, indexes);
+            conn.commit();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void insertUsers(Connection conn, Random random) throws SQLException {
+        firstUserId = nextId(conn, "users");
+        // One hash for everyone: hashing millions of passwords would dominate the load
+        String hash = PasswordUtils.hashPassword(PASSWORD);
+        LocalDateTime start = until.minusDays(historyDays).atStartOfDay();
+        String sql = "INSERT INTO users (id, username, password_hash, email, phone, role, created_at) VALUES (?, ?, ?, ?, ?, 'customer', ?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < users; i++) {
+                int id = firstUserId + i;
+                ps.setInt(1, id);
+                ps.setString(2, username(id));
+                ps.setString(3, hash);
+                ps.setString(4, username(id) + "@example.com");
+                ps.setString(5, String.format("+1-555-%07d", random.nextInt(10_000_000)));
+                ps.setString(6, start.plusSeconds((long) i * historyDays * 86_400L / users).format(TIMESTAMP));
+                ps.addBatch();
+                flush(conn, ps, "users", i + 1, users);
+            }
+        }
+    }
+
+    private void insertResortsAndRooms(Connection conn, Random random) throws SQLException {
+        int resortId = nextId(conn, "resorts");
+        int roomId = nextId(conn, "rooms");
+        firstRoomId = roomId;
+        resortIds = new int[resorts];
+        roomIds = new int[resorts][];
+        roomPrices = new double[resorts][];
+        try (PreparedStatement resort = conn.prepareStatement(
+                "INSERT INTO resorts (id, name, location, description) VALUES (?, ?, ?, ?)");
+                PreparedStatement room = conn.prepareStatement(
+                        "INSERT INTO rooms (id, resort_id, room_type, beds, price_per_night, available_count) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int r = 0; r < resorts; r++) {
+                String location = LOCATIONS[random.nextInt(LOCATIONS.length)];
+                String name = RESORT_WORDS[random.nextInt(RESORT_WORDS.length)] + " "
+                        + RESORT_WORDS[random.nextInt(RESORT_WORDS.length)] + " "
+                        + RESORT_KINDS[random.nextInt(RESORT_KINDS.length)];
+                resortIds[r] = resortId;
+                resort.setInt(1, resortId);
+                resort.setString(2, name);
+                resort.setString(3, location);
+                resort.setString(4, name + " in " + location + ".");
+                resort.addBatch();
+
+                // Cheaper tiers first, so bigger resorts add the premium ones
+                int types = 3 + random.nextInt(ROOM_TYPES.length - 2);
+                double priceFactor = 0.6 + random.nextDouble() * 1.9;
+                roomIds[r] = new int[types];
+                roomPrices[r] = new double[types];
+                for (int t = 0; t < types; t++) {
+                    double price = Math.round(ROOM_BASE_PRICES[t] * priceFactor);
+                    roomIds[r][t] = roomId;
+                    roomPrices[r][t] = price;
+                    room.setInt(1, roomId++);
+                    room.setInt(2, resortId);
+                    room.setString(3, ROOM_TYPES[t]);
+                    room.setInt(4, ROOM_BEDS[t]);
+                    room.setDouble(5, price);
+                    room.setInt(6, minUnits + random.nextInt(maxUnits - minUnits + 1));
+                    room.addBatch();
+                }
+                resortId++;
+                if ((r + 1) % BATCH_SIZE == 0) {
+                    resort.executeBatch();
+                    room.executeBatch();
+                }
+            }
+            resort.executeBatch();
+            room.executeBatch();
+        }
+        conn.commit();
+        log("resorts: " + resorts + "/" + resorts);
+    }
+
+    /**
+     * Bookings are drawn independently, so a busy night can exceed a room's units.
+     * Grow those rooms rather than leave them overbooked.
+     */
+    private void growRoomsToLedger(Connection conn) throws SQLException {
+        String sql = """
+                    UPDATE rooms SET available_count = MAX(available_count,
+                        (SELECT COALESCE(MAX(booked), 0) FROM room_inventory WHERE room_id = rooms.id))
+                    WHERE id >= ?
+                """;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, firstRoomId);
+            ps.executeUpdate();
+        }
+    }
+
+    private List<double[]> loadFoodOptions(Connection conn) throws SQLException {
+        List<double[]> options = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT id, price_per_day FROM food_options ORDER BY id")) {
+            while (rs.next()) {
+                options.add(new double[] { rs.getInt(1), rs.getDouble(2) });
+            }
+        }
+        return options;
+    }
+
+    private void insertBookingsAndInvoices(Connection conn, Random random, List<double[]> foodOptions)
+            throws SQLException {
+        int bookingId = nextId(conn, "bookings");
+        int invoiceId = nextId(conn, "invoices");
+        LocalDateTime start = until.minusDays(historyDays).atStartOfDay();
+        String bookingSql = "INSERT INTO bookings (id, user_id, resort_id, room_id, food_option_id, check_in_date, check_out_date, num_guests, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String invoiceSql = "INSERT INTO invoices (id, booking_id, user_id, invoice_number, room_charges, food_charges, taxes, total_amount, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement booking = conn.prepareStatement(bookingSql);
+                PreparedStatement invoice = conn.prepareStatement(invoiceSql)) {
+            for (int i = 0; i < bookings; i++) {
+                // Booked in id order across the history window, stays start 0-365 days later
+                LocalDateTime createdAt = start.plusSeconds((long) i * historyDays * 86_400L / bookings
+                        + random.nextInt(60));
+                LocalDate checkIn = createdAt.toLocalDate().plusDays(Math.min(365, exponential(random, 45)));
+                int nights = 1 + Math.min(20, exponential(random, 3));
+                LocalDate checkOut = checkIn.plusDays(nights);
+
+                int userId = firstUserId + skewed(random, users, 1.3);
+                int r = skewed(random, resorts, 1.5);
+                int t = random.nextInt(roomIds[r].length);
+                double[] food = !foodOptions.isEmpty() && random.nextInt(10) < 6
+                        ? foodOptions.get(random.nextInt(foodOptions.size()))
+                        : null;
+
+                String status;
+                if (!checkOut.isAfter(until)) {
+                    status = random.nextInt(100) < 85 ? "completed" : "cancelled";
+                } else {
+                    status = random.nextInt(100) < 90 ? "confirmed" : "cancelled";
+                }
+
+                booking.setInt(1, bookingId);
+                booking.setInt(2, userId);
+                booking.setInt(3, resortIds[r]);
+                booking.setInt(4, roomIds[r][t]);
+                if (food != null) {
+                    booking.setInt(5, (int) food[0]);
+                } else {
+                    booking.setNull(5, Types.INTEGER);
+                }
+                booking.setString(6, checkIn.toString());
+                booking.setString(7, checkOut.toString());
+                booking.setInt(8, 1 + random.nextInt(ROOM_BEDS[t] * 2));
+                booking.setString(9, status);
+                booking.setString(10, createdAt.format(TIMESTAMP));
+                booking.addBatch();
+
+                double roomCharges = roomPrices[r][t] * nights;
+                double foodCharges = food != null ? food[1] * nights : 0;
+                double taxes = (roomCharges + foodCharges) * 0.10;
+                invoice.setInt(1, invoiceId);
+                invoice.setInt(2, bookingId);
+                invoice.setInt(3, userId);
+                invoice.setString(4, "GEN-" + invoiceId);
+                invoice.setDouble(5, roomCharges);
+                invoice.setDouble(6, foodCharges);
+                invoice.setDouble(7, taxes);
+                invoice.setDouble(8, roomCharges + foodCharges + taxes);
+                invoice.setString(9, createdAt.format(TIMESTAMP));
+                invoice.addBatch();
+
+                bookingId++;
+                invoiceId++;
+                if ((i + 1) % BATCH_SIZE == 0 || i + 1 == bookings) {
+                    booking.executeBatch();
+                }
+                flush(conn, invoice, "bookings", i + 1, bookings);
+            }
+        }
+    }
+
+    /**
+     * Run the batch every {@value #BATCH_SIZE} rows and commit every {@value #ROWS_PER_TRANSACTION}.
+     */
+    private void flush(Connection conn, PreparedStatement ps, String table, int done, int total) throws SQLException {
+        if (done % BATCH_SIZE == 0 || done == total) {
+            ps.executeBatch();
+        }
+        if (done % ROWS_PER_TRANSACTION == 0 || done == total) {
+            conn.commit();
+            log(table + ": " + done + "/" + total);
+        }
+    }
+
+    private static int nextId(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            return rs.next() ? rs.getInt(1) : 1;
+        }
+    }
+
+    /**
+     * Index in [0, size) where low indexes are picked far more often; a higher skew is steeper.
+     */
+    private static int skewed(Random random, int size, double skew) {
+        return Math.min(size - 1, (int) (size * Math.pow(random.nextDouble(), skew)));
+    }
+
+    private static int exponential(Random random, double mean) {
+        return (int) (-Math.log(1 - random.nextDouble()) * mean);
+    }
+
+    private static Map<String, String> dropIndexes(Connection conn, String... tables) throws SQLException {
+        Map<String, String> indexes = new LinkedHashMap<>();
+        String sql = "SELECT name, sql FROM sqlite_master WHERE type = 'index' AND tbl_name = ? AND sql IS NOT NULL";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (String table : tables) {
+                ps.setString(1, table);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        indexes.put(rs.getString(1), rs.getString(2));
+                    }
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            for (String name : indexes.keySet()) {
+                stmt.execute("DROP INDEX IF EXISTS " + name);
+            }
+        }
+        conn.commit();
+        return indexes;
+    }
+
+    private static void recreateIndexes(Connection conn, Map<String, String> indexes) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String ddl : indexes.values()) {
+                stmt.execute(ddl.replaceFirst("(?i)^CREATE INDEX (?!IF NOT EXISTS)", "CREATE INDEX IF NOT EXISTS "));
+            }
+        }
+    }
+
+    private static void log(String message) {
+        System.out.println("[DataGenerator] " + message);
+    }
+
+    public static String username(int userId) {
+        return "user" + userId;
+    }
+
+    // Getters and Setters
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = Math.max(1, users);
+    }
+
+    public int getResorts() {
+        return resorts;
+    }
+
+    public void setResorts(int resorts) {
+        this.resorts = Math.max(1, resorts);
+    }
+
+    public int getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(int bookings) {
+        this.bookings = Math.max(0, bookings);
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Last day of the booking history; fix it to get identical data on different days.
+     */
+    public void setUntil(LocalDate until) {
+        this.until = until;
+    }
+
+    public int getHistoryDays() {
+        return historyDays;
+    }
+
+    public void setHistoryDays(int historyDays) {
+        this.historyDays = Math.max(1, historyDays);
+    }
+
+    /**
+     * Units per room type are drawn uniformly from [minUnits, maxUnits].
+     */
+    public void setUnits(int minUnits, int maxUnits) {
+        this.minUnits = Math.max(1, minUnits);
+        this.maxUnits = Math.max(this.minUnits, maxUnits);
+    }
+
+    public int getFirstUserId() {
+        return firstUserId;
+    }
+
+    public int[] getResortIds() {
+        return resortIds;
+    }
+
+    /**
+     * Room type IDs per resort, indexed like {@link #getResortIds()}.
+     */
+    public int[][] getRoomIds() {
+        return roomIds;
+    }
+
+    public double[][] getRoomPrices() {
+        return roomPrices;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        long seed = 42;
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                System.err.println("Usage: DataGenerator [--users=N] [--resorts=N] [--bookings=N] [--seed=N]"
+                        + " [--until=yyyy-MM-dd] [--historyDays=N] [--minUnits=N] [--maxUnits=N]");
+                System.exit(2);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        if (options.containsKey("seed")) {
+            seed = Long.parseLong(options.get("seed"));
+        }
+        DataGenerator generator = new DataGenerator(seed);
+        if (options.containsKey("users")) {
+            generator.setUsers(Integer.parseInt(options.get("users")));
+        }
+        if (options.containsKey("resorts")) {
+            generator.setResorts(Integer.parseInt(options.get("resorts")));
+        }
+        if (options.containsKey("bookings")) {
+            generator.setBookings(Integer.parseInt(options.get("bookings")));
+        }
+        if (options.containsKey("until")) {
+            generator.setUntil(LocalDate.parse(options.get("until")));
+        }
+        if (options.containsKey("historyDays")) {
+            generator.setHistoryDays(Integer.parseInt(options.get("historyDays")));
+        }
+        generator.setUnits(Integer.parseInt(options.getOrDefault("minUnits", "5")),
+                Integer.parseInt(options.getOrDefault("maxUnits", "40")));
+
+        // A bulk load holds the writer connection for minutes on purpose
+        System.setProperty("resort.db.pool.leakDetectionThresholdMillis",
+                System.getProperty("resort.db.pool.leakDetectionThresholdMillis", "0"));
+        System.setProperty("resort.db.profile", System.getProperty("resort.db.profile", "fast"));
+        log("seed=" + seed + ", users=" + generator.getUsers() + ", resorts=" + generator.getResorts()
+                + ", bookings=" + generator.getBookings() + ", until=" + generator.getUntil());
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            generator.generate(conn);
+        } finally {
+            DatabaseManager.getInstance().closeConnection();
+        }
+    }
+}
@@ -0,0 +1,708 @@
+package tools;
+
+import api.Json;
+import database.DatabaseManager;
+import models.Booking;
+import models.FoodOption;
+import models.Resort;
+import models.Room;
+import services.BlockIdGenerator;
+import services.BookingResult;
+import services.BookingService;
+import services.CatalogCache;
+import services.InventoryService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives concurrent browse, book and cancel traffic at the booking services, either in-process or
+ * through the HTTP API, and reports throughput, latency percentiles and failures per operation.
+ * Afterwards it checks the database for oversold nights, inventory ledger drift and bookings
+ * without an invoice, which is what races between concurrent bookings would leave behind.
+ *
+ * <p>Closed loop (the default) runs {@code --threads} workers back to back. Open loop
+ * ({@code --rate=N}) starts N operations per second whether or not earlier ones have finished and
+ * measures latency from when each one was due, so a stalled server shows up as queueing time
+ * instead of silently lowering the request rate.
+ *
+ * <pre>
+ * java -Dresort.db.path=data/scale.db -cp ... tools.LoadGenerator --scenario=rush --threads=200 --duration=60
+ * java -Dresort.db.path=data/scale.db -cp ... tools.LoadGenerator --target=http --url=http://localhost:8080/api --rate=500
+ * </pre>
+ *
+ * The HTTP target books as generated users ({@link DataGenerator#PASSWORD}) unless {@code --user=name:password}
+ * is given, and the database it checks must be the one the server uses.
+ */
+public class LoadGenerator {
+
+    enum Operation {
+        BROWSE, BOOK, CANCEL
+    }
+
+    enum Outcome {
+        OK, SOLD_OUT, CONFLICT, ERROR
+    }
+
+    /**
+     * Named workloads; {@code --mix} and {@code --resorts} override their defaults.
+     */
+    enum Scenario {
+        /** Steady traffic spread over every resort. */
+        MIXED(70, 25, 5, 0, 90),
+        /** Everyone books the same resort for the same fortnight. */
+        RUSH(15, 80, 5, 1, 14),
+        /** Mostly searching, the odd booking. */
+        BROWSE(95, 5, 0, 0, 90);
+
+        final int browse;
+        final int book;
+        final int cancel;
+        final int resorts;
+        final int days;
+
+        Scenario(int browse, int book, int cancel, int resorts, int days) {
+            this.browse = browse;
+            this.book = book;
+            this.cancel = cancel;
+            this.resorts = resorts;
+            this.days = days;
+        }
+    }
+
+    /**
+     * The system under load. Implementations must be safe to call from many threads.
+     */
+    interface Target {
+        Outcome browse(int resortId, LocalDate checkIn, LocalDate checkOut) throws Exception;
+
+        /**
+         * @return the outcome; on {@link Outcome#OK} the booking is added to {@code booked}
+         */
+        Outcome book(int userId, Room room, FoodOption food, LocalDate checkIn, LocalDate checkOut, int guests,
+                ConcurrentLinkedQueue<Booking> booked) throws Exception;
+
+        Outcome cancel(Booking booking) throws Exception;
+    }
+
+    private final Target target;
+    private final Random seedSource;
+    private final int[] mix = new int[Operation.values().length];
+    private List<Integer> userIds;
+    private List<Resort> resorts;
+    private List<FoodOption> foodOptions;
+    private final Map<Integer, List<Room>> rooms = new HashMap<>();
+    private LocalDate from = LocalDate.now().plusDays(30);
+    private int days;
+    private int maxNights = 7;
+    private int threads = 32;
+    private double rate;
+    private long thinkMillis;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<Booking> booked = new ConcurrentLinkedQueue<>();
+    private final Set<Integer> touchedRooms = ConcurrentHashMap.newKeySet();
+    private volatile long recordFrom;
+
+    public LoadGenerator(Target target, long seed) {
+        this.target = target;
+        this.seedSource = new Random(seed);
+        for (Operation op : Operation.values()) {
+            stats.put(op, new OperationStats());
+        }
+    }
+
+    /**
+     * Load the guests, resorts, rooms and meal plans to draw requests from.
+     * @param resortCount how many resorts to spread load over, 0 for all of them
+     */
+    public void prepare(int guestCount, int resortCount) throws SQLException {
+        userIds = loadCustomerIds(guestCount);
+        if (userIds.isEmpty()) {
+            throw new IllegalStateException("No customers in the database; run tools.DataGenerator first");
+        }
+        CatalogCache catalog = CatalogCache.getInstance();
+        resorts = new ArrayList<>(catalog.getResorts());
+        resorts.sort(Comparator.comparingInt(Resort::getId));
+        if (resortCount > 0 && resortCount < resorts.size()) {
+            resorts = new ArrayList<>(resorts.subList(0, resortCount));
+        }
+        for (Resort resort : resorts) {
+            List<Room> available = catalog.getAvailableRooms(resort.getId());
+            if (!available.isEmpty()) {
+                rooms.put(resort.getId(), available);
+            }
+        }
+        resorts.removeIf(resort -> !rooms.containsKey(resort.getId()));
+        if (resorts.isEmpty()) {
+            throw new IllegalStateException("No resorts with rooms to book");
+        }
+        foodOptions = catalog.getFoodOptions();
+    }
+
+    /**
+     * Relative weights of browse, book and cancel operations.
+     */
+    public void setMix(int browse, int book, int cancel) {
+        if (browse < 0 || book < 0 || cancel < 0 || browse + book + cancel == 0) {
+            throw new IllegalArgumentException("Mix weights must be non-negative and not all zero");
+        }
+        mix[Operation.BROWSE.ordinal()] = browse;
+        mix[Operation.BOOK.ordinal()] = book;
+        mix[Operation.CANCEL.ordinal()] = cancel;
+    }
+
+    /**
+     * Stays start on one of {@code days} days from {@code from}.
+     */
+    public void setDates(LocalDate from, int days, int maxNights) {
+        this.from = from;
+        this.days = days;
+        this.maxNights = maxNights;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Operations started per second; 0 runs closed loop.
+     */
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * Pause between a worker's operations in closed loop.
+     */
+    public void setThinkMillis(long thinkMillis) {
+        this.thinkMillis = thinkMillis;
+    }
+
+    /**
+     * Run for {@code warmupSeconds} without recording, then for {@code durationSeconds} recording.
+     * @return the length of the recorded window in nanoseconds
+     */
+    public long run(int warmupSeconds, int durationSeconds) throws InterruptedException {
+        long start = System.nanoTime();
+        recordFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = recordFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "load");
+            t.setDaemon(true);
+            return t;
+        });
+        if (rate > 0) {
+            runOpenLoop(executor, end);
+        } else {
+            for (int i = 0; i < threads; i++) {
+                Random random = new Random(seedSource.nextLong());
+                executor.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        execute(random, System.nanoTime());
+                        if (thinkMillis > 0) {
+                            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(thinkMillis));
+                        }
+                    }
+                });
+            }
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(durationSeconds + warmupSeconds + 60L, TimeUnit.SECONDS)) {
+            System.out.println("[LoadGenerator] Operations still running after the deadline; abandoning them");
+            executor.shutdownNow();
+        }
+        return end - recordFrom;
+    }
+
+    private void runOpenLoop(ExecutorService executor, long end) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long due = System.nanoTime();
+        while (due < end) {
+            long intendedStart = due;
+            Random random = new Random(seedSource.nextLong());
+            executor.execute(() -> execute(random, intendedStart));
+            due += interval;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    private void execute(Random random, long intendedStart) {
+        Operation op = pick(random);
+        Outcome outcome;
+        String failure = null;
+        try {
+            outcome = perform(op, random);
+        } catch (ConflictException e) {
+            outcome = Outcome.CONFLICT;
+            failure = e.getMessage();
+        } catch (Exception e) {
+            outcome = Outcome.ERROR;
+            failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        if (outcome == null) {
+            // Nothing of ours left to cancel
+            return;
+        }
+        long finished = System.nanoTime();
+        if (intendedStart >= recordFrom) {
+            stats.get(op).record(outcome, finished - intendedStart, failure);
+        }
+    }
+
+    private Operation pick(Random random) {
+        int total = 0;
+        for (int weight : mix) {
+            total += weight;
+        }
+        int r = random.nextInt(total);
+        for (Operation op : Operation.values()) {
+            r -= mix[op.ordinal()];
+            if (r < 0) {
+                return op;
+            }
+        }
+        return Operation.BROWSE;
+    }
+
+    private Outcome perform(Operation op, Random random) throws Exception {
+        Resort resort = resorts.get(random.nextInt(resorts.size()));
+        LocalDate checkIn = from.plusDays(random.nextInt(days));
+        LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(maxNights));
+        switch (op) {
+            case BROWSE:
+                return target.browse(resort.getId(), checkIn, checkOut);
+            case BOOK:
+                List<Room> choices = rooms.get(resort.getId());
+                Room room = choices.get(random.nextInt(choices.size()));
+                FoodOption food = foodOptions.isEmpty() || random.nextBoolean() ? null
+                        : foodOptions.get(random.nextInt(foodOptions.size()));
+                touchedRooms.add(room.getId());
+                return target.book(userIds.get(random.nextInt(userIds.size())), room, food, checkIn, checkOut,
+                        1 + random.nextInt(Math.max(1, room.getBeds() * 2)), booked);
+            case CANCEL:
+                Booking booking = booked.poll();
+                return booking == null ? null : target.cancel(booking);
+            default:
+                throw new IllegalStateException("Unknown operation " + op);
+        }
+    }
+
+    /**
+     * Print the per-operation table for a recorded window of {@code windowNanos}.
+     */
+    public void report(String title, long windowNanos) {
+        double seconds = windowNanos / 1e9;
+        System.out.println();
+        System.out.println(title);
+        System.out.printf("%-8s %9s %9s %9s %9s %9s %9s %9s %9s %9s %8s %8s %8s%n", "op", "count", "ops/s",
+                "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "ok", "soldOut", "conflict", "error");
+        for (Operation op : Operation.values()) {
+            OperationStats s = stats.get(op);
+            LatencyHistogram h = s.histogram;
+            if (h.getCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-8s %9d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f %9d %8d %8d %8d%n",
+                    op.name().toLowerCase(), h.getCount(), h.getCount() / seconds, h.getMean() / 1000.0,
+                    h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                    h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0,
+                    h.getMax() / 1000.0, s.count(Outcome.OK), s.count(Outcome.SOLD_OUT),
+                    s.count(Outcome.CONFLICT), s.count(Outcome.ERROR));
+        }
+        for (Operation op : Operation.values()) {
+            stats.get(op).failures.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+                    .limit(5)
+                    .forEach(e -> System.out.printf("  %s failed %d x: %s%n", op.name().toLowerCase(),
+                            e.getValue().get(), e.getKey()));
+        }
+    }
+
+    /**
+     * Look for what lost updates leave behind: nights sold beyond capacity, ledger counts that
+     * disagree with the bookings holding them, and bookings created during the run without an invoice.
+     * @return the number of problems found
+     */
+    public long checkIntegrity(int firstBookingId) throws SQLException {
+        long problems = 0;
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement("""
+                        SELECT COUNT(*), COALESCE(SUM(i.booked - r.available_count), 0)
+                        FROM room_inventory i JOIN rooms r ON r.id = i.room_id
+                        WHERE i.booked > r.available_count
+                    """);
+                    ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                System.out.printf("Oversold room-nights: %d (%d units over capacity)%n", rs.getLong(1), rs.getLong(2));
+                problems += rs.getLong(1);
+            }
+
+            long drift = 0;
+            LocalDate to = from.plusDays(days + maxNights);
+            for (int roomId : touchedRooms) {
+                drift += ledgerDrift(conn, roomId, from, to);
+            }
+            System.out.printf("Ledger nights disagreeing with bookings: %d (%d room types checked)%n", drift,
+                    touchedRooms.size());
+            problems += drift;
+
+            try (PreparedStatement ps = conn.prepareStatement("""
+                        SELECT COUNT(*) FROM bookings b
+                        WHERE b.id >= ? AND NOT EXISTS (SELECT 1 FROM invoices i WHERE i.booking_id = b.id)
+                    """)) {
+                ps.setInt(1, firstBookingId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    System.out.printf("Bookings without an invoice: %d%n", rs.getLong(1));
+                    problems += rs.getLong(1);
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static long ledgerDrift(Connection conn, int roomId, LocalDate from, LocalDate to) throws SQLException {
+        Map<LocalDate, Integer> expected = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("""
+                    SELECT check_in_date, check_out_date FROM bookings
+                    WHERE room_id = ? AND status != 'cancelled' AND check_out_date > ? AND check_in_date < ?
+                """)) {
+            ps.setInt(1, roomId);
+            ps.setString(2, from.toString());
+            ps.setString(3, to.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate night = LocalDate.parse(rs.getString(1));
+                    LocalDate checkOut = LocalDate.parse(rs.getString(2));
+                    for (; night.isBefore(checkOut); night = night.plusDays(1)) {
+                        if (!night.isBefore(from) && night.isBefore(to)) {
+                            expected.merge(night, 1, Integer::sum);
+                        }
+                    }
+                }
+            }
+        }
+        long drift = 0;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT night, booked FROM room_inventory WHERE room_id = ? AND night >= ? AND night < ?")) {
+            ps.setInt(1, roomId);
+            ps.setString(2, from.toString());
+            ps.setString(3, to.toString());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Integer count = expected.remove(LocalDate.parse(rs.getString(1)));
+                    if (rs.getInt(2) != (count != null ? count : 0)) {
+                        drift++;
+                    }
+                }
+            }
+        }
+        return drift + expected.size();
+    }
+
+    static int nextBookingId() throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+                PreparedStatement ps = conn.prepareStatement("SELECT COALESCE(MAX(id), 0) + 1 FROM bookings");
+                ResultSet rs = ps.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static List<Integer> loadCustomerIds(int limit) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(
+                        "SELECT id FROM users WHERE role = 'customer' ORDER BY id LIMIT ?")) {
+            ps.setInt(1, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static final class OperationStats {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final AtomicLong[] outcomes = new AtomicLong[Outcome.values().length];
+        final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+
+        OperationStats() {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] = new AtomicLong();
+            }
+        }
+
+        void record(Outcome outcome, long nanos, String failure) {
+            histogram.recordNanos(nanos);
+            outcomes[outcome.ordinal()].incrementAndGet();
+            if (failure != null) {
+                failures.computeIfAbsent(failure, k -> new AtomicLong()).incrementAndGet();
+            }
+        }
+
+        long count(Outcome outcome) {
+            return outcomes[outcome.ordinal()].get();
+        }
+    }
+
+    /**
+     * Calls the services directly, as the desktop app does.
+     */
+    static final class InProcessTarget implements Target {
+        private final InventoryService inventoryService = InventoryService.getInstance();
+        private final BookingService bookingService = BookingService.getInstance();
+
+        @Override
+        public Outcome browse(int resortId, LocalDate checkIn, LocalDate checkOut) {
+            inventoryService.findAvailable(resortId, checkIn, checkOut);
+            return Outcome.OK;
+        }
+
+        @Override
+        public Outcome book(int userId, Room room, FoodOption food, LocalDate checkIn, LocalDate checkOut, int guests,
+                ConcurrentLinkedQueue<Booking> booked) {
+            BookingResult result = bookingService.book(userId,
+                    bookingService.quote(room, food, checkIn, checkOut, guests));
+            switch (result.getStatus()) {
+                case CONFIRMED:
+                    booked.add(result.getBooking());
+                    return Outcome.OK;
+                case SOLD_OUT:
+                    return Outcome.SOLD_OUT;
+                case CONFLICT:
+                    throw new ConflictException(result.getMessage());
+                default:
+                    throw new IllegalStateException(result.getMessage());
+            }
+        }
+
+        @Override
+        public Outcome cancel(Booking booking) {
+            if (!bookingService.cancel(booking)) {
+                throw new ConflictException("Cancel of booking " + booking.getId() + " was not applied");
+            }
+            return Outcome.OK;
+        }
+    }
+
+    /**
+     * Calls a running {@link api.ApiServer}.
+     */
+    static final class HttpTarget implements Target {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String fixedCredentials;
+        private final Map<Integer, String> credentials = new ConcurrentHashMap<>();
+
+        /**
+         * @param user "name:password" to send every request as, or null to act as the generated user being served
+         */
+        HttpTarget(String baseUrl, String user) {
+            this.baseUrl = baseUrl.replaceAll("/+$", "");
+            this.fixedCredentials = user != null ? basic(user) : null;
+            this.client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+        }
+
+        @Override
+        public Outcome browse(int resortId, LocalDate checkIn, LocalDate checkOut) throws Exception {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/resorts/" + resortId
+                    + "/availability?checkIn=" + checkIn + "&checkOut=" + checkOut)).GET(), null);
+            return expect(response, 200);
+        }
+
+        @Override
+        public Outcome book(int userId, Room room, FoodOption food, LocalDate checkIn, LocalDate checkOut, int guests,
+                ConcurrentLinkedQueue<Booking> booked) throws Exception {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("roomId", room.getId());
+            body.put("foodOptionId", food != null ? food.getId() : null);
+            body.put("checkIn", checkIn.toString());
+            body.put("checkOut", checkOut.toString());
+            body.put("guests", guests);
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/bookings"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Json.write(body))), userId);
+            if (response.statusCode() == 409) {
+                Object status = ((Map<?, ?>) Json.parse(response.body())).get("status");
+                if ("SOLD_OUT".equals(status)) {
+                    return Outcome.SOLD_OUT;
+                }
+                throw new ConflictException(response.body());
+            }
+            expect(response, 201);
+            Map<?, ?> json = (Map<?, ?>) ((Map<?, ?>) Json.parse(response.body())).get("booking");
+            Booking booking = new Booking();
+            booking.setId(((Long) json.get("id")).intValue());
+            booking.setUserId(((Long) json.get("userId")).intValue());
+            booking.setRoomId(room.getId());
+            booking.setCheckInDate(checkIn);
+            booking.setCheckOutDate(checkOut);
+            booked.add(booking);
+            return Outcome.OK;
+        }
+
+        @Override
+        public Outcome cancel(Booking booking) throws Exception {
+            HttpResponse<String> response = send(HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/bookings/" + booking.getId() + "/cancel"))
+                    .POST(HttpRequest.BodyPublishers.noBody()), booking.getUserId());
+            if (response.statusCode() == 409) {
+                throw new ConflictException(response.body());
+            }
+            return expect(response, 200);
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request, Integer userId)
+                throws IOException, InterruptedException {
+            if (userId != null) {
+                request.header("Authorization", fixedCredentials != null ? fixedCredentials
+                        : credentials.computeIfAbsent(userId,
+                                id -> basic(DataGenerator.username(id) + ":" + DataGenerator.PASSWORD)));
+            }
+            return client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        }
+
+        private static Outcome expect(HttpResponse<String> response, int status) throws IOException {
+            if (response.statusCode() != status) {
+                throw new IOException("HTTP " + response.statusCode() + " " + response.body());
+            }
+            return Outcome.OK;
+        }
+
+        private static String basic(String user) {
+            return "Basic " + Base64.getEncoder().encodeToString(user.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * A retryable failure: a lock timeout, a busy database or a constraint that lost a race.
+     */
+    static final class ConflictException extends RuntimeException {
+        ConflictException(String message) {
+            super(message);
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: LoadGenerator [--target=inprocess|http] [--url=http://localhost:8080/api]"
+                + " [--user=name:password] [--scenario=mixed|rush|browse] [--mix=browse:70,book:25,cancel:5]"
+                + " [--threads=N] [--rate=opsPerSecond] [--thinkMillis=N] [--warmup=seconds] [--duration=seconds]"
+                + " [--guests=N] [--resorts=N] [--from=yyyy-MM-dd] [--days=N] [--maxNights=N] [--seed=N]"
+                + " [--check=true|false]");
+        System.exit(2);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                usage();
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        Scenario scenario = Scenario.valueOf(options.getOrDefault("scenario", "mixed").toUpperCase());
+        String targetName = options.getOrDefault("target", "inprocess");
+        Target target;
+        if (targetName.equals("inprocess")) {
+            // Number invoices the way the app and the API do, so bookings under load take the same path
+            DatabaseManager.getInstance();
+            BlockIdGenerator.configureInvoiceNumbers();
+            target = new InProcessTarget();
+        } else if (targetName.equals("http")) {
+            target = new HttpTarget(options.getOrDefault("url", "http://localhost:8080/api"), options.get("user"));
+        } else {
+            usage();
+            return;
+        }
+
+        LoadGenerator generator = new LoadGenerator(target, Long.parseLong(options.getOrDefault("seed", "42")));
+        generator.setMix(scenario.browse, scenario.book, scenario.cancel);
+        if (options.containsKey("mix")) {
+            Map<String, Integer> weights = new HashMap<>();
+            for (String part : options.get("mix").split(",")) {
+                String[] kv = part.split(":");
+                if (kv.length != 2) {
+                    usage();
+                }
+                weights.put(kv[0].trim().toLowerCase(), Integer.parseInt(kv[1].trim()));
+            }
+            generator.setMix(weights.getOrDefault("browse", 0), weights.getOrDefault("book", 0),
+                    weights.getOrDefault("cancel", 0));
+        }
+        generator.setDates(options.containsKey("from") ? LocalDate.parse(options.get("from"))
+                        : LocalDate.now().plusDays(30),
+                Integer.parseInt(options.getOrDefault("days", String.valueOf(scenario.days))),
+                Integer.parseInt(options.getOrDefault("maxNights", "7")));
+        generator.setThreads(Integer.parseInt(options.getOrDefault("threads", "32")));
+        generator.setRate(Double.parseDouble(options.getOrDefault("rate", "0")));
+        generator.setThinkMillis(Long.parseLong(options.getOrDefault("thinkMillis", "0")));
+
+        // Lock waits under load are expected; don't report them as leaks
+        System.setProperty("resort.db.pool.leakDetectionThresholdMillis",
+                System.getProperty("resort.db.pool.leakDetectionThresholdMillis", "0"));
+        long problems = 0;
+        try {
+            generator.prepare(Integer.parseInt(options.getOrDefault("guests", "1000")),
+                    Integer.parseInt(options.getOrDefault("resorts", String.valueOf(scenario.resorts))));
+            int firstBookingId = nextBookingId();
+            int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+            int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+            String loop = generator.rate > 0 ? "open loop at " + generator.rate + " ops/s"
+                    : "closed loop, " + generator.threads + " threads";
+            System.out.println("[LoadGenerator] " + scenario.name().toLowerCase() + " against " + targetName + ", "
+                    + loop + ", " + generator.resorts.size() + " resorts, " + generator.userIds.size() + " guests, "
+                    + warmup + "s warmup + " + duration + "s");
+
+            long window = generator.run(warmup, duration);
+            generator.report("Scenario " + scenario.name().toLowerCase() + " (" + loop + ")", window);
+            if (Boolean.parseBoolean(options.getOrDefault("check", "true"))) {
+                System.out.println();
+                problems = generator.checkIntegrity(firstBookingId);
+            }
+        } finally {
+            DatabaseManager.getInstance().closeConnection();
+        }
+        if (problems > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package tools;
+
+import utils.PasswordHasher;
+import utils.Pbkdf2PasswordHasher;
+import utils.ScryptPasswordHasher;
+
+/**
+ * Picks password hashing costs that take a target time to verify on this machine and prints
+ * the system properties to pin them with. Run it on the hardware that will serve logins.
+ *
+ * <pre>
+ * java -cp ... tools.PasswordCalibration --targetMillis=250
+ * </pre>
+ */
+public class PasswordCalibration {
+
+    public static void main(String[] args) {
+        long targetMillis = 250;
+        for (String arg : args) {
+            if (arg.startsWith("--targetMillis=")) {
+                targetMillis = Long.parseLong(arg.substring("--targetMillis=".length()));
+            } else {
+                System.err.println("Usage: PasswordCalibration [--targetMillis=N]");
+                System.exit(2);
+            }
+        }
+
+        int iterations = Pbkdf2PasswordHasher.calibrate(targetMillis);
+        System.out.printf("PBKDF2-HMAC-SHA256: %d iterations verify in %.0f ms%n", iterations,
+                verifyMillis(new Pbkdf2PasswordHasher(iterations)));
+        if (iterations < Pbkdf2PasswordHasher.DEFAULT_ITERATIONS) {
+            System.out.printf("  below the recommended %d; consider scrypt or a longer target%n",
+                    Pbkdf2PasswordHasher.DEFAULT_ITERATIONS);
+        }
+
+        // scrypt cost doubles with each step of ln; take the largest that stays within the target
+        ScryptPasswordHasher warmup = new ScryptPasswordHasher(12, ScryptPasswordHasher.DEFAULT_R,
+                ScryptPasswordHasher.DEFAULT_P);
+        for (int i = 0; i < 10; i++) {
+            warmup.hash("calibration");
+        }
+        int logN = 10;
+        double millis = verifyMillis(new ScryptPasswordHasher(logN, ScryptPasswordHasher.DEFAULT_R,
+                ScryptPasswordHasher.DEFAULT_P));
+        while (logN < 20 && millis * 2 <= targetMillis) {
+            logN++;
+            millis = verifyMillis(new ScryptPasswordHasher(logN, ScryptPasswordHasher.DEFAULT_R,
+                    ScryptPasswordHasher.DEFAULT_P));
+        }
+        System.out.printf("scrypt: ln=%d (%d MB) verifies in %.0f ms%n", logN,
+                (128L * ScryptPasswordHasher.DEFAULT_R << logN) >> 20, millis);
+
+        System.out.println();
+        System.out.println("-Dresort.password.iterations=" + iterations);
+        System.out.println("  or");
+        System.out.println("-Dresort.password.scheme=scrypt -Dresort.password.scrypt.ln=" + logN);
+    }
+
+    private static double verifyMillis(PasswordHasher hasher) {
+        String encoded = hasher.hash("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            hasher.verify("calibration", encoded);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
@@ -0,0 +1,30 @@
+package tools;
+
+import dao.DailyStatsDAO;
+import database.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Recomputes the daily_resort_stats table from bookings and invoices in one transaction.
+ * The table is kept current as bookings are written; run this to backfill after loading
+ * bookings by hand or restoring a backup.
+ *
+ * <pre>
+ * java -Dresort.db.path=... -cp ... tools.StatsRebuild
+ * </pre>
+ */
+public class StatsRebuild {
+
+    public static void main(String[] args) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            new DailyStatsDAO().rebuild(conn);
+            conn.commit();
+        }
+        System.out.printf("Daily statistics rebuilt in %.1f s%n", (System.nanoTime() - start) / 1e9);
+        DatabaseManager.getInstance().closeConnection();
+    }
+}
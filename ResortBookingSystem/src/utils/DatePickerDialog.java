@@ -50,7 +50,7 @@ public class DatePickerDialog extends JDialog {
         });
 
         monthLabel = new JLabel("", JLabel.CENTER);
-        monthLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 16));
+        monthLabel.setFont(UITheme.getFont(Font.BOLD, 16));
         monthLabel.setForeground(UITheme.PRIMARY);
 
         headerPanel.add(prevButton, BorderLayout.WEST);
@@ -69,7 +69,7 @@ public class DatePickerDialog extends JDialog {
 
     private JButton createNavButton(String text) {
         JButton btn = new JButton(text);
-        btn.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 14));
+        btn.setFont(UITheme.getFont(Font.BOLD, 14));
         btn.setFocusPainted(false);
         btn.setContentAreaFilled(false);
         btn.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
@@ -85,7 +85,7 @@ public class DatePickerDialog extends JDialog {
         String[] days = { "Su", "Mo", "Tu", "We", "Th", "Fr", "Sa" };
         for (String d : days) {
             JLabel label = new JLabel(d, JLabel.CENTER);
-            label.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+            label.setFont(UITheme.getFont(Font.BOLD, 12));
             label.setForeground(Color.GRAY);
             dayPanel.add(label);
         }
@@ -115,12 +115,12 @@ public class DatePickerDialog extends JDialog {
             dayBtn.setFocusPainted(false);
             dayBtn.setBorderPainted(false);
             dayBtn.setBackground(Color.WHITE);
-            dayBtn.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 12));
+            dayBtn.setFont(UITheme.getFont(Font.PLAIN, 12));
 
             if (date.equals(selectedDate)) {
                 dayBtn.setBackground(UITheme.PRIMARY);
                 dayBtn.setForeground(Color.WHITE);
-                dayBtn.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+                dayBtn.setFont(UITheme.getFont(Font.BOLD, 12));
             } else if (date.equals(LocalDate.now())) {
                 dayBtn.setForeground(UITheme.PRIMARY);
                 dayBtn.setBorder(BorderFactory.createLineBorder(UITheme.PRIMARY));
@@ -0,0 +1,165 @@
+package utils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the application typeface in the background and hands out shared {@link Font} instances.
+ * Until the font files are registered, fonts of the fallback family are handed out; once they are,
+ * every window still showing a fallback font is switched over on the EDT.
+ */
+public class FontManager {
+    private static FontManager instance;
+
+    static final String FALLBACK_FAMILY = "DM Sans";
+
+    // Only the faces Font styles can reach; Medium and SemiBold register as separate families nobody asks for
+    private static final String[] FONT_FILES = {
+            "fonts/DM_Sans/static/DMSans-Regular.ttf",
+            "fonts/DM_Sans/static/DMSans-Bold.ttf"
+    };
+
+    private volatile Generation current = new Generation(FALLBACK_FAMILY);
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private volatile long loadMillis = -1;
+
+    private FontManager() {
+        Thread loader = new Thread(this::loadFonts, "font-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public static synchronized FontManager getInstance() {
+        if (instance == null) {
+            instance = new FontManager();
+        }
+        return instance;
+    }
+
+    public String getFamily() {
+        return current.family;
+    }
+
+    /**
+     * A shared font of the current family. Instances are cached, so callers must not mutate them.
+     */
+    public Font getFont(int style, int size) {
+        Generation generation = current;
+        return generation.fonts.computeIfAbsent((style << 16) | size,
+                key -> new Font(generation.family, style, size));
+    }
+
+    /**
+     * Wait up to {@code timeout} for the font files, so the first window can open in its final font
+     * when loading is quick. Returns false if they are still loading.
+     */
+    public boolean awaitLoaded(long timeout, TimeUnit unit) {
+        try {
+            return loaded.await(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * How long reading and registering the font files took, or -1 while they are loading.
+     */
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    private void loadFonts() {
+        long start = System.nanoTime();
+        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        Font baseFont = null;
+        for (String fontPath : FONT_FILES) {
+            try {
+                File fontFile = new File(fontPath);
+                if (fontFile.exists()) {
+                    Font font = Font.createFont(Font.TRUETYPE_FONT, fontFile);
+                    ge.registerFont(font);
+                    if (baseFont == null) {
+                        baseFont = font;
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("Could not load font: " + fontPath);
+            }
+        }
+        long took = System.nanoTime() - start;
+        loadMillis = TimeUnit.NANOSECONDS.toMillis(took);
+        StartupTimeline.mark("fonts registered (background)", took);
+
+        if (baseFont == null) {
+            System.out.println("Using fallback font: " + FALLBACK_FAMILY);
+        } else {
+            System.out.println("Using font family " + baseFont.getFamily() + ", loaded in " + loadMillis + " ms");
+            String family = baseFont.getFamily();
+            SwingUtilities.invokeLater(() -> switchTo(family));
+        }
+        loaded.countDown();
+    }
+
+    /**
+     * Start handing out the loaded family and replace the fallback fonts already in use,
+     * both in the UI defaults and on components of open windows.
+     */
+    private void switchTo(String family) {
+        Generation previous = current;
+        Generation next = new Generation(family);
+        current = next;
+
+        Map<Font, Font> replacements = new IdentityHashMap<>();
+        for (Font old : previous.fonts.values()) {
+            replacements.put(old, getFont(old.getStyle(), old.getSize()));
+        }
+        UIDefaults defaults = UIManager.getDefaults();
+        List<Object> keys = new ArrayList<>(defaults.keySet());
+        for (Object key : keys) {
+            Font replacement = replacements.get(defaults.get(key));
+            if (replacement != null) {
+                UIManager.put(key, replacement);
+            }
+        }
+        for (Window window : Window.getWindows()) {
+            replaceFonts(window, replacements);
+            window.revalidate();
+            window.repaint();
+        }
+    }
+
+    private static void replaceFonts(Component component, Map<Font, Font> replacements) {
+        if (component.isFontSet()) {
+            Font replacement = replacements.get(component.getFont());
+            if (replacement != null) {
+                component.setFont(replacement);
+            }
+        }
+        if (component instanceof JMenu) {
+            replaceFonts(((JMenu) component).getPopupMenu(), replacements);
+        }
+        if (component instanceof Container) {
+            for (Component child : ((Container) component).getComponents()) {
+                replaceFonts(child, replacements);
+            }
+        }
+    }
+
+    private static final class Generation {
+        final String family;
+        final Map<Integer, Font> fonts = new ConcurrentHashMap<>();
+
+        Generation(String family) {
+            this.family = family;
+        }
+    }
+}
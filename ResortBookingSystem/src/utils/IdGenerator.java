@@ -0,0 +1,9 @@
+package utils;
+
+/**
+ * Source of unique, increasing IDs.
+ * Implementations must be safe to call from many threads at once.
+ */
+public interface IdGenerator {
+    long nextId();
+}
@@ -0,0 +1,230 @@
+package utils;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes and scales images off the EDT and keeps the scaled results, keyed by path and size.
+ * The cache is bounded by the pixel memory it holds (-Dresort.images.cacheMB, default 32) and
+ * drops the least recently shown images first. Concurrent requests for the same image share one decode.
+ */
+public class ImageCache {
+    private static ImageCache instance;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final String KEY_PROPERTY = "ImageCache.key";
+
+    private final ExecutorService decoder;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, ImageIcon> scaled = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Key, CompletableFuture<ImageIcon>> loading = new ConcurrentHashMap<>();
+    private long bytes;
+
+    private ImageCache() {
+        this.maxBytes = Long.getLong("resort.images.cacheMB", 32) * 1024 * 1024;
+        // Decoding is CPU-bound; keep it to a couple of low-priority threads so it never competes with the UI
+        this.decoder = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "image-decode-" + THREAD_COUNT.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    public static synchronized ImageCache getInstance() {
+        if (instance == null) {
+            instance = new ImageCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Show an image in a label, scaled to cover {@code width} x {@code height}.
+     * The label shows {@code placeholder} until the image is ready, or {@code missing} if it cannot be read.
+     * Must be called on the EDT. If the label is given another image before this one loads, this one is dropped.
+     */
+    public void loadInto(JLabel label, String path, int width, int height, String placeholder, String missing) {
+        Key key = new Key(path, width, height);
+        label.putClientProperty(KEY_PROPERTY, key);
+        ImageIcon cached = getCached(key);
+        if (cached != null) {
+            label.setText(null);
+            label.setIcon(cached);
+            return;
+        }
+        label.setIcon(null);
+        label.setText(placeholder);
+        load(key).whenComplete((icon, error) -> SwingUtilities.invokeLater(() -> {
+            if (!key.equals(label.getClientProperty(KEY_PROPERTY))) {
+                return;
+            }
+            if (icon != null) {
+                label.setText(null);
+                label.setIcon(icon);
+            } else {
+                label.setText(missing);
+            }
+        }));
+    }
+
+    /**
+     * The image scaled to cover {@code width} x {@code height}, decoding it in the background if needed.
+     * Completes with null if the file is missing or unreadable.
+     */
+    public CompletableFuture<ImageIcon> load(String path, int width, int height) {
+        return load(new Key(path, width, height));
+    }
+
+    private CompletableFuture<ImageIcon> load(Key key) {
+        ImageIcon cached = getCached(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<ImageIcon> created = new CompletableFuture<>();
+        CompletableFuture<ImageIcon> inFlight = loading.putIfAbsent(key, created);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        decoder.execute(() -> {
+            try {
+                ImageIcon icon = decodeAndScale(key);
+                if (icon != null) {
+                    put(key, icon);
+                }
+                created.complete(icon);
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            } finally {
+                loading.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Forget every size of an image, e.g. after the file was replaced.
+     */
+    public synchronized void invalidate(String path) {
+        scaled.entrySet().removeIf(entry -> {
+            if (entry.getKey().path.equals(path)) {
+                bytes -= sizeOf(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private synchronized ImageIcon getCached(Key key) {
+        return scaled.get(key);
+    }
+
+    private synchronized void put(Key key, ImageIcon icon) {
+        ImageIcon previous = scaled.put(key, icon);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += sizeOf(icon);
+        Iterator<Map.Entry<Key, ImageIcon>> eldest = scaled.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Key, ImageIcon> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                continue;
+            }
+            bytes -= sizeOf(entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    private static long sizeOf(ImageIcon icon) {
+        return 4L * icon.getIconWidth() * icon.getIconHeight();
+    }
+
+    private static ImageIcon decodeAndScale(Key key) {
+        File file = new File(key.path);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            BufferedImage source = ImageIO.read(file);
+            if (source == null) {
+                return null;
+            }
+            return new ImageIcon(scaleToCover(source, key.width, key.height));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Scale so the image covers the target, cropping the overflow from the centre.
+     * Large reductions are done in halving steps with bilinear filtering, which looks as good as
+     * SCALE_SMOOTH's area averaging at a fraction of the cost.
+     */
+    static BufferedImage scaleToCover(BufferedImage source, int width, int height) {
+        double scale = Math.max((double) width / source.getWidth(), (double) height / source.getHeight());
+        int cropWidth = Math.max(1, Math.min(source.getWidth(), (int) Math.round(width / scale)));
+        int cropHeight = Math.max(1, Math.min(source.getHeight(), (int) Math.round(height / scale)));
+        BufferedImage current = source.getSubimage((source.getWidth() - cropWidth) / 2,
+                (source.getHeight() - cropHeight) / 2, cropWidth, cropHeight);
+
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int w = cropWidth;
+        int h = cropHeight;
+        while (w / 2 >= width && h / 2 >= height) {
+            w /= 2;
+            h /= 2;
+            current = draw(current, w, h, type);
+        }
+        return draw(current, width, height, type);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, int type) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return target;
+    }
+
+    private static final class Key {
+        final String path;
+        final int width;
+        final int height;
+
+        Key(String path, int width, int height) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return path.equals(other.path) && width == other.width && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, width, height);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package utils;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Verifies the unsalted hex SHA-256 hashes written before salted hashing, so those users can still
+ * sign in and be rehashed. It cannot create new hashes.
+ */
+final class LegacySha256PasswordVerifier implements PasswordVerifier {
+
+    @Override
+    public boolean supports(String encoded) {
+        if (encoded == null || encoded.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < encoded.length(); i++) {
+            if (Character.digit(encoded.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean verify(String password, String encoded) {
+        if (!supports(encoded)) {
+            return false;
+        }
+        byte[] expected = decodeHex(encoded);
+        // Old hashes were taken over the platform charset; it is UTF-8 almost everywhere
+        boolean match = MessageDigest.isEqual(sha256(password.getBytes(StandardCharsets.UTF_8)), expected);
+        if (!match && !Charset.defaultCharset().equals(StandardCharsets.UTF_8)) {
+            match = MessageDigest.isEqual(sha256(password.getBytes(Charset.defaultCharset())), expected);
+        }
+        return match;
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        return true;
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not found", e);
+        }
+    }
+
+    private static byte[] decodeHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (Character.digit(hex.charAt(2 * i), 16) << 4 | Character.digit(hex.charAt(2 * i + 1), 16));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,19 @@
+package utils;
+
+/**
+ * A password scheme that also creates hashes. Encoded hashes carry their own salt and cost parameters,
+ * so a hasher can verify hashes made with other settings than the ones it hashes with.
+ */
+public interface PasswordHasher extends PasswordVerifier {
+
+    /**
+     * Hash a password with a fresh salt and this hasher's cost parameters.
+     */
+    String hash(String password);
+
+    /**
+     * True if the encoded hash is cheaper than what {@link #hash} produces now.
+     */
+    @Override
+    boolean needsRehash(String encoded);
+}
@@ -1,43 +1,125 @@
 package utils;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.List;
 
 /**
  * Utility class for password hashing and verification.
+ * New hashes use the scheme chosen by {@code -Dresort.password.scheme} (salted PBKDF2 by default);
+ * hashes of every supported scheme, including the old unsalted SHA-256 ones, can still be verified.
  */
 public class PasswordUtils {
-    
+    // Cost parameters come from each hash, so default instances can verify them all
+    private static final PasswordHasher PBKDF2 = new Pbkdf2PasswordHasher(Pbkdf2PasswordHasher.DEFAULT_ITERATIONS);
+    private static final PasswordHasher SCRYPT = new ScryptPasswordHasher(ScryptPasswordHasher.DEFAULT_LOG_N,
+            ScryptPasswordHasher.DEFAULT_R, ScryptPasswordHasher.DEFAULT_P);
+    private static final PasswordVerifier LEGACY = new LegacySha256PasswordVerifier();
+    private static volatile PasswordHasher hasher;
+    private static volatile DummyHash dummy;
+
+    // A hash of no real password, made by the hasher it belongs to
+    private static final class DummyHash {
+        final PasswordHasher hasher;
+        final String hash;
+
+        DummyHash(PasswordHasher hasher) {
+            this.hasher = hasher;
+            this.hash = hasher.hash("not a password");
+        }
+    }
+
     /**
-     * Hashes a password using SHA-256.
-     * @param password The plain text password
-     * @return The SHA-256 hash as a hex string
+     * The hasher for new passwords, built from system properties on first use.
      */
-    public static String hashPassword(String password) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hash = md.digest(password.getBytes());
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
+    public static PasswordHasher getHasher() {
+        PasswordHasher current = hasher;
+        if (current == null) {
+            synchronized (PasswordUtils.class) {
+                if (hasher == null) {
+                    hasher = fromSystemProperties();
                 }
-                hexString.append(hex);
+                current = hasher;
             }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not found", e);
         }
+        return current;
+    }
+
+    /**
+     * Replace the hasher for new passwords, e.g. with cheaper settings in tests and bulk loads.
+     */
+    public static void setHasher(PasswordHasher passwordHasher) {
+        hasher = passwordHasher;
     }
-    
+
+    /**
+     * Hashes a password with a fresh salt.
+     * @param password The plain text password
+     * @return The encoded hash, including its scheme and parameters
+     */
+    public static String hashPassword(String password) {
+        return getHasher().hash(password);
+    }
+
     /**
-     * Verifies a password against a hash.
+     * Verifies a password against a hash of any supported scheme.
      * @param password The plain text password to verify
      * @param hash The stored hash to compare against
      * @return true if password matches, false otherwise
      */
     public static boolean verifyPassword(String password, String hash) {
-        return hashPassword(password).equals(hash);
+        for (PasswordVerifier candidate : verifiers()) {
+            if (candidate.supports(hash)) {
+                return candidate.verify(password, hash);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Spends as long as {@link #verifyPassword} would on a hash made now, without a hash to check.
+     * Logins for unknown users call this so they take as long as a wrong password for a real one,
+     * and response times do not reveal which usernames exist.
+     * @return always false
+     */
+    public static boolean verifyNoUser(String password) {
+        PasswordHasher current = getHasher();
+        DummyHash known = dummy;
+        if (known == null || known.hasher != current) {
+            known = new DummyHash(current);
+            dummy = known;
+        }
+        current.verify(password, known.hash);
+        return false;
+    }
+
+    /**
+     * True if a stored hash should be replaced the next time its password is known,
+     * because it uses another scheme or weaker parameters than new hashes do.
+     */
+    public static boolean needsRehash(String hash) {
+        PasswordHasher current = getHasher();
+        return !current.supports(hash) || current.needsRehash(hash);
+    }
+
+    private static List<PasswordVerifier> verifiers() {
+        return List.of(getHasher(), PBKDF2, SCRYPT, LEGACY);
+    }
+
+    private static PasswordHasher fromSystemProperties() {
+        String scheme = System.getProperty("resort.password.scheme", "pbkdf2");
+        if (scheme.equalsIgnoreCase("scrypt")) {
+            return new ScryptPasswordHasher(
+                    Integer.getInteger("resort.password.scrypt.ln", ScryptPasswordHasher.DEFAULT_LOG_N),
+                    ScryptPasswordHasher.DEFAULT_R, ScryptPasswordHasher.DEFAULT_P);
+        }
+        if (!scheme.equalsIgnoreCase("pbkdf2")) {
+            throw new IllegalArgumentException("Unknown password scheme: " + scheme);
+        }
+        String iterations = System.getProperty("resort.password.iterations",
+                String.valueOf(Pbkdf2PasswordHasher.DEFAULT_ITERATIONS));
+        if (iterations.equalsIgnoreCase("auto")) {
+            return new Pbkdf2PasswordHasher(
+                    Pbkdf2PasswordHasher.calibrate(Long.getLong("resort.password.targetMillis", 250)));
+        }
+        return new Pbkdf2PasswordHasher(Integer.parseInt(iterations));
     }
 }
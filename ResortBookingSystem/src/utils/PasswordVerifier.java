@@ -0,0 +1,23 @@
+package utils;
+
+/**
+ * Checks passwords against the encoded hashes of one scheme, including schemes that are
+ * only still accepted for existing hashes and never used for new ones.
+ */
+public interface PasswordVerifier {
+
+    /**
+     * True if {@code encoded} was produced by this scheme.
+     */
+    boolean supports(String encoded);
+
+    /**
+     * Check a password against an encoded hash of this scheme, in time independent of where they differ.
+     */
+    boolean verify(String password, String encoded);
+
+    /**
+     * True if the encoded hash should be replaced the next time its password is known.
+     */
+    boolean needsRehash(String encoded);
+}
@@ -0,0 +1,131 @@
+package utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Salted PBKDF2-HMAC-SHA256, encoded as {@code $pbkdf2-sha256$i=<iterations>$<salt>$<hash>}
+ * with unpadded Base64 salt and hash.
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+    /** OWASP's 2023 recommendation for PBKDF2-HMAC-SHA256. */
+    public static final int DEFAULT_ITERATIONS = 600_000;
+    static final int MIN_ITERATIONS = 100_000;
+
+    private static final String PREFIX = "$pbkdf2-sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+
+    public Pbkdf2PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    @Override
+    public boolean supports(String encoded) {
+        return encoded != null && encoded.startsWith(PREFIX);
+    }
+
+    @Override
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + "i=" + iterations + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, iterations, HASH_BYTES));
+    }
+
+    @Override
+    public boolean verify(String password, String encoded) {
+        Parsed parsed = Parsed.of(encoded);
+        if (parsed == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(derive(password, parsed.salt, parsed.iterations, parsed.hash.length), parsed.hash);
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        Parsed parsed = Parsed.of(encoded);
+        return parsed == null || parsed.iterations < iterations;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations, int bytes) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, bytes * 8);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * Iteration count that takes about {@code targetMillis} to verify on this machine,
+     * rounded to 10,000 and never below {@value #MIN_ITERATIONS}.
+     */
+    public static int calibrate(long targetMillis) {
+        byte[] salt = new byte[SALT_BYTES];
+        int probe = 50_000;
+        // Let the JIT compile the HMAC loop before timing it
+        for (int i = 0; i < 5; i++) {
+            derive("calibration", salt, probe, HASH_BYTES);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            derive("calibration", salt, probe, HASH_BYTES);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        long iterations = Math.round(probe * (targetMillis * 1_000_000.0 / best) / 10_000) * 10_000;
+        return (int) Math.max(MIN_ITERATIONS, Math.min(Integer.MAX_VALUE, iterations));
+    }
+
+    private static final class Parsed {
+        final int iterations;
+        final byte[] salt;
+        final byte[] hash;
+
+        private Parsed(int iterations, byte[] salt, byte[] hash) {
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+        }
+
+        static Parsed of(String encoded) {
+            if (encoded == null || !encoded.startsWith(PREFIX)) {
+                return null;
+            }
+            String[] parts = encoded.substring(PREFIX.length()).split("\\$");
+            if (parts.length != 3 || !parts[0].startsWith("i=")) {
+                return null;
+            }
+            try {
+                int iterations = Integer.parseInt(parts[0].substring(2));
+                byte[] salt = Base64.getDecoder().decode(parts[1]);
+                byte[] hash = Base64.getDecoder().decode(parts[2]);
+                if (iterations < 1 || hash.length == 0) {
+                    return null;
+                }
+                return new Parsed(iterations, salt, hash);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Salted scrypt (RFC 7914), encoded as {@code $scrypt$ln=<log2 N>,r=<r>,p=<p>$<salt>$<hash>}
+ * with unpadded Base64 salt and hash. Each verification needs 128 * r * N bytes of memory,
+ * which is what makes guessing on GPUs expensive; at the default ln=14, r=8 that is 16 MB.
+ */
+public class ScryptPasswordHasher implements PasswordHasher {
+    public static final int DEFAULT_LOG_N = 14;
+    public static final int DEFAULT_R = 8;
+    public static final int DEFAULT_P = 1;
+
+    private static final String PREFIX = "$scrypt$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BYTES = 32;
+    // Refuse encoded parameters that would need more than 1 GB to check
+    private static final long MAX_MEMORY_BYTES = 1L << 30;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int logN;
+    private final int r;
+    private final int p;
+
+    public ScryptPasswordHasher(int logN, int r, int p) {
+        if (logN < 1 || logN > 30 || r < 1 || p < 1 || memoryBytes(logN, r) > MAX_MEMORY_BYTES) {
+            throw new IllegalArgumentException("Unsupported scrypt parameters ln=" + logN + ", r=" + r + ", p=" + p);
+        }
+        this.logN = logN;
+        this.r = r;
+        this.p = p;
+    }
+
+    @Override
+    public boolean supports(String encoded) {
+        return encoded != null && encoded.startsWith(PREFIX);
+    }
+
+    @Override
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        byte[] hash = scrypt(password.getBytes(StandardCharsets.UTF_8), salt, 1 << logN, r, p, HASH_BYTES);
+        return PREFIX + "ln=" + logN + ",r=" + r + ",p=" + p + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(hash);
+    }
+
+    @Override
+    public boolean verify(String password, String encoded) {
+        Parsed parsed = Parsed.of(encoded);
+        if (parsed == null) {
+            return false;
+        }
+        byte[] hash = scrypt(password.getBytes(StandardCharsets.UTF_8), parsed.salt, 1 << parsed.logN, parsed.r,
+                parsed.p, parsed.hash.length);
+        return MessageDigest.isEqual(hash, parsed.hash);
+    }
+
+    @Override
+    public boolean needsRehash(String encoded) {
+        Parsed parsed = Parsed.of(encoded);
+        return parsed == null || memoryBytes(parsed.logN, parsed.r) * parsed.p < memoryBytes(logN, r) * p;
+    }
+
+    private static long memoryBytes(int logN, int r) {
+        return 128L * r * (1L << logN);
+    }
+
+    /**
+     * scrypt key derivation as specified in RFC 7914 section 6. {@code n} must be a power of two.
+     */
+    static byte[] scrypt(byte[] password, byte[] salt, int n, int r, int p, int length) {
+        int blockInts = 32 * r;
+        byte[] b = pbkdf2(password, salt, p * 128 * r);
+        int[] x = new int[blockInts];
+        int[] y = new int[blockInts];
+        int[] v = new int[blockInts * n];
+        for (int i = 0; i < p; i++) {
+            int offset = i * 128 * r;
+            for (int k = 0; k < blockInts; k++) {
+                x[k] = littleEndianInt(b, offset + k * 4);
+            }
+            roMix(x, y, v, n, r);
+            for (int k = 0; k < blockInts; k++) {
+                putLittleEndianInt(b, offset + k * 4, x[k]);
+            }
+        }
+        return pbkdf2(password, b, length);
+    }
+
+    private static void roMix(int[] x, int[] y, int[] v, int n, int r) {
+        int blockInts = 32 * r;
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(x, 0, v, i * blockInts, blockInts);
+            blockMix(x, y, r);
+        }
+        for (int i = 0; i < n; i++) {
+            int j = x[(2 * r - 1) * 16] & (n - 1);
+            int base = j * blockInts;
+            for (int k = 0; k < blockInts; k++) {
+                x[k] ^= v[base + k];
+            }
+            blockMix(x, y, r);
+        }
+    }
+
+    /**
+     * BlockMix with Salsa20/8; the result replaces {@code b}, {@code y} is scratch space.
+     */
+    private static void blockMix(int[] b, int[] y, int r) {
+        int[] x = new int[16];
+        System.arraycopy(b, (2 * r - 1) * 16, x, 0, 16);
+        for (int i = 0; i < 2 * r; i++) {
+            for (int k = 0; k < 16; k++) {
+                x[k] ^= b[i * 16 + k];
+            }
+            salsa20_8(x);
+            // Even blocks go to the first half of the output, odd blocks to the second
+            System.arraycopy(x, 0, y, ((i >> 1) + (i & 1) * r) * 16, 16);
+        }
+        System.arraycopy(y, 0, b, 0, 32 * r);
+    }
+
+    private static void salsa20_8(int[] b) {
+        int x0 = b[0], x1 = b[1], x2 = b[2], x3 = b[3], x4 = b[4], x5 = b[5], x6 = b[6], x7 = b[7];
+        int x8 = b[8], x9 = b[9], x10 = b[10], x11 = b[11], x12 = b[12], x13 = b[13], x14 = b[14], x15 = b[15];
+        for (int i = 0; i < 8; i += 2) {
+            x4 ^= Integer.rotateLeft(x0 + x12, 7);
+            x8 ^= Integer.rotateLeft(x4 + x0, 9);
+            x12 ^= Integer.rotateLeft(x8 + x4, 13);
+            x0 ^= Integer.rotateLeft(x12 + x8, 18);
+            x9 ^= Integer.rotateLeft(x5 + x1, 7);
+            x13 ^= Integer.rotateLeft(x9 + x5, 9);
+            x1 ^= Integer.rotateLeft(x13 + x9, 13);
+            x5 ^= Integer.rotateLeft(x1 + x13, 18);
+            x14 ^= Integer.rotateLeft(x10 + x6, 7);
+            x2 ^= Integer.rotateLeft(x14 + x10, 9);
+            x6 ^= Integer.rotateLeft(x2 + x14, 13);
+            x10 ^= Integer.rotateLeft(x6 + x2, 18);
+            x3 ^= Integer.rotateLeft(x15 + x11, 7);
+            x7 ^= Integer.rotateLeft(x3 + x15, 9);
+            x11 ^= Integer.rotateLeft(x7 + x3, 13);
+            x15 ^= Integer.rotateLeft(x11 + x7, 18);
+            x1 ^= Integer.rotateLeft(x0 + x3, 7);
+            x2 ^= Integer.rotateLeft(x1 + x0, 9);
+            x3 ^= Integer.rotateLeft(x2 + x1, 13);
+            x0 ^= Integer.rotateLeft(x3 + x2, 18);
+            x6 ^= Integer.rotateLeft(x5 + x4, 7);
+            x7 ^= Integer.rotateLeft(x6 + x5, 9);
+            x4 ^= Integer.rotateLeft(x7 + x6, 13);
+            x5 ^= Integer.rotateLeft(x4 + x7, 18);
+            x11 ^= Integer.rotateLeft(x10 + x9, 7);
+            x8 ^= Integer.rotateLeft(x11 + x10, 9);
+            x9 ^= Integer.rotateLeft(x8 + x11, 13);
+            x10 ^= Integer.rotateLeft(x9 + x8, 18);
+            x12 ^= Integer.rotateLeft(x15 + x14, 7);
+            x13 ^= Integer.rotateLeft(x12 + x15, 9);
+            x14 ^= Integer.rotateLeft(x13 + x12, 13);
+            x15 ^= Integer.rotateLeft(x14 + x13, 18);
+        }
+        b[0] += x0;
+        b[1] += x1;
+        b[2] += x2;
+        b[3] += x3;
+        b[4] += x4;
+        b[5] += x5;
+        b[6] += x6;
+        b[7] += x7;
+        b[8] += x8;
+        b[9] += x9;
+        b[10] += x10;
+        b[11] += x11;
+        b[12] += x12;
+        b[13] += x13;
+        b[14] += x14;
+        b[15] += x15;
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA256 with one iteration, on raw bytes.
+     */
+    private static byte[] pbkdf2(byte[] password, byte[] salt, int length) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            // SecretKeySpec refuses an empty key; HMAC zero-pads keys to its 64-byte block, so this is equivalent
+            mac.init(new SecretKeySpec(password.length > 0 ? password : new byte[64], "HmacSHA256"));
+            byte[] out = new byte[length];
+            byte[] counter = new byte[4];
+            for (int block = 1, offset = 0; offset < length; block++, offset += 32) {
+                counter[0] = (byte) (block >>> 24);
+                counter[1] = (byte) (block >>> 16);
+                counter[2] = (byte) (block >>> 8);
+                counter[3] = (byte) block;
+                mac.update(salt);
+                byte[] u = mac.doFinal(counter);
+                System.arraycopy(u, 0, out, offset, Math.min(32, length - offset));
+            }
+            return out;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static int littleEndianInt(byte[] b, int offset) {
+        return (b[offset] & 0xff) | (b[offset + 1] & 0xff) << 8 | (b[offset + 2] & 0xff) << 16
+                | (b[offset + 3] & 0xff) << 24;
+    }
+
+    private static void putLittleEndianInt(byte[] b, int offset, int value) {
+        b[offset] = (byte) value;
+        b[offset + 1] = (byte) (value >>> 8);
+        b[offset + 2] = (byte) (value >>> 16);
+        b[offset + 3] = (byte) (value >>> 24);
+    }
+
+    private static final class Parsed {
+        final int logN;
+        final int r;
+        final int p;
+        final byte[] salt;
+        final byte[] hash;
+
+        private Parsed(int logN, int r, int p, byte[] salt, byte[] hash) {
+            this.logN = logN;
+            this.r = r;
+            this.p = p;
+            this.salt = salt;
+            this.hash = hash;
+        }
+
+        static Parsed of(String encoded) {
+            if (encoded == null || !encoded.startsWith(PREFIX)) {
+                return null;
+            }
+            String[] parts = encoded.substring(PREFIX.length()).split("\\$");
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                int logN = 0;
+                int r = 0;
+                int p = 0;
+                for (String param : parts[0].split(",")) {
+                    if (param.startsWith("ln=")) {
+                        logN = Integer.parseInt(param.substring(3));
+                    } else if (param.startsWith("r=")) {
+                        r = Integer.parseInt(param.substring(2));
+                    } else if (param.startsWith("p=")) {
+                        p = Integer.parseInt(param.substring(2));
+                    }
+                }
+                byte[] salt = Base64.getDecoder().decode(parts[1]);
+                byte[] hash = Base64.getDecoder().decode(parts[2]);
+                if (logN < 1 || logN > 30 || r < 1 || p < 1 || p > 16 || hash.length == 0
+                        || memoryBytes(logN, r) > MAX_MEMORY_BYTES) {
+                    return null;
+                }
+                return new Parsed(logN, r, p, salt, hash);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
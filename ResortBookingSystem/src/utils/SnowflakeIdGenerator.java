@@ -0,0 +1,68 @@
+package utils;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style IDs: 41 bits of milliseconds since 2024-01-01, 10 bits of node ID
+ * and a 12-bit sequence, giving up to 4096 IDs per millisecond per node without locking
+ * or touching the database. Every app instance sharing a database needs its own node ID.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+    public static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    // Last issued (timestamp << SEQUENCE_BITS | sequence), advanced with CAS
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    /**
+     * Uses -Dresort.node.id when set, otherwise a node ID derived from the host name and process ID.
+     * Set the property explicitly when several instances share a database.
+     */
+    public static SnowflakeIdGenerator fromSystemProperties() {
+        Integer nodeId = Integer.getInteger("resort.node.id");
+        return new SnowflakeIdGenerator(nodeId != null ? nodeId : defaultNodeId());
+    }
+
+    private static int defaultNodeId() {
+        String seed;
+        try {
+            seed = InetAddress.getLocalHost().getHostName() + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        } catch (Exception e) {
+            seed = ManagementFactory.getRuntimeMXBean().getName();
+        }
+        return (seed.hashCode() & 0x7fffffff) % (MAX_NODE_ID + 1);
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long last = lastState.get();
+            long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+            // Never go below the last state: if the clock steps back or the sequence for this
+            // millisecond is used up, keep counting past it so IDs stay monotonic
+            long next = Math.max(now, last + 1);
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public int getNodeId() {
+        return (int) (nodeBits >>> SEQUENCE_BITS);
+    }
+}
@@ -0,0 +1,128 @@
+package utils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each startup phase takes, measured from JVM start, so time-to-interactive
+ * can be tracked from release to release. With -Dresort.startup.timeline=true the phases are
+ * printed as each window finishes its first paint.
+ */
+public final class StartupTimeline {
+    private static final long JVM_START_NANOS = System.nanoTime()
+            - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+    private static final ClassLoadingMXBean CLASS_LOADING = ManagementFactory.getClassLoadingMXBean();
+
+    private static final List<Mark> marks = new ArrayList<>();
+    private static int printed;
+
+    private StartupTimeline() {
+    }
+
+    /**
+     * Record the end of a phase.
+     */
+    public static synchronized void mark(String phase) {
+        mark(phase, -1);
+    }
+
+    /**
+     * Record the end of a phase that took {@code tookNanos}, e.g. one that ran alongside others on another thread.
+     */
+    public static synchronized void mark(String phase, long tookNanos) {
+        marks.add(new Mark(phase, System.nanoTime() - JVM_START_NANOS, tookNanos,
+                CLASS_LOADING.getTotalLoadedClassCount()));
+    }
+
+    /**
+     * Record the end of a phase unless it was already recorded.
+     */
+    public static synchronized void markOnce(String phase) {
+        for (Mark mark : marks) {
+            if (mark.phase.equals(phase)) {
+                return;
+            }
+        }
+        mark(phase);
+    }
+
+    /**
+     * A root pane that marks {@code phase} and prints the timeline if requested the first time it is painted.
+     * Use from {@code JFrame.createRootPane()}.
+     */
+    public static JRootPane paintTimedRootPane(String phase) {
+        return new JRootPane() {
+            private boolean painted;
+
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                if (!painted) {
+                    painted = true;
+                    markOnce(phase);
+                    printIfRequested();
+                }
+            }
+        };
+    }
+
+    /**
+     * Print the phases recorded since the last print, if -Dresort.startup.timeline=true.
+     */
+    public static synchronized void printIfRequested() {
+        if (!Boolean.getBoolean("resort.startup.timeline") || printed == marks.size()) {
+            return;
+        }
+        if (printed == 0) {
+            System.out.println(String.format("%-32s %10s %10s %8s", "Startup phase", "At (ms)", "Took (ms)", "Classes"));
+        }
+        System.out.print(format(printed));
+        printed = marks.size();
+    }
+
+    /**
+     * Every phase recorded so far, one per line.
+     */
+    public static synchronized String report() {
+        return format(0);
+    }
+
+    private static String format(int from) {
+        StringBuilder text = new StringBuilder();
+        for (int i = from; i < marks.size(); i++) {
+            Mark mark = marks.get(i);
+            long took = mark.tookNanos >= 0 ? mark.tookNanos : mark.nanos - previousSequential(i);
+            text.append(String.format("%-32s %10.1f %10.1f %8d%n", mark.phase, mark.nanos / 1e6,
+                    took / 1e6, mark.loadedClasses));
+        }
+        return text.toString();
+    }
+
+    // Phases with their own duration ran alongside the others, so they do not end the phase that follows
+    private static long previousSequential(int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            if (marks.get(i).tookNanos < 0) {
+                return marks.get(i).nanos;
+            }
+        }
+        return 0;
+    }
+
+    private static final class Mark {
+        final String phase;
+        final long nanos;
+        final long tookNanos;
+        final long loadedClasses;
+
+        Mark(String phase, long nanos, long tookNanos, long loadedClasses) {
+            this.phase = phase;
+            this.nanos = nanos;
+            this.tookNanos = tookNanos;
+            this.loadedClasses = loadedClasses;
+        }
+    }
+}
@@ -3,21 +3,14 @@ package utils;
 import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
-import java.io.File;
 
 /**
  * Centralized UI Theme utility for consistent modern styling.
  */
 public class UITheme {
-    // Fonts
-    private static Font baseFont;
-    private static String fontFamily;
-
-    private static final String FALLBACK_FONT = "DM Sans";
-
     // Public accessor for font family name
     public static String getFontFamily() {
-        return fontFamily != null ? fontFamily : FALLBACK_FONT;
+        return FontManager.getInstance().getFamily();
     }
 
     // Colors - Modern palette
@@ -49,54 +42,10 @@ public class UITheme {
     public static final int SIZE_SMALL = 12;
     public static final int SIZE_CAPTION = 11;
 
-    static {
-        initializeFont();
-    }
-
-    private static void initializeFont() {
-        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-
-        // Try to load DM Sans from fonts/DM_Sans/static directory
-        String[] fontFiles = {
-                "fonts/DM_Sans/static/DMSans-Regular.ttf",
-                "fonts/DM_Sans/static/DMSans-Medium.ttf",
-                "fonts/DM_Sans/static/DMSans-Bold.ttf",
-                "fonts/DM_Sans/static/DMSans-SemiBold.ttf"
-        };
-
-        boolean fontLoaded = false;
-        for (String fontPath : fontFiles) {
-            try {
-                File fontFile = new File(fontPath);
-                if (fontFile.exists()) {
-                    Font font = Font.createFont(Font.TRUETYPE_FONT, fontFile);
-                    ge.registerFont(font);
-                    if (baseFont == null) {
-                        baseFont = font;
-                    }
-                    fontLoaded = true;
-                    System.out.println("Loaded font: " + fontPath);
-                }
-            } catch (Exception e) {
-                System.err.println("Could not load font: " + fontPath);
-            }
-        }
-
-        // Use DM Sans if loaded, otherwise fallback to Segoe UI
-        if (!fontLoaded || baseFont == null) {
-            baseFont = new Font(FALLBACK_FONT, Font.PLAIN, SIZE_BODY);
-            fontFamily = FALLBACK_FONT;
-            System.out.println("Using fallback font: " + FALLBACK_FONT);
-        } else {
-            fontFamily = baseFont.getFamily();
-            System.out.println("Using DM Sans font family: " + fontFamily);
-        }
-    }
-
     // Font getters with different weights
     public static Font getFont(int style, int size) {
-        // Use the font family from baseFont (will be DM Sans if loaded, else fallback)
-        return new Font(baseFont.getFamily(), style, size);
+        // Shared instances: components are built with the same few fonts over and over
+        return FontManager.getInstance().getFont(style, size);
     }
 
     public static Font title() {
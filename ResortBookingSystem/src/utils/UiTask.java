@@ -0,0 +1,157 @@
+package utils;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs database work off the Event Dispatch Thread and hands the result back on it.
+ * Views start loads through a {@link Slot} so that a newer load, or leaving the view,
+ * makes any result still in flight be dropped instead of overwriting fresher data.
+ */
+public final class UiTask {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // Sized like the reader pool: more threads would only queue on connections
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())), r -> {
+                Thread t = new Thread(r, "ui-task-" + THREAD_COUNT.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    private UiTask() {
+    }
+
+    /**
+     * Run {@code work} in the background and pass its result to {@code onSuccess} on the EDT.
+     */
+    public static <T> Future<?> run(Callable<T> work, Consumer<? super T> onSuccess) {
+        return run(work, onSuccess, UiTask::reportError);
+    }
+
+    public static <T> Future<?> run(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+        return EXECUTOR.submit(() -> {
+            try {
+                T result = work.call();
+                SwingUtilities.invokeLater(() -> onSuccess.accept(result));
+            } catch (Throwable t) {
+                SwingUtilities.invokeLater(() -> onError.accept(t));
+            }
+        });
+    }
+
+    private static void reportError(Throwable t) {
+        t.printStackTrace();
+    }
+
+    /**
+     * Run {@code action} on the EDT once {@code component} is first on screen, after the pending paint.
+     * Views use it for their initial load so building a view never queries before it is seen.
+     */
+    public static void whenFirstShown(JComponent component, Runnable action) {
+        if (component.isShowing()) {
+            SwingUtilities.invokeLater(action);
+            return;
+        }
+        component.addHierarchyListener(new HierarchyListener() {
+            @Override
+            public void hierarchyChanged(HierarchyEvent e) {
+                if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && component.isShowing()) {
+                    component.removeHierarchyListener(this);
+                    SwingUtilities.invokeLater(action);
+                }
+            }
+        });
+    }
+
+    /**
+     * Run {@code action} on the EDT once the text of {@code field} has stopped changing for {@code delayMillis},
+     * so typing a word starts one load rather than one per keystroke.
+     */
+    public static void onTextChanged(JTextComponent field, int delayMillis, Runnable action) {
+        Timer timer = new Timer(delayMillis, e -> action.run());
+        timer.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+    }
+
+    /**
+     * Label shown in place of content while it loads.
+     */
+    public static JLabel placeholder(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(UITheme.getFont(Font.ITALIC, 14));
+        label.setForeground(new Color(149, 165, 166));
+        return label;
+    }
+
+    /**
+     * At most one live load per view. Submitting cancels the previous load, and a result is only
+     * delivered if no newer load was submitted and {@link #cancel()} was not called meanwhile.
+     * Use from the EDT only.
+     */
+    public static final class Slot {
+        private long generation;
+        private Future<?> current;
+
+        public <T> void submit(Callable<T> work, Consumer<? super T> onSuccess) {
+            submit(work, onSuccess, UiTask::reportError);
+        }
+
+        public <T> void submit(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onError) {
+            cancel();
+            long token = generation;
+            current = run(work, result -> {
+                if (token == generation) {
+                    current = null;
+                    onSuccess.accept(result);
+                }
+            }, error -> {
+                if (token == generation) {
+                    current = null;
+                    onError.accept(error);
+                }
+            });
+        }
+
+        /**
+         * Drop the result of any load in flight. The query itself is not interrupted,
+         * so a connection is never torn down half way through a statement.
+         */
+        public void cancel() {
+            generation++;
+            if (current != null) {
+                current.cancel(false);
+                current = null;
+            }
+        }
+
+        public boolean isRunning() {
+            return current != null;
+        }
+    }
+}
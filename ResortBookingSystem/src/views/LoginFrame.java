@@ -1,8 +1,10 @@
 package views;
 
-import dao.UserDAO;
 import models.User;
+import services.AuthenticationService;
+import utils.StartupTimeline;
 import utils.UITheme;
+import utils.UiTask;
 import views.admin.AdminDashboardFrame;
 
 import javax.swing.*;
@@ -16,13 +18,18 @@ public class LoginFrame extends JFrame {
     private JPasswordField passwordField;
     private JButton loginButton;
     private JButton registerButton;
-    private UserDAO userDAO;
+    private AuthenticationService authenticationService;
 
     public LoginFrame() {
-        userDAO = new UserDAO();
+        authenticationService = AuthenticationService.getInstance();
         initializeUI();
     }
 
+    @Override
+    protected JRootPane createRootPane() {
+        return StartupTimeline.paintTimedRootPane("login window painted");
+    }
+
     private void initializeUI() {
         setTitle("Resort Reservation System - Login");
         setSize(480, 520);
@@ -168,22 +175,38 @@ public class LoginFrame extends JFrame {
             return;
         }
 
-        User user = userDAO.authenticate(username, password);
-
-        if (user != null) {
-            dispose();
-            if (user.isAdmin()) {
-                new AdminDashboardFrame(user).setVisible(true);
+        // Password hashing and the lookup run in the background; block double submits meanwhile
+        loginButton.setEnabled(false);
+        loginButton.setText("Signing in...");
+        UiTask.run(() -> authenticationService.authenticate(username, password), user -> {
+            loginButton.setEnabled(true);
+            loginButton.setText("Login");
+            if (!isDisplayable()) {
+                return;
+            }
+            if (user != null) {
+                StartupTimeline.markOnce("signed in");
+                dispose();
+                if (user.isAdmin()) {
+                    new AdminDashboardFrame(user).setVisible(true);
+                } else {
+                    new MainFrame(user).setVisible(true);
+                }
             } else {
-                new MainFrame(user).setVisible(true);
+                JOptionPane.showMessageDialog(this,
+                        "Invalid username or password.",
+                        "Login Failed",
+                        JOptionPane.ERROR_MESSAGE);
+                passwordField.setText("");
             }
-        } else {
+        }, error -> {
+            loginButton.setEnabled(true);
+            loginButton.setText("Login");
             JOptionPane.showMessageDialog(this,
-                    "Invalid username or password.",
+                    error.getMessage(),
                     "Login Failed",
                     JOptionPane.ERROR_MESSAGE);
-            passwordField.setText("");
-        }
+        });
     }
 
     private void showRegistrationDialog() {
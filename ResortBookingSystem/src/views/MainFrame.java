@@ -1,11 +1,15 @@
 package views;
 
 import models.User;
+import utils.StartupTimeline;
 import utils.UITheme;
 import views.customer.*;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Main application frame for customers.
@@ -15,17 +19,19 @@ public class MainFrame extends JFrame {
     private JPanel contentPanel;
     private CardLayout cardLayout;
 
-    // Panels
-    private ResortBrowsePanel resortBrowsePanel;
-    private RoomSelectionPanel roomSelectionPanel;
-    private CuisineSelectionPanel cuisineSelectionPanel;
-    private BookingSummaryPanel bookingSummaryPanel;
-    private InvoiceViewPanel invoiceViewPanel;
-    private MyBookingsPanel myBookingsPanel;
+    // Panels are built the first time they are shown, so opening the frame only pays for the first one
+    private final Map<String, Supplier<JPanel>> panelFactories = new HashMap<>();
+    private final Map<String, JPanel> panels = new HashMap<>();
 
     public MainFrame(User user) {
         this.currentUser = user;
         initializeUI();
+        StartupTimeline.markOnce("customer frame built");
+    }
+
+    @Override
+    protected JRootPane createRootPane() {
+        return StartupTimeline.paintTimedRootPane("customer frame painted");
     }
 
     private void initializeUI() {
@@ -45,20 +51,13 @@ public class MainFrame extends JFrame {
         contentPanel = new JPanel(cardLayout);
         contentPanel.setBackground(new Color(236, 240, 241));
 
-        // Initialize panels
-        resortBrowsePanel = new ResortBrowsePanel(this);
-        roomSelectionPanel = new RoomSelectionPanel(this);
-        cuisineSelectionPanel = new CuisineSelectionPanel(this);
-        bookingSummaryPanel = new BookingSummaryPanel(this);
-        invoiceViewPanel = new InvoiceViewPanel(this);
-        myBookingsPanel = new MyBookingsPanel(this);
-
-        contentPanel.add(resortBrowsePanel, "BROWSE");
-        contentPanel.add(roomSelectionPanel, "ROOMS");
-        contentPanel.add(cuisineSelectionPanel, "CUISINE");
-        contentPanel.add(bookingSummaryPanel, "SUMMARY");
-        contentPanel.add(invoiceViewPanel, "INVOICES");
-        contentPanel.add(myBookingsPanel, "BOOKINGS");
+        // Register panels
+        panelFactories.put("BROWSE", () -> new ResortBrowsePanel(this));
+        panelFactories.put("ROOMS", () -> new RoomSelectionPanel(this));
+        panelFactories.put("CUISINE", () -> new CuisineSelectionPanel(this));
+        panelFactories.put("SUMMARY", () -> new BookingSummaryPanel(this));
+        panelFactories.put("INVOICES", () -> new InvoiceViewPanel(this));
+        panelFactories.put("BOOKINGS", () -> new MyBookingsPanel(this));
 
         // Layout
         setLayout(new BorderLayout());
@@ -77,26 +76,26 @@ public class MainFrame extends JFrame {
 
         // Bookings menu
         JMenu bookingMenu = new JMenu("Bookings");
-        bookingMenu.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 13));
+        bookingMenu.setFont(UITheme.getFont(Font.BOLD, 13));
         bookingMenu.setForeground(new Color(44, 62, 80));
         bookingMenu.setOpaque(true);
         bookingMenu.setBackground(new Color(236, 240, 241));
 
         JMenuItem newBooking = new JMenuItem("New Booking");
-        newBooking.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        newBooking.setFont(UITheme.getFont(Font.PLAIN, 13));
         newBooking.addActionListener(e -> showPanel("BROWSE"));
 
         JMenuItem myBookings = new JMenuItem("My Bookings");
-        myBookings.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        myBookings.setFont(UITheme.getFont(Font.PLAIN, 13));
         myBookings.addActionListener(e -> {
-            myBookingsPanel.loadBookings();
+            getPanel("BOOKINGS", MyBookingsPanel.class).loadBookings();
             showPanel("BOOKINGS");
         });
 
         JMenuItem myInvoices = new JMenuItem("My Invoices");
-        myInvoices.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        myInvoices.setFont(UITheme.getFont(Font.PLAIN, 13));
         myInvoices.addActionListener(e -> {
-            invoiceViewPanel.loadInvoices();
+            getPanel("INVOICES", InvoiceViewPanel.class).loadInvoices();
             showPanel("INVOICES");
         });
 
@@ -107,13 +106,13 @@ public class MainFrame extends JFrame {
 
         // Account menu
         JMenu accountMenu = new JMenu("Account");
-        accountMenu.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 13));
+        accountMenu.setFont(UITheme.getFont(Font.BOLD, 13));
         accountMenu.setForeground(new Color(44, 62, 80));
         accountMenu.setOpaque(true);
         accountMenu.setBackground(new Color(236, 240, 241));
 
         JMenuItem logout = new JMenuItem("Logout");
-        logout.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        logout.setFont(UITheme.getFont(Font.PLAIN, 13));
         logout.addActionListener(e -> logout());
 
         accountMenu.add(logout);
@@ -141,11 +140,11 @@ public class MainFrame extends JFrame {
         panel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
 
         JLabel titleLabel = new JLabel("Paradise Resorts");
-        titleLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 24));
+        titleLabel.setFont(UITheme.getFont(Font.BOLD, 24));
         titleLabel.setForeground(Color.WHITE);
 
         JLabel userLabel = new JLabel("Logged in as: " + currentUser.getUsername());
-        userLabel.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 14));
+        userLabel.setFont(UITheme.getFont(Font.PLAIN, 14));
         userLabel.setForeground(new Color(189, 195, 199));
 
         panel.add(titleLabel, BorderLayout.WEST);
@@ -155,23 +154,41 @@ public class MainFrame extends JFrame {
     }
 
     public void showPanel(String name) {
+        getPanel(name, JPanel.class);
         cardLayout.show(contentPanel, name);
     }
 
+    /**
+     * The panel registered under {@code name}, building and adding it on first use.
+     */
+    private <T extends JPanel> T getPanel(String name, Class<T> type) {
+        JPanel panel = panels.get(name);
+        if (panel == null) {
+            Supplier<JPanel> factory = panelFactories.get(name);
+            if (factory == null) {
+                throw new IllegalArgumentException("Unknown panel: " + name);
+            }
+            panel = factory.get();
+            panels.put(name, panel);
+            contentPanel.add(panel, name);
+        }
+        return type.cast(panel);
+    }
+
     public User getCurrentUser() {
         return currentUser;
     }
 
     public RoomSelectionPanel getRoomSelectionPanel() {
-        return roomSelectionPanel;
+        return getPanel("ROOMS", RoomSelectionPanel.class);
     }
 
     public CuisineSelectionPanel getCuisineSelectionPanel() {
-        return cuisineSelectionPanel;
+        return getPanel("CUISINE", CuisineSelectionPanel.class);
     }
 
     public BookingSummaryPanel getBookingSummaryPanel() {
-        return bookingSummaryPanel;
+        return getPanel("SUMMARY", BookingSummaryPanel.class);
     }
 
     private void logout() {
@@ -4,6 +4,7 @@ import dao.UserDAO;
 import models.User;
 import utils.PasswordUtils;
 import utils.UITheme;
+import utils.UiTask;
 
 import javax.swing.*;
 import java.awt.*;
@@ -36,7 +37,7 @@ public class RegistrationDialog extends JDialog {
 
         // Header
         JLabel headerLabel = new JLabel("Create Account", JLabel.CENTER);
-        headerLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 24));
+        headerLabel.setFont(UITheme.getFont(Font.BOLD, 24));
         headerLabel.setForeground(new Color(44, 62, 80));
         headerLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
         mainPanel.add(headerLabel, BorderLayout.NORTH);
@@ -103,7 +104,7 @@ public class RegistrationDialog extends JDialog {
         buttonPanel.setOpaque(false);
 
         JButton registerBtn = new JButton("Register");
-        registerBtn.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 14));
+        registerBtn.setFont(UITheme.getFont(Font.BOLD, 14));
         registerBtn.setBackground(new Color(46, 204, 113));
         registerBtn.setForeground(Color.WHITE);
         registerBtn.setPreferredSize(new Dimension(130, 40));
@@ -112,7 +113,7 @@ public class RegistrationDialog extends JDialog {
         registerBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
 
         JButton cancelBtn = new JButton("Cancel");
-        cancelBtn.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 14));
+        cancelBtn.setFont(UITheme.getFont(Font.BOLD, 14));
         cancelBtn.setBackground(new Color(149, 165, 166));
         cancelBtn.setForeground(Color.WHITE);
         cancelBtn.setPreferredSize(new Dimension(130, 40));
@@ -133,14 +134,14 @@ public class RegistrationDialog extends JDialog {
 
     private JLabel createLabel(String text) {
         JLabel label = new JLabel(text);
-        label.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        label.setFont(UITheme.getFont(Font.PLAIN, 13));
         label.setForeground(new Color(52, 73, 94));
         return label;
     }
 
     private JTextField createTextField() {
         JTextField field = new JTextField();
-        field.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 14));
+        field.setFont(UITheme.getFont(Font.PLAIN, 14));
         field.setPreferredSize(new Dimension(300, 35));
         field.setMinimumSize(new Dimension(300, 35));
         return field;
@@ -148,7 +149,7 @@ public class RegistrationDialog extends JDialog {
 
     private JPasswordField createPasswordField() {
         JPasswordField field = new JPasswordField();
-        field.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 14));
+        field.setFont(UITheme.getFont(Font.PLAIN, 14));
         field.setPreferredSize(new Dimension(300, 35));
         field.setMinimumSize(new Dimension(300, 35));
         return field;
@@ -182,28 +183,31 @@ public class RegistrationDialog extends JDialog {
             return;
         }
 
-        if (userDAO.usernameExists(username)) {
-            showError("Username already exists. Please choose another.");
-            return;
-        }
-
         // Create user
         User user = new User();
         user.setUsername(username);
-        user.setPasswordHash(PasswordUtils.hashPassword(password));
         user.setEmail(email.isEmpty() ? null : email);
         user.setPhone(phone.isEmpty() ? null : phone);
         user.setRole(User.Role.CUSTOMER);
 
-        if (userDAO.create(user)) {
+        // Returns null on success, otherwise the message to show
+        UiTask.run(() -> {
+            if (userDAO.usernameExists(username)) {
+                return "Username already exists. Please choose another.";
+            }
+            user.setPasswordHash(PasswordUtils.hashPassword(password));
+            return userDAO.create(user) ? null : "Registration failed. Please try again.";
+        }, error -> {
+            if (error != null) {
+                showError(error);
+                return;
+            }
             JOptionPane.showMessageDialog(this,
                     "Registration successful! You can now login.",
                     "Success",
                     JOptionPane.INFORMATION_MESSAGE);
             dispose();
-        } else {
-            showError("Registration failed. Please try again.");
-        }
+        });
     }
 
     private void showError(String message) {
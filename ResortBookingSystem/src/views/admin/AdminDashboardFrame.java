@@ -1,11 +1,25 @@
 package views.admin;
 
+import dao.ExportQuery;
 import models.User;
+import services.AvailabilitySearch;
+import services.CatalogCache;
+import services.ExportService;
+import services.PricingEngine;
+import utils.StartupTimeline;
 import utils.UITheme;
+import utils.UiTask;
 import views.LoginFrame;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.File;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Admin dashboard with tabbed management panels.
@@ -13,10 +27,18 @@ import java.awt.*;
 public class AdminDashboardFrame extends JFrame {
     private User currentUser;
     private JTabbedPane tabbedPane;
+    // Each tab holds an empty placeholder until first selected, then the panel built by its factory
+    private final List<Supplier<JComponent>> tabFactories = new ArrayList<>();
 
     public AdminDashboardFrame(User user) {
         this.currentUser = user;
         initializeUI();
+        StartupTimeline.markOnce("admin frame built");
+    }
+
+    @Override
+    protected JRootPane createRootPane() {
+        return StartupTimeline.paintTimedRootPane("admin frame painted");
     }
 
     private void initializeUI() {
@@ -33,13 +55,16 @@ public class AdminDashboardFrame extends JFrame {
 
         // Tabbed pane for management panels
         tabbedPane = new JTabbedPane();
-        tabbedPane.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 14));
+        tabbedPane.setFont(UITheme.getFont(Font.PLAIN, 14));
 
-        tabbedPane.addTab("Resorts", new ResortManagementPanel());
-        tabbedPane.addTab("Rooms", new RoomManagementPanel());
-        tabbedPane.addTab("Food Options", new FoodManagementPanel());
-        tabbedPane.addTab("Bookings", new BookingManagementPanel());
-        tabbedPane.addTab("Users", new UserManagementPanel());
+        addLazyTab("Resorts", ResortManagementPanel::new);
+        addLazyTab("Rooms", RoomManagementPanel::new);
+        addLazyTab("Food Options", FoodManagementPanel::new);
+        addLazyTab("Bookings", BookingManagementPanel::new);
+        addLazyTab("Users", UserManagementPanel::new);
+        addLazyTab("Reports", ReportsPanel::new);
+        tabbedPane.addChangeListener(e -> buildTab(tabbedPane.getSelectedIndex()));
+        buildTab(tabbedPane.getSelectedIndex());
 
         // Layout
         setLayout(new BorderLayout());
@@ -47,6 +72,19 @@ public class AdminDashboardFrame extends JFrame {
         add(tabbedPane, BorderLayout.CENTER);
     }
 
+    private void addLazyTab(String title, Supplier<JComponent> factory) {
+        tabFactories.add(factory);
+        tabbedPane.addTab(title, new JPanel());
+    }
+
+    private void buildTab(int index) {
+        if (index < 0 || tabFactories.get(index) == null) {
+            return;
+        }
+        Supplier<JComponent> factory = tabFactories.set(index, null);
+        tabbedPane.setComponentAt(index, factory.get());
+    }
+
     private JMenuBar createMenuBar() {
         JMenuBar menuBar = new JMenuBar();
         menuBar.setBackground(new Color(236, 240, 241));
@@ -54,20 +92,35 @@ public class AdminDashboardFrame extends JFrame {
         menuBar.setOpaque(true);
 
         JMenu fileMenu = new JMenu("File");
-        fileMenu.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 13));
+        fileMenu.setFont(UITheme.getFont(Font.BOLD, 13));
         fileMenu.setForeground(new Color(44, 62, 80));
         fileMenu.setOpaque(true);
         fileMenu.setBackground(new Color(236, 240, 241));
 
         JMenuItem refreshItem = new JMenuItem("Refresh All");
-        refreshItem.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        refreshItem.setFont(UITheme.getFont(Font.PLAIN, 13));
         refreshItem.addActionListener(e -> refreshAllPanels());
 
+        JMenuItem exportItem = new JMenuItem("Export...");
+        exportItem.setFont(UITheme.getFont(Font.PLAIN, 13));
+        exportItem.addActionListener(e -> showExportDialog());
+
+        JMenuItem cacheStatsItem = new JMenuItem("Cache Statistics");
+        cacheStatsItem.setFont(UITheme.getFont(Font.PLAIN, 13));
+        cacheStatsItem.addActionListener(e -> showCacheStats());
+
+        JMenuItem timelineItem = new JMenuItem("Startup Timeline");
+        timelineItem.setFont(UITheme.getFont(Font.PLAIN, 13));
+        timelineItem.addActionListener(e -> showStartupTimeline());
+
         JMenuItem logoutItem = new JMenuItem("Logout");
-        logoutItem.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        logoutItem.setFont(UITheme.getFont(Font.PLAIN, 13));
         logoutItem.addActionListener(e -> logout());
 
         fileMenu.add(refreshItem);
+        fileMenu.add(exportItem);
+        fileMenu.add(cacheStatsItem);
+        fileMenu.add(timelineItem);
         fileMenu.addSeparator();
         fileMenu.add(logoutItem);
 
@@ -82,11 +135,11 @@ public class AdminDashboardFrame extends JFrame {
         panel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
 
         JLabel titleLabel = new JLabel("Admin Dashboard");
-        titleLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 24));
+        titleLabel.setFont(UITheme.getFont(Font.BOLD, 24));
         titleLabel.setForeground(Color.WHITE);
 
         JLabel adminLabel = new JLabel("Administrator: " + currentUser.getUsername());
-        adminLabel.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 14));
+        adminLabel.setFont(UITheme.getFont(Font.PLAIN, 14));
         adminLabel.setForeground(new Color(236, 240, 241));
 
         panel.add(titleLabel, BorderLayout.WEST);
@@ -96,6 +149,9 @@ public class AdminDashboardFrame extends JFrame {
     }
 
     private void refreshAllPanels() {
+        CatalogCache.getInstance().invalidateAll();
+        PricingEngine.getInstance().invalidate();
+        AvailabilitySearch.getInstance().invalidate();
         for (int i = 0; i < tabbedPane.getTabCount(); i++) {
             Component comp = tabbedPane.getComponentAt(i);
             if (comp instanceof RefreshablePanel) {
@@ -104,6 +160,89 @@ public class AdminDashboardFrame extends JFrame {
         }
     }
 
+    private void showExportDialog() {
+        JComboBox<ExportQuery.Dataset> datasetBox = new JComboBox<>(ExportQuery.Dataset.values());
+        JComboBox<ExportService.Format> formatBox = new JComboBox<>(ExportService.Format.values());
+        JCheckBox gzipBox = new JCheckBox("Compress (gzip)");
+        // Changes values such as "+1-555-..." phone numbers, so only for files opened in a spreadsheet
+        JCheckBox spreadsheetBox = new JCheckBox("Guard CSV against spreadsheet formulas");
+        JTextField fromField = new JTextField(10);
+        JTextField toField = new JTextField(10);
+        JTextField statusField = new JTextField(10);
+
+        JPanel form = new JPanel(new GridLayout(0, 2, 8, 6));
+        form.add(new JLabel("Data:"));
+        form.add(datasetBox);
+        form.add(new JLabel("Format:"));
+        form.add(formatBox);
+        form.add(new JLabel("From (yyyy-MM-dd, optional):"));
+        form.add(fromField);
+        form.add(new JLabel("To (inclusive, optional):"));
+        form.add(toField);
+        form.add(new JLabel("Booking status (optional):"));
+        form.add(statusField);
+        form.add(new JLabel());
+        form.add(gzipBox);
+        form.add(new JLabel());
+        form.add(spreadsheetBox);
+        if (JOptionPane.showConfirmDialog(this, form, "Export", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        ExportQuery query = new ExportQuery((ExportQuery.Dataset) datasetBox.getSelectedItem());
+        try {
+            if (!fromField.getText().isBlank()) {
+                query.setFrom(LocalDate.parse(fromField.getText().trim()));
+            }
+            if (!toField.getText().isBlank()) {
+                query.setTo(LocalDate.parse(toField.getText().trim()));
+            }
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Enter dates as yyyy-MM-dd.", "Invalid Date",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (!statusField.getText().isBlank()) {
+            query.setStatus(statusField.getText().trim());
+        }
+        ExportService.Format format = (ExportService.Format) formatBox.getSelectedItem();
+        boolean gzip = gzipBox.isSelected();
+        boolean spreadsheetSafe = spreadsheetBox.isSelected();
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File(query.getDataset().name().toLowerCase(Locale.ROOT) + "."
+                + format.getExtension() + (gzip ? ".gz" : "")));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File target = chooser.getSelectedFile();
+        UiTask.run(() -> ExportService.getInstance().export(query, format, gzip, spreadsheetSafe, target.toPath()),
+                result -> JOptionPane.showMessageDialog(this,
+                        String.format("Exported %,d rows (%,d bytes) to %s in %.1f s.", result.getRows(),
+                                result.getBytes(), target.getName(), result.getMillis() / 1000.0),
+                        "Export Complete", JOptionPane.INFORMATION_MESSAGE),
+                error -> JOptionPane.showMessageDialog(this, "Export failed: " + error.getMessage(),
+                        "Export Failed", JOptionPane.ERROR_MESSAGE));
+    }
+
+    private void showCacheStats() {
+        StringBuilder text = new StringBuilder();
+        for (CatalogCache.Stats stats : CatalogCache.getInstance().getStats()) {
+            text.append(stats).append('\n');
+        }
+        text.append(PricingEngine.getInstance().getQuoteStats()).append('\n');
+        text.append(AvailabilitySearch.getInstance().getSnapshotStats()).append('\n');
+        JOptionPane.showMessageDialog(this, text.toString(), "Catalog Cache", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    private void showStartupTimeline() {
+        JTextArea text = new JTextArea(StartupTimeline.report());
+        text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        text.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(text), "Startup Timeline", JOptionPane.INFORMATION_MESSAGE);
+    }
+
     private void logout() {
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to logout?",
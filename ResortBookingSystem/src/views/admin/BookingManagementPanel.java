@@ -1,33 +1,61 @@
 package views.admin;
 
 import dao.BookingDAO;
+import dao.BookingPage;
+import dao.BookingQuery;
 import dao.InvoiceDAO;
+import dao.ResortDAO;
 import models.Booking;
 import models.Invoice;
+import models.Resort;
+import services.BookingService;
 import utils.UITheme;
+import utils.UiTask;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.border.TitledBorder;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Panel for viewing and managing all bookings.
  */
 public class BookingManagementPanel extends JPanel implements AdminDashboardFrame.RefreshablePanel {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String[] SORT_LABELS = { "Newest first", "Oldest first", "Check-in soonest",
+            "Check-in latest" };
+    private static final BookingQuery.Sort[] SORTS = { BookingQuery.Sort.NEWEST, BookingQuery.Sort.OLDEST,
+            BookingQuery.Sort.CHECK_IN_SOONEST, BookingQuery.Sort.CHECK_IN_LATEST };
+
     private BookingDAO bookingDAO;
+    private BookingService bookingService;
     private InvoiceDAO invoiceDAO;
+    private ResortDAO resortDAO;
     private JTable bookingsTable;
-    private DefaultTableModel tableModel;
+    private LazyTableModel<Booking> tableModel;
+    private JScrollPane scrollPane;
     private JComboBox<String> statusFilter;
+    private JComboBox<String> resortFilter;
+    private JComboBox<String> sortOrder;
+    private List<Resort> resorts = new ArrayList<>();
+    private boolean updatingFilters;
+    private final UiTask.Slot resortsLoad = new UiTask.Slot();
+
+    // Filter and sort of the rows shown
+    private BookingQuery query = new BookingQuery();
 
     public BookingManagementPanel() {
         this.bookingDAO = new BookingDAO();
+        this.bookingService = BookingService.getInstance();
         this.invoiceDAO = new InvoiceDAO();
+        this.resortDAO = new ResortDAO();
         initializeUI();
-        loadBookings();
+        UiTask.whenFirstShown(this, this::loadBookings);
     }
 
     private void initializeUI() {
@@ -44,10 +72,23 @@ public class BookingManagementPanel extends JPanel implements AdminDashboardFram
 
         filterPanel.add(createLabel("Filter by Status:"));
         statusFilter = new JComboBox<>(new String[] { "All", "confirmed", "cancelled", "completed" });
-        statusFilter.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        statusFilter.setFont(UITheme.getFont(Font.PLAIN, 13));
         statusFilter.addActionListener(e -> filterBookings());
         filterPanel.add(statusFilter);
 
+        filterPanel.add(createLabel("Resort:"));
+        resortFilter = new JComboBox<>();
+        resortFilter.setFont(UITheme.getFont(Font.PLAIN, 13));
+        resortFilter.addActionListener(e -> filterBookings());
+        filterPanel.add(resortFilter);
+        loadResortFilter();
+
+        filterPanel.add(createLabel("Sort:"));
+        sortOrder = new JComboBox<>(SORT_LABELS);
+        sortOrder.setFont(UITheme.getFont(Font.PLAIN, 13));
+        sortOrder.addActionListener(e -> filterBookings());
+        filterPanel.add(sortOrder);
+
         JButton refreshBtn = new JButton("Refresh");
         refreshBtn.addActionListener(e -> loadBookings());
         filterPanel.add(refreshBtn);
@@ -58,18 +99,44 @@ public class BookingManagementPanel extends JPanel implements AdminDashboardFram
         // Added columns: Beds, Cuisine, Meal Plan
         String[] columns = { "ID", "User", "Resort", "Room", "Beds", "Check-in", "Check-out", "Guests", "Cuisine",
                 "Meal Plan", "Status" };
-        tableModel = new DefaultTableModel(columns, 0) {
+        tableModel = new LazyTableModel<>(columns, new BookingRowSource(query)) {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            protected Object getColumnValue(Booking b, int column) {
+                switch (column) {
+                    case 0:
+                        return b.getId();
+                    case 1:
+                        return b.getUsername();
+                    case 2:
+                        return b.getResortName();
+                    case 3:
+                        return b.getRoomType();
+                    case 4:
+                        return b.getBeds();
+                    case 5:
+                        return b.getCheckInDate().format(DATE_FORMAT);
+                    case 6:
+                        return b.getCheckOutDate().format(DATE_FORMAT);
+                    case 7:
+                        return b.getNumGuests();
+                    case 8:
+                        return b.getCuisineType() != null ? b.getCuisineType() : "N/A";
+                    case 9:
+                        return b.getMealPlan() != null ? b.getMealPlan() : "N/A";
+                    default:
+                        return b.getStatus();
+                }
             }
         };
 
+        // The count arrives in the background; show it once it does
+        tableModel.addTableModelListener(e -> updateTitle());
+
         bookingsTable = new JTable(tableModel);
-        bookingsTable.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        bookingsTable.setFont(UITheme.getFont(Font.PLAIN, 13));
         bookingsTable.setRowHeight(30);
 
-        JScrollPane scrollPane = new JScrollPane(bookingsTable);
+        scrollPane = new JScrollPane(bookingsTable);
         scrollPane.setBorder(BorderFactory.createTitledBorder("All Bookings"));
         add(scrollPane, BorderLayout.CENTER);
 
@@ -100,7 +167,7 @@ public class BookingManagementPanel extends JPanel implements AdminDashboardFram
 
     private JButton createStyledButton(String text, Color color) {
         JButton button = new JButton(text);
-        button.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 11));
+        button.setFont(UITheme.getFont(Font.BOLD, 11));
         button.setBackground(color);
         button.setForeground(Color.WHITE);
         button.setFocusPainted(false);
@@ -110,55 +177,58 @@ public class BookingManagementPanel extends JPanel implements AdminDashboardFram
 
     private JLabel createLabel(String text) {
         JLabel label = new JLabel(text);
-        label.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        label.setFont(UITheme.getFont(Font.PLAIN, 13));
         return label;
     }
 
+    private void loadResortFilter() {
+        resortsLoad.submit(resortDAO::getAll, loaded -> {
+            updatingFilters = true;
+            try {
+                Object selected = resortFilter.getSelectedItem();
+                resortFilter.removeAllItems();
+                resortFilter.addItem("All");
+                resorts = loaded;
+                for (Resort resort : resorts) {
+                    resortFilter.addItem(resort.getName());
+                }
+                if (selected != null) {
+                    resortFilter.setSelectedItem(selected);
+                }
+            } finally {
+                updatingFilters = false;
+            }
+        });
+    }
+
+    private void updateTitle() {
+        ((TitledBorder) scrollPane.getBorder()).setTitle("All Bookings (" + tableModel.getRowCount() + ")");
+        scrollPane.repaint();
+    }
+
     private void loadBookings() {
-        tableModel.setRowCount(0);
-        List<Booking> bookings = bookingDAO.getAll();
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-        for (Booking b : bookings) {
-            tableModel.addRow(new Object[] {
-                    b.getId(),
-                    b.getUsername(),
-                    b.getResortName(),
-                    b.getRoomType(),
-                    b.getBeds(),
-                    b.getCheckInDate().format(fmt),
-                    b.getCheckOutDate().format(fmt),
-                    b.getNumGuests(),
-                    b.getCuisineType() != null ? b.getCuisineType() : "N/A",
-                    b.getMealPlan() != null ? b.getMealPlan() : "N/A",
-                    b.getStatus()
-            });
-        }
+        filterBookings();
     }
 
+    /**
+     * Apply the selected filter and sort. Only the count and the visible rows are loaded.
+     */
     private void filterBookings() {
-        String filter = (String) statusFilter.getSelectedItem();
-        tableModel.setRowCount(0);
-        List<Booking> bookings = bookingDAO.getAll();
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-        for (Booking b : bookings) {
-            if ("All".equals(filter) || b.getStatus().equals(filter)) {
-                tableModel.addRow(new Object[] {
-                        b.getId(),
-                        b.getUsername(),
-                        b.getResortName(),
-                        b.getRoomType(),
-                        b.getBeds(),
-                        b.getCheckInDate().format(fmt),
-                        b.getCheckOutDate().format(fmt),
-                        b.getNumGuests(),
-                        b.getCuisineType() != null ? b.getCuisineType() : "N/A",
-                        b.getMealPlan() != null ? b.getMealPlan() : "N/A",
-                        b.getStatus()
-                });
-            }
+        if (updatingFilters) {
+            return;
+        }
+        query = new BookingQuery();
+        String status = (String) statusFilter.getSelectedItem();
+        if (!"All".equals(status)) {
+            query.setStatus(status);
+        }
+        int resortIndex = resortFilter.getSelectedIndex();
+        if (resortIndex > 0) {
+            query.setResortId(resorts.get(resortIndex - 1).getId());
         }
+        query.setSort(SORTS[Math.max(0, sortOrder.getSelectedIndex())]);
+
+        tableModel.setSource(new BookingRowSource(query));
     }
 
     private void updateStatus(String newStatus) {
@@ -168,15 +238,37 @@ public class BookingManagementPanel extends JPanel implements AdminDashboardFram
             return;
         }
 
-        int bookingId = (int) tableModel.getValueAt(selectedRow, 0);
-
-        if (bookingDAO.updateStatus(bookingId, newStatus)) {
-            JOptionPane.showMessageDialog(this, "Status updated to: " + newStatus, "Success",
-                    JOptionPane.INFORMATION_MESSAGE);
-            filterBookings();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to update status.", "Error", JOptionPane.ERROR_MESSAGE);
+        Booking booking = tableModel.getRow(selectedRow);
+        if (booking == null) {
+            return;
         }
+
+        // Cancelling gives the nights back (and offers them to the waitlist); reactivating takes them again.
+        // The service updates its copy in the background; the row on screen is only touched on the EDT.
+        int bookingId = booking.getId();
+        Booking detached = new Booking(booking);
+        UiTask.run(() -> bookingService.changeStatus(detached, newStatus), result -> {
+            switch (result.getStatus()) {
+                case CONFIRMED:
+                    JOptionPane.showMessageDialog(this, "Status updated to: " + newStatus, "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    // Update the cached row in place unless it no longer matches the filter
+                    if (query.getStatus() == null || query.getStatus().equals(newStatus)) {
+                        tableModel.updateRows(row -> row.getId() == bookingId, row -> row.setStatus(newStatus));
+                    } else {
+                        filterBookings();
+                    }
+                    break;
+                case UNCHANGED:
+                case SOLD_OUT:
+                    JOptionPane.showMessageDialog(this, result.getMessage(), "Status Not Changed",
+                            JOptionPane.WARNING_MESSAGE);
+                    break;
+                default:
+                    JOptionPane.showMessageDialog(this, "Failed to update status.", "Error", JOptionPane.ERROR_MESSAGE);
+                    break;
+            }
+        });
     }
 
     private void showInvoice() {
@@ -187,9 +279,14 @@ public class BookingManagementPanel extends JPanel implements AdminDashboardFram
             return;
         }
 
-        int bookingId = (int) tableModel.getValueAt(selectedRow, 0);
-        Invoice invoice = invoiceDAO.findByBooking(bookingId);
+        Booking booking = tableModel.getRow(selectedRow);
+        if (booking == null) {
+            return;
+        }
+        UiTask.run(() -> invoiceDAO.findByBooking(booking.getId()), this::showInvoiceDialog);
+    }
 
+    private void showInvoiceDialog(Invoice invoice) {
         if (invoice == null) {
             JOptionPane.showMessageDialog(this, "No invoice generated for this booking (e.g. Cancelled).",
                     "Invoice Not Found", JOptionPane.INFORMATION_MESSAGE);
@@ -233,8 +330,40 @@ public class BookingManagementPanel extends JPanel implements AdminDashboardFram
         dialog.setVisible(true);
     }
 
+    /**
+     * Fetches blocks of the current query. Blocks read in order continue from the cursor
+     * where the previous block ended; only a jump to an unvisited block falls back to OFFSET.
+     */
+    private class BookingRowSource implements LazyTableModel.RowSource<Booking> {
+        private final BookingQuery query;
+        // Filled from background fetches
+        private final Map<Integer, BookingQuery.Cursor> cursorsByOffset = new ConcurrentHashMap<>();
+
+        BookingRowSource(BookingQuery query) {
+            this.query = query;
+        }
+
+        @Override
+        public int count() {
+            return bookingDAO.count(query);
+        }
+
+        @Override
+        public List<Booking> fetch(int offset, int limit) {
+            BookingQuery.Cursor cursor = cursorsByOffset.get(offset);
+            BookingQuery blockQuery = cursor != null ? query.next(cursor) : query.at(offset);
+            blockQuery.setPageSize(limit);
+            BookingPage page = bookingDAO.findPage(blockQuery);
+            if (page.hasMore()) {
+                cursorsByOffset.put(offset + page.getBookings().size(), page.getNextCursor());
+            }
+            return page.getBookings();
+        }
+    }
+
     @Override
     public void refresh() {
+        loadResortFilter();
         loadBookings();
     }
 }
@@ -2,11 +2,12 @@ package views.admin;
 
 import dao.FoodDAO;
 import models.FoodOption;
+import services.CatalogCache;
 import utils.UITheme;
+import utils.UiTask;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
 
@@ -16,7 +17,7 @@ import java.util.List;
 public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.RefreshablePanel {
     private FoodDAO foodDAO;
     private JTable foodTable;
-    private DefaultTableModel tableModel;
+    private LazyTableModel<FoodOption> tableModel;
 
     // Form fields
     private JComboBox<String> cuisineTypeCombo;
@@ -31,7 +32,7 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
     public FoodManagementPanel() {
         this.foodDAO = new FoodDAO();
         initializeUI();
-        loadFoodOptions();
+        UiTask.whenFirstShown(this, this::loadFoodOptions);
     }
 
     private void initializeUI() {
@@ -60,15 +61,34 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
         panel.setBackground(Color.WHITE);
 
         String[] columns = { "ID", "Cuisine Type", "Meal Plan", "Price/Day" };
-        tableModel = new DefaultTableModel(columns, 0) {
+        tableModel = new LazyTableModel<>(columns, new LazyTableModel.RowSource<FoodOption>() {
+            @Override
+            public int count() {
+                return foodDAO.count();
+            }
+
+            @Override
+            public List<FoodOption> fetch(int offset, int limit) {
+                return foodDAO.findRange(offset, limit);
+            }
+        }) {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            protected Object getColumnValue(FoodOption f, int column) {
+                switch (column) {
+                    case 0:
+                        return f.getId();
+                    case 1:
+                        return f.getCuisineType();
+                    case 2:
+                        return f.getMealPlan();
+                    default:
+                        return String.format("$%.2f", f.getPricePerDay());
+                }
             }
         };
 
         foodTable = new JTable(tableModel);
-        foodTable.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        foodTable.setFont(UITheme.getFont(Font.PLAIN, 13));
         foodTable.setRowHeight(28);
         foodTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
@@ -112,7 +132,7 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
         gbc.weightx = 1.0;
         cuisineTypeCombo = new JComboBox<>(
                 new String[] { "Local", "Italian", "Continental", "Chinese", "Indian", "Mexican" });
-        cuisineTypeCombo.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        cuisineTypeCombo.setFont(UITheme.getFont(Font.PLAIN, 13));
         cuisineTypeCombo.setEditable(true);
         formFields.add(cuisineTypeCombo, gbc);
 
@@ -124,7 +144,7 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         mealPlanCombo = new JComboBox<>(new String[] { "Breakfast Only", "Half Board", "Full Board", "All Inclusive" });
-        mealPlanCombo.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        mealPlanCombo.setFont(UITheme.getFont(Font.PLAIN, 13));
         mealPlanCombo.setEditable(true);
         formFields.add(mealPlanCombo, gbc);
 
@@ -136,7 +156,7 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         priceSpinner = new JSpinner(new SpinnerNumberModel(50.0, 1.0, 1000.0, 5.0));
-        priceSpinner.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        priceSpinner.setFont(UITheme.getFont(Font.PLAIN, 13));
         formFields.add(priceSpinner, gbc);
 
         panel.add(formFields, BorderLayout.CENTER);
@@ -164,7 +184,7 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
 
     private JButton createStyledButton(String text, Color color) {
         JButton button = new JButton(text);
-        button.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+        button.setFont(UITheme.getFont(Font.BOLD, 12));
         button.setBackground(color);
         button.setForeground(Color.WHITE);
         button.setFocusPainted(false);
@@ -175,21 +195,12 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
 
     private JLabel createLabel(String text) {
         JLabel label = new JLabel(text);
-        label.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        label.setFont(UITheme.getFont(Font.PLAIN, 13));
         return label;
     }
 
     private void loadFoodOptions() {
-        tableModel.setRowCount(0);
-        List<FoodOption> options = foodDAO.getAll();
-        for (FoodOption f : options) {
-            tableModel.addRow(new Object[] {
-                    f.getId(),
-                    f.getCuisineType(),
-                    f.getMealPlan(),
-                    String.format("$%.2f", f.getPricePerDay())
-            });
-        }
+        tableModel.reload();
     }
 
     private void loadSelectedFood() {
@@ -197,8 +208,8 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
         if (row < 0)
             return;
 
-        int id = (int) tableModel.getValueAt(row, 0);
-        selectedFood = foodDAO.findById(id);
+        // The row is already loaded; no need to query it again
+        selectedFood = tableModel.getRow(row);
 
         if (selectedFood != null) {
             cuisineTypeCombo.setSelectedItem(selectedFood.getCuisineType());
@@ -219,27 +230,31 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
             return;
         }
 
-        boolean success;
+        FoodOption food;
         if (selectedFood == null) {
             // Create new
-            FoodOption food = new FoodOption(cuisineType.trim(), mealPlan.trim(), price);
-            success = foodDAO.create(food);
+            food = new FoodOption(cuisineType.trim(), mealPlan.trim(), price);
         } else {
             // Update existing
-            selectedFood.setCuisineType(cuisineType.trim());
-            selectedFood.setMealPlan(mealPlan.trim());
-            selectedFood.setPricePerDay(price);
-            success = foodDAO.update(selectedFood);
+            food = selectedFood;
+            food.setCuisineType(cuisineType.trim());
+            food.setMealPlan(mealPlan.trim());
+            food.setPricePerDay(price);
         }
+        boolean isNew = selectedFood == null;
 
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Food option saved successfully!", "Success",
-                    JOptionPane.INFORMATION_MESSAGE);
-            clearForm();
+        UiTask.run(() -> isNew ? foodDAO.create(food) : foodDAO.update(food), success -> {
+            if (success) {
+                CatalogCache.getInstance().invalidateFoodOptions();
+                JOptionPane.showMessageDialog(this, "Food option saved successfully!", "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
+                clearForm();
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to save food option.", "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            }
             loadFoodOptions();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to save food option.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void deleteFoodOption() {
@@ -255,14 +270,19 @@ public class FoodManagementPanel extends JPanel implements AdminDashboardFrame.R
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (foodDAO.delete(selectedFood.getId())) {
-                JOptionPane.showMessageDialog(this, "Food option deleted.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                clearForm();
-                loadFoodOptions();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete food option.", "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            int foodId = selectedFood.getId();
+            UiTask.run(() -> foodDAO.delete(foodId), deleted -> {
+                if (deleted) {
+                    CatalogCache.getInstance().invalidateFoodOptions();
+                    JOptionPane.showMessageDialog(this, "Food option deleted.", "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    clearForm();
+                    loadFoodOptions();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to delete food option.", "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -0,0 +1,188 @@
+package views.admin;
+
+import utils.UiTask;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Read-only table model that only loads the rows the table actually paints.
+ * The row count comes from a count query; rows are fetched in fixed-size blocks the first
+ * time {@link #getValueAt} touches them and kept in a small LRU cache, so opening a table
+ * over a very large result costs one count plus one block and heap use stays bounded.
+ * All queries run in the background; rows show a placeholder until their block arrives.
+ */
+public abstract class LazyTableModel<T> extends AbstractTableModel {
+
+    /**
+     * Where the rows come from. Both methods must see the same filter and a stable order.
+     * They are called on background threads.
+     */
+    public interface RowSource<T> {
+        int count();
+
+        List<T> fetch(int offset, int limit);
+    }
+
+    private static final int DEFAULT_BLOCK_SIZE = 100;
+    private static final int DEFAULT_MAX_BLOCKS = 32;
+    private static final String LOADING = "...";
+
+    private final String[] columns;
+    private final int blockSize;
+    private final Map<Integer, List<T>> blocks;
+    private final Set<Integer> pendingBlocks = new HashSet<>();
+    private RowSource<T> source;
+    private int rowCount;
+    // Bumped on every reload so blocks fetched for an older source are dropped
+    private long generation;
+
+    public LazyTableModel(String[] columns, RowSource<T> source) {
+        this(columns, source, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_BLOCKS);
+    }
+
+    public LazyTableModel(String[] columns, RowSource<T> source, int blockSize, int maxBlocks) {
+        this.columns = columns;
+        this.source = source;
+        this.blockSize = blockSize;
+        this.blocks = new LinkedHashMap<>(maxBlocks * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxBlocks;
+            }
+        };
+    }
+
+    /**
+     * Value shown in a column for a loaded row.
+     */
+    protected abstract Object getColumnValue(T row, int column);
+
+    /**
+     * Re-run the count and drop every cached block.
+     */
+    public void reload() {
+        long token = ++generation;
+        blocks.clear();
+        pendingBlocks.clear();
+        RowSource<T> countedSource = source;
+        UiTask.run(countedSource::count, count -> {
+            if (token == generation) {
+                rowCount = Math.max(0, count);
+                fireTableDataChanged();
+            }
+        });
+    }
+
+    /**
+     * Switch to a different source, e.g. after the filter changed, and reload.
+     */
+    public void setSource(RowSource<T> source) {
+        this.source = source;
+        reload();
+    }
+
+    /**
+     * The entity behind a row, or null while its block is still loading
+     * or past the end of the result.
+     */
+    public T getRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            return null;
+        }
+        int blockIndex = row / blockSize;
+        List<T> block = blocks.get(blockIndex);
+        if (block == null) {
+            requestBlock(blockIndex);
+            return null;
+        }
+        int index = row - blockIndex * blockSize;
+        // Rows deleted since the count was taken leave the end of the last block short
+        return index < block.size() ? block.get(index) : null;
+    }
+
+    private void requestBlock(int blockIndex) {
+        if (!pendingBlocks.add(blockIndex)) {
+            return;
+        }
+        long token = generation;
+        RowSource<T> blockSource = source;
+        int offset = blockIndex * blockSize;
+        UiTask.run(() -> blockSource.fetch(offset, blockSize), block -> {
+            if (token != generation) {
+                return;
+            }
+            pendingBlocks.remove(blockIndex);
+            blocks.put(blockIndex, block);
+            int last = Math.min(rowCount, offset + blockSize) - 1;
+            if (last >= offset) {
+                fireTableRowsUpdated(offset, last);
+            }
+        }, error -> {
+            if (token == generation) {
+                pendingBlocks.remove(blockIndex);
+            }
+            error.printStackTrace();
+        });
+    }
+
+    /**
+     * Apply {@code change} to every loaded row that {@code matches} and repaint those rows.
+     * Rows are found by identity rather than by index, since a reload may have moved them.
+     * Call on the EDT.
+     * @return false if no loaded row matched
+     */
+    public boolean updateRows(Predicate<T> matches, Consumer<T> change) {
+        boolean found = false;
+        for (Map.Entry<Integer, List<T>> entry : blocks.entrySet()) {
+            List<T> block = entry.getValue();
+            for (int i = 0; i < block.size(); i++) {
+                T row = block.get(i);
+                if (matches.test(row)) {
+                    change.accept(row);
+                    int index = entry.getKey() * blockSize + i;
+                    if (index < rowCount) {
+                        fireTableRowsUpdated(index, index);
+                    }
+                    found = true;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        T row = getRow(rowIndex);
+        if (row == null) {
+            return columnIndex == 0 ? LOADING : null;
+        }
+        return getColumnValue(row, columnIndex);
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+}
@@ -0,0 +1,199 @@
+package views.admin;
+
+import dao.DailyStatsDAO;
+import dao.ResortDAO;
+import models.DailyStats;
+import models.Resort;
+import utils.UITheme;
+import utils.UiTask;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Occupancy and revenue per night or per room type over a date range.
+ * Reads only the daily_resort_stats table, so a report costs the same however many bookings there are.
+ */
+public class ReportsPanel extends JPanel implements AdminDashboardFrame.RefreshablePanel {
+    private static final String[] GROUPINGS = { "By night", "By room type" };
+
+    private DailyStatsDAO statsDAO;
+    private ResortDAO resortDAO;
+    private JComboBox<String> resortFilter;
+    private JComboBox<String> groupBy;
+    private JTextField fromField;
+    private JTextField toField;
+    private DefaultTableModel tableModel;
+    private JLabel totalsLabel;
+    private List<Resort> resorts = new ArrayList<>();
+    private boolean updatingFilters;
+    private final UiTask.Slot resortsLoad = new UiTask.Slot();
+    private final UiTask.Slot reportLoad = new UiTask.Slot();
+
+    public ReportsPanel() {
+        this.statsDAO = new DailyStatsDAO();
+        this.resortDAO = new ResortDAO();
+        initializeUI();
+        UiTask.whenFirstShown(this, this::refresh);
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout(10, 10));
+        setBackground(new Color(236, 240, 241));
+        setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        // Top: Filter bar
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        filterPanel.setBackground(Color.WHITE);
+        filterPanel.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(189, 195, 199)),
+                BorderFactory.createEmptyBorder(5, 10, 5, 10)));
+
+        filterPanel.add(createLabel("Resort:"));
+        resortFilter = new JComboBox<>(new String[] { "All" });
+        resortFilter.setFont(UITheme.getFont(Font.PLAIN, 13));
+        resortFilter.addActionListener(e -> {
+            if (!updatingFilters) {
+                loadReport();
+            }
+        });
+        filterPanel.add(resortFilter);
+
+        filterPanel.add(createLabel("From:"));
+        fromField = new JTextField(LocalDate.now().minusDays(30).toString(), 9);
+        fromField.setFont(UITheme.getFont(Font.PLAIN, 13));
+        fromField.addActionListener(e -> loadReport());
+        filterPanel.add(fromField);
+
+        filterPanel.add(createLabel("To:"));
+        toField = new JTextField(LocalDate.now().plusDays(30).toString(), 9);
+        toField.setFont(UITheme.getFont(Font.PLAIN, 13));
+        toField.setToolTipText("Last night included is the day before");
+        toField.addActionListener(e -> loadReport());
+        filterPanel.add(toField);
+
+        groupBy = new JComboBox<>(GROUPINGS);
+        groupBy.setFont(UITheme.getFont(Font.PLAIN, 13));
+        groupBy.addActionListener(e -> loadReport());
+        filterPanel.add(groupBy);
+
+        JButton refreshBtn = new JButton("Refresh");
+        refreshBtn.addActionListener(e -> refresh());
+        filterPanel.add(refreshBtn);
+
+        add(filterPanel, BorderLayout.NORTH);
+
+        // Center: Table
+        String[] columns = { "Night", "Rooms Sold", "Occupancy", "Guests", "Room Revenue", "Food Revenue",
+                "Total Revenue" };
+        tableModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(tableModel);
+        table.setFont(UITheme.getFont(Font.PLAIN, 13));
+        table.setRowHeight(26);
+        table.getTableHeader().setFont(UITheme.getFont(Font.BOLD, 13));
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        // Bottom: Totals
+        totalsLabel = new JLabel(" ");
+        totalsLabel.setFont(UITheme.getFont(Font.BOLD, 14));
+        totalsLabel.setForeground(new Color(44, 62, 80));
+        add(totalsLabel, BorderLayout.SOUTH);
+    }
+
+    private JLabel createLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(UITheme.getFont(Font.PLAIN, 13));
+        return label;
+    }
+
+    @Override
+    public void refresh() {
+        loadResortFilter();
+        loadReport();
+    }
+
+    private void loadResortFilter() {
+        resortsLoad.submit(resortDAO::getAll, loaded -> {
+            updatingFilters = true;
+            try {
+                Object selected = resortFilter.getSelectedItem();
+                resortFilter.removeAllItems();
+                resortFilter.addItem("All");
+                resorts = loaded;
+                for (Resort resort : resorts) {
+                    resortFilter.addItem(resort.getName());
+                }
+                if (selected != null) {
+                    resortFilter.setSelectedItem(selected);
+                }
+            } finally {
+                updatingFilters = false;
+            }
+        });
+    }
+
+    private void loadReport() {
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(fromField.getText().trim());
+            to = LocalDate.parse(toField.getText().trim());
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Enter dates as yyyy-MM-dd.", "Invalid Date",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (!to.isAfter(from)) {
+            JOptionPane.showMessageDialog(this, "\"To\" must be after \"From\".", "Invalid Range",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int index = resortFilter.getSelectedIndex();
+        int resortId = index > 0 && index <= resorts.size() ? resorts.get(index - 1).getId() : 0;
+        boolean byNight = groupBy.getSelectedIndex() == 0;
+        totalsLabel.setText("Loading...");
+        reportLoad.submit(() -> byNight
+                ? statsDAO.findByNight(resortId, from, to)
+                : statsDAO.findByRoomType(resortId, from, to),
+                rows -> showReport(rows, byNight));
+    }
+
+    private void showReport(List<DailyStats> rows, boolean byNight) {
+        tableModel.setColumnIdentifiers(new String[] { byNight ? "Night" : "Room Type", "Rooms Sold", "Occupancy",
+                "Guests", "Room Revenue", "Food Revenue", "Total Revenue" });
+        tableModel.setRowCount(0);
+        long sold = 0;
+        long roomNights = 0;
+        long guests = 0;
+        double roomRevenue = 0;
+        double foodRevenue = 0;
+        for (DailyStats row : rows) {
+            tableModel.addRow(new Object[] { row.getLabel(), row.getRoomsSold(),
+                    String.format("%.1f%%", row.getOccupancy() * 100), row.getGuests(),
+                    String.format("$%.2f", row.getRoomRevenue()), String.format("$%.2f", row.getFoodRevenue()),
+                    String.format("$%.2f", row.getTotalRevenue()) });
+            sold += row.getRoomsSold();
+            guests += row.getGuests();
+            roomRevenue += row.getRoomRevenue();
+            foodRevenue += row.getFoodRevenue();
+            // Either grouping sums to the capacity of the whole range
+            roomNights += row.getRoomNights();
+        }
+        double occupancy = roomNights > 0 ? (double) sold / roomNights : 0;
+        totalsLabel.setText(String.format("Total: %,d room-nights sold (%.1f%% occupancy), %,d guest-nights, "
+                + "room $%,.2f + food $%,.2f = $%,.2f", sold, occupancy * 100, guests, roomRevenue, foodRevenue,
+                roomRevenue + foodRevenue));
+    }
+}
@@ -2,12 +2,16 @@ package views.admin;
 
 import dao.ResortDAO;
 import models.Resort;
+import services.CatalogCache;
+import utils.ImageCache;
 import utils.UITheme;
+import utils.UiTask;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,17 +25,20 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
     // Form fields
     private JTextField nameField;
     private JTextField locationField;
+    private JTextField imagePathField;
     private JTextArea descriptionArea;
     private JButton saveButton;
     private JButton deleteButton;
     private JButton clearButton;
 
     private Resort selectedResort = null;
+    private List<Resort> resorts = new ArrayList<>();
+    private final UiTask.Slot resortsLoad = new UiTask.Slot();
 
     public ResortManagementPanel() {
         this.resortDAO = new ResortDAO();
         initializeUI();
-        loadResorts();
+        UiTask.whenFirstShown(this, this::loadResorts);
     }
 
     private void initializeUI() {
@@ -68,7 +75,7 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
         };
 
         resortTable = new JTable(tableModel);
-        resortTable.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        resortTable.setFont(UITheme.getFont(Font.PLAIN, 13));
         resortTable.setRowHeight(28);
         resortTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
@@ -112,7 +119,7 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         nameField = new JTextField(20);
-        nameField.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        nameField.setFont(UITheme.getFont(Font.PLAIN, 13));
         formFields.add(nameField, gbc);
 
         // Location
@@ -123,20 +130,32 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         locationField = new JTextField(20);
-        locationField.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        locationField.setFont(UITheme.getFont(Font.PLAIN, 13));
         formFields.add(locationField, gbc);
 
-        // Description
+        // Image
         gbc.gridx = 0;
         gbc.gridy = 2;
         gbc.weightx = 0;
+        formFields.add(createLabel("Image path:"), gbc);
+        gbc.gridx = 1;
+        gbc.weightx = 1.0;
+        imagePathField = new JTextField(20);
+        imagePathField.setFont(UITheme.getFont(Font.PLAIN, 13));
+        imagePathField.setToolTipText("e.g. media/paradisebeachresort.jpg; leave empty for no image");
+        formFields.add(imagePathField, gbc);
+
+        // Description
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.weightx = 0;
         formFields.add(createLabel("Description:"), gbc);
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         gbc.fill = GridBagConstraints.BOTH;
         gbc.weighty = 1.0;
         descriptionArea = new JTextArea(4, 20);
-        descriptionArea.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        descriptionArea.setFont(UITheme.getFont(Font.PLAIN, 13));
         descriptionArea.setLineWrap(true);
         descriptionArea.setWrapStyleWord(true);
         JScrollPane descScroll = new JScrollPane(descriptionArea);
@@ -167,7 +186,7 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
 
     private JButton createStyledButton(String text, Color color) {
         JButton button = new JButton(text);
-        button.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+        button.setFont(UITheme.getFont(Font.BOLD, 12));
         button.setBackground(color);
         button.setForeground(Color.WHITE);
         button.setFocusPainted(false);
@@ -178,29 +197,32 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
 
     private JLabel createLabel(String text) {
         JLabel label = new JLabel(text);
-        label.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        label.setFont(UITheme.getFont(Font.PLAIN, 13));
         return label;
     }
 
     private void loadResorts() {
-        tableModel.setRowCount(0);
-        List<Resort> resorts = resortDAO.getAll();
-        for (Resort r : resorts) {
-            tableModel.addRow(new Object[] { r.getId(), r.getName(), r.getLocation() });
-        }
+        resortsLoad.submit(resortDAO::getAll, loaded -> {
+            resorts = loaded;
+            tableModel.setRowCount(0);
+            for (Resort r : resorts) {
+                tableModel.addRow(new Object[] { r.getId(), r.getName(), r.getLocation() });
+            }
+        });
     }
 
     private void loadSelectedResort() {
         int row = resortTable.getSelectedRow();
-        if (row < 0)
+        if (row < 0 || row >= resorts.size())
             return;
 
-        int id = (int) tableModel.getValueAt(row, 0);
-        selectedResort = resortDAO.findById(id);
+        // Rows mirror the loaded list, so no need to query the resort again
+        selectedResort = resorts.get(row);
 
         if (selectedResort != null) {
             nameField.setText(selectedResort.getName());
             locationField.setText(selectedResort.getLocation());
+            imagePathField.setText(selectedResort.getImagePath() != null ? selectedResort.getImagePath() : "");
             descriptionArea.setText(selectedResort.getDescription() != null ? selectedResort.getDescription() : "");
         }
     }
@@ -209,6 +231,7 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
         String name = nameField.getText().trim();
         String location = locationField.getText().trim();
         String description = descriptionArea.getText().trim();
+        String imagePath = imagePathField.getText().trim();
 
         if (name.isEmpty() || location.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Name and Location are required.", "Validation Error",
@@ -216,27 +239,35 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
             return;
         }
 
-        boolean success;
+        Resort resort;
         if (selectedResort == null) {
             // Create new
-            Resort resort = new Resort(name, location, description);
-            success = resortDAO.create(resort);
+            resort = new Resort(name, location, description);
         } else {
             // Update existing
-            selectedResort.setName(name);
-            selectedResort.setLocation(location);
-            selectedResort.setDescription(description);
-            success = resortDAO.update(selectedResort);
+            resort = selectedResort;
+            resort.setName(name);
+            resort.setLocation(location);
+            resort.setDescription(description);
         }
-
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Resort saved successfully!", "Success",
-                    JOptionPane.INFORMATION_MESSAGE);
-            clearForm();
+        resort.setImagePath(imagePath.isEmpty() ? null : imagePath);
+        boolean isNew = selectedResort == null;
+
+        UiTask.run(() -> isNew ? resortDAO.create(resort) : resortDAO.update(resort), success -> {
+            if (success) {
+                CatalogCache.getInstance().invalidateResorts();
+                if (resort.getImagePath() != null) {
+                    // The file may have been replaced under the same name
+                    ImageCache.getInstance().invalidate(resort.getImagePath());
+                }
+                JOptionPane.showMessageDialog(this, "Resort saved successfully!", "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
+                clearForm();
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to save resort.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
             loadResorts();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to save resort.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void deleteResort() {
@@ -252,13 +283,19 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (resortDAO.delete(selectedResort.getId())) {
-                JOptionPane.showMessageDialog(this, "Resort deleted.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                clearForm();
-                loadResorts();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete resort.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            int resortId = selectedResort.getId();
+            UiTask.run(() -> resortDAO.delete(resortId), deleted -> {
+                if (deleted) {
+                    CatalogCache.getInstance().invalidateResorts();
+                    JOptionPane.showMessageDialog(this, "Resort deleted.", "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    clearForm();
+                    loadResorts();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to delete resort.", "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -266,6 +303,7 @@ public class ResortManagementPanel extends JPanel implements AdminDashboardFrame
         selectedResort = null;
         nameField.setText("");
         locationField.setText("");
+        imagePathField.setText("");
         descriptionArea.setText("");
         resortTable.clearSelection();
     }
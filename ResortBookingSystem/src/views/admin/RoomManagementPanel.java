@@ -4,11 +4,14 @@ import dao.ResortDAO;
 import dao.RoomDAO;
 import models.Resort;
 import models.Room;
+import services.AvailabilitySearch;
+import services.CatalogCache;
+import services.InventoryService;
 import utils.UITheme;
+import utils.UiTask;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
 
@@ -19,7 +22,7 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
     private RoomDAO roomDAO;
     private ResortDAO resortDAO;
     private JTable roomTable;
-    private DefaultTableModel tableModel;
+    private LazyTableModel<Room> tableModel;
 
     // Form fields
     private JComboBox<Resort> resortCombo;
@@ -32,13 +35,16 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
     private JButton clearButton;
 
     private Room selectedRoom = null;
+    private final UiTask.Slot resortsLoad = new UiTask.Slot();
 
     public RoomManagementPanel() {
         this.roomDAO = new RoomDAO();
         this.resortDAO = new ResortDAO();
         initializeUI();
-        loadRooms();
-        loadResorts();
+        UiTask.whenFirstShown(this, () -> {
+            loadRooms();
+            loadResorts();
+        });
     }
 
     private void initializeUI() {
@@ -66,16 +72,39 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
         panel.setBorder(BorderFactory.createTitledBorder("Rooms"));
         panel.setBackground(Color.WHITE);
 
-        String[] columns = { "ID", "Resort", "Type", "Beds", "Price/Night", "Available" };
-        tableModel = new DefaultTableModel(columns, 0) {
+        String[] columns = { "ID", "Resort", "Type", "Beds", "Price/Night", "Units" };
+        tableModel = new LazyTableModel<>(columns, new LazyTableModel.RowSource<Room>() {
+            @Override
+            public int count() {
+                return roomDAO.count();
+            }
+
+            @Override
+            public List<Room> fetch(int offset, int limit) {
+                return roomDAO.findRange(offset, limit);
+            }
+        }) {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            protected Object getColumnValue(Room r, int column) {
+                switch (column) {
+                    case 0:
+                        return r.getId();
+                    case 1:
+                        return r.getResortName();
+                    case 2:
+                        return r.getRoomType();
+                    case 3:
+                        return r.getBeds();
+                    case 4:
+                        return String.format("$%.2f", r.getPricePerNight());
+                    default:
+                        return r.getAvailableCount();
+                }
             }
         };
 
         roomTable = new JTable(tableModel);
-        roomTable.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        roomTable.setFont(UITheme.getFont(Font.PLAIN, 13));
         roomTable.setRowHeight(28);
         roomTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
@@ -121,7 +150,7 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         resortCombo = new JComboBox<>();
-        resortCombo.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        resortCombo.setFont(UITheme.getFont(Font.PLAIN, 13));
         formFields.add(resortCombo, gbc);
 
         // Room Type
@@ -132,7 +161,7 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         roomTypeCombo = new JComboBox<>(new String[] { "Eco", "Premium", "Business", "Luxury" });
-        roomTypeCombo.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        roomTypeCombo.setFont(UITheme.getFont(Font.PLAIN, 13));
         formFields.add(roomTypeCombo, gbc);
 
         // Beds
@@ -143,7 +172,7 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         bedsSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 10, 1));
-        bedsSpinner.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        bedsSpinner.setFont(UITheme.getFont(Font.PLAIN, 13));
         formFields.add(bedsSpinner, gbc);
 
         // Price
@@ -154,18 +183,18 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         priceSpinner = new JSpinner(new SpinnerNumberModel(100.0, 1.0, 10000.0, 10.0));
-        priceSpinner.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        priceSpinner.setFont(UITheme.getFont(Font.PLAIN, 13));
         formFields.add(priceSpinner, gbc);
 
-        // Available Count
+        // Units of this room type
         gbc.gridx = 0;
         gbc.gridy = 4;
         gbc.weightx = 0;
-        formFields.add(createLabel("Available Rooms:"), gbc);
+        formFields.add(createLabel("Units:"), gbc);
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         availableSpinner = new JSpinner(new SpinnerNumberModel(10, 0, 1000, 1));
-        availableSpinner.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        availableSpinner.setFont(UITheme.getFont(Font.PLAIN, 13));
         formFields.add(availableSpinner, gbc);
 
         panel.add(formFields, BorderLayout.CENTER);
@@ -193,7 +222,7 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
 
     private JButton createStyledButton(String text, Color color) {
         JButton button = new JButton(text);
-        button.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+        button.setFont(UITheme.getFont(Font.BOLD, 12));
         button.setBackground(color);
         button.setForeground(Color.WHITE);
         button.setFocusPainted(false);
@@ -204,31 +233,21 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
 
     private JLabel createLabel(String text) {
         JLabel label = new JLabel(text);
-        label.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        label.setFont(UITheme.getFont(Font.PLAIN, 13));
         return label;
     }
 
     private void loadRooms() {
-        tableModel.setRowCount(0);
-        List<Room> rooms = roomDAO.getAll();
-        for (Room r : rooms) {
-            tableModel.addRow(new Object[] {
-                    r.getId(),
-                    r.getResortName(),
-                    r.getRoomType(),
-                    r.getBeds(),
-                    String.format("$%.2f", r.getPricePerNight()),
-                    r.getAvailableCount()
-            });
-        }
+        tableModel.reload();
     }
 
     private void loadResorts() {
-        resortCombo.removeAllItems();
-        List<Resort> resorts = resortDAO.getAll();
-        for (Resort r : resorts) {
-            resortCombo.addItem(r);
-        }
+        resortsLoad.submit(resortDAO::getAll, resorts -> {
+            resortCombo.removeAllItems();
+            for (Resort r : resorts) {
+                resortCombo.addItem(r);
+            }
+        });
     }
 
     private void loadSelectedRoom() {
@@ -236,8 +255,8 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
         if (row < 0)
             return;
 
-        int id = (int) tableModel.getValueAt(row, 0);
-        selectedRoom = roomDAO.findById(id);
+        // The row is already loaded; no need to query it again
+        selectedRoom = tableModel.getRow(row);
 
         if (selectedRoom != null) {
             // Select resort
@@ -267,28 +286,33 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
         double price = (double) priceSpinner.getValue();
         int available = (int) availableSpinner.getValue();
 
-        boolean success;
+        Room room;
         if (selectedRoom == null) {
             // Create new
-            Room room = new Room(resort.getId(), roomType, beds, price, available);
-            success = roomDAO.create(room);
+            room = new Room(resort.getId(), roomType, beds, price, available);
         } else {
             // Update existing
-            selectedRoom.setResortId(resort.getId());
-            selectedRoom.setRoomType(roomType);
-            selectedRoom.setBeds(beds);
-            selectedRoom.setPricePerNight(price);
-            selectedRoom.setAvailableCount(available);
-            success = roomDAO.update(selectedRoom);
+            room = selectedRoom;
+            room.setResortId(resort.getId());
+            room.setRoomType(roomType);
+            room.setBeds(beds);
+            room.setPricePerNight(price);
+            room.setAvailableCount(available);
         }
-
-        if (success) {
-            JOptionPane.showMessageDialog(this, "Room saved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            clearForm();
+        boolean isNew = selectedRoom == null;
+
+        UiTask.run(() -> isNew ? roomDAO.create(room) : roomDAO.update(room), success -> {
+            if (success) {
+                CatalogCache.getInstance().invalidateRooms();
+                AvailabilitySearch.getInstance().invalidate();
+                JOptionPane.showMessageDialog(this, "Room saved successfully!", "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
+                clearForm();
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to save room.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
             loadRooms();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to save room.", "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void deleteRoom() {
@@ -304,13 +328,19 @@ public class RoomManagementPanel extends JPanel implements AdminDashboardFrame.R
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (roomDAO.delete(selectedRoom.getId())) {
-                JOptionPane.showMessageDialog(this, "Room deleted.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                clearForm();
-                loadRooms();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete room.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            int roomId = selectedRoom.getId();
+            UiTask.run(() -> roomDAO.delete(roomId), deleted -> {
+                if (deleted) {
+                    CatalogCache.getInstance().invalidateRooms();
+                    AvailabilitySearch.getInstance().invalidate();
+                    InventoryService.getInstance().invalidate(roomId);
+                    JOptionPane.showMessageDialog(this, "Room deleted.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    clearForm();
+                    loadRooms();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to delete room.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
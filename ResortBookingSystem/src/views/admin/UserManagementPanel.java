@@ -4,10 +4,10 @@ import dao.UserDAO;
 import models.User;
 import utils.PasswordUtils;
 import utils.UITheme;
+import utils.UiTask;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
 
@@ -17,7 +17,7 @@ import java.util.List;
 public class UserManagementPanel extends JPanel implements AdminDashboardFrame.RefreshablePanel {
     private UserDAO userDAO;
     private JTable userTable;
-    private DefaultTableModel tableModel;
+    private LazyTableModel<User> tableModel;
 
     // Form fields for creating new user
     private JTextField usernameField;
@@ -29,7 +29,7 @@ public class UserManagementPanel extends JPanel implements AdminDashboardFrame.R
     public UserManagementPanel() {
         this.userDAO = new UserDAO();
         initializeUI();
-        loadUsers();
+        UiTask.whenFirstShown(this, this::loadUsers);
     }
 
     private void initializeUI() {
@@ -58,15 +58,38 @@ public class UserManagementPanel extends JPanel implements AdminDashboardFrame.R
         panel.setBackground(Color.WHITE);
 
         String[] columns = { "ID", "Username", "Email", "Phone", "Role", "Created" };
-        tableModel = new DefaultTableModel(columns, 0) {
+        tableModel = new LazyTableModel<>(columns, new LazyTableModel.RowSource<User>() {
+            @Override
+            public int count() {
+                return userDAO.count();
+            }
+
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            public List<User> fetch(int offset, int limit) {
+                return userDAO.findRange(offset, limit);
+            }
+        }) {
+            @Override
+            protected Object getColumnValue(User u, int column) {
+                switch (column) {
+                    case 0:
+                        return u.getId();
+                    case 1:
+                        return u.getUsername();
+                    case 2:
+                        return u.getEmail() != null ? u.getEmail() : "-";
+                    case 3:
+                        return u.getPhone() != null ? u.getPhone() : "-";
+                    case 4:
+                        return u.getRole().name();
+                    default:
+                        return u.getCreatedAt() != null ? u.getCreatedAt().toString().substring(0, 10) : "-";
+                }
             }
         };
 
         userTable = new JTable(tableModel);
-        userTable.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        userTable.setFont(UITheme.getFont(Font.PLAIN, 13));
         userTable.setRowHeight(28);
         userTable.getColumnModel().getColumn(0).setPreferredWidth(40);
         userTable.getColumnModel().getColumn(1).setPreferredWidth(100);
@@ -167,7 +190,7 @@ public class UserManagementPanel extends JPanel implements AdminDashboardFrame.R
         buttonPanel.setOpaque(false);
 
         JButton createBtn = new JButton("Create User");
-        createBtn.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+        createBtn.setFont(UITheme.getFont(Font.BOLD, 12));
         createBtn.setBackground(new Color(46, 204, 113));
         createBtn.setForeground(Color.WHITE);
         createBtn.setFocusPainted(false);
@@ -176,7 +199,7 @@ public class UserManagementPanel extends JPanel implements AdminDashboardFrame.R
         createBtn.addActionListener(e -> createUser());
 
         JButton clearBtn = new JButton("Clear");
-        clearBtn.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+        clearBtn.setFont(UITheme.getFont(Font.BOLD, 12));
         clearBtn.setBackground(new Color(149, 165, 166));
         clearBtn.setForeground(Color.WHITE);
         clearBtn.setFocusPainted(false);
@@ -192,19 +215,7 @@ public class UserManagementPanel extends JPanel implements AdminDashboardFrame.R
     }
 
     private void loadUsers() {
-        tableModel.setRowCount(0);
-        List<User> users = userDAO.getAllUsers();
-
-        for (User u : users) {
-            tableModel.addRow(new Object[] {
-                    u.getId(),
-                    u.getUsername(),
-                    u.getEmail() != null ? u.getEmail() : "-",
-                    u.getPhone() != null ? u.getPhone() : "-",
-                    u.getRole().name(),
-                    u.getCreatedAt() != null ? u.getCreatedAt().toString().substring(0, 10) : "-"
-            });
-        }
+        tableModel.reload();
     }
 
     private void createUser() {
@@ -227,29 +238,31 @@ public class UserManagementPanel extends JPanel implements AdminDashboardFrame.R
             return;
         }
 
-        if (userDAO.usernameExists(username)) {
-            JOptionPane.showMessageDialog(this, "Username already exists.",
-                    "Validation Error", JOptionPane.WARNING_MESSAGE);
-            return;
-        }
-
         // Create user
         User user = new User();
         user.setUsername(username);
-        user.setPasswordHash(PasswordUtils.hashPassword(password));
         user.setEmail(email.isEmpty() ? null : email);
         user.setPhone(phone.isEmpty() ? null : phone);
         user.setRole(User.Role.valueOf(role));
 
-        if (userDAO.create(user)) {
-            JOptionPane.showMessageDialog(this, "User created successfully!",
-                    "Success", JOptionPane.INFORMATION_MESSAGE);
-            clearForm();
-            loadUsers();
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to create user.",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        // Returns null on success, otherwise the message to show
+        UiTask.run(() -> {
+            if (userDAO.usernameExists(username)) {
+                return "Username already exists.";
+            }
+            user.setPasswordHash(PasswordUtils.hashPassword(password));
+            return userDAO.create(user) ? null : "Failed to create user.";
+        }, error -> {
+            if (error == null) {
+                JOptionPane.showMessageDialog(this, "User created successfully!",
+                        "Success", JOptionPane.INFORMATION_MESSAGE);
+                clearForm();
+                loadUsers();
+            } else {
+                JOptionPane.showMessageDialog(this, error,
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     private void deleteSelectedUser() {
@@ -260,8 +273,12 @@ public class UserManagementPanel extends JPanel implements AdminDashboardFrame.R
             return;
         }
 
-        int userId = (int) tableModel.getValueAt(selectedRow, 0);
-        String username = (String) tableModel.getValueAt(selectedRow, 1);
+        User selected = tableModel.getRow(selectedRow);
+        if (selected == null) {
+            return;
+        }
+        int userId = selected.getId();
+        String username = selected.getUsername();
 
         // Prevent deleting the admin user
         if ("admin".equals(username)) {
@@ -277,14 +294,16 @@ public class UserManagementPanel extends JPanel implements AdminDashboardFrame.R
                 JOptionPane.WARNING_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (userDAO.delete(userId)) {
-                JOptionPane.showMessageDialog(this, "User deleted.",
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadUsers();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to delete user.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            UiTask.run(() -> userDAO.delete(userId), deleted -> {
+                if (deleted) {
+                    JOptionPane.showMessageDialog(this, "User deleted.",
+                            "Success", JOptionPane.INFORMATION_MESSAGE);
+                    loadUsers();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to delete user.",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -1,25 +1,27 @@
 package views.customer;
 
-import dao.*;
 import models.*;
+import services.BookingResult;
+import services.BookingService;
+import services.Quote;
+import services.WaitlistService;
 import utils.UITheme;
+import utils.UiTask;
 import views.MainFrame;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 
 /**
  * Panel for reviewing booking and generating invoice.
 */
 public class BookingSummaryPanel extends JPanel {
     private MainFrame mainFrame;
-    private BookingDAO bookingDAO;
-    private InvoiceDAO invoiceDAO;
-    private RoomDAO roomDAO;
+    private BookingService bookingService;
 
     private Resort selectedResort;
     private Room selectedRoom;
@@ -27,15 +29,17 @@ public class BookingSummaryPanel extends JPanel {
     private LocalDate checkInDate;
     private LocalDate checkOutDate;
     private int numGuests;
+    private Quote quote;
+    private final UiTask.Slot quoteLoad = new UiTask.Slot();
 
     private JPanel summaryPanel;
     private JTextArea invoiceArea;
+    private JButton confirmBtn;
+    private JButton retryBtn;
 
     public BookingSummaryPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
-        this.bookingDAO = new BookingDAO();
-        this.invoiceDAO = new InvoiceDAO();
-        this.roomDAO = new RoomDAO();
+        this.bookingService = BookingService.getInstance();
         initializeUI();
     }
 
@@ -49,11 +53,11 @@ public class BookingSummaryPanel extends JPanel {
         headerPanel.setOpaque(false);
 
         JLabel titleLabel = new JLabel("Review Your Booking");
-        titleLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 22));
+        titleLabel.setFont(UITheme.getFont(Font.BOLD, 22));
         titleLabel.setForeground(new Color(44, 62, 80));
 
         JButton backBtn = new JButton("← Back to Cuisine");
-        backBtn.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 12));
+        backBtn.setFont(UITheme.getFont(Font.PLAIN, 12));
         backBtn.addActionListener(e -> mainFrame.showPanel("CUISINE"));
 
         headerPanel.add(titleLabel, BorderLayout.WEST);
@@ -81,18 +85,25 @@ public class BookingSummaryPanel extends JPanel {
         bottomPanel.setOpaque(false);
 
         JButton cancelBtn = new JButton("Cancel");
-        cancelBtn.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 14));
+        cancelBtn.setFont(UITheme.getFont(Font.PLAIN, 14));
         cancelBtn.addActionListener(e -> mainFrame.showPanel("BROWSE"));
 
-        JButton confirmBtn = new JButton("Confirm & Generate Invoice");
-        confirmBtn.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 14));
+        confirmBtn = new JButton("Confirm & Generate Invoice");
+        confirmBtn.setFont(UITheme.getFont(Font.BOLD, 14));
         confirmBtn.setBackground(new Color(46, 204, 113));
         confirmBtn.setForeground(Color.WHITE);
         confirmBtn.setFocusPainted(false);
         confirmBtn.setBorderPainted(false);
         confirmBtn.addActionListener(e -> confirmBooking());
 
+        // Only shown when the price could not be worked out
+        retryBtn = new JButton("Retry");
+        retryBtn.setFont(UITheme.getFont(Font.PLAIN, 14));
+        retryBtn.setVisible(false);
+        retryBtn.addActionListener(e -> updateSummary());
+
         bottomPanel.add(cancelBtn);
+        bottomPanel.add(retryBtn);
         bottomPanel.add(confirmBtn);
         add(bottomPanel, BorderLayout.SOUTH);
     }
@@ -110,12 +121,31 @@ public class BookingSummaryPanel extends JPanel {
     }
 
     private void updateSummary() {
-        long nights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
-        double roomCharges = selectedRoom.getPricePerNight() * nights;
-        double foodCharges = selectedFood != null ? selectedFood.getPricePerDay() * nights : 0;
-        double subtotal = roomCharges + foodCharges;
-        double taxes = subtotal * 0.10; // 10% tax
-        double total = subtotal + taxes;
+        // Pricing may read rules and inventory from the database; nothing can be booked until it is back
+        quote = null;
+        confirmBtn.setEnabled(false);
+        retryBtn.setVisible(false);
+        invoiceArea.setText("Calculating price...");
+        quoteLoad.submit(() -> bookingService.quote(selectedRoom, selectedFood, checkInDate, checkOutDate, numGuests),
+                loaded -> {
+                    quote = loaded;
+                    confirmBtn.setEnabled(true);
+                    showSummary();
+                }, error -> {
+                    error.printStackTrace();
+                    invoiceArea.setText("The price for this stay could not be calculated.\n\n"
+                            + "Press Retry to try again, or Cancel to go back.");
+                    retryBtn.setVisible(true);
+                });
+    }
+
+    private void showSummary() {
+        long nights = quote.getNights();
+        double roomCharges = quote.getRoomCharges();
+        double foodCharges = quote.getFoodCharges();
+        double subtotal = quote.getSubtotal();
+        double taxes = quote.getTaxes();
+        double total = quote.getTotal();
 
         DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -153,9 +183,13 @@ public class BookingSummaryPanel extends JPanel {
         sb.append(padLeft("CHARGES", WIDTH)).append("\n");
         sb.append(divider).append("\n");
 
-        // Room charges
-        String roomLine = String.format("  Room: $%.2f x %d nights", selectedRoom.getPricePerNight(), nights);
-        sb.append(formatChargeLine(roomLine, roomCharges, WIDTH)).append("\n");
+        // Room charges; nightly rates vary with season, weekday and demand
+        double roomRates = roomCharges + quote.getDiscount();
+        String roomLine = String.format("  Room: %d nights (avg $%.2f)", nights, nights > 0 ? roomRates / nights : 0);
+        sb.append(formatChargeLine(roomLine, roomRates, WIDTH)).append("\n");
+        if (quote.getDiscount() > 0) {
+            sb.append(formatChargeLine("  Length-of-stay discount:", -quote.getDiscount(), WIDTH)).append("\n");
+        }
 
         // Meals
         if (selectedFood != null) {
@@ -165,7 +199,8 @@ public class BookingSummaryPanel extends JPanel {
 
         sb.append(divider).append("\n");
         sb.append(formatChargeLine("  Subtotal:", subtotal, WIDTH)).append("\n");
-        sb.append(formatChargeLine("  Taxes (10%):", taxes, WIDTH)).append("\n");
+        sb.append(formatChargeLine("  Taxes (" + new DecimalFormat("0.##").format(quote.getTaxRate() * 100) + "%):", taxes, WIDTH))
+                .append("\n");
         sb.append(dblBorder).append("\n");
         sb.append(formatChargeLine("  TOTAL AMOUNT:", total, WIDTH)).append("\n");
         sb.append(dblBorder).append("\n");
@@ -205,62 +240,73 @@ public class BookingSummaryPanel extends JPanel {
         if (confirm != JOptionPane.YES_OPTION)
             return;
 
-        try {
-            // Create booking
-            Booking booking = new Booking();
-            booking.setUserId(mainFrame.getCurrentUser().getId());
-            booking.setResortId(selectedResort.getId());
-            booking.setRoomId(selectedRoom.getId());
-            if (selectedFood != null) {
-                booking.setFoodOptionId(selectedFood.getId());
-            }
-            booking.setCheckInDate(checkInDate);
-            booking.setCheckOutDate(checkOutDate);
-            booking.setNumGuests(numGuests);
-            booking.setStatus("confirmed");
+        // Inventory, booking and invoice are committed together or not at all.
+        // The transaction may wait on another writer, so it runs in the background.
+        confirmBtn.setEnabled(false);
+        int userId = mainFrame.getCurrentUser().getId();
+        Quote bookedQuote = quote;
+        UiTask.run(() -> bookingService.book(userId, bookedQuote), result -> {
+            confirmBtn.setEnabled(true);
+            showResult(result, bookedQuote);
+        }, error -> {
+            confirmBtn.setEnabled(true);
+            showError(error.getMessage());
+            error.printStackTrace();
+        });
+    }
 
-            if (!bookingDAO.create(booking)) {
-                throw new Exception("Failed to create booking");
-            }
+    private void showResult(BookingResult result, Quote bookedQuote) {
+        switch (result.getStatus()) {
+            case CONFIRMED:
+                JOptionPane.showMessageDialog(this,
+                        "Booking confirmed!\nInvoice Number: " + result.getInvoice().getInvoiceNumber(),
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
+                mainFrame.showPanel("BROWSE");
+                break;
+            case SOLD_OUT:
+                int join = JOptionPane.showConfirmDialog(this,
+                        "Sorry, this room is no longer available for the selected dates.\n"
+                                + "Join the waitlist? If a room frees up it is booked for you at the price of the day\n"
+                                + "and shows up under My Bookings.",
+                        "Sold Out",
+                        JOptionPane.YES_NO_OPTION,
+                        JOptionPane.WARNING_MESSAGE);
+                if (join == JOptionPane.YES_OPTION) {
+                    joinWaitlist(bookedQuote);
+                }
+                // Back to room selection with fresh availability for the same dates
+                mainFrame.getRoomSelectionPanel().setSelectedResort(selectedResort);
+                mainFrame.showPanel("ROOMS");
+                break;
+            case CONFLICT:
+                JOptionPane.showMessageDialog(this,
+                        "Another booking was being saved at the same time. Please try again.",
+                        "Booking Not Saved",
+                        JOptionPane.WARNING_MESSAGE);
+                break;
+            default:
+                showError(result.getMessage());
+                break;
+        }
+    }
 
-            // Decrease room availability
-            roomDAO.updateAvailability(selectedRoom.getId(), -1);
-
-            // Calculate charges
-            long nights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
-            double roomCharges = selectedRoom.getPricePerNight() * nights;
-            double foodCharges = selectedFood != null ? selectedFood.getPricePerDay() * nights : 0;
-            double subtotal = roomCharges + foodCharges;
-            double taxes = subtotal * 0.10;
-            double total = subtotal + taxes;
-
-            // Create invoice
-            Invoice invoice = new Invoice();
-            invoice.setBookingId(booking.getId());
-            invoice.setUserId(mainFrame.getCurrentUser().getId());
-            invoice.setInvoiceNumber(Invoice.generateInvoiceNumber());
-            invoice.setRoomCharges(roomCharges);
-            invoice.setFoodCharges(foodCharges);
-            invoice.setTaxes(taxes);
-            invoice.setTotalAmount(total);
-
-            if (!invoiceDAO.create(invoice)) {
-                throw new Exception("Failed to create invoice");
+    private void joinWaitlist(Quote waitlistedQuote) {
+        int userId = mainFrame.getCurrentUser().getId();
+        UiTask.run(() -> WaitlistService.getInstance().join(userId, waitlistedQuote, 0), entry -> {
+            if (entry != null) {
+                JOptionPane.showMessageDialog(this, "You are on the waitlist for this stay.", "Waitlist",
+                        JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                showError("Could not join the waitlist.");
             }
+        });
+    }
 
-            JOptionPane.showMessageDialog(this,
-                    "Booking confirmed!\nInvoice Number: " + invoice.getInvoiceNumber(),
-                    "Success",
-                    JOptionPane.INFORMATION_MESSAGE);
-
-            mainFrame.showPanel("BROWSE");
-
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error creating booking: " + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+    private void showError(String message) {
+        JOptionPane.showMessageDialog(this,
+                "Error creating booking: " + message,
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
     }
 }
@@ -1,10 +1,11 @@
 package views.customer;
 
-import dao.FoodDAO;
 import models.FoodOption;
 import models.Resort;
 import models.Room;
+import services.CatalogCache;
 import utils.UITheme;
+import utils.UiTask;
 import views.MainFrame;
 
 import javax.swing.*;
@@ -18,7 +19,7 @@ import java.util.List;
  */
 public class CuisineSelectionPanel extends JPanel {
     private MainFrame mainFrame;
-    private FoodDAO foodDAO;
+    private CatalogCache catalog;
 
     private Resort selectedResort;
     private Room selectedRoom;
@@ -29,12 +30,13 @@ public class CuisineSelectionPanel extends JPanel {
 
     private JLabel headerLabel;
     private JPanel foodCardsPanel;
+    private final UiTask.Slot optionsLoad = new UiTask.Slot();
     private JButton nextButton;
     private JButton skipButton;
 
     public CuisineSelectionPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
-        this.foodDAO = new FoodDAO();
+        this.catalog = CatalogCache.getInstance();
         initializeUI();
     }
 
@@ -48,11 +50,11 @@ public class CuisineSelectionPanel extends JPanel {
         headerPanel.setOpaque(false);
 
         headerLabel = new JLabel("Select Your Cuisine & Meal Plan");
-        headerLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 22));
+        headerLabel.setFont(UITheme.getFont(Font.BOLD, 22));
         headerLabel.setForeground(new Color(44, 62, 80));
 
         JButton backBtn = new JButton("← Back to Rooms");
-        backBtn.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 12));
+        backBtn.setFont(UITheme.getFont(Font.PLAIN, 12));
         backBtn.addActionListener(e -> mainFrame.showPanel("ROOMS"));
 
         headerPanel.add(headerLabel, BorderLayout.WEST);
@@ -74,14 +76,14 @@ public class CuisineSelectionPanel extends JPanel {
         bottomPanel.setOpaque(false);
 
         skipButton = new JButton("Skip Meal Plan");
-        skipButton.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 14));
+        skipButton.setFont(UITheme.getFont(Font.PLAIN, 14));
         skipButton.addActionListener(e -> {
             selectedFoodOption = null;
             proceedToSummary();
         });
 
         nextButton = new JButton("Next: Review Booking →");
-        nextButton.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 14));
+        nextButton.setFont(UITheme.getFont(Font.BOLD, 14));
         nextButton.setBackground(new Color(52, 152, 219));
         nextButton.setForeground(Color.WHITE);
         nextButton.setFocusPainted(false);
@@ -109,12 +111,19 @@ public class CuisineSelectionPanel extends JPanel {
 
     private void loadFoodOptions() {
         foodCardsPanel.removeAll();
+        foodCardsPanel.add(UiTask.placeholder("Loading meal plans..."));
+        foodCardsPanel.revalidate();
+        foodCardsPanel.repaint();
 
-        List<FoodOption> options = foodDAO.getAll();
+        optionsLoad.submit(catalog::getFoodOptions, this::showFoodOptions);
+    }
+
+    private void showFoodOptions(List<FoodOption> options) {
+        foodCardsPanel.removeAll();
 
         if (options.isEmpty()) {
             JLabel noDataLabel = new JLabel("No meal plans available.");
-            noDataLabel.setFont(new Font(UITheme.getFontFamily(), Font.ITALIC, 14));
+            noDataLabel.setFont(UITheme.getFont(Font.ITALIC, 14));
             foodCardsPanel.add(noDataLabel);
         } else {
             ButtonGroup foodGroup = new ButtonGroup();
@@ -148,11 +157,11 @@ public class CuisineSelectionPanel extends JPanel {
         detailsPanel.setOpaque(false);
 
         JLabel typeLabel = new JLabel(food.getCuisineType() + " Cuisine");
-        typeLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 16));
+        typeLabel.setFont(UITheme.getFont(Font.BOLD, 16));
         typeLabel.setForeground(new Color(44, 62, 80));
 
         JLabel planLabel = new JLabel(food.getMealPlan());
-        planLabel.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        planLabel.setFont(UITheme.getFont(Font.PLAIN, 13));
         planLabel.setForeground(new Color(127, 140, 141));
 
         detailsPanel.add(typeLabel);
@@ -161,7 +170,7 @@ public class CuisineSelectionPanel extends JPanel {
 
         // Price
         JLabel priceLabel = new JLabel("$" + String.format("%.0f", food.getPricePerDay()) + "/day");
-        priceLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 18));
+        priceLabel.setFont(UITheme.getFont(Font.BOLD, 18));
         priceLabel.setForeground(new Color(230, 126, 34));
         card.add(priceLabel, BorderLayout.EAST);
 
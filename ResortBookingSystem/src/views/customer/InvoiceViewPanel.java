@@ -3,6 +3,7 @@ package views.customer;
 import dao.InvoiceDAO;
 import models.Invoice;
 import utils.UITheme;
+import utils.UiTask;
 import views.MainFrame;
 
 import javax.swing.*;
@@ -10,6 +11,7 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,6 +23,9 @@ public class InvoiceViewPanel extends JPanel {
     private JTable invoiceTable;
     private DefaultTableModel tableModel;
     private JTextArea invoiceDetailArea;
+    // Invoices behind the table rows, in the same order
+    private List<Invoice> invoices = new ArrayList<>();
+    private final UiTask.Slot invoicesLoad = new UiTask.Slot();
 
     public InvoiceViewPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
@@ -38,7 +43,7 @@ public class InvoiceViewPanel extends JPanel {
         headerPanel.setOpaque(false);
 
         JLabel titleLabel = new JLabel("My Invoices");
-        titleLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 22));
+        titleLabel.setFont(UITheme.getFont(Font.BOLD, 22));
         titleLabel.setForeground(new Color(44, 62, 80));
 
         JButton refreshBtn = new JButton("Refresh");
@@ -61,7 +66,7 @@ public class InvoiceViewPanel extends JPanel {
             }
         };
         invoiceTable = new JTable(tableModel);
-        invoiceTable.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        invoiceTable.setFont(UITheme.getFont(Font.PLAIN, 13));
         invoiceTable.setRowHeight(30);
         invoiceTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
@@ -98,10 +103,17 @@ public class InvoiceViewPanel extends JPanel {
     }
 
     public void loadInvoices() {
+        invoices = new ArrayList<>();
         tableModel.setRowCount(0);
-        invoiceDetailArea.setText("");
+        invoiceDetailArea.setText("Loading invoices...");
+
+        int userId = mainFrame.getCurrentUser().getId();
+        invoicesLoad.submit(() -> invoiceDAO.findByUser(userId), this::showInvoices);
+    }
 
-        List<Invoice> invoices = invoiceDAO.findByUser(mainFrame.getCurrentUser().getId());
+    private void showInvoices(List<Invoice> loaded) {
+        invoices = loaded;
+        invoiceDetailArea.setText("");
         DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
         for (Invoice inv : invoices) {
@@ -120,18 +132,11 @@ public class InvoiceViewPanel extends JPanel {
 
     private void showInvoiceDetails() {
         int selectedRow = invoiceTable.getSelectedRow();
-        if (selectedRow < 0)
+        if (selectedRow < 0 || selectedRow >= invoices.size())
             return;
 
-        String invoiceNumber = (String) tableModel.getValueAt(selectedRow, 0);
-        List<Invoice> invoices = invoiceDAO.findByUser(mainFrame.getCurrentUser().getId());
-
-        for (Invoice inv : invoices) {
-            if (inv.getInvoiceNumber().equals(invoiceNumber)) {
-                displayInvoice(inv);
-                break;
-            }
-        }
+        // Rows mirror the loaded list, so no need to query the invoices again
+        displayInvoice(invoices.get(selectedRow));
     }
 
     private void displayInvoice(Invoice inv) {
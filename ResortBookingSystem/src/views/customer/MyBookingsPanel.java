@@ -3,10 +3,12 @@ package views.customer;
 import dao.BookingDAO;
 import models.Booking;
 import utils.UITheme;
+import utils.UiTask;
 import views.MainFrame;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.border.TitledBorder;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
@@ -20,6 +22,8 @@ public class MyBookingsPanel extends JPanel {
     private BookingDAO bookingDAO;
     private JTable bookingsTable;
     private DefaultTableModel tableModel;
+    private JScrollPane scrollPane;
+    private final UiTask.Slot bookingsLoad = new UiTask.Slot();
 
     public MyBookingsPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
@@ -37,7 +41,7 @@ public class MyBookingsPanel extends JPanel {
         headerPanel.setOpaque(false);
 
         JLabel titleLabel = new JLabel("My Bookings");
-        titleLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 22));
+        titleLabel.setFont(UITheme.getFont(Font.BOLD, 22));
         titleLabel.setForeground(new Color(44, 62, 80));
 
         JButton refreshBtn = new JButton("Refresh");
@@ -56,10 +60,10 @@ public class MyBookingsPanel extends JPanel {
             }
         };
         bookingsTable = new JTable(tableModel);
-        bookingsTable.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        bookingsTable.setFont(UITheme.getFont(Font.PLAIN, 13));
         bookingsTable.setRowHeight(30);
 
-        JScrollPane scrollPane = new JScrollPane(bookingsTable);
+        scrollPane = new JScrollPane(bookingsTable);
         scrollPane.setBorder(BorderFactory.createTitledBorder("Booking History"));
         add(scrollPane, BorderLayout.CENTER);
 
@@ -76,8 +80,14 @@ public class MyBookingsPanel extends JPanel {
 
     public void loadBookings() {
         tableModel.setRowCount(0);
+        setHistoryTitle("Booking History (loading...)");
 
-        List<Booking> bookings = bookingDAO.findByUser(mainFrame.getCurrentUser().getId());
+        int userId = mainFrame.getCurrentUser().getId();
+        bookingsLoad.submit(() -> bookingDAO.findByUser(userId), this::showBookings);
+    }
+
+    private void showBookings(List<Booking> bookings) {
+        setHistoryTitle("Booking History");
         DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
         for (Booking b : bookings) {
@@ -96,4 +106,9 @@ public class MyBookingsPanel extends JPanel {
             // Show message in table area
         }
     }
+
+    private void setHistoryTitle(String title) {
+        ((TitledBorder) scrollPane.getBorder()).setTitle(title);
+        scrollPane.repaint();
+    }
 }
@@ -2,28 +2,38 @@ package views.customer;
 
 import dao.ResortDAO;
 import models.Resort;
+import services.CatalogCache;
+import utils.ImageCache;
 import utils.UITheme;
+import utils.UiTask;
 import views.MainFrame;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.io.File;
 import java.util.List;
 
 /**
  * Panel for browsing and selecting resorts.
  */
 public class ResortBrowsePanel extends JPanel {
+    // Matches shown for a search; refining the words is quicker than scrolling further
+    private static final int SEARCH_LIMIT = 100;
+    private static final int SEARCH_DELAY_MILLIS = 250;
+
     private MainFrame mainFrame;
+    private CatalogCache catalog;
     private ResortDAO resortDAO;
+    private JTextField searchField;
     private JPanel resortCardsPanel;
+    private final UiTask.Slot resortsLoad = new UiTask.Slot();
 
     public ResortBrowsePanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
+        this.catalog = CatalogCache.getInstance();
         this.resortDAO = new ResortDAO();
         initializeUI();
-        loadResorts();
+        UiTask.whenFirstShown(this, this::loadResorts);
     }
 
     private void initializeUI() {
@@ -36,15 +46,31 @@ public class ResortBrowsePanel extends JPanel {
         headerPanel.setOpaque(false);
 
         JLabel titleLabel = new JLabel("Select Your Dream Resort");
-        titleLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 22));
+        titleLabel.setFont(UITheme.getFont(Font.BOLD, 22));
         titleLabel.setForeground(new Color(44, 62, 80));
 
         JButton refreshBtn = new JButton("Refresh");
-        refreshBtn.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 12));
-        refreshBtn.addActionListener(e -> loadResorts());
+        refreshBtn.setFont(UITheme.getFont(Font.PLAIN, 12));
+        refreshBtn.addActionListener(e -> {
+            catalog.invalidateResorts();
+            loadResorts();
+        });
+
+        searchField = new JTextField(20);
+        searchField.setFont(UITheme.getFont(Font.PLAIN, 13));
+        searchField.setToolTipText("Search by name, location or description");
+        UiTask.onTextChanged(searchField, SEARCH_DELAY_MILLIS, this::loadResorts);
+
+        JPanel actionsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
+        actionsPanel.setOpaque(false);
+        JLabel searchLabel = new JLabel("Search:");
+        searchLabel.setFont(UITheme.getFont(Font.PLAIN, 13));
+        actionsPanel.add(searchLabel);
+        actionsPanel.add(searchField);
+        actionsPanel.add(refreshBtn);
 
         headerPanel.add(titleLabel, BorderLayout.WEST);
-        headerPanel.add(refreshBtn, BorderLayout.EAST);
+        headerPanel.add(actionsPanel, BorderLayout.EAST);
         add(headerPanel, BorderLayout.NORTH);
 
         // Resort cards container
@@ -60,12 +86,27 @@ public class ResortBrowsePanel extends JPanel {
 
     public void loadResorts() {
         resortCardsPanel.removeAll();
+        resortCardsPanel.add(UiTask.placeholder("Loading resorts..."));
+        resortCardsPanel.revalidate();
+        resortCardsPanel.repaint();
+
+        String query = searchField.getText().trim();
+        if (query.isEmpty()) {
+            resortsLoad.submit(catalog::getResorts, this::showResorts);
+        } else {
+            resortsLoad.submit(() -> resortDAO.search(query, SEARCH_LIMIT), this::showResorts);
+        }
+    }
 
-        List<Resort> resorts = resortDAO.getAll();
+    private void showResorts(List<Resort> resorts) {
+        resortCardsPanel.removeAll();
 
         if (resorts.isEmpty()) {
-            JLabel noDataLabel = new JLabel("No resorts available. Please contact admin.");
-            noDataLabel.setFont(new Font(UITheme.getFontFamily(), Font.ITALIC, 16));
+            String message = searchField.getText().isBlank()
+                    ? "No resorts available. Please contact admin."
+                    : "No resorts match \"" + searchField.getText().trim() + "\".";
+            JLabel noDataLabel = new JLabel(message);
+            noDataLabel.setFont(UITheme.getFont(Font.ITALIC, 16));
             noDataLabel.setForeground(new Color(149, 165, 166));
             resortCardsPanel.add(noDataLabel);
         } else {
@@ -93,14 +134,10 @@ public class ResortBrowsePanel extends JPanel {
         iconLabel.setHorizontalAlignment(SwingConstants.CENTER);
         iconLabel.setBorder(BorderFactory.createLineBorder(new Color(236, 240, 241)));
 
-        String imagePath = getImagePath(resort.getName());
-        if (imagePath != null) {
-            ImageIcon icon = getResortImage(imagePath, 140, 100);
-            if (icon != null) {
-                iconLabel.setIcon(icon);
-            } else {
-                iconLabel.setText("[IMG Missing]");
-            }
+        if (resort.getImagePath() != null && !resort.getImagePath().isBlank()) {
+            // Decoded and scaled in the background; cards show a placeholder until then
+            ImageCache.getInstance().loadInto(iconLabel, resort.getImagePath(), 140, 100,
+                    "Loading...", "[IMG Missing]");
         } else {
             iconLabel.setText("🏠"); // Default text icon
             iconLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 40));
@@ -113,15 +150,15 @@ public class ResortBrowsePanel extends JPanel {
         detailsPanel.setOpaque(false);
 
         JLabel nameLabel = new JLabel(resort.getName());
-        nameLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 18));
+        nameLabel.setFont(UITheme.getFont(Font.BOLD, 18));
         nameLabel.setForeground(new Color(44, 62, 80));
 
         JLabel locationLabel = new JLabel(resort.getLocation());
-        locationLabel.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 14));
+        locationLabel.setFont(UITheme.getFont(Font.PLAIN, 14));
         locationLabel.setForeground(new Color(41, 128, 185));
 
         JLabel descLabel = new JLabel(resort.getDescription() != null ? resort.getDescription() : "");
-        descLabel.setFont(new Font(UITheme.getFontFamily(), Font.ITALIC, 13));
+        descLabel.setFont(UITheme.getFont(Font.ITALIC, 13));
         descLabel.setForeground(new Color(149, 165, 166));
 
         detailsPanel.add(nameLabel);
@@ -131,7 +168,7 @@ public class ResortBrowsePanel extends JPanel {
 
         // Select button
         JButton selectBtn = new JButton("Select Resort");
-        selectBtn.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 14));
+        selectBtn.setFont(UITheme.getFont(Font.BOLD, 14));
         selectBtn.setBackground(new Color(46, 204, 113));
         selectBtn.setForeground(Color.WHITE);
         selectBtn.setFocusPainted(false);
@@ -151,31 +188,4 @@ public class ResortBrowsePanel extends JPanel {
 
         return card;
     }
-
-    private String getImagePath(String resortName) {
-        if (resortName == null)
-            return null;
-        if (resortName.contains("Mountain View") || resortName.contains("Lodge"))
-            return "media/Lodge-Champery.jpg";
-        if (resortName.contains("Tropical") || resortName.contains("Oasis"))
-            return "media/oasisbeachspa.jpg";
-        if (resortName.contains("Paradise") || resortName.contains("Beach"))
-            return "media/paradisebeachresort.jpg";
-        return null;
-    }
-
-    private ImageIcon getResortImage(String path, int width, int height) {
-        try {
-            File imgFile = new File(path);
-            if (imgFile.exists()) {
-                ImageIcon originalIcon = new ImageIcon(path);
-                Image img = originalIcon.getImage();
-                Image newImg = img.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                return new ImageIcon(newImg);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
 }
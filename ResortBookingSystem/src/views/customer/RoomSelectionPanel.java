@@ -1,10 +1,12 @@
 package views.customer;
 
-import dao.RoomDAO;
 import models.Resort;
 import models.Room;
+import models.RoomAvailability;
+import services.InventoryService;
 import utils.DatePickerDialog;
 import utils.UITheme;
+import utils.UiTask;
 import views.MainFrame;
 
 import javax.swing.*;
@@ -19,7 +21,7 @@ import java.util.List;
  */
 public class RoomSelectionPanel extends JPanel {
     private MainFrame mainFrame;
-    private RoomDAO roomDAO;
+    private InventoryService inventoryService;
     private Resort selectedResort;
     private Room selectedRoom;
     private LocalDate checkInDate;
@@ -33,10 +35,12 @@ public class RoomSelectionPanel extends JPanel {
     private JLabel checkOutLabel;
     private JSpinner guestsSpinner;
     private JButton nextButton;
+    // Changing dates quickly starts a new load each time; only the latest one is shown
+    private final UiTask.Slot roomsLoad = new UiTask.Slot();
 
     public RoomSelectionPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
-        this.roomDAO = new RoomDAO();
+        this.inventoryService = InventoryService.getInstance();
         this.checkInDate = LocalDate.now().plusDays(1);
         initializeUI();
     }
@@ -51,11 +55,11 @@ public class RoomSelectionPanel extends JPanel {
         headerPanel.setOpaque(false);
 
         resortNameLabel = new JLabel("Select Room");
-        resortNameLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 22));
+        resortNameLabel.setFont(UITheme.getFont(Font.BOLD, 22));
         resortNameLabel.setForeground(new Color(44, 62, 80));
 
         JButton backBtn = new JButton("← Back to Resorts");
-        backBtn.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 12));
+        backBtn.setFont(UITheme.getFont(Font.PLAIN, 12));
         backBtn.addActionListener(e -> mainFrame.showPanel("BROWSE"));
 
         headerPanel.add(resortNameLabel, BorderLayout.WEST);
@@ -87,7 +91,7 @@ public class RoomSelectionPanel extends JPanel {
         bottomPanel.setOpaque(false);
 
         nextButton = new JButton("Next: Select Cuisine →");
-        nextButton.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 14));
+        nextButton.setFont(UITheme.getFont(Font.BOLD, 14));
         nextButton.setBackground(new Color(52, 152, 219));
         nextButton.setForeground(Color.WHITE);
         nextButton.setFocusPainted(false);
@@ -115,7 +119,7 @@ public class RoomSelectionPanel extends JPanel {
         // Check-in date
         gbc.gridx = col++;
         JLabel checkInLabel = new JLabel("Check-in:");
-        checkInLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+        checkInLabel.setFont(UITheme.getFont(Font.BOLD, 12));
         panel.add(checkInLabel, gbc);
 
         gbc.gridx = col++;
@@ -124,7 +128,7 @@ public class RoomSelectionPanel extends JPanel {
 
         checkInField = new JTextField(checkInDate.toString());
         checkInField.setEditable(false);
-        checkInField.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+        checkInField.setFont(UITheme.getFont(Font.PLAIN, 13));
         checkInField.setPreferredSize(new Dimension(90, 30));
         checkInField.setBackground(Color.WHITE);
         checkInField.setHorizontalAlignment(JTextField.CENTER);
@@ -145,27 +149,27 @@ public class RoomSelectionPanel extends JPanel {
         gbc.gridx = col++;
         gbc.insets = new Insets(0, 20, 0, 8);
         JLabel nightsLabel = new JLabel("Nights:");
-        nightsLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+        nightsLabel.setFont(UITheme.getFont(Font.BOLD, 12));
         panel.add(nightsLabel, gbc);
 
         gbc.gridx = col++;
         gbc.insets = new Insets(0, 8, 0, 8);
         nightsSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 30, 1));
         nightsSpinner.setPreferredSize(new Dimension(60, 30));
-        nightsSpinner.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 14));
+        nightsSpinner.setFont(UITheme.getFont(Font.BOLD, 14));
         panel.add(nightsSpinner, gbc);
 
         // Check-out display (auto-calculated)
         gbc.gridx = col++;
         gbc.insets = new Insets(0, 20, 0, 8);
         JLabel checkOutLbl = new JLabel("Check-out:");
-        checkOutLbl.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+        checkOutLbl.setFont(UITheme.getFont(Font.BOLD, 12));
         panel.add(checkOutLbl, gbc);
 
         gbc.gridx = col++;
         gbc.insets = new Insets(0, 8, 0, 8);
         checkOutLabel = new JLabel();
-        checkOutLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 14));
+        checkOutLabel.setFont(UITheme.getFont(Font.BOLD, 14));
         checkOutLabel.setForeground(new Color(46, 204, 113));
         checkOutLabel.setPreferredSize(new Dimension(90, 30));
         panel.add(checkOutLabel, gbc);
@@ -174,7 +178,7 @@ public class RoomSelectionPanel extends JPanel {
         gbc.gridx = col++;
         gbc.insets = new Insets(0, 20, 0, 8);
         JLabel guestsLabel = new JLabel("Guests:");
-        guestsLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 12));
+        guestsLabel.setFont(UITheme.getFont(Font.BOLD, 12));
         panel.add(guestsLabel, gbc);
 
         gbc.gridx = col++;
@@ -186,6 +190,7 @@ public class RoomSelectionPanel extends JPanel {
         // Add listeners to update checkout date
         nightsSpinner.addChangeListener(e -> {
             calculateCheckOutDate();
+            loadRooms(); // Availability depends on every night of the stay
         });
 
         // Initialize checkout date
@@ -222,20 +227,35 @@ public class RoomSelectionPanel extends JPanel {
 
     private void loadRooms() {
         roomCardsPanel.removeAll();
+        selectedRoom = null;
+        nextButton.setEnabled(false);
 
-        if (selectedResort == null)
+        if (selectedResort == null) {
+            roomsLoad.cancel();
             return;
+        }
+
+        roomCardsPanel.add(UiTask.placeholder("Checking availability..."));
+        roomCardsPanel.revalidate();
+        roomCardsPanel.repaint();
+
+        int resortId = selectedResort.getId();
+        LocalDate checkIn = checkInDate;
+        LocalDate checkOut = checkOutDate;
+        roomsLoad.submit(() -> inventoryService.findAvailable(resortId, checkIn, checkOut), this::showRooms);
+    }
 
-        List<Room> rooms = roomDAO.getAvailable(selectedResort.getId());
+    private void showRooms(List<RoomAvailability> rooms) {
+        roomCardsPanel.removeAll();
 
         if (rooms.isEmpty()) {
-            JLabel noRoomsLabel = new JLabel("No rooms available at this resort.");
-            noRoomsLabel.setFont(new Font(UITheme.getFontFamily(), Font.ITALIC, 14));
+            JLabel noRoomsLabel = new JLabel("No rooms available at this resort for the selected dates.");
+            noRoomsLabel.setFont(UITheme.getFont(Font.ITALIC, 14));
             roomCardsPanel.add(noRoomsLabel);
         } else {
             ButtonGroup roomGroup = new ButtonGroup();
-            for (Room room : rooms) {
-                JPanel roomCard = createRoomCard(room, roomGroup);
+            for (RoomAvailability availability : rooms) {
+                JPanel roomCard = createRoomCard(availability, roomGroup);
                 roomCardsPanel.add(roomCard);
                 roomCardsPanel.add(Box.createVerticalStrut(10));
             }
@@ -245,7 +265,8 @@ public class RoomSelectionPanel extends JPanel {
         roomCardsPanel.repaint();
     }
 
-    private JPanel createRoomCard(Room room, ButtonGroup group) {
+    private JPanel createRoomCard(RoomAvailability availability, ButtonGroup group) {
+        Room room = availability.getRoom();
         JPanel card = new JPanel(new BorderLayout(15, 5));
         card.setBackground(Color.WHITE);
         card.setBorder(BorderFactory.createCompoundBorder(
@@ -264,12 +285,12 @@ public class RoomSelectionPanel extends JPanel {
         detailsPanel.setOpaque(false);
 
         JLabel typeLabel = new JLabel(room.getRoomType() + " Room");
-        typeLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 16));
+        typeLabel.setFont(UITheme.getFont(Font.BOLD, 16));
         typeLabel.setForeground(new Color(44, 62, 80));
 
         JLabel infoLabel = new JLabel(
-                room.getBeds() + " Beds  |  " + room.getAvailableCount() + " Available");
-        infoLabel.setFont(new Font(UITheme.getFontFamily(), Font.PLAIN, 13));
+                room.getBeds() + " Beds  |  " + availability.getFreeUnits() + " Available");
+        infoLabel.setFont(UITheme.getFont(Font.PLAIN, 13));
         infoLabel.setForeground(new Color(127, 140, 141));
 
         detailsPanel.add(typeLabel);
@@ -278,7 +299,7 @@ public class RoomSelectionPanel extends JPanel {
 
         // Price
         JLabel priceLabel = new JLabel("$" + String.format("%.0f", room.getPricePerNight()) + "/night");
-        priceLabel.setFont(new Font(UITheme.getFontFamily(), Font.BOLD, 18));
+        priceLabel.setFont(UITheme.getFont(Font.BOLD, 18));
         priceLabel.setForeground(new Color(46, 204, 113));
         card.add(priceLabel, BorderLayout.EAST);
 
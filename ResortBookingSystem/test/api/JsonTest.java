@@ -0,0 +1,42 @@
+package api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonTest {
+
+    @Test
+    void writesNonFiniteNumbersAsNull() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("nan", Double.NaN);
+        json.put("inf", Double.POSITIVE_INFINITY);
+        json.put("neg", Float.NEGATIVE_INFINITY);
+        json.put("price", 12.5);
+        json.put("nights", 3L);
+
+        String text = Json.write(json);
+
+        assertEquals("{\"nan\":null,\"inf\":null,\"neg\":null,\"price\":12.5,\"nights\":3}", text);
+        assertEquals(Arrays.asList(null, null, null, 12.5, 3L),
+                Arrays.asList(((Map<?, ?>) Json.parse(text)).values().toArray()));
+    }
+
+    @Test
+    void parsesIntegersAsLongAndFractionsAsDouble() {
+        Map<?, ?> json = (Map<?, ?>) Json.parse("{\"roomId\": 4294967296, \"price\": 1.5e2}");
+
+        assertEquals(4294967296L, json.get("roomId"));
+        assertEquals(150.0, json.get("price"));
+    }
+
+    @Test
+    void rejectsTrailingContent() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{} {}"));
+    }
+}
@@ -0,0 +1,92 @@
+package dao;
+
+import database.MigrationRunner;
+import database.Migrations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DailyStatsDAOTest {
+    private static final String TOTALS = "SELECT COUNT(*), SUM(rooms_sold), SUM(guests), SUM(room_revenue), "
+            + "SUM(food_revenue) FROM daily_resort_stats";
+
+    private final DailyStatsDAO statsDAO = new DailyStatsDAO();
+    private Connection conn;
+
+    @BeforeEach
+    void createDatabase() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        new MigrationRunner(Migrations.all()).migrate(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO users (id, username, password_hash) VALUES (1, 'guest', 'x')");
+            stmt.execute("INSERT INTO resorts (id, name, location) VALUES (1, 'Resort', 'Place')");
+            stmt.execute("INSERT INTO rooms (id, resort_id, room_type, beds, price_per_night, available_count) "
+                    + "VALUES (1, 1, 'Standard', 2, 100, 5)");
+            // Fourteen nights, charged on two invoices
+            stmt.execute("INSERT INTO bookings (id, user_id, resort_id, room_id, check_in_date, check_out_date, "
+                    + "num_guests, status) VALUES (1, 1, 1, 1, '2030-01-01', '2030-01-15', 2, 'confirmed')");
+            stmt.execute("INSERT INTO invoices (id, booking_id, user_id, invoice_number, room_charges, food_charges, "
+                    + "total_amount) VALUES (1, 1, 1, 'A-1', 1400, 280, 1680), (2, 1, 1, 'A-2', 140, 0, 140)");
+        }
+    }
+
+    @AfterEach
+    void closeDatabase() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void countsABookingWithSeveralInvoicesOnce() throws SQLException {
+        statsDAO.applyBooking(conn, 1, 1);
+
+        assertEquals(List.of(14.0, 14.0, 28.0, 1540.0, 280.0), totals());
+
+        statsDAO.applyBooking(conn, 1, -1);
+
+        assertEquals(List.of(14.0, 0.0, 0.0, 0.0, 0.0), totals());
+    }
+
+    @Test
+    void newInvoiceAddsOnlyItsOwnCharges() throws SQLException {
+        statsDAO.applyBooking(conn, 1, 1);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO invoices (id, booking_id, user_id, invoice_number, room_charges, food_charges, "
+                    + "total_amount) VALUES (3, 1, 1, 'A-3', 70, 14, 84)");
+        }
+
+        statsDAO.applyInvoice(conn, 1, 3);
+
+        assertEquals(List.of(14.0, 14.0, 28.0, 1610.0, 294.0), totals());
+    }
+
+    @Test
+    void rebuildMatchesIncrementalUpdates() throws SQLException {
+        statsDAO.applyBooking(conn, 1, 1);
+        List<Double> incremental = totals();
+
+        statsDAO.rebuild(conn);
+
+        assertEquals(incremental, totals());
+    }
+
+    private List<Double> totals() throws SQLException {
+        List<Double> totals = new ArrayList<>();
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(TOTALS)) {
+            rs.next();
+            for (int i = 1; i <= 5; i++) {
+                totals.add(rs.getDouble(i));
+            }
+        }
+        return totals;
+    }
+}
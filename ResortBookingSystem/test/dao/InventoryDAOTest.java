@@ -0,0 +1,133 @@
+package dao;
+
+import database.MigrationRunner;
+import database.Migrations;
+import database.TestDatabase;
+import models.Room;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryDAOTest {
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 1);
+
+    private final InventoryDAO inventoryDAO = new InventoryDAO();
+
+    @BeforeAll
+    static void openDatabase() {
+        TestDatabase.get();
+    }
+
+    @Test
+    void reservesUpToTheRoomsUnits() {
+        Room room = TestDatabase.createRoom(2, 100);
+
+        assertTrue(inventoryDAO.reserve(room.getId(), DAY, DAY.plusDays(2)));
+        assertTrue(inventoryDAO.reserve(room.getId(), DAY, DAY.plusDays(2)));
+        assertFalse(inventoryDAO.reserve(room.getId(), DAY.plusDays(1), DAY.plusDays(3)));
+
+        assertArrayEquals(new int[] { 2, 2, 0 }, inventoryDAO.findBooked(room.getId(), DAY, DAY.plusDays(3)));
+    }
+
+    @Test
+    void refusedStayReservesNoNightAtAll() {
+        Room room = TestDatabase.createRoom(1, 100);
+        assertTrue(inventoryDAO.reserve(room.getId(), DAY.plusDays(2), DAY.plusDays(3)));
+
+        // Only the third night is full; the first two must not be taken either
+        assertFalse(inventoryDAO.reserve(room.getId(), DAY, DAY.plusDays(4)));
+
+        assertArrayEquals(new int[] { 0, 0, 1, 0 }, inventoryDAO.findBooked(room.getId(), DAY, DAY.plusDays(4)));
+    }
+
+    @Test
+    void releaseGivesUnitsBackButNeverBelowZero() throws SQLException {
+        Room room = TestDatabase.createRoom(1, 100);
+        assertTrue(inventoryDAO.reserve(room.getId(), DAY, DAY.plusDays(2)));
+
+        try (Connection conn = TestDatabase.get().getConnection()) {
+            inventoryDAO.release(conn, room.getId(), DAY, DAY.plusDays(2));
+            inventoryDAO.release(conn, room.getId(), DAY, DAY.plusDays(2));
+        }
+
+        assertArrayEquals(new int[] { 0, 0 }, inventoryDAO.findBooked(room.getId(), DAY, DAY.plusDays(2)));
+        assertTrue(inventoryDAO.reserve(room.getId(), DAY, DAY.plusDays(2)));
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        Room room = TestDatabase.createRoom(3, 100);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> inventoryDAO.reserve(room.getId(), DAY, DAY.plusDays(3))));
+            }
+            int reserved = 0;
+            for (Future<Boolean> result : results) {
+                reserved += result.get() ? 1 : 0;
+            }
+            assertEquals(3, reserved);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(new int[] { 3, 3, 3 }, inventoryDAO.findBooked(room.getId(), DAY, DAY.plusDays(3)));
+    }
+
+    @Test
+    void findBookedByRoomReturnsOnlyBookedRoomTypes() {
+        Room booked = TestDatabase.createRoom(2, 100);
+        Room empty = TestDatabase.createRoom(2, 100);
+        LocalDate from = LocalDate.of(2032, 7, 1);
+        assertTrue(inventoryDAO.reserve(booked.getId(), from.plusDays(1), from.plusDays(2)));
+
+        Map<Integer, int[]> byRoom = inventoryDAO.findBookedByRoom(from, from.plusDays(3));
+
+        assertArrayEquals(new int[] { 0, 1, 0 }, byRoom.get(booked.getId()));
+        assertFalse(byRoom.containsKey(empty.getId()));
+    }
+
+    @Test
+    void rebuildCountsEveryNightOfStaysThatAreNotCancelled() throws SQLException {
+        // A private database, since rebuild replaces the whole ledger
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+                Statement stmt = conn.createStatement()) {
+            new MigrationRunner(Migrations.all()).migrate(conn);
+            stmt.execute("INSERT INTO users (id, username, password_hash) VALUES (1, 'guest', 'x')");
+            stmt.execute("INSERT INTO resorts (id, name, location) VALUES (1, 'Resort', 'Place')");
+            stmt.execute("INSERT INTO rooms (id, resort_id, room_type, beds, price_per_night, available_count) "
+                    + "VALUES (1, 1, 'Standard', 2, 100, 5)");
+            stmt.execute("INSERT INTO bookings (user_id, resort_id, room_id, check_in_date, check_out_date, status) VALUES "
+                    + "(1, 1, 1, '2031-03-01', '2031-03-03', 'confirmed'), "
+                    + "(1, 1, 1, '2031-03-02', '2031-03-04', 'completed'), "
+                    + "(1, 1, 1, '2031-03-01', '2031-03-04', 'cancelled')");
+
+            inventoryDAO.rebuild(conn);
+
+            List<String> rows = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT night, booked FROM room_inventory ORDER BY night")) {
+                while (rs.next()) {
+                    rows.add(rs.getString(1) + "=" + rs.getInt(2));
+                }
+            }
+            assertEquals(List.of("2031-03-01=1", "2031-03-02=2", "2031-03-03=1"), rows);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dao;
+
+import database.TestDatabase;
+import models.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import utils.PasswordUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserDAOTest {
+    // SHA-256 of "password", as stored before salted hashing
+    private static final String LEGACY_HASH = "5e884898da28047151d0e56f8dc6292773603d0d6aabbdd62a11ef721d1542d8";
+
+    private final UserDAO userDAO = new UserDAO();
+
+    @BeforeAll
+    static void openDatabase() {
+        TestDatabase.get();
+    }
+
+    @Test
+    void authenticatesOnlyTheRightPassword() {
+        User user = TestDatabase.createUser("secret");
+
+        assertEquals(user.getId(), userDAO.authenticate(user.getUsername(), "secret").getId());
+        assertNull(userDAO.authenticate(user.getUsername(), "wrong"));
+        assertNull(userDAO.authenticate("no-such-user", "secret"));
+    }
+
+    @Test
+    void replacesALegacyHashOnSignIn() {
+        User user = TestDatabase.createUser("unused");
+        assertTrue(userDAO.updatePasswordHash(user.getId(), user.getPasswordHash(), LEGACY_HASH));
+
+        User signedIn = userDAO.authenticate(user.getUsername(), "password");
+
+        assertNotNull(signedIn);
+        String stored = userDAO.findByUsername(user.getUsername()).getPasswordHash();
+        assertEquals(signedIn.getPasswordHash(), stored);
+        assertTrue(PasswordUtils.getHasher().supports(stored));
+        assertNotNull(userDAO.authenticate(user.getUsername(), "password"));
+    }
+}
@@ -0,0 +1,113 @@
+package database;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MigrationsTest {
+
+    @Test
+    void versionsAreContiguousFromOne() {
+        List<Migration> migrations = Migrations.all();
+        for (int i = 0; i < migrations.size(); i++) {
+            assertEquals(i + 1, migrations.get(i).getVersion());
+        }
+    }
+
+    @Test
+    void migratesAnEmptyDatabaseOnce() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            MigrationRunner runner = new MigrationRunner(Migrations.all());
+            assertEquals(Migrations.all().size(), runner.migrate(conn));
+            assertEquals(0, runner.migrate(conn));
+            assertEquals(Migrations.all().size(), count(conn, "SELECT COUNT(*) FROM schema_version"));
+            assertEquals(0, count(conn, "SELECT COUNT(*) FROM room_inventory"));
+        }
+    }
+
+    @Test
+    void refusesAMigrationChangedAfterItWasApplied() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            new MigrationRunner(Migrations.all()).migrate(conn);
+
+            List<Migration> edited = new ArrayList<>(Migrations.all());
+            Migration first = edited.get(0);
+            List<String> statements = new ArrayList<>(first.getStatements());
+            statements.add("CREATE TABLE extra (id INTEGER)");
+            edited.set(0, new Migration(1, first.getDescription(), statements.toArray(new String[0])));
+
+            SQLException e = assertThrows(SQLException.class, () -> new MigrationRunner(edited).migrate(conn));
+            assertTrue(e.getMessage().contains("modified after it was applied"));
+        }
+    }
+
+    @Test
+    void ledgerMigrationGivesBackUnitsTakenByBookings() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            new MigrationRunner(Migrations.all().subList(0, 2)).migrate(conn);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("INSERT INTO users (id, username, password_hash) VALUES (1, 'guest', 'x')");
+                stmt.execute("INSERT INTO resorts (id, name, location) VALUES (1, 'Resort', 'Place')");
+                // Six units, decremented once by each of the two bookings as the old code did
+                stmt.execute("INSERT INTO rooms (id, resort_id, room_type, beds, price_per_night, available_count) "
+                        + "VALUES (1, 1, 'Premium', 2, 250, 4)");
+                stmt.execute("INSERT INTO bookings (user_id, resort_id, room_id, check_in_date, check_out_date, status) "
+                        + "VALUES (1, 1, 1, '2030-01-01', '2030-01-04', 'confirmed'), "
+                        + "(1, 1, 1, '2030-01-03', '2030-01-05', 'cancelled')");
+            }
+
+            new MigrationRunner(Migrations.all()).migrate(conn);
+
+            assertEquals(6, count(conn, "SELECT available_count FROM rooms WHERE id = 1"));
+            // Only the confirmed stay is on the ledger, one unit on each of its three nights
+            assertEquals(3, count(conn, "SELECT COUNT(*) FROM room_inventory WHERE room_id = 1 AND booked = 1"));
+            assertEquals(3, count(conn, "SELECT SUM(booked) FROM room_inventory"));
+        }
+    }
+
+    @Test
+    void statisticsAreRecountedOncePerBooking() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            new MigrationRunner(Migrations.all().subList(0, 9)).migrate(conn);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("INSERT INTO users (id, username, password_hash) VALUES (1, 'guest', 'x')");
+                stmt.execute("INSERT INTO resorts (id, name, location) VALUES (1, 'Resort', 'Place')");
+                stmt.execute("INSERT INTO rooms (id, resort_id, room_type, beds, price_per_night, available_count) "
+                        + "VALUES (1, 1, 'Premium', 2, 250, 4)");
+                stmt.execute("INSERT INTO bookings (id, user_id, resort_id, room_id, check_in_date, check_out_date, "
+                        + "num_guests) VALUES (1, 1, 1, 1, '2030-01-01', '2030-01-04', 2)");
+                stmt.execute("INSERT INTO invoices (booking_id, user_id, invoice_number, room_charges, total_amount) "
+                        + "VALUES (1, 1, 'A-1', 600, 600), (1, 1, 'A-2', 150, 150)");
+            }
+
+            new MigrationRunner(Migrations.all()).migrate(conn);
+
+            // Three nights sold once, with the charges of both invoices
+            assertEquals(3, count(conn, "SELECT SUM(rooms_sold) FROM daily_resort_stats"));
+            assertEquals(6, count(conn, "SELECT SUM(guests) FROM daily_resort_stats"));
+            assertEquals(750, count(conn, "SELECT SUM(room_revenue) FROM daily_resort_stats"));
+        }
+    }
+
+    @Test
+    void checksumIgnoresWhitespace() {
+        assertEquals(new Migration(1, "a", "SELECT  1\n FROM t").getChecksum(),
+                new Migration(1, "a", "SELECT 1 FROM t").getChecksum());
+    }
+
+    static int count(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
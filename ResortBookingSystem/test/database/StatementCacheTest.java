@@ -0,0 +1,76 @@
+package database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementCacheTest {
+    private Connection conn;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @BeforeEach
+    void openConnection() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE t (n INTEGER)");
+            stmt.execute("INSERT INTO t VALUES (1), (2)");
+        }
+    }
+
+    @AfterEach
+    void closeConnection() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void reusesAClosedStatement() throws SQLException {
+        StatementCache cache = new StatementCache(conn, 4, hits, misses);
+
+        cache.prepare("SELECT n FROM t", Statement.NO_GENERATED_KEYS).close();
+        cache.prepare("SELECT n FROM t", Statement.NO_GENERATED_KEYS).close();
+
+        assertEquals(1, misses.get());
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void checkInClosesStatementsLeftOpenByTheBorrower() throws SQLException {
+        StatementCache cache = new StatementCache(conn, 4, hits, misses);
+        ResultSet rs = cache.prepare("SELECT n FROM t", Statement.NO_GENERATED_KEYS).executeQuery();
+        assertTrue(rs.next());
+
+        cache.checkInAll();
+
+        assertTrue(rs.isClosed());
+    }
+
+    @Test
+    void checkInClosesStatementsEvictedWhileOpen() throws SQLException {
+        StatementCache cache = new StatementCache(conn, 1, hits, misses);
+        PreparedStatement first = cache.prepare("SELECT n FROM t", Statement.NO_GENERATED_KEYS);
+        ResultSet rs = first.executeQuery();
+        assertTrue(rs.next());
+
+        // Pushes the first statement out of the cache while its cursor is still open
+        cache.prepare("SELECT n + 1 FROM t", Statement.NO_GENERATED_KEYS).close();
+        assertFalse(rs.isClosed());
+
+        cache.checkInAll();
+
+        assertTrue(rs.isClosed());
+        assertTrue(first.isClosed());
+    }
+}
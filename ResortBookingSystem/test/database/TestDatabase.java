@@ -0,0 +1,73 @@
+package database;
+
+import dao.ResortDAO;
+import dao.RoomDAO;
+import dao.UserDAO;
+import models.Resort;
+import models.Room;
+import models.User;
+import utils.PasswordUtils;
+import utils.Pbkdf2PasswordHasher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One freshly migrated and seeded database in a temporary directory, shared by every test in the run.
+ * Call {@link #get()} before using any DAO so the database manager opens this file and not
+ * data/resort_system.db. Tests that write create their own resorts, rooms and users, so they do
+ * not depend on each other or on the order they run in.
+ */
+public final class TestDatabase {
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    static {
+        try {
+            Path dir = Files.createTempDirectory("resort-test");
+            System.setProperty("resort.db.path", dir.resolve("resort_test.db").toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Seeding and test users would otherwise pay for production-strength hashing
+        PasswordUtils.setHasher(new Pbkdf2PasswordHasher(1_000));
+    }
+
+    private TestDatabase() {
+    }
+
+    public static DatabaseManager get() {
+        return DatabaseManager.getInstance();
+    }
+
+    /**
+     * A new resort with one room type of {@code units} units at {@code price} a night.
+     */
+    public static Room createRoom(int units, double price) {
+        get();
+        Resort resort = new Resort("Test Resort " + NAMES.incrementAndGet(), "Testland", "Created by a test");
+        if (!new ResortDAO().create(resort)) {
+            throw new IllegalStateException("Could not create a test resort");
+        }
+        Room room = new Room(resort.getId(), "Standard", 2, price, units);
+        if (!new RoomDAO().create(room)) {
+            throw new IllegalStateException("Could not create a test room");
+        }
+        return room;
+    }
+
+    /**
+     * A new customer with the given password.
+     */
+    public static User createUser(String password) {
+        get();
+        User user = new User("test-user-" + NAMES.incrementAndGet(), PasswordUtils.hashPassword(password),
+                null, null, User.Role.CUSTOMER);
+        if (!new UserDAO().create(user)) {
+            throw new IllegalStateException("Could not create a test user");
+        }
+        return user;
+    }
+}
@@ -0,0 +1,41 @@
+package services;
+
+import database.TestDatabase;
+import models.Room;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilitySearchTest {
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(20);
+
+    private static Room room;
+
+    @BeforeAll
+    static void createRoom() {
+        // Two beds, as every test room has
+        room = TestDatabase.createRoom(1, 100);
+        AvailabilitySearch.getInstance().invalidate();
+    }
+
+    @Test
+    void guestsAreNotMatchedAgainstBeds() {
+        // Booking takes any number of guests in a room, so search must offer the room too
+        assertTrue(contains(AvailabilitySearch.getInstance().search(CHECK_IN, CHECK_IN.plusDays(2), 5, 0, 0, 0)));
+    }
+
+    @Test
+    void filtersOnMinimumBeds() {
+        assertTrue(contains(AvailabilitySearch.getInstance().search(CHECK_IN, CHECK_IN.plusDays(2), 1, 2, 0, 0)));
+        assertFalse(contains(AvailabilitySearch.getInstance().search(CHECK_IN, CHECK_IN.plusDays(2), 1, 3, 0, 0)));
+    }
+
+    private static boolean contains(List<SearchResult> results) {
+        return results.stream().anyMatch(result -> result.getRoom().getId() == room.getId());
+    }
+}
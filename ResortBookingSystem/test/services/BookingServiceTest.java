@@ -0,0 +1,157 @@
+package services;
+
+import dao.InventoryDAO;
+import database.TestDatabase;
+import models.Booking;
+import models.Invoice;
+import models.Room;
+import models.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingServiceTest {
+    private static final LocalDate CHECK_IN = LocalDate.of(2031, 5, 1);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(3);
+    private static final AtomicInteger INVOICE_NUMBERS = new AtomicInteger();
+
+    private static User guest;
+
+    private final BookingService bookingService = BookingService.getInstance();
+    private final InventoryDAO inventoryDAO = new InventoryDAO();
+
+    @BeforeAll
+    static void createGuest() {
+        guest = TestDatabase.createUser("secret");
+    }
+
+    @Test
+    void confirmCommitsTheHoldTheBookingAndTheInvoiceTogether() throws SQLException {
+        Room room = TestDatabase.createRoom(2, 100);
+        Booking booking = booking(room);
+        Invoice invoice = invoice();
+
+        BookingResult result = bookingService.confirm(booking, invoice);
+
+        assertTrue(result.isConfirmed(), result.toString());
+        assertTrue(booking.getId() > 0);
+        assertEquals(booking.getId(), invoice.getBookingId());
+        assertEquals(1, count("SELECT COUNT(*) FROM bookings WHERE room_id = ?", room.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM invoices WHERE booking_id = ?", booking.getId()));
+        assertArrayEquals(new int[] { 1, 1, 1 }, inventoryDAO.findBooked(room.getId(), CHECK_IN, CHECK_OUT));
+    }
+
+    @Test
+    void soldOutStayWritesNothing() throws SQLException {
+        Room room = TestDatabase.createRoom(1, 100);
+        assertTrue(bookingService.confirm(booking(room), invoice()).isConfirmed());
+
+        BookingResult result = bookingService.confirm(booking(room), invoice());
+
+        assertEquals(BookingResult.Status.SOLD_OUT, result.getStatus());
+        assertEquals(1, count("SELECT COUNT(*) FROM bookings WHERE room_id = ?", room.getId()));
+        assertArrayEquals(new int[] { 1, 1, 1 }, inventoryDAO.findBooked(room.getId(), CHECK_IN, CHECK_OUT));
+    }
+
+    @Test
+    void failedInvoiceRollsBackTheBookingAndTheHold() throws SQLException {
+        Room room = TestDatabase.createRoom(2, 100);
+        Invoice first = invoice();
+        assertTrue(bookingService.confirm(booking(room), first).isConfirmed());
+
+        // Invoice numbers are unique, so the second invoice fails after the hold and the booking were written
+        Invoice duplicate = invoice();
+        duplicate.setInvoiceNumber(first.getInvoiceNumber());
+        Booking booking = booking(room);
+        BookingResult result = bookingService.confirm(booking, duplicate);
+
+        assertEquals(BookingResult.Status.CONFLICT, result.getStatus());
+        assertEquals(0, booking.getId());
+        assertEquals(1, count("SELECT COUNT(*) FROM bookings WHERE room_id = ?", room.getId()));
+        assertArrayEquals(new int[] { 1, 1, 1 }, inventoryDAO.findBooked(room.getId(), CHECK_IN, CHECK_OUT));
+    }
+
+    @Test
+    void failedStepRollsBackEverything() throws SQLException {
+        Room room = TestDatabase.createRoom(2, 100);
+
+        BookingResult result = bookingService.confirm(booking(room), invoice(), (conn, booking) -> {
+            throw new SQLException("step failed");
+        });
+
+        assertEquals(BookingResult.Status.ERROR, result.getStatus());
+        assertEquals(0, count("SELECT COUNT(*) FROM bookings WHERE room_id = ?", room.getId()));
+        assertArrayEquals(new int[] { 0, 0, 0 }, inventoryDAO.findBooked(room.getId(), CHECK_IN, CHECK_OUT));
+    }
+
+    @Test
+    void cancellingReleasesNightsAndReactivatingTakesThemAgain() {
+        Room room = TestDatabase.createRoom(1, 100);
+        Booking booking = booking(room);
+        assertTrue(bookingService.confirm(booking, invoice()).isConfirmed());
+
+        assertTrue(bookingService.cancel(booking));
+        assertEquals("cancelled", booking.getStatus());
+        assertArrayEquals(new int[] { 0, 0, 0 }, inventoryDAO.findBooked(room.getId(), CHECK_IN, CHECK_OUT));
+        assertFalse(bookingService.cancel(booking));
+
+        assertTrue(bookingService.changeStatus(booking, "confirmed").isConfirmed());
+        assertArrayEquals(new int[] { 1, 1, 1 }, inventoryDAO.findBooked(room.getId(), CHECK_IN, CHECK_OUT));
+    }
+
+    @Test
+    void reactivatingIsRefusedWhenTheNightsWereTaken() {
+        Room room = TestDatabase.createRoom(1, 100);
+        Booking first = booking(room);
+        assertTrue(bookingService.confirm(first, invoice()).isConfirmed());
+        assertTrue(bookingService.cancel(first));
+        assertTrue(bookingService.confirm(booking(room), invoice()).isConfirmed());
+
+        BookingResult result = bookingService.changeStatus(first, "confirmed");
+
+        assertEquals(BookingResult.Status.SOLD_OUT, result.getStatus());
+        assertEquals("cancelled", first.getStatus());
+    }
+
+    static Booking booking(Room room) {
+        Booking booking = new Booking();
+        booking.setUserId(guest.getId());
+        booking.setResortId(room.getResortId());
+        booking.setRoomId(room.getId());
+        booking.setCheckInDate(CHECK_IN);
+        booking.setCheckOutDate(CHECK_OUT);
+        booking.setNumGuests(2);
+        return booking;
+    }
+
+    static Invoice invoice() {
+        Invoice invoice = new Invoice();
+        invoice.setUserId(guest.getId());
+        invoice.setInvoiceNumber("TEST-" + System.nanoTime() + "-" + INVOICE_NUMBERS.incrementAndGet());
+        invoice.setRoomCharges(300);
+        invoice.setTaxes(30);
+        invoice.setTotalAmount(330);
+        return invoice;
+    }
+
+    static int count(String sql, int id) throws SQLException {
+        try (Connection conn = TestDatabase.get().getReadConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+}
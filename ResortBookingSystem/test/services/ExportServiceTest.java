@@ -0,0 +1,58 @@
+package services;
+
+import dao.ExportQuery;
+import dao.UserDAO;
+import database.TestDatabase;
+import models.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExportServiceTest {
+    private static User user;
+
+    @BeforeAll
+    static void createUser() {
+        TestDatabase.get();
+        user = new User("export-user", "x", "=cmd@example.com", "+1-555-0100", User.Role.CUSTOMER);
+        assertTrue(new UserDAO().create(user));
+    }
+
+    @Test
+    void csvKeepsValuesAsStoredByDefault() throws SQLException, IOException {
+        String csv = exportUsers(ExportService.Format.CSV, false);
+
+        assertTrue(csv.contains("\r\n" + user.getId() + ",export-user,=cmd@example.com,+1-555-0100,"));
+    }
+
+    @Test
+    void spreadsheetSafeCsvQuotesFormulaText() throws SQLException, IOException {
+        String csv = exportUsers(ExportService.Format.CSV, true);
+
+        assertTrue(csv.contains("\r\n" + user.getId() + ",export-user,\"'=cmd@example.com\",\"'+1-555-0100\","));
+    }
+
+    @Test
+    void jsonLinesAreNeverGuarded() throws SQLException, IOException {
+        String jsonl = exportUsers(ExportService.Format.JSONL, true);
+
+        assertTrue(jsonl.contains("\"phone\":\"+1-555-0100\""));
+        assertFalse(jsonl.contains("'+1"));
+    }
+
+    private static String exportUsers(ExportService.Format format, boolean spreadsheetSafe)
+            throws SQLException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportService.getInstance().export(new ExportQuery(ExportQuery.Dataset.USERS), format, false,
+                spreadsheetSafe, Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class RoomCalendarTest {
+
+    /**
+     * A ledger where each night has as many units booked as its day of the month, recording every load.
+     */
+    private static final class FakeLedger implements RoomCalendar.ChunkLoader {
+        final List<LocalDate> loads = new ArrayList<>();
+
+        @Override
+        public int[] load(int roomId, LocalDate from, LocalDate to) {
+            loads.add(from);
+            int[] booked = new int[(int) (to.toEpochDay() - from.toEpochDay())];
+            for (int i = 0; i < booked.length; i++) {
+                booked[i] = from.plusDays(i).getDayOfMonth();
+            }
+            return booked;
+        }
+    }
+
+    @Test
+    void readsAcrossChunkBoundariesWithOneLoadPerChunk() {
+        FakeLedger ledger = new FakeLedger();
+        RoomCalendar calendar = new RoomCalendar(1, ledger, 60_000);
+        LocalDate from = LocalDate.ofEpochDay(RoomCalendar.CHUNK_NIGHTS * 300L - 2);
+
+        int[] booked = calendar.booked(from, from.plusDays(4));
+
+        int[] expected = new int[4];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = from.plusDays(i).getDayOfMonth();
+        }
+        assertArrayEquals(expected, booked);
+        assertEquals(2, ledger.loads.size());
+
+        calendar.booked(from, from.plusDays(4));
+        assertEquals(2, ledger.loads.size());
+    }
+
+    @Test
+    void appliesCommittedChangesToLoadedNights() {
+        FakeLedger ledger = new FakeLedger();
+        RoomCalendar calendar = new RoomCalendar(1, ledger, 60_000);
+        LocalDate from = LocalDate.of(2031, 3, 10);
+        calendar.booked(from, from.plusDays(2));
+        long version = calendar.getVersion();
+
+        calendar.apply(from, from.plusDays(1), 1);
+
+        assertArrayEquals(new int[] { 11, 11 }, calendar.booked(from, from.plusDays(2)));
+        assertNotEquals(version, calendar.getVersion());
+    }
+
+    @Test
+    void reloadsNightsOlderThanTheTimeToLive() {
+        FakeLedger ledger = new FakeLedger();
+        RoomCalendar calendar = new RoomCalendar(1, ledger, -1);
+        LocalDate night = LocalDate.of(2031, 3, 10);
+
+        calendar.booked(night, night.plusDays(1));
+        calendar.booked(night, night.plusDays(1));
+
+        assertEquals(2, ledger.loads.size());
+    }
+
+    @Test
+    void failedLoadShowsNightsFullAndIsNotKept() {
+        List<LocalDate> loads = new ArrayList<>();
+        RoomCalendar calendar = new RoomCalendar(1, (roomId, from, to) -> {
+            loads.add(from);
+            return null;
+        }, 60_000);
+        LocalDate night = LocalDate.of(2031, 3, 10);
+
+        assertArrayEquals(new int[] { RoomCalendar.UNREADABLE, RoomCalendar.UNREADABLE },
+                calendar.booked(night, night.plusDays(2)));
+        long version = calendar.getVersion();
+        calendar.booked(night, night.plusDays(2));
+
+        assertEquals(2, loads.size());
+        assertNotEquals(version, calendar.getVersion());
+    }
+
+    @Test
+    void invalidateDropsLoadedNights() {
+        FakeLedger ledger = new FakeLedger();
+        RoomCalendar calendar = new RoomCalendar(1, ledger, 60_000);
+        LocalDate night = LocalDate.of(2031, 3, 10);
+        calendar.booked(night, night.plusDays(1));
+        calendar.apply(night, night.plusDays(1), 5);
+
+        calendar.invalidate();
+
+        assertArrayEquals(new int[] { 10 }, calendar.booked(night, night.plusDays(1)));
+        assertEquals(2, ledger.loads.size());
+    }
+}
@@ -0,0 +1,96 @@
+package utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordUtilsTest {
+    // SHA-256 of "password", as stored before salted hashing
+    private static final String LEGACY_HASH = "5e884898da28047151d0e56f8dc6292773603d0d6aabbdd62a11ef721d1542d8";
+
+    private PasswordHasher previous;
+
+    /**
+     * A cheap PBKDF2 hasher that counts what it is asked to do.
+     */
+    static final class CountingHasher implements PasswordHasher {
+        private final PasswordHasher delegate = new Pbkdf2PasswordHasher(1_000);
+        int hashes;
+        int verifies;
+
+        @Override
+        public boolean supports(String encoded) {
+            return delegate.supports(encoded);
+        }
+
+        @Override
+        public String hash(String password) {
+            hashes++;
+            return delegate.hash(password);
+        }
+
+        @Override
+        public boolean verify(String password, String encoded) {
+            verifies++;
+            return delegate.verify(password, encoded);
+        }
+
+        @Override
+        public boolean needsRehash(String encoded) {
+            return delegate.needsRehash(encoded);
+        }
+    }
+
+    @BeforeEach
+    void saveHasher() {
+        previous = PasswordUtils.getHasher();
+        PasswordUtils.setHasher(new Pbkdf2PasswordHasher(1_000));
+    }
+
+    @AfterEach
+    void restoreHasher() {
+        PasswordUtils.setHasher(previous);
+    }
+
+    @Test
+    void verifiesLegacyHashesAndAsksToReplaceThem() {
+        assertTrue(PasswordUtils.verifyPassword("password", LEGACY_HASH));
+        assertTrue(PasswordUtils.verifyPassword("password", LEGACY_HASH.toUpperCase()));
+        assertFalse(PasswordUtils.verifyPassword("Password", LEGACY_HASH));
+        assertTrue(PasswordUtils.needsRehash(LEGACY_HASH));
+    }
+
+    @Test
+    void verifiesEveryCreatingSchemeWhateverTheCurrentOne() {
+        String scrypt = new ScryptPasswordHasher(4, 8, 1).hash("secret");
+        String pbkdf2 = PasswordUtils.hashPassword("secret");
+
+        assertTrue(PasswordUtils.verifyPassword("secret", scrypt));
+        assertTrue(PasswordUtils.verifyPassword("secret", pbkdf2));
+        assertTrue(PasswordUtils.needsRehash(scrypt));
+        assertFalse(PasswordUtils.needsRehash(pbkdf2));
+        assertFalse(PasswordUtils.verifyPassword("secret", "not a hash"));
+    }
+
+    @Test
+    void missingUserCostsOneVerificationWithTheCurrentHasher() {
+        CountingHasher first = new CountingHasher();
+        PasswordUtils.setHasher(first);
+
+        assertFalse(PasswordUtils.verifyNoUser("guess"));
+        assertFalse(PasswordUtils.verifyNoUser("guess again"));
+        assertEquals(1, first.hashes);
+        assertEquals(2, first.verifies);
+
+        // A new hasher gets a dummy hash of its own, so the cost keeps matching real hashes
+        CountingHasher second = new CountingHasher();
+        PasswordUtils.setHasher(second);
+        PasswordUtils.verifyNoUser("guess");
+        assertEquals(1, second.hashes);
+        assertEquals(1, second.verifies);
+    }
+}
@@ -0,0 +1,47 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Pbkdf2PasswordHasherTest {
+
+    // PBKDF2-HMAC-SHA256 vectors from RFC 7914 section 11, in this hasher's encoding
+    @Test
+    void verifiesRfc7914TestVectors() {
+        Pbkdf2PasswordHasher hasher = new Pbkdf2PasswordHasher(1);
+
+        assertTrue(hasher.verify("passwd", encode(1, "salt",
+                "55ac046e56e3089fec1691c22544b605f94185216dde0465e68b9d57c20dacbc"
+                        + "49ca9cccf179b645991664b39d77ef317c71b845b1e30bd509112041d3a19783")));
+        assertTrue(hasher.verify("Password", encode(80_000, "NaCl",
+                "4ddcd8f60b98be21830cee5ef22701f9641a4418d04c0414aeff08876b34ab56"
+                        + "a1d425a1225833549adb841b51c9b3176a272bdebba1d078478f62b397f33c8d")));
+        assertFalse(hasher.verify("passwd", encode(2, "salt",
+                "55ac046e56e3089fec1691c22544b605f94185216dde0465e68b9d57c20dacbc"
+                        + "49ca9cccf179b645991664b39d77ef317c71b845b1e30bd509112041d3a19783")));
+    }
+
+    @Test
+    void verifiesItsOwnHashesAndAsksForRehashWhenCheaper() {
+        Pbkdf2PasswordHasher weak = new Pbkdf2PasswordHasher(1_000);
+        Pbkdf2PasswordHasher strong = new Pbkdf2PasswordHasher(2_000);
+        String hash = weak.hash("secret");
+
+        assertTrue(hash.startsWith("$pbkdf2-sha256$i=1000$"));
+        assertTrue(strong.verify("secret", hash));
+        assertFalse(strong.verify("secret ", hash));
+        assertTrue(strong.needsRehash(hash));
+        assertFalse(weak.needsRehash(strong.hash("secret")));
+    }
+
+    private static String encode(int iterations, String salt, String hashHex) {
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return "$pbkdf2-sha256$i=" + iterations + "$" + base64.encodeToString(salt.getBytes()) + "$"
+                + base64.encodeToString(HexFormat.of().parseHex(hashHex));
+    }
+}
@@ -0,0 +1,60 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScryptPasswordHasherTest {
+
+    // RFC 7914 section 12
+    @Test
+    void matchesRfc7914TestVectors() {
+        assertScrypt("", "", 16, 1, 1,
+                "77d6576238657b203b19ca42c18a0497f16b4844e3074ae8dfdffa3fede21442"
+                        + "fcd0069ded0948f8326a753a0fc81f17e8d3e0fb2e0d3628cf35e20c38d18906");
+        assertScrypt("password", "NaCl", 1024, 8, 16,
+                "fdbabe1c9d3472007856e7190d01e9fe7c6ad7cbc8237830e77376634b373162"
+                        + "2eaf30d92e22a3886ff109279d9830dac727afb94a83ee6d8360cbdfa2cc0640");
+        assertScrypt("pleaseletmein", "SodiumChloride", 16384, 8, 1,
+                "7023bdcb3afd7348461c06cd81fd38ebfda8fbba904f8e3ea9b543f6545da1f2"
+                        + "d5432955613f0fcf62d49705242a9af9e61e85dc0d651e40dfcf017b45575887");
+    }
+
+    @Test
+    void verifiesItsOwnHashesOnly() {
+        ScryptPasswordHasher hasher = new ScryptPasswordHasher(4, 8, 1);
+        String hash = hasher.hash("secret");
+
+        assertTrue(hash.startsWith("$scrypt$ln=4,r=8,p=1$"));
+        assertTrue(hasher.verify("secret", hash));
+        assertFalse(hasher.verify("Secret", hash));
+        assertFalse(hasher.verify("secret", "$pbkdf2-sha256$i=1$AAAA$AAAA"));
+    }
+
+    @Test
+    void asksForRehashOnlyWhenCheaper() {
+        ScryptPasswordHasher weak = new ScryptPasswordHasher(4, 8, 1);
+        ScryptPasswordHasher strong = new ScryptPasswordHasher(5, 8, 1);
+
+        assertTrue(strong.needsRehash(weak.hash("secret")));
+        assertFalse(weak.needsRehash(strong.hash("secret")));
+    }
+
+    @Test
+    void refusesParametersOutsideTheMemoryLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new ScryptPasswordHasher(0, 8, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ScryptPasswordHasher(24, 8, 1));
+    }
+
+    private static void assertScrypt(String password, String salt, int n, int r, int p, String expectedHex) {
+        byte[] derived = ScryptPasswordHasher.scrypt(password.getBytes(StandardCharsets.UTF_8),
+                salt.getBytes(StandardCharsets.UTF_8), n, r, p, 64);
+        assertArrayEquals(HexFormat.of().parseHex(expectedHex), derived);
+    }
+}